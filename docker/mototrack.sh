@@ -0,0 +1,51 @@
+#!/bin/bash
+# =============================================================
+# Entrada da imagem do MotoTrack
+#
+#   mototrack.sh [args do Spring]   sobe a aplicação (ENTRYPOINT)
+#   mototrack.sh treinar-cds        gera o arquivo CDS do perfil de GC (build da imagem)
+#   mototrack.sh pronto             readiness: /actuator/health/readiness responde 200 (HEALTHCHECK)
+#
+# Perfil de GC (MOTOTRACK_GC):
+#   g1  (padrão) boa vazão; pausa-alvo em MOTOTRACK_GC_PAUSA_MS (padrão 200)
+#   zgc          pausas < 1 ms para latência previsível; custa mais CPU e memória
+#
+# O heap vem do limite de memória do contêiner (JAVA_TOOL_OPTIONS no Dockerfile).
+# O arquivo CDS só é aceito com as mesmas flags de GC/compressed oops do treino:
+# por isso há um arquivo por perfil (application-g1.jsa, application-zgc.jsa).
+# =============================================================
+set -euo pipefail
+
+case "${MOTOTRACK_GC:=g1}" in
+    g1)  GC=(-XX:+UseG1GC "-XX:MaxGCPauseMillis=${MOTOTRACK_GC_PAUSA_MS:-200}") ;;
+    zgc) GC=(-XX:+UseZGC -XX:+ZGenerational) ;;
+    *)   echo "MOTOTRACK_GC inválido: '$MOTOTRACK_GC' (use g1 ou zgc)" >&2; exit 64 ;;
+esac
+CDS="application-$MOTOTRACK_GC.jsa"
+
+case "${1:-}" in
+    treinar-cds)
+        # Contexto sobe até o refresh e a JVM grava as classes carregadas.
+        # Sem banco no build: Flyway desligado e Hibernate sem ler metadados JDBC (dialeto explícito).
+        # Sem AOT aqui: as definições geradas já incluem o Flyway e ignorariam flyway.enabled=false.
+        # -Xmx fixo: o limite do host do build não pode desligar compressed oops (> 32 GB de heap).
+        exec java "${GC[@]}" -Xmx512m -XX:ArchiveClassesAtExit="$CDS" -Dspring.context.exit=onRefresh \
+            -jar mototrack.jar \
+            --spring.flyway.enabled=false \
+            --spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect \
+            --spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false \
+            --spring.datasource.url=jdbc:postgresql://treino.invalid/mototrack \
+            --mototrack.jfr.enabled=false
+        ;;
+    pronto)
+        # Sem curl na imagem: HTTP/1.0 direto pelo /dev/tcp do bash
+        exec 3<>"/dev/tcp/127.0.0.1/${SERVER_PORT:-8080}"
+        printf 'GET /actuator/health/readiness HTTP/1.0\r\nHost: localhost\r\n\r\n' >&3
+        read -r -t 5 _ status _ <&3
+        [ "$status" = "200" ]
+        ;;
+    *)
+        exec java "${GC[@]}" -XX:SharedArchiveFile="$CDS" -Dspring.aot.enabled=true \
+            -jar mototrack.jar "$@"
+        ;;
+esac
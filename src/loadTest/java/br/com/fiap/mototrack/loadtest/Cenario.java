@@ -0,0 +1,105 @@
+package br.com.fiap.mototrack.loadtest;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;
+
+/**
+ * # 🎬 Cenario
+ *
+ * Operações que compõem o tráfego simulado. Cada uma reproduz o que o navegador
+ * ou um cliente da API faz em produção, incluindo sessão e token CSRF.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public enum Cenario {
+
+    /** Filtro paginado da API de motos (placa parcial + status). */
+    FILTRO_MOTOS {
+        @Override
+        int executar(UsuarioVirtual vu, SplittableRandom rnd, MassaSintetica massa) throws IOException, InterruptedException {
+            String placa = massa.placa(rnd).substring(0, 2 + rnd.nextInt(3));
+            String status = rnd.nextInt(3) == 0 ? "&status=" + enc(massa.status(rnd)) : "";
+            return vu.get("/motos/filtro?size=20&placa=" + enc(placa) + status);
+        }
+    },
+
+    /** Mesmo filtro da API, como cliente stateless (bearer token, sem sessão nem CSRF). */
+    FILTRO_MOTOS_TOKEN {
+        @Override
+        int executar(UsuarioVirtual vu, SplittableRandom rnd, MassaSintetica massa) throws IOException, InterruptedException {
+            String status = "status=" + enc(massa.status(rnd));
+            return vu.getComToken("/motos/filtro?size=20&" + status);
+        }
+    },
+
+    /** Typeahead de placas (índice em memória). */
+    AUTOCOMPLETE_PLACA {
+        @Override
+        int executar(UsuarioVirtual vu, SplittableRandom rnd, MassaSintetica massa) throws IOException, InterruptedException {
+            return vu.get("/motos/placas/autocomplete?limite=10&prefixo=" + enc(massa.placa(rnd).substring(0, 3)));
+        }
+    },
+
+    /** Registro de evento pela API (escrita). */
+    CADASTRO_EVENTO {
+        private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
+        @Override
+        int executar(UsuarioVirtual vu, SplittableRandom rnd, MassaSintetica massa) throws IOException, InterruptedException {
+            String json = """
+                    {"motoId": %d, "tipo": "%s", "motivo": "%s", "dataHora": "%s", "localizacao": "%s"}"""
+                    .formatted(massa.motoId(rnd), massa.tipoEvento(rnd), massa.motivo(rnd),
+                            LocalDateTime.now().plusMinutes(1).format(FMT), massa.localizacao(rnd));
+            return vu.postJson("/eventos", json);
+        }
+    },
+
+    /** Página Thymeleaf de eventos (lista paginada). */
+    LISTA_EVENTOS_UI {
+        @Override
+        int executar(UsuarioVirtual vu, SplittableRandom rnd, MassaSintetica massa) throws IOException, InterruptedException {
+            return vu.get("/eventos/ui?page=" + rnd.nextInt(5));
+        }
+    },
+
+    /** Página Thymeleaf de motos com filtro de modelo. */
+    LISTA_MOTOS_UI {
+        @Override
+        int executar(UsuarioVirtual vu, SplittableRandom rnd, MassaSintetica massa) throws IOException, InterruptedException {
+            return vu.get("/motos/ui?modelo=" + enc(massa.modelo(rnd)));
+        }
+    },
+
+    /** Home com o painel da frota. */
+    DASHBOARD {
+        @Override
+        int executar(UsuarioVirtual vu, SplittableRandom rnd, MassaSintetica massa) throws IOException, InterruptedException {
+            return vu.get("/home/ui");
+        }
+    },
+
+    /** Login completo (GET /login + POST com CSRF), em uma sessão nova. */
+    LOGIN {
+        @Override
+        int executar(UsuarioVirtual vu, SplittableRandom rnd, MassaSintetica massa) throws IOException, InterruptedException {
+            return vu.relogar();
+        }
+    };
+
+    /**
+     * Executa a operação.
+     *
+     * @return status HTTP final
+     */
+    abstract int executar(UsuarioVirtual vu, SplittableRandom rnd, MassaSintetica massa) throws IOException, InterruptedException;
+
+    private static String enc(String valor) {
+        return URLEncoder.encode(valor, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,226 @@
+package br.com.fiap.mototrack.loadtest;
+
+import br.com.fiap.mototrack.support.EmbeddedPostgresSupport;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * # ⏱️ InicializacaoBenchmark
+ *
+ * Mede o **tempo até a primeira requisição atendida** (`GET /login` → 200) do jar da
+ * aplicação, em processos separados, nos modos de inicialização da imagem:
+ *
+ * | modo           | JVM / argumentos                                                  |
+ * |----------------|-------------------------------------------------------------------|
+ * | `padrao`       | `java -jar`                                                       |
+ * | `prod`         | + profile `prod` (lazy init, springdoc desligado)                 |
+ * | `prod-aot`     | + `-Dspring.aot.enabled=true` (definições geradas pelo `processAot`) |
+ * | `prod-aot-cds` | + `-XX:SharedArchiveFile` (arquivo do treino, como no `Dockerfile`) |
+ *
+ * O jar é extraído (`-Djarmode=tools extract`), como na imagem: CDS não funciona
+ * com jars aninhados. O treino usa os mesmos argumentos do `Dockerfile` (sem banco).
+ *
+ * ---
+ * ## 📋 Saída
+ * - Tabela com a mediana de `bench.execucoes` subidas por modo (tempo até a 1ª
+ *   requisição e o "Started ... in" do Spring);
+ * - Uma linha por modo acrescentada a `bench.historico`
+ *   (padrão `build/reports/startup/inicializacao.csv`), com a versão do projeto,
+ *   para acompanhar a evolução entre releases.
+ *
+ * ---
+ * ## ▶️ Execução
+ * ```
+ * gradle benchInicializacao [-Dbench.execucoes=5 -Dbench.modos=padrao,prod-aot-cds]
+ * ```
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public final class InicializacaoBenchmark {
+
+    private static final String JAVA = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    private static final Pattern STARTED = Pattern.compile("Started \\w+ in ([\\d.]+) seconds");
+    private static final Duration LIMITE = Duration.ofMinutes(3);
+
+    private InicializacaoBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(obrigatoria("bench.jar"));
+        String versao = System.getProperty("bench.versao", "dev");
+        int execucoes = Integer.getInteger("bench.execucoes", 3);
+        List<String> modos = List.of(System.getProperty("bench.modos", "padrao,prod,prod-aot,prod-aot-cds").split(","));
+        Path historico = Path.of(System.getProperty("bench.historico", "build/reports/startup/inicializacao.csv"));
+
+        var pg = EmbeddedPostgresSupport.iniciar();
+        List<String> banco = List.of(
+                "--spring.datasource.url=" + pg.url(),
+                "--spring.datasource.username=" + pg.username(),
+                "--spring.datasource.password=" + pg.password(),
+                "--mototrack.cluster.enabled=false",
+                "--mototrack.jfr.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.br.com.fiap.mototrack.MototrackApplication=INFO");
+
+        Path dir = Files.createTempDirectory("mototrack-startup");
+        Path app = extrair(jar, dir);
+        Path cds = dir.resolve("application.jsa");
+        if (modos.contains("prod-aot-cds")) treinar(app, cds);
+
+        // Primeira subida aplica as migrações; não entra na medição
+        subir(app, List.of(), banco);
+
+        System.out.printf("%nTempo até a primeira requisição (mediana de %d subidas) — %s%n", execucoes, versao);
+        System.out.printf("%-14s %14s %14s%n", "modo", "1ª req ms", "started ms");
+        List<String> linhas = new ArrayList<>();
+        for (String modo : modos) {
+            List<String> jvm = new ArrayList<>();
+            List<String> argumentos = new ArrayList<>(banco);
+            if (modo.startsWith("prod")) argumentos.add("--spring.profiles.active=prod");
+            if (modo.contains("aot")) jvm.add("-Dspring.aot.enabled=true");
+            if (modo.contains("cds")) jvm.add("-XX:SharedArchiveFile=" + cds);
+
+            double[] primeira = new double[execucoes];
+            double[] started = new double[execucoes];
+            for (int i = 0; i < execucoes; i++) {
+                Subida s = subir(app, jvm, argumentos);
+                primeira[i] = s.primeiraRequisicaoMs();
+                started[i] = s.startedMs();
+            }
+            System.out.printf("%-14s %14.0f %14.0f%n", modo, mediana(primeira), mediana(started));
+            linhas.add(String.join(",", versao, LocalDate.now().toString(), modo, String.valueOf(execucoes),
+                    String.format("%.0f", mediana(primeira)), String.format("%.0f", mediana(started))));
+        }
+        registrar(historico, linhas);
+        System.out.println("Histórico: " + historico.toAbsolutePath());
+        System.exit(0);
+    }
+
+    // =============================
+    // 🚀 Subidas
+    // =============================
+
+    private record Subida(double primeiraRequisicaoMs, double startedMs) {}
+
+    /** Sobe a aplicação, espera o `GET /login` responder 200 e encerra o processo. */
+    private static Subida subir(Path app, List<String> jvm, List<String> argumentos) throws Exception {
+        int porta = portaLivre();
+        Path log = Files.createTempFile(app.getParent(), "subida", ".log");
+        List<String> comando = new ArrayList<>(List.of(JAVA));
+        comando.addAll(jvm);
+        comando.addAll(List.of("-jar", app.toString(), "--server.port=" + porta));
+        comando.addAll(argumentos);
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest login = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/login")).GET().build();
+
+        long t0 = System.nanoTime();
+        Process processo = new ProcessBuilder(comando).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            while (true) {
+                if (!processo.isAlive()) {
+                    throw new IllegalStateException("Aplicação encerrou na subida:\n" + Files.readString(log));
+                }
+                if (System.nanoTime() - t0 > LIMITE.toNanos()) {
+                    throw new IllegalStateException("Aplicação não respondeu em " + LIMITE);
+                }
+                try {
+                    if (http.send(login, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) break;
+                } catch (IOException e) {
+                    // ainda subindo
+                }
+                Thread.sleep(10);
+            }
+            double primeira = (System.nanoTime() - t0) / 1e6;
+            Matcher m = STARTED.matcher(Files.readString(log));
+            return new Subida(primeira, m.find() ? Double.parseDouble(m.group(1)) * 1000 : Double.NaN);
+        } finally {
+            processo.destroy();
+            if (!processo.waitFor(30, TimeUnit.SECONDS)) processo.destroyForcibly();
+        }
+    }
+
+    // =============================
+    // 📦 Jar extraído e treino do CDS
+    // =============================
+
+    private static Path extrair(Path jar, Path dir) throws Exception {
+        executar(List.of(JAVA, "-Djarmode=tools", "-jar", jar.toString(), "extract", "--destination",
+                dir.resolve("app").toString()));
+        return dir.resolve("app").resolve(jar.getFileName());
+    }
+
+    /** Mesmo treino do `Dockerfile`: contexto sobe sem banco e a JVM grava as classes carregadas. */
+    private static void treinar(Path app, Path cds) throws Exception {
+        executar(List.of(JAVA, "-XX:ArchiveClassesAtExit=" + cds, "-Dspring.context.exit=onRefresh",
+                "-jar", app.toString(),
+                "--spring.profiles.active=prod",
+                "--spring.flyway.enabled=false",
+                "--spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+                "--spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false",
+                "--spring.datasource.url=jdbc:postgresql://treino.invalid/mototrack",
+                "--mototrack.jfr.enabled=false"));
+    }
+
+    private static void executar(List<String> comando) throws Exception {
+        Process processo = new ProcessBuilder(comando).redirectErrorStream(true).start();
+        String saida = new String(processo.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        if (processo.waitFor() != 0) {
+            throw new IllegalStateException("Falhou: " + String.join(" ", comando) + "\n" + saida);
+        }
+    }
+
+    // =============================
+    // 🔧 Auxiliares
+    // =============================
+
+    private static void registrar(Path historico, List<String> linhas) {
+        try {
+            Files.createDirectories(historico.toAbsolutePath().getParent());
+            if (Files.notExists(historico)) {
+                Files.writeString(historico, "versao,data,modo,execucoes,primeira_requisicao_ms,started_ms\n");
+            }
+            Files.write(historico, linhas, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int portaLivre() throws IOException {
+        try (ServerSocket s = new ServerSocket(0)) {
+            return s.getLocalPort();
+        }
+    }
+
+    private static String obrigatoria(String propriedade) {
+        String valor = System.getProperty(propriedade);
+        if (valor == null || valor.isBlank()) throw new IllegalArgumentException("Informe -D" + propriedade);
+        return valor;
+    }
+
+    private static double mediana(double[] valores) {
+        double[] ordenados = valores.clone();
+        Arrays.sort(ordenados);
+        return ordenados[ordenados.length / 2];
+    }
+}
@@ -0,0 +1,191 @@
+package br.com.fiap.mototrack.loadtest;
+
+import br.com.fiap.mototrack.MototrackApplication;
+import br.com.fiap.mototrack.gerador.GeradorConfig;
+import br.com.fiap.mototrack.gerador.GeradorFrota;
+import br.com.fiap.mototrack.repository.MotoRepository;
+import br.com.fiap.mototrack.service.MotoService;
+import br.com.fiap.mototrack.support.EmbeddedPostgresSupport;
+import jakarta.persistence.EntityManager;
+import org.flywaydb.core.Flyway;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * # 📏 ListagemReadOnlyBenchmark
+ *
+ * Mede quanto a transação **somente leitura** economiza em uma listagem de
+ * `bench.linhas` motos (padrão 10 mil), pelo mesmo caminho do
+ * `MotoService.consultarTodos()`:
+ *
+ * - **read-write:** o serviço é chamado dentro de uma transação comum (o `readOnly`
+ *   do método é ignorado porque ele participa da transação externa);
+ * - **read-only:** o serviço é chamado direto, com seu `@Transactional(readOnly = true)`.
+ *
+ * ---
+ * ## 📋 O que é medido (por listagem, mediana)
+ * - **CPU** da thread (consulta + mapeamento + commit com/sem dirty checking);
+ * - **Alocação** da thread (`ThreadMXBean#getThreadAllocatedBytes`);
+ * - **Heap retido** pelo contexto de persistência com as entidades carregadas
+ *   (diferença de heap após GC, dentro da transação) — aqui aparecem os snapshots.
+ *
+ * Antes de medir, confere que a transação read-only ativa o hint de leitura do
+ * Hibernate, `FlushMode.MANUAL` e o flag read-only da conexão JDBC.
+ *
+ * ---
+ * ## ▶️ Execução
+ * ```
+ * gradle benchReadOnly [-Dbench.linhas=10000 -Dbench.iteracoes=20]
+ * ```
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public final class ListagemReadOnlyBenchmark {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final MemoryMXBean MEMORIA = ManagementFactory.getMemoryMXBean();
+
+    private ListagemReadOnlyBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int linhas = Integer.getInteger("bench.linhas", 10_000);
+        int iteracoes = Integer.getInteger("bench.iteracoes", 20);
+        int aquecimento = Integer.getInteger("bench.aquecimento", 5);
+
+        var pg = EmbeddedPostgresSupport.iniciar();
+        DriverManagerDataSource ds = new DriverManagerDataSource(pg.url(), pg.username(), pg.password());
+        Flyway.configure().dataSource(ds).locations("classpath:db/migration")
+                .baselineOnMigrate(true).baselineVersion("1").load().migrate();
+        new GeradorFrota(ds).gerar(new GeradorConfig(20, linhas, 0, 0, 1, 42, "bench", 50_000, 1));
+
+        ConfigurableApplicationContext app = new SpringApplicationBuilder(MototrackApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + pg.url(),
+                        "--spring.datasource.username=" + pg.username(),
+                        "--spring.datasource.password=" + pg.password(),
+                        "--mototrack.cluster.enabled=false",
+                        "--mototrack.jfr.enabled=false",
+                        "--spring.devtools.restart.enabled=false",
+                        "--spring.docker.compose.enabled=false",
+                        "--logging.level.root=WARN");
+        try {
+            MotoService service = app.getBean(MotoService.class);
+            MotoRepository repository = app.getBean(MotoRepository.class);
+            EntityManager em = app.getBean(EntityManager.class);
+            PlatformTransactionManager tm = app.getBean(PlatformTransactionManager.class);
+
+            TransactionTemplate leitura = new TransactionTemplate(tm);
+            leitura.setReadOnly(true);
+            TransactionTemplate escrita = new TransactionTemplate(tm);
+
+            conferirModoLeitura(leitura, em);
+
+            Supplier<Integer> readOnly = () -> service.consultarTodos().size();
+            Supplier<Integer> readWrite = () -> escrita.execute(s -> service.consultarTodos().size());
+
+            for (int i = 0; i < aquecimento; i++) {
+                readWrite.get();
+                readOnly.get();
+            }
+
+            Medida rw = medir(readWrite, iteracoes);
+            Medida ro = medir(readOnly, iteracoes);
+            double retidoRw = retido(escrita, repository, iteracoes / 4 + 1);
+            double retidoRo = retido(leitura, repository, iteracoes / 4 + 1);
+
+            System.out.printf("%nListagem de %,d motos (mediana de %d execuções)%n", linhas, iteracoes);
+            System.out.printf("%-12s %12s %14s %16s%n", "modo", "CPU ms", "alocado MB", "heap retido MB");
+            System.out.printf("%-12s %12.1f %14.1f %16.1f%n", "read-write", rw.cpuMs, rw.alocadoMb, retidoRw);
+            System.out.printf("%-12s %12.1f %14.1f %16.1f%n", "read-only", ro.cpuMs, ro.alocadoMb, retidoRo);
+            System.out.printf("%-12s %11.0f%% %13.0f%% %15.0f%%%n", "economia",
+                    economia(rw.cpuMs, ro.cpuMs), economia(rw.alocadoMb, ro.alocadoMb), economia(retidoRw, retidoRo));
+        } finally {
+            app.close();
+        }
+        System.exit(0);
+    }
+
+    // =============================
+    // ✅ Conferência do modo leitura
+    // =============================
+
+    private static void conferirModoLeitura(TransactionTemplate leitura, EntityManager em) {
+        leitura.executeWithoutResult(status -> {
+            Session session = em.unwrap(Session.class);
+            boolean jdbcReadOnly = session.doReturningWork(Connection::isReadOnly);
+            System.out.printf("Transação read-only: hint Hibernate=%s, flush=%s, JDBC readOnly=%s%n",
+                    session.isDefaultReadOnly(), session.getHibernateFlushMode(), jdbcReadOnly);
+            if (!session.isDefaultReadOnly() || session.getHibernateFlushMode() != FlushMode.MANUAL || !jdbcReadOnly) {
+                throw new IllegalStateException("Transação read-only não aplicou hint/flush/flag JDBC");
+            }
+        });
+    }
+
+    // =============================
+    // 📏 Medição
+    // =============================
+
+    private record Medida(double cpuMs, double alocadoMb) {}
+
+    private static Medida medir(Supplier<Integer> listagem, int iteracoes) {
+        double[] cpu = new double[iteracoes];
+        double[] alocado = new double[iteracoes];
+        long thread = Thread.currentThread().threadId();
+        for (int i = 0; i < iteracoes; i++) {
+            long cpu0 = THREADS.getCurrentThreadCpuTime();
+            long aloc0 = THREADS.getThreadAllocatedBytes(thread);
+            listagem.get();
+            cpu[i] = (THREADS.getCurrentThreadCpuTime() - cpu0) / 1e6;
+            alocado[i] = (THREADS.getThreadAllocatedBytes(thread) - aloc0) / 1048576.0;
+        }
+        return new Medida(mediana(cpu), mediana(alocado));
+    }
+
+    /** Heap ocupado pelas entidades gerenciadas (e seus snapshots) enquanto a transação está aberta. */
+    private static double retido(TransactionTemplate tx, MotoRepository repository, int iteracoes) {
+        double[] retido = new double[iteracoes];
+        for (int i = 0; i < iteracoes; i++) {
+            final int n = i;
+            tx.executeWithoutResult(status -> {
+                long antes = heapAposGc();
+                List<?> motos = repository.findAll();
+                retido[n] = (heapAposGc() - antes) / 1048576.0;
+                Reference.reachabilityFence(motos);
+            });
+        }
+        return mediana(retido);
+    }
+
+    private static long heapAposGc() {
+        for (int i = 0; i < 3; i++) System.gc();
+        return MEMORIA.getHeapMemoryUsage().getUsed();
+    }
+
+    private static double mediana(double[] valores) {
+        double[] ordenados = valores.clone();
+        Arrays.sort(ordenados);
+        return ordenados[ordenados.length / 2];
+    }
+
+    private static double economia(double antes, double depois) {
+        return antes <= 0 ? 0 : 100.0 * (antes - depois) / antes;
+    }
+}
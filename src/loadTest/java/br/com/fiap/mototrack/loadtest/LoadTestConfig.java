@@ -0,0 +1,104 @@
+package br.com.fiap.mototrack.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * # ⚙️ LoadTestConfig
+ *
+ * Parâmetros de uma execução da suíte de carga.
+ *
+ * ---
+ * ## 📋 Origem dos valores (o último vence)
+ * 1. Perfil de tráfego `loadtest/profiles/<perfil>.properties` (classpath) ou arquivo
+ *    informado em `-Dloadtest.profile=/caminho/perfil.properties`;
+ * 2. Propriedades de sistema `-Dloadtest.<chave>=valor`.
+ *
+ * ## 🔑 Chaves
+ * - `filiais`, `motos`, `eventos`, `agendamentos`, `usuarios`, `seed` — massa sintética;
+ * - `vus` (usuários virtuais simultâneos), `aquecimento`, `duracao` (ISO-8601, ex.: `PT2M`);
+ * - `peso.<CENARIO>` — participação relativa de cada {@link Cenario} no mix;
+ * - `jdbc-url`, `jdbc-username`, `jdbc-password` — Postgres externo (senão, embutido);
+ * - `base-url` — aplicação já rodando (senão, sobe a aplicação no próprio processo);
+ * - `relatorio-dir` — onde gravar o CSV do resultado.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public record LoadTestConfig(
+        String perfil,
+        int filiais,
+        int motos,
+        int eventos,
+        int agendamentos,
+        int operadores,
+        long seed,
+        int vus,
+        Duration aquecimento,
+        Duration duracao,
+        Map<Cenario, Integer> pesos,
+        String jdbcUrl,
+        String jdbcUsername,
+        String jdbcPassword,
+        String baseUrl,
+        Path relatorioDir
+) {
+
+    public static LoadTestConfig carregar() {
+        String perfil = System.getProperty("loadtest.profile", "padrao");
+        Properties p = new Properties();
+        try (InputStream in = abrirPerfil(perfil)) {
+            p.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Perfil de tráfego inválido: " + perfil, e);
+        }
+        System.getProperties().forEach((k, v) -> {
+            String chave = k.toString();
+            if (chave.startsWith("loadtest.")) p.setProperty(chave.substring("loadtest.".length()), v.toString());
+        });
+
+        Map<Cenario, Integer> pesos = new EnumMap<>(Cenario.class);
+        for (Cenario c : Cenario.values()) {
+            int peso = Integer.parseInt(p.getProperty("peso." + c.name(), "0"));
+            if (peso > 0) pesos.put(c, peso);
+        }
+        if (pesos.isEmpty()) throw new IllegalArgumentException("Perfil sem nenhum peso.<CENARIO> > 0: " + perfil);
+
+        return new LoadTestConfig(
+                perfil,
+                Integer.parseInt(p.getProperty("filiais", "20")),
+                Integer.parseInt(p.getProperty("motos", "5000")),
+                Integer.parseInt(p.getProperty("eventos", "100000")),
+                Integer.parseInt(p.getProperty("agendamentos", "10000")),
+                Integer.parseInt(p.getProperty("usuarios", "50")),
+                Long.parseLong(p.getProperty("seed", "42")),
+                Integer.parseInt(p.getProperty("vus", "32")),
+                Duration.parse(p.getProperty("aquecimento", "PT20S")),
+                Duration.parse(p.getProperty("duracao", "PT1M")),
+                pesos,
+                p.getProperty("jdbc-url"),
+                p.getProperty("jdbc-username", "mototrack"),
+                p.getProperty("jdbc-password", "mototrack"),
+                p.getProperty("base-url"),
+                Path.of(p.getProperty("relatorio-dir", "build/reports/loadtest"))
+        );
+    }
+
+    private static InputStream abrirPerfil(String perfil) throws IOException {
+        Path arquivo = Path.of(perfil);
+        if (perfil.endsWith(".properties") && Files.isRegularFile(arquivo)) {
+            return Files.newInputStream(arquivo);
+        }
+        InputStream in = LoadTestConfig.class.getResourceAsStream("/loadtest/profiles/" + perfil + ".properties");
+        if (in == null) throw new IOException("perfil não encontrado");
+        return in;
+    }
+}
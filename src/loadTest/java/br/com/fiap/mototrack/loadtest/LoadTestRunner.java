@@ -0,0 +1,160 @@
+package br.com.fiap.mototrack.loadtest;
+
+import br.com.fiap.mototrack.MototrackApplication;
+import br.com.fiap.mototrack.support.EmbeddedPostgresSupport;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * # 🚀 LoadTestRunner
+ *
+ * Suíte de carga **reprodutível e offline**:
+ * 1. sobe um Postgres embutido (ou usa `-Dloadtest.jdbc-url`);
+ * 2. aplica as migrações e popula uma frota sintética determinística ({@link MassaSintetica});
+ * 3. sobe a aplicação no próprio processo, em porta aleatória (ou usa `-Dloadtest.base-url`);
+ * 4. dispara o mix de cenários do perfil com N usuários virtuais (virtual threads);
+ * 5. imprime e grava em CSV a vazão e os percentis de latência por cenário.
+ *
+ * ---
+ * ## ▶️ Execução
+ * ```
+ * gradle loadTest -Dloadtest.profile=black-friday -Dloadtest.vus=128 -Dloadtest.duracao=PT5M
+ * ```
+ *
+ * Modelo fechado (cada usuário dispara a próxima requisição ao receber a resposta);
+ * as latências refletem o serviço sob a concorrência configurada em `vus`.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig cfg = LoadTestConfig.carregar();
+
+        // 1) Banco
+        if (cfg.jdbcUrl() != null) {
+            System.setProperty("mototrack.test.jdbc-url", cfg.jdbcUrl());
+            System.setProperty("mototrack.test.username", cfg.jdbcUsername());
+            System.setProperty("mototrack.test.password", cfg.jdbcPassword());
+        }
+        var pg = EmbeddedPostgresSupport.iniciar();
+
+        // 2) Schema atualizado (V2+) e massa sintética
+        DriverManagerDataSource ds = new DriverManagerDataSource(pg.url(), pg.username(), pg.password());
+        Flyway.configure().dataSource(ds).locations("classpath:db/migration")
+                .baselineOnMigrate(true).baselineVersion("1").load().migrate();
+        MassaSintetica massa = new MassaSintetica(ds);
+        massa.popular(cfg);
+
+        // 3) Aplicação
+        ConfigurableApplicationContext app = null;
+        String baseUrl = cfg.baseUrl();
+        if (baseUrl == null) {
+            // Argumentos de linha de comando têm precedência sobre o application.properties
+            app = new SpringApplicationBuilder(MototrackApplication.class).run(
+                    "--server.port=0",
+                    "--spring.datasource.url=" + pg.url(),
+                    "--spring.datasource.username=" + pg.username(),
+                    "--spring.datasource.password=" + pg.password(),
+                    "--spring.devtools.restart.enabled=false",
+                    "--spring.docker.compose.enabled=false",
+                    // Todos os VUs saem do mesmo IP: o limite de login por IP seria do gerador, não da aplicação
+                    "--mototrack.limite.login.capacidade=100000",
+                    "--mototrack.limite.login.por-segundo=100000");
+            int porta = ((WebServerApplicationContext) app).getWebServer().getPort();
+            baseUrl = "http://localhost:" + porta;
+        }
+
+        try {
+            executar(cfg, massa, baseUrl);
+        } finally {
+            if (app != null) app.close();
+        }
+        System.exit(0);
+    }
+
+    private static void executar(LoadTestConfig cfg, MassaSintetica massa, String baseUrl) throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        Cenario[] roleta = montarRoleta(cfg);
+        Resultados resultados = new Resultados();
+
+        List<UsuarioVirtual> usuarios = new ArrayList<>(cfg.vus());
+        for (int i = 0; i < cfg.vus(); i++) {
+            String email = i == 0 ? MassaSintetica.EMAIL_ADMIN : massa.emailOperador(i, cfg.operadores());
+            UsuarioVirtual vu = new UsuarioVirtual(http, baseUrl, email, MassaSintetica.SENHA);
+            if (vu.relogar() != 302) throw new IllegalStateException("Login falhou para " + email);
+            usuarios.add(vu);
+        }
+
+        long fim = System.nanoTime() + cfg.aquecimento().plus(cfg.duracao()).toNanos();
+        try (ExecutorService vus = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < usuarios.size(); i++) {
+                UsuarioVirtual vu = usuarios.get(i);
+                SplittableRandom rnd = new SplittableRandom(cfg.seed() * 31 + i);
+                vus.submit(() -> loop(vu, rnd, roleta, massa, resultados, fim));
+            }
+
+            System.out.printf("Aquecimento de %s com %d VUs contra %s...%n", cfg.aquecimento(), cfg.vus(), baseUrl);
+            TimeUnit.NANOSECONDS.sleep(cfg.aquecimento().toNanos());
+            resultados.zerar();
+            System.out.printf("Medindo por %s...%n", cfg.duracao());
+        }
+
+        List<Resultados.Linha> linhas = resultados.fechar(cfg.duracao());
+        Resultados.imprimir(cfg, linhas, System.out);
+        Path csv = Resultados.gravarCsv(cfg, linhas);
+        System.out.println("Relatório: " + csv.toAbsolutePath());
+    }
+
+    private static void loop(UsuarioVirtual vu, SplittableRandom rnd, Cenario[] roleta,
+                             MassaSintetica massa, Resultados resultados, long fim) {
+        while (System.nanoTime() < fim) {
+            Cenario c = roleta[rnd.nextInt(roleta.length)];
+            long t0 = System.nanoTime();
+            boolean sucesso;
+            try {
+                int status = c.executar(vu, rnd, massa);
+                sucesso = status < 400;
+                if (status == 401 && c != Cenario.LOGIN) vu.relogar();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                sucesso = false;
+            }
+            resultados.registrar(c, System.nanoTime() - t0, sucesso);
+        }
+    }
+
+    /** Vetor em que cada cenário aparece tantas vezes quanto o seu peso. */
+    private static Cenario[] montarRoleta(LoadTestConfig cfg) {
+        List<Cenario> roleta = new ArrayList<>();
+        cfg.pesos().forEach((c, peso) -> {
+            for (int i = 0; i < peso; i++) roleta.add(c);
+        });
+        return roleta.toArray(new Cenario[0]);
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.fiap.mototrack.loadtest;
+
+import br.com.fiap.mototrack.gerador.GeradorConfig;
+import br.com.fiap.mototrack.gerador.GeradorFrota;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * # 🏭 MassaSintetica
+ *
+ * Popula o banco com a frota sintética **determinística** do {@link GeradorFrota}
+ * (mesma `seed` → mesmos dados) e guarda em memória o que os cenários precisam
+ * sortear (ids e placas).
+ *
+ * ---
+ * ## 👤 Credenciais criadas
+ * - `usuarioN@gerador.mototrack.local` (o `usuario0` é ADMINISTRADOR), todos com a senha {@value #SENHA}.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public class MassaSintetica {
+
+    public static final String SENHA = "carga123";
+    public static final String EMAIL_ADMIN = GeradorFrota.email(0);
+
+    private static final int LOTE = 50_000;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbc;
+    private long[] motoIds = new long[0];
+    private String[] placas = new String[0];
+    private String[] localizacoes = new String[0];
+
+    public MassaSintetica(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbc = new JdbcTemplate(dataSource);
+    }
+
+    // =============================
+    // 🌱 Carga
+    // =============================
+
+    /**
+     * Gera filiais, usuários, motos, eventos e agendamentos (se o banco ainda estiver vazio)
+     * e carrega os ids/placas usados pelos cenários.
+     */
+    public void popular(LoadTestConfig cfg) {
+        Integer existentes = jdbc.queryForObject("select count(*) from tb_moto", Integer.class);
+        if (existentes == null || existentes == 0) {
+            long t0 = System.nanoTime();
+            new GeradorFrota(dataSource).gerar(new GeradorConfig(cfg.filiais(), cfg.motos(), cfg.eventos(),
+                    cfg.agendamentos(), Math.max(1, cfg.operadores() + 1), cfg.seed(), SENHA, LOTE, 90));
+            System.out.printf("Massa sintética: %d filiais, %d motos, %d eventos, %d agendamentos em %d ms%n",
+                    cfg.filiais(), cfg.motos(), cfg.eventos(), cfg.agendamentos(), (System.nanoTime() - t0) / 1_000_000);
+        } else {
+            System.out.printf("Banco já possui %d motos; reutilizando a massa existente.%n", existentes);
+        }
+        carregarReferencias();
+    }
+
+    private void carregarReferencias() {
+        List<Long> ids = new ArrayList<>();
+        List<String> ps = new ArrayList<>();
+        jdbc.query("select id_moto, cd_placa from tb_moto order by id_moto", rs -> {
+            ids.add(rs.getLong(1));
+            ps.add(rs.getString(2));
+        });
+        motoIds = ids.stream().mapToLong(Long::longValue).toArray();
+        placas = ps.toArray(new String[0]);
+        localizacoes = jdbc.queryForList("select 'Pátio ' || ds_bairro || ' - ' || ds_cidade from tb_filial", String.class)
+                .toArray(new String[0]);
+        if (localizacoes.length == 0) localizacoes = new String[]{"Pátio Central"};
+    }
+
+    // =============================
+    // 🎲 Sorteios usados pelos cenários
+    // =============================
+
+    public long motoId(SplittableRandom rnd) {
+        return motoIds[rnd.nextInt(motoIds.length)];
+    }
+
+    public String placa(SplittableRandom rnd) {
+        return placas[rnd.nextInt(placas.length)];
+    }
+
+    public String status(SplittableRandom rnd) {
+        return GeradorFrota.STATUS[GeradorFrota.ponderado(rnd, GeradorFrota.PESO_STATUS)];
+    }
+
+    public String modelo(SplittableRandom rnd) {
+        String[] modelos = GeradorFrota.MODELOS[rnd.nextInt(GeradorFrota.MODELOS.length)];
+        return modelos[rnd.nextInt(modelos.length)];
+    }
+
+    public String tipoEvento(SplittableRandom rnd) {
+        return GeradorFrota.TIPOS_EVENTO[rnd.nextInt(GeradorFrota.TIPOS_EVENTO.length)];
+    }
+
+    public String motivo(SplittableRandom rnd) {
+        return GeradorFrota.MOTIVOS[rnd.nextInt(GeradorFrota.MOTIVOS.length)];
+    }
+
+    public String localizacao(SplittableRandom rnd) {
+        return localizacoes[rnd.nextInt(localizacoes.length)];
+    }
+
+    public String emailOperador(int i, int operadores) {
+        return operadores <= 0 ? EMAIL_ADMIN : GeradorFrota.email(1 + i % operadores);
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.fiap.mototrack.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * # 📈 Resultados
+ *
+ * Latências (HdrHistogram, em microssegundos) e erros por {@link Cenario}.
+ * A gravação é livre de locks; o relatório traz vazão e percentis por endpoint.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public class Resultados {
+
+    private static final long MAX_MICROS = Duration.ofMinutes(2).toNanos() / 1_000;
+
+    private final Map<Cenario, Recorder> latencias = new EnumMap<>(Cenario.class);
+    private final Map<Cenario, LongAdder> erros = new EnumMap<>(Cenario.class);
+
+    public Resultados() {
+        for (Cenario c : Cenario.values()) {
+            latencias.put(c, new Recorder(MAX_MICROS, 3));
+            erros.put(c, new LongAdder());
+        }
+    }
+
+    public void registrar(Cenario c, long nanos, boolean sucesso) {
+        latencias.get(c).recordValue(Math.min(MAX_MICROS, nanos / 1_000));
+        if (!sucesso) erros.get(c).increment();
+    }
+
+    /** Descarta o que foi gravado até agora (fim do aquecimento). */
+    public void zerar() {
+        latencias.values().forEach(Recorder::reset);
+        erros.values().forEach(LongAdder::reset);
+    }
+
+    /** Fecha a medição e devolve uma linha por cenário executado. */
+    public List<Linha> fechar(Duration duracao) {
+        double segundos = duracao.toMillis() / 1000.0;
+        List<Linha> linhas = new ArrayList<>();
+        for (Cenario c : Cenario.values()) {
+            Histogram h = latencias.get(c).getIntervalHistogram();
+            if (h.getTotalCount() == 0) continue;
+            linhas.add(new Linha(c, h.getTotalCount(), erros.get(c).sum(), h.getTotalCount() / segundos,
+                    ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)), ms(h.getValueAtPercentile(99)),
+                    ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue())));
+        }
+        return linhas;
+    }
+
+    public static void imprimir(LoadTestConfig cfg, List<Linha> linhas, PrintStream out) {
+        out.printf(Locale.ROOT, "%nPerfil '%s' — %d VUs, %s de medição%n", cfg.perfil(), cfg.vus(), cfg.duracao());
+        out.printf(Locale.ROOT, "%-20s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "cenário", "reqs", "erros", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "máx ms");
+        long total = 0;
+        double vazao = 0;
+        for (Linha l : linhas) {
+            out.printf(Locale.ROOT, "%-20s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    l.cenario(), l.requisicoes(), l.erros(), l.vazao(), l.p50(), l.p90(), l.p99(), l.p999(), l.max());
+            total += l.requisicoes();
+            vazao += l.vazao();
+        }
+        out.printf(Locale.ROOT, "%-20s %9d %7s %9.1f%n", "TOTAL", total, "", vazao);
+    }
+
+    public static Path gravarCsv(LoadTestConfig cfg, List<Linha> linhas) throws IOException {
+        Files.createDirectories(cfg.relatorioDir());
+        Path arquivo = cfg.relatorioDir().resolve("%s-%s.csv".formatted(cfg.perfil().replaceAll("\\W", "_"),
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))));
+        List<String> csv = new ArrayList<>();
+        csv.add("cenario,requisicoes,erros,vazao_rps,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+        for (Linha l : linhas) {
+            csv.add(String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f,%.3f", l.cenario(), l.requisicoes(),
+                    l.erros(), l.vazao(), l.p50(), l.p90(), l.p99(), l.p999(), l.max()));
+        }
+        Files.write(arquivo, csv);
+        return arquivo;
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+
+    public record Linha(Cenario cenario, long requisicoes, long erros, double vazao,
+                        double p50, double p90, double p99, double p999, double max) {}
+}
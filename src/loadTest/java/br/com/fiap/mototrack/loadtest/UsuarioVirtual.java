@@ -0,0 +1,159 @@
+package br.com.fiap.mototrack.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * # 👤 UsuarioVirtual
+ *
+ * Um usuário simulado com **sessão própria** (cookie `JSESSIONID`) e token CSRF,
+ * exatamente como um navegador logado pelo formulário — ou, nas chamadas
+ * `*ComToken`, como um cliente da API com bearer token (sem sessão).
+ *
+ * O `HttpClient` é compartilhado entre todos os usuários; os cookies são
+ * controlados aqui para que cada usuário tenha a sua sessão.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public class UsuarioVirtual {
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+    private static final Pattern SESSAO = Pattern.compile("JSESSIONID=([^;]+)");
+    private static final Pattern TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final String email;
+    private final String senha;
+
+    private String sessao;
+    private String csrf;
+    private String token;
+
+    public UsuarioVirtual(HttpClient http, String baseUrl, String email, String senha) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.email = email;
+        this.senha = senha;
+    }
+
+    // =============================
+    // 🔐 Sessão
+    // =============================
+
+    /**
+     * Descarta a sessão atual e faz o login completo: GET /login (CSRF) + POST /login.
+     *
+     * @return 302 em caso de sucesso (redirect para /home/ui); 401 se o login falhar
+     */
+    public int relogar() throws IOException, InterruptedException {
+        sessao = null;
+        HttpResponse<String> pagina = enviar(requisicao("/login").GET(), HttpResponse.BodyHandlers.ofString());
+        csrf = extrairCsrf(pagina.body());
+
+        String form = "username=" + enc(email) + "&password=" + enc(senha) + "&_csrf=" + enc(csrf);
+        HttpResponse<Void> resp = enviar(requisicao("/login")
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form)), HttpResponse.BodyHandlers.discarding());
+        String destino = resp.headers().firstValue("Location").orElse("");
+        if (resp.statusCode() != 302 || destino.contains("error")) return 401;
+
+        // O token CSRF muda após a autenticação: busca o novo em uma página logada
+        HttpResponse<String> home = enviar(requisicao("/home/ui").GET(), HttpResponse.BodyHandlers.ofString());
+        csrf = extrairCsrf(home.body());
+        return resp.statusCode();
+    }
+
+    /**
+     * Login da API: POST /auth/token (sem sessão); guarda o bearer token.
+     *
+     * @return 200 em caso de sucesso
+     */
+    public int obterToken() throws IOException, InterruptedException {
+        String json = "{\"email\": \"%s\", \"senha\": \"%s\"}".formatted(email, senha);
+        HttpResponse<String> resp = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/token"))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        Matcher m = TOKEN.matcher(resp.body() == null ? "" : resp.body());
+        token = m.find() ? m.group(1) : null;
+        return resp.statusCode();
+    }
+
+    // =============================
+    // 🌐 Requisições
+    // =============================
+
+    /** GET stateless com `Authorization: Bearer` (obtém o token na primeira chamada). */
+    public int getComToken(String caminho) throws IOException, InterruptedException {
+        if (token == null) {
+            int status = obterToken();
+            if (status != 200) return status;
+        }
+        return http.send(HttpRequest.newBuilder(URI.create(baseUrl + caminho))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    public int get(String caminho) throws IOException, InterruptedException {
+        return status(enviar(requisicao(caminho).GET(), HttpResponse.BodyHandlers.discarding()));
+    }
+
+    public int postJson(String caminho, String json) throws IOException, InterruptedException {
+        return status(enviar(requisicao(caminho)
+                .header("Content-Type", "application/json")
+                .header("X-CSRF-TOKEN", csrf == null ? "" : csrf)
+                .POST(HttpRequest.BodyPublishers.ofString(json)), HttpResponse.BodyHandlers.discarding()));
+    }
+
+    // =============================
+    // 🔧 Auxiliares
+    // =============================
+
+    private HttpRequest.Builder requisicao(String caminho) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(baseUrl + caminho)).timeout(TIMEOUT);
+        if (sessao != null) b.header("Cookie", "JSESSIONID=" + sessao);
+        return b;
+    }
+
+    private <T> HttpResponse<T> enviar(HttpRequest.Builder b, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        HttpResponse<T> resp = http.send(b.build(), handler);
+        for (String cookie : resp.headers().allValues("Set-Cookie")) {
+            Matcher m = SESSAO.matcher(cookie);
+            if (m.find()) sessao = m.group(1);
+        }
+        return resp;
+    }
+
+    /** Redirect para /login significa sessão perdida: conta como falha (401). */
+    private static int status(HttpResponse<?> resp) {
+        if (resp.statusCode() == 302 && resp.headers().firstValue("Location").orElse("").contains("/login")) {
+            return 401;
+        }
+        return resp.statusCode();
+    }
+
+    private static String extrairCsrf(String html) {
+        Matcher m = CSRF.matcher(html == null ? "" : html);
+        return m.find() ? m.group(1) : null;
+    }
+
+    private static String enc(String valor) {
+        return URLEncoder.encode(valor == null ? "" : valor, StandardCharsets.UTF_8);
+    }
+}
@@ -1,7 +1,9 @@
 package br.com.fiap.mototrack;
 
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
+import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
 import io.swagger.v3.oas.annotations.info.Info;
+import io.swagger.v3.oas.annotations.security.SecurityScheme;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
@@ -13,6 +15,8 @@ import org.springframework.cache.annotation.EnableCaching;
         version = "v1",
         description = "API do sistema Mototrack"
 ))
+@SecurityScheme(name = "bearerAuth", type = SecuritySchemeType.HTTP, scheme = "bearer", bearerFormat = "JWT",
+        description = "Token obtido em POST /auth/token")
 public class MototrackApplication {
 
     public static void main(String[] args) {
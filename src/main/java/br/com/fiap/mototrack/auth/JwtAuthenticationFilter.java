@@ -0,0 +1,113 @@
+package br.com.fiap.mototrack.auth;
+
+import br.com.fiap.mototrack.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * # 🔑 JwtAuthenticationFilter
+ *
+ * Autentica requisições com `Authorization: Bearer <token>` a partir do {@link JwtService},
+ * sem sessão e sem consultar o banco.
+ *
+ * Em `/actuator/prometheus` também aceita o **token de scrape** (`mototrack.metricas.token`),
+ * que autentica como `prometheus` com {@link #ROLE_METRICAS} — um segredo fixo para o
+ * Prometheus, que não renova JWT. Em qualquer outra rota esse token não vale.
+ *
+ * Token inválido → `401` com `WWW-Authenticate: Bearer error="invalid_token"` e corpo
+ * no formato {@link ErrorResponse}.
+ *
+ * Não é um bean de propósito: se fosse, o Spring Boot o registraria também como filtro
+ * servlet global. É instanciado na cadeia de segurança da API (`SecurityConfiguration`).
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String PREFIXO = "Bearer ";
+
+    /** Role do scraper de métricas (só enxerga `/actuator/prometheus`). */
+    public static final String ROLE_METRICAS = "ROLE_METRICAS";
+
+    /** Rota do scrape, única onde o token de métricas é aceito. */
+    public static final String ROTA_METRICAS = "/actuator/prometheus";
+
+    private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
+    private final byte[] tokenMetricas;
+
+    public JwtAuthenticationFilter(JwtService jwtService, ObjectMapper objectMapper, String tokenMetricas) {
+        this.jwtService = jwtService;
+        this.objectMapper = objectMapper;
+        this.tokenMetricas = tokenMetricas == null || tokenMetricas.isBlank()
+                ? null : tokenMetricas.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** Indica se a requisição traz um bearer token (critério da cadeia stateless). */
+    public static boolean temBearer(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        return header != null && header.regionMatches(true, 0, PREFIXO, 0, PREFIXO.length());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!temBearer(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            String token = request.getHeader(HttpHeaders.AUTHORIZATION).substring(PREFIXO.length()).trim();
+
+            UsernamePasswordAuthenticationToken autenticacao;
+            if (tokenDeMetricas(request, token)) {
+                autenticacao = UsernamePasswordAuthenticationToken.authenticated("prometheus", null,
+                        List.of(new SimpleGrantedAuthority(ROLE_METRICAS)));
+            } else {
+                JwtService.TokenValido valido = jwtService.validar(token);
+                autenticacao = UsernamePasswordAuthenticationToken.authenticated(valido.usuario(), null,
+                        valido.perfis().stream().map(SimpleGrantedAuthority::new).toList());
+            }
+            SecurityContext contexto = SecurityContextHolder.createEmptyContext();
+            contexto.setAuthentication(autenticacao);
+            SecurityContextHolder.setContext(contexto);
+        } catch (BadCredentialsException e) {
+            SecurityContextHolder.clearContext();
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            objectMapper.writeValue(response.getOutputStream(),
+                    new ErrorResponse(HttpStatus.UNAUTHORIZED.value(), e.getMessage()));
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private boolean tokenDeMetricas(HttpServletRequest request, String token) {
+        if (tokenMetricas == null) return false;
+        String rota = request.getRequestURI().substring(request.getContextPath().length());
+        return ROTA_METRICAS.equals(rota)
+                && MessageDigest.isEqual(tokenMetricas, token.getBytes(StandardCharsets.UTF_8));
+    }
+}
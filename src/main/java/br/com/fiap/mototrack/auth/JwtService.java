@@ -0,0 +1,287 @@
+package br.com.fiap.mototrack.auth;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.Signature;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * # 🎫 JwtService
+ *
+ * Emissão e validação **locais** de tokens JWT para a API (sem IdP externo), com
+ * JDK puro: `HS256` (HMAC-SHA256) ou `EdDSA` (Ed25519).
+ *
+ * ---
+ * ## 📋 Validação
+ * - Só aceita o cabeçalho exato que este serviço emite (evita troca de algoritmo);
+ * - Confere assinatura, `iss` e `exp`;
+ * - O resultado fica em cache pelo **SHA-256 do token** até o `exp`: as requisições
+ *   seguintes custam um hash e uma consulta em memória, sem BCrypt nem sessão.
+ *
+ * ---
+ * ## ⚠️ Chaves
+ * Sem `mototrack.jwt.segredo` (HS256) ou sem o par `chave-privada`/`chave-publica` (EdDSA),
+ * a chave é gerada na subida: os tokens deixam de valer após um restart e não são
+ * aceitos pelos outros nós. Em produção, configure a chave.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class JwtService {
+
+    public static final String HS256 = "HS256";
+    public static final String EDDSA = "EdDSA";
+
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder B64D = Base64.getUrlDecoder();
+    private static final TypeReference<Map<String, Object>> MAPA = new TypeReference<>() {};
+
+    /** Tolerância de relógio entre nós na verificação de `exp`. */
+    private static final long TOLERANCIA_SEGUNDOS = 30;
+
+    private final ObjectMapper objectMapper;
+    private final String algoritmo;
+    private final String cabecalho;
+    private final Duration expiracao;
+    private final String emissor;
+
+    private final byte[] segredo;
+    private final PrivateKey chavePrivada;
+    private final PublicKey chavePublica;
+
+    private final ThreadLocal<Mac> hmac;
+    private final Cache<String, TokenValido> verificados;
+
+    public JwtService(ObjectMapper objectMapper,
+                      @Value("${mototrack.jwt.algoritmo:HS256}") String algoritmo,
+                      @Value("${mototrack.jwt.segredo:}") String segredo,
+                      @Value("${mototrack.jwt.chave-privada:}") String chavePrivada,
+                      @Value("${mototrack.jwt.chave-publica:}") String chavePublica,
+                      @Value("${mototrack.jwt.expiracao:PT1H}") Duration expiracao,
+                      @Value("${mototrack.jwt.emissor:mototrack}") String emissor,
+                      @Value("${mototrack.jwt.cache-max:100000}") long cacheMax) throws GeneralSecurityException {
+        this.objectMapper = objectMapper;
+        this.expiracao = expiracao;
+        this.emissor = emissor;
+
+        if (EDDSA.equalsIgnoreCase(algoritmo)) {
+            this.algoritmo = EDDSA;
+            this.segredo = null;
+            if (chavePrivada.isBlank() || chavePublica.isBlank()) {
+                log.warn("JWT EdDSA sem chaves configuradas: usando par Ed25519 temporário (vale só neste processo).");
+                KeyPair par = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+                this.chavePrivada = par.getPrivate();
+                this.chavePublica = par.getPublic();
+            } else {
+                KeyFactory kf = KeyFactory.getInstance("Ed25519");
+                this.chavePrivada = kf.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(chavePrivada.trim())));
+                this.chavePublica = kf.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(chavePublica.trim())));
+            }
+            this.hmac = null;
+        } else if (HS256.equalsIgnoreCase(algoritmo)) {
+            this.algoritmo = HS256;
+            this.chavePrivada = null;
+            this.chavePublica = null;
+            if (segredo.isBlank()) {
+                log.warn("JWT HS256 sem mototrack.jwt.segredo: usando segredo temporário (vale só neste processo).");
+                byte[] aleatorio = new byte[32];
+                new SecureRandom().nextBytes(aleatorio);
+                this.segredo = aleatorio;
+            } else {
+                this.segredo = Base64.getDecoder().decode(segredo.trim());
+                if (this.segredo.length < 32) {
+                    throw new IllegalStateException("mototrack.jwt.segredo deve ter pelo menos 256 bits (32 bytes em base64).");
+                }
+            }
+            SecretKeySpec chave = new SecretKeySpec(this.segredo, "HmacSHA256");
+            this.hmac = ThreadLocal.withInitial(() -> {
+                try {
+                    Mac mac = Mac.getInstance("HmacSHA256");
+                    mac.init(chave);
+                    return mac;
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } else {
+            throw new IllegalStateException("mototrack.jwt.algoritmo inválido: " + algoritmo + " (use HS256 ou EdDSA)");
+        }
+
+        this.cabecalho = B64.encodeToString(("{\"alg\":\"" + this.algoritmo + "\",\"typ\":\"JWT\"}")
+                .getBytes(StandardCharsets.UTF_8));
+        this.verificados = Caffeine.newBuilder()
+                .maximumSize(cacheMax)
+                .expireAfter(new ExpiraNoToken())
+                .recordStats()
+                .build();
+    }
+
+    // =============================
+    // 📤 Emissão
+    // =============================
+
+    /** Token emitido e o instante em que expira. */
+    public record TokenEmitido(String token, Instant expiraEm) {}
+
+    public TokenEmitido emitir(String usuario, Collection<String> perfis) {
+        Instant agora = Instant.now();
+        Instant expira = agora.plus(expiracao);
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("iss", emissor);
+        claims.put("sub", usuario);
+        claims.put("roles", List.copyOf(perfis));
+        claims.put("iat", agora.getEpochSecond());
+        claims.put("exp", expira.getEpochSecond());
+        claims.put("jti", UUID.randomUUID().toString());
+
+        try {
+            String conteudo = cabecalho + "." + B64.encodeToString(objectMapper.writeValueAsBytes(claims));
+            return new TokenEmitido(conteudo + "." + B64.encodeToString(assinar(conteudo)), expira);
+        } catch (JsonProcessingException | GeneralSecurityException e) {
+            throw new IllegalStateException("Falha ao emitir token JWT", e);
+        }
+    }
+
+    // =============================
+    // 📥 Validação
+    // =============================
+
+    /** Dados confiáveis de um token já verificado. */
+    public record TokenValido(String usuario, List<String> perfis, Instant expiraEm) {}
+
+    /**
+     * Valida o token (ou o encontra no cache de verificações).
+     *
+     * @throws BadCredentialsException se o token for malformado, adulterado, de outro emissor ou expirado
+     */
+    public TokenValido validar(String token) {
+        String chave = hash(token);
+        TokenValido cacheado = verificados.getIfPresent(chave);
+        if (cacheado != null && cacheado.expiraEm().isAfter(Instant.now())) {
+            return cacheado;
+        }
+        TokenValido valido = verificar(token);
+        verificados.put(chave, valido);
+        return valido;
+    }
+
+    private TokenValido verificar(String token) {
+        int p1 = token.indexOf('.');
+        int p2 = token.lastIndexOf('.');
+        if (p1 <= 0 || p2 <= p1 || !token.startsWith(cabecalho + ".")) {
+            throw new BadCredentialsException("Token malformado ou com algoritmo não aceito");
+        }
+
+        try {
+            String conteudo = token.substring(0, p2);
+            byte[] assinatura = B64D.decode(token.substring(p2 + 1));
+            if (!assinaturaValida(conteudo, assinatura)) {
+                throw new BadCredentialsException("Assinatura do token inválida");
+            }
+
+            Map<String, Object> claims = objectMapper.readValue(B64D.decode(token.substring(p1 + 1, p2)), MAPA);
+            if (!emissor.equals(claims.get("iss"))) {
+                throw new BadCredentialsException("Emissor do token não reconhecido");
+            }
+            if (!(claims.get("exp") instanceof Number exp)
+                    || Instant.ofEpochSecond(exp.longValue() + TOLERANCIA_SEGUNDOS).isBefore(Instant.now())) {
+                throw new BadCredentialsException("Token expirado");
+            }
+            if (!(claims.get("sub") instanceof String usuario) || usuario.isBlank()) {
+                throw new BadCredentialsException("Token sem usuário");
+            }
+
+            List<String> perfis = claims.get("roles") instanceof List<?> lista
+                    ? lista.stream().map(String::valueOf).toList()
+                    : List.of();
+            return new TokenValido(usuario, perfis, Instant.ofEpochSecond(((Number) claims.get("exp")).longValue()));
+        } catch (IllegalArgumentException | java.io.IOException | GeneralSecurityException e) {
+            throw new BadCredentialsException("Token malformado", e);
+        }
+    }
+
+    // =============================
+    // 🔧 Criptografia
+    // =============================
+
+    private byte[] assinar(String conteudo) throws GeneralSecurityException {
+        byte[] dados = conteudo.getBytes(StandardCharsets.US_ASCII);
+        if (hmac != null) return hmac.get().doFinal(dados);
+
+        Signature ed = Signature.getInstance("Ed25519");
+        ed.initSign(chavePrivada);
+        ed.update(dados);
+        return ed.sign();
+    }
+
+    private boolean assinaturaValida(String conteudo, byte[] assinatura) throws GeneralSecurityException {
+        byte[] dados = conteudo.getBytes(StandardCharsets.US_ASCII);
+        if (hmac != null) return MessageDigest.isEqual(hmac.get().doFinal(dados), assinatura);
+
+        Signature ed = Signature.getInstance("Ed25519");
+        ed.initVerify(chavePublica);
+        ed.update(dados);
+        return ed.verify(assinatura);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return B64.encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Cada verificação em cache vive exatamente até o `exp` do token. */
+    private static final class ExpiraNoToken implements Expiry<String, TokenValido> {
+
+        @Override
+        public long expireAfterCreate(String chave, TokenValido token, long agoraNanos) {
+            return Math.max(0, Duration.between(Instant.now(), token.expiraEm()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, TokenValido token, long agoraNanos, long duracaoAtual) {
+            return expireAfterCreate(chave, token, agoraNanos);
+        }
+
+        @Override
+        public long expireAfterRead(String chave, TokenValido token, long agoraNanos, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+}
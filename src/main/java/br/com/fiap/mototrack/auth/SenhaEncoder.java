@@ -0,0 +1,201 @@
+package br.com.fiap.mototrack.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * # 🔐 SenhaEncoder
+ *
+ * `PasswordEncoder` BCrypt que **não roda no thread da requisição**: todo hash e
+ * toda verificação vão para um pool dedicado e limitado, para que uma rajada de
+ * logins (início de turno) não ocupe todos os workers do Tomcat nem toda a CPU.
+ *
+ * ---
+ * ## 📋 Como funciona
+ * - **Pool limitado:** `threads` hashes em paralelo e no máximo `fila` aguardando;
+ *   fila cheia ou espera acima de `espera-max` → {@link LoginSobrecarregadoException}
+ *   (a API responde 503 com `Retry-After`).
+ * - **Cache de verificações:** um acerto fica guardado por `cache-ttl`, com chave
+ *   `HMAC-SHA256(senha + hash armazenado)` sob uma chave aleatória do processo.
+ *   O hash armazenado entra na chave, então trocar a senha invalida a entrada sozinho.
+ *   Falhas nunca são guardadas.
+ * - **Rehash:** `upgradeEncoding` indica hashes com custo abaixo do configurado;
+ *   o `DaoAuthenticationProvider` regrava a senha no login (ver `SecurityConfiguration`).
+ *
+ * ---
+ * ## 📈 Métricas
+ * - `executor.*{name=mototrack.senha}` — ativos, fila (`executor.queued`), concluídos;
+ * - `mototrack.senha.espera` — tempo na fila até começar o BCrypt;
+ * - `mototrack.senha.rejeitadas` — logins recusados por sobrecarga;
+ * - `mototrack.senha.cache{resultado=hit|miss}` — verificações evitadas.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Slf4j
+public class SenhaEncoder implements PasswordEncoder, DisposableBean {
+
+    private final BCryptPasswordEncoder bcrypt;
+    private final ThreadPoolExecutor pool;
+    private final Duration esperaMax;
+    private final Cache<String, Boolean> verificadas;
+    private final ThreadLocal<Mac> hmac;
+
+    private final Timer espera;
+    private final Counter rejeitadas;
+    private final Counter cacheHit;
+    private final Counter cacheMiss;
+
+    public SenhaEncoder(int custo, int threads, int fila, Duration esperaMax,
+                        Duration cacheTtl, long cacheMax, MeterRegistry registry) {
+        this.bcrypt = new BCryptPasswordEncoder(custo);
+        this.esperaMax = esperaMax;
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, fila)),
+                Thread.ofPlatform().name("senha-hash-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.verificadas = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtl)
+                .maximumSize(cacheMax)
+                .build();
+
+        byte[] chave = new byte[32];
+        new SecureRandom().nextBytes(chave);
+        SecretKeySpec spec = new SecretKeySpec(chave, "HmacSHA256");
+        this.hmac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(spec);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 indisponível", e);
+            }
+        });
+
+        new ExecutorServiceMetrics(pool, "mototrack.senha", Tags.empty()).bindTo(registry);
+        this.espera = Timer.builder("mototrack.senha.espera")
+                .description("Tempo na fila até o início do BCrypt")
+                .register(registry);
+        this.rejeitadas = Counter.builder("mototrack.senha.rejeitadas")
+                .description("Hashes recusados por fila cheia ou espera excessiva")
+                .register(registry);
+        this.cacheHit = Counter.builder("mototrack.senha.cache").tag("resultado", "hit").register(registry);
+        this.cacheMiss = Counter.builder("mototrack.senha.cache").tag("resultado", "miss").register(registry);
+
+        log.info("BCrypt custo {} em pool de {} thread(s), fila {}, espera máxima {}.", custo, threads, fila, esperaMax);
+    }
+
+    // =============================
+    // 🔑 PasswordEncoder
+    // =============================
+
+    @Override
+    public String encode(CharSequence senha) {
+        return executar(() -> bcrypt.encode(senha));
+    }
+
+    @Override
+    public boolean matches(CharSequence senha, String hash) {
+        if (senha == null || hash == null || hash.isEmpty()) return false;
+
+        String chave = chave(senha, hash);
+        if (verificadas.getIfPresent(chave) != null) {
+            cacheHit.increment();
+            return true;
+        }
+        cacheMiss.increment();
+
+        boolean ok = executar(() -> bcrypt.matches(senha, hash));
+        if (ok) verificadas.put(chave, Boolean.TRUE);
+        return ok;
+    }
+
+    /** Hash com custo menor que o configurado deve ser refeito no próximo login. */
+    @Override
+    public boolean upgradeEncoding(String hash) {
+        return hash != null && !hash.isEmpty() && bcrypt.upgradeEncoding(hash);
+    }
+
+    // =============================
+    // 🧵 Pool
+    // =============================
+
+    private <T> T executar(Callable<T> tarefa) {
+        long enfileirado = System.nanoTime();
+        Future<T> futuro;
+        try {
+            futuro = pool.submit(() -> {
+                espera.record(System.nanoTime() - enfileirado, TimeUnit.NANOSECONDS);
+                return tarefa.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejeitadas.increment();
+            throw new LoginSobrecarregadoException();
+        }
+
+        try {
+            return futuro.get(esperaMax.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            // Ainda na fila: libera a vaga já (cancelada, não rodaria o BCrypt de qualquer forma)
+            if (futuro instanceof Runnable r) pool.remove(r);
+            rejeitadas.increment();
+            throw new LoginSobrecarregadoException();
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Verificação de senha interrompida.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new AuthenticationServiceException("Falha ao verificar a senha.", e.getCause());
+        }
+    }
+
+    private String chave(CharSequence senha, String hash) {
+        Mac mac = hmac.get();
+        mac.update(senha.toString().getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return Base64.getEncoder().encodeToString(mac.doFinal(hash.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Pool de hash saturado: a credencial não foi verificada (nem aceita, nem recusada).
+     */
+    public static class LoginSobrecarregadoException extends AuthenticationServiceException {
+        public LoginSobrecarregadoException() {
+            super("Muitos logins simultâneos; tente novamente em instantes.");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.fiap.mototrack.auth;
+
+import br.com.fiap.mototrack.dto.request.LoginRequest;
+import br.com.fiap.mototrack.dto.response.TokenResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static br.com.fiap.mototrack.exception.HttpExceptionUtils.serviceUnavailable;
+import static br.com.fiap.mototrack.exception.HttpExceptionUtils.unauthorized;
+
+/**
+ * ## 🎫 Controller: TokenController
+ *
+ * Login da API: troca e-mail e senha por um **bearer token** (JWT) para uso
+ * stateless em `/motos`, `/eventos`, `/agendamentos`, `/filiais`, `/usuarios` e `/dashboard`.
+ *
+ * A senha (BCrypt) é conferida só aqui; as requisições seguintes validam apenas o token.
+ * Com o pool de hash saturado, responde **503** com `Retry-After` em vez de enfileirar sem limite.
+ */
+@Tag(name = "Autenticação", description = "Emissão de tokens para a API")
+@RestController
+@RequestMapping("/auth")
+@RequiredArgsConstructor
+public class TokenController {
+
+    private final AuthenticationProvider authenticationProvider;
+    private final JwtService jwtService;
+
+    /**
+     * ### 🔑 POST /auth/token
+     * Autentica as credenciais e devolve um token `Bearer`.
+     */
+    @PostMapping("/token")
+    @Operation(summary = "Emitir token de acesso",
+            description = "Valida e-mail e senha e devolve um JWT para o header Authorization: Bearer <token>.")
+    public ResponseEntity<TokenResponse> emitir(@RequestBody @Valid LoginRequest login) {
+        Authentication autenticado;
+        try {
+            autenticado = authenticationProvider.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(login.getEmail(), login.getSenha()));
+        } catch (SenhaEncoder.LoginSobrecarregadoException e) {
+            throw serviceUnavailable(e.getMessage(), Duration.ofSeconds(2));
+        } catch (AuthenticationException e) {
+            throw unauthorized("Credenciais inválidas.");
+        }
+
+        var perfis = autenticado.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+        var emitido = jwtService.emitir(autenticado.getName(), perfis);
+        long expiraEm = Duration.between(Instant.now(), emitido.expiraEm()).toSeconds();
+        return ResponseEntity.ok(new TokenResponse(emitido.token(), "Bearer", expiraEm));
+    }
+}
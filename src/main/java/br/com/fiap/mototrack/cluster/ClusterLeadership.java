@@ -0,0 +1,345 @@
+package br.com.fiap.mototrack.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * # 🛰️ ClusterLeadership
+ *
+ * Coordenação entre réplicas usando **advisory locks do Postgres**
+ * (`pg_try_advisory_lock`), sem nenhuma infraestrutura extra.
+ *
+ * ---
+ * ## 📋 Como funciona
+ * - Cada nó mantém **uma conexão dedicada**, aberta direto no driver (fora do pool
+ *   do Hikari), onde ficam os locks de sessão que ele possui. Fechá-la encerra a
+ *   sessão no Postgres e libera os locks na hora — uma conexão de pool devolvida
+ *   continuaria com eles, emprestada a requisições.
+ * - **Liderança:** o nó que obtém o lock de um job é o dono dele; os demais
+ *   apenas pulam a execução.
+ * - **Failover:** se o nó dono morre, a sessão cai e o Postgres libera os
+ *   locks automaticamente; outro nó assume no próximo ciclo.
+ * - **Sharding por filial:** um job pode ser dividido em `shards` partes
+ *   (hash de `id_filial`). Cada nó fica com a sua fatia justa
+ *   (`ceil(shards / nós vivos)`), recalculada a cada heartbeat.
+ *
+ * ---
+ * ## 🔑 Chaves dos locks (`classid`, `objid`)
+ * - Membros vivos: (`MTRK`, 0), compartilhado;
+ * - Liderança do job: (`MTRK` + 1, `hashtext(job)`);
+ * - Shard `n` do job: (`MTRK` + 2 + n, `hashtext(job)`).
+ *
+ * Cada tipo de lock tem o seu `classid`, então job, shard e membros nunca colidem
+ * entre si; dois jobs só colidiriam com o mesmo `hashtext` (32 bits).
+ *
+ * ---
+ * ## 🧩 Uso em um job
+ * ```java
+ * @Scheduled(fixedDelay = 60_000)
+ * public void processarVencidos() {
+ *     if (!leadership.isLeader("agendamentos-vencidos")) return;
+ *     ...
+ * }
+ *
+ * // ou, dividindo a carga por filial:
+ * if (leadership.ownsFilial("agendamentos-vencidos", filialId)) { ... }
+ * ```
+ *
+ * Com `mototrack.cluster.enabled=false` (nó único / dev) tudo é considerado local.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class ClusterLeadership implements DisposableBean {
+
+    /** Namespace (classid) dos advisory locks da aplicação: "MTRK". */
+    private static final int NAMESPACE = 0x4D54524B;
+
+    /** Lock compartilhado usado para contar os nós vivos. */
+    private static final Chave MEMBERSHIP = new Chave(NAMESPACE, null);
+
+    /** classid da liderança dos jobs; os shards vêm logo depois (`+ 1 + shard`). */
+    private static final int LEADER_CLASSID = NAMESPACE + 1;
+
+    // =============================
+    // ⚙️ Configuração
+    // =============================
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final int shards;
+
+    // =============================
+    // 🔒 Estado (protegido por this)
+    // =============================
+
+    private Connection connection;
+    private final Set<Chave> heldKeys = new HashSet<>();
+    private final Map<String, Set<Integer>> ownedShards = new ConcurrentHashMap<>();
+    private volatile int liveNodes = 1;
+
+    @Autowired
+    public ClusterLeadership(DataSourceProperties properties,
+                             @Value("${mototrack.cluster.enabled:true}") boolean enabled,
+                             @Value("${mototrack.cluster.shards:16}") int shards) {
+        this(properties.initializeDataSourceBuilder().type(SimpleDriverDataSource.class).build(), enabled, shards);
+    }
+
+    /**
+     * @param dataSource precisa abrir uma conexão física nova a cada `getConnection`
+     *                   (sem pool): fechar a conexão é o que libera os locks
+     */
+    public ClusterLeadership(DataSource dataSource, boolean enabled, int shards) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.shards = Math.max(1, shards);
+    }
+
+    // =============================
+    // 👑 Liderança por job
+    // =============================
+
+    /**
+     * Indica se este nó é o dono do job.
+     * Tenta obter o lock na primeira chamada; depois o mantém até a sessão cair.
+     */
+    public synchronized boolean isLeader(String job) {
+        if (!enabled) return true;
+        return tryHold(new Chave(LEADER_CLASSID, job));
+    }
+
+    /**
+     * Executa a tarefa apenas se este nó for o dono do job.
+     *
+     * @return true se a tarefa foi executada aqui
+     */
+    public boolean runIfLeader(String job, Runnable task) {
+        if (!isLeader(job)) {
+            log.debug("Job '{}' pertence a outro nó; ignorando.", job);
+            return false;
+        }
+        task.run();
+        return true;
+    }
+
+    // =============================
+    // 🧩 Sharding por filial
+    // =============================
+
+    /**
+     * Shards do job que pertencem a este nó.
+     * O job passa a participar do rebalanceamento a partir da primeira chamada.
+     */
+    public Set<Integer> shardsOf(String job) {
+        if (!enabled) return allShards();
+        synchronized (this) {
+            if (!ownedShards.containsKey(job)) {
+                ownedShards.put(job, new TreeSet<>());
+                rebalance(job);
+            }
+            return Collections.unmodifiableSet(new TreeSet<>(ownedShards.get(job)));
+        }
+    }
+
+    /**
+     * Indica se a filial cai em um shard deste nó para o job informado.
+     * Registros sem filial ficam no shard 0.
+     */
+    public boolean ownsFilial(String job, Long filialId) {
+        return shardsOf(job).contains(shardOf(filialId));
+    }
+
+    /** Shard de uma filial (hash estável de `id_filial`). */
+    public int shardOf(Long filialId) {
+        if (filialId == null) return 0;
+        return Math.floorMod(Long.hashCode(filialId) * 0x9E3779B9, shards);
+    }
+
+    /** Número de shards configurado. */
+    public int getShards() {
+        return shards;
+    }
+
+    /** Quantidade de nós vivos observada no último heartbeat. */
+    public int getLiveNodes() {
+        return liveNodes;
+    }
+
+    // =============================
+    // 💓 Heartbeat / failover
+    // =============================
+
+    /**
+     * Valida a sessão, renova a participação no cluster e redistribui os shards.
+     * Se a conexão caiu, todos os locks são considerados perdidos.
+     */
+    @Scheduled(fixedDelayString = "${mototrack.cluster.heartbeat-ms:10000}")
+    public synchronized void heartbeat() {
+        if (!enabled) return;
+        try {
+            if (connection != null && !connection.isValid(2)) {
+                log.warn("Sessão de coordenação perdida; liberando estado local.");
+                resetConnection();
+            }
+            tryHoldShared();
+            liveNodes = Math.max(1, countMembers());
+            ownedShards.keySet().forEach(this::rebalance);
+        } catch (SQLException e) {
+            log.warn("Falha no heartbeat do cluster: {}", e.getMessage());
+            resetConnection();
+        }
+    }
+
+    /**
+     * Ajusta os shards do job para a fatia justa deste nó:
+     * libera o excedente e tenta assumir shards órfãos.
+     */
+    private void rebalance(String job) {
+        Set<Integer> owned = ownedShards.get(job);
+        int fairShare = (shards + liveNodes - 1) / liveNodes;
+
+        while (owned.size() > fairShare) {
+            int shard = ((TreeSet<Integer>) owned).last();
+            release(lockKey(job, shard));
+            owned.remove(shard);
+        }
+
+        // Começa em um ponto diferente por nó para reduzir disputa pelos mesmos shards
+        int start = Math.floorMod(System.identityHashCode(this), shards);
+        for (int i = 0; i < shards && owned.size() < fairShare; i++) {
+            int shard = (start + i) % shards;
+            if (!owned.contains(shard) && tryHold(lockKey(job, shard))) {
+                owned.add(shard);
+            }
+        }
+    }
+
+    // =============================
+    // 🔧 Advisory locks (JDBC)
+    // =============================
+
+    private boolean tryHold(Chave key) {
+        if (heldKeys.contains(key)) return true;
+        try {
+            if (queryBoolean("select pg_try_advisory_lock(?, hashtext(?))", key)) {
+                heldKeys.add(key);
+                return true;
+            }
+        } catch (SQLException e) {
+            log.warn("Falha ao obter advisory lock {}: {}", key, e.getMessage());
+            resetConnection();
+        }
+        return false;
+    }
+
+    private void tryHoldShared() throws SQLException {
+        if (heldKeys.contains(MEMBERSHIP)) return;
+        if (queryBoolean("select pg_try_advisory_lock_shared(?, 0)", MEMBERSHIP)) {
+            heldKeys.add(MEMBERSHIP);
+        }
+    }
+
+    private void release(Chave key) {
+        if (!heldKeys.remove(key)) return;
+        try {
+            queryBoolean("select pg_advisory_unlock(?, hashtext(?))", key);
+        } catch (SQLException e) {
+            log.warn("Falha ao liberar advisory lock {}: {}", key, e.getMessage());
+            resetConnection();
+        }
+    }
+
+    private int countMembers() throws SQLException {
+        String sql = """
+                select count(*) from pg_locks
+                 where locktype = 'advisory' and granted
+                   and database = (select oid from pg_database where datname = current_database())
+                   and classid = %d and objid = 0 and objsubid = 2
+                """.formatted(NAMESPACE);
+        try (PreparedStatement ps = connection().prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 1;
+        }
+    }
+
+    private boolean queryBoolean(String sql, Chave key) throws SQLException {
+        try (PreparedStatement ps = connection().prepareStatement(sql)) {
+            ps.setInt(1, key.classid());
+            if (key.job() != null) ps.setString(2, key.job());
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private Connection connection() throws SQLException {
+        if (connection == null) {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(true);
+        }
+        return connection;
+    }
+
+    /** Descarta a sessão atual; fechar a conexão (sem pool) encerra a sessão e os locks dela. */
+    private void resetConnection() {
+        heldKeys.clear();
+        ownedShards.values().forEach(Set::clear);
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // sessão já estava inválida
+            }
+            connection = null;
+        }
+    }
+
+    private static Chave lockKey(String job, int shard) {
+        return new Chave(LEADER_CLASSID + 1 + shard, job);
+    }
+
+    private Set<Integer> allShards() {
+        Set<Integer> all = new TreeSet<>();
+        for (int i = 0; i < shards; i++) all.add(i);
+        return all;
+    }
+
+    /**
+     * Libera todos os locks antes de fechar a sessão,
+     * para que outro nó assuma imediatamente no shutdown.
+     */
+    @Override
+    public synchronized void destroy() {
+        if (connection == null) return;
+        try (PreparedStatement ps = connection.prepareStatement("select pg_advisory_unlock_all()")) {
+            ps.execute();
+        } catch (SQLException e) {
+            log.debug("Falha ao liberar advisory locks no shutdown: {}", e.getMessage());
+        }
+        resetConnection();
+    }
+
+    /** Advisory lock de dois inteiros: `objid` = `hashtext(job)` (ou 0, sem job). */
+    private record Chave(int classid, String job) {}
+}
@@ -32,7 +32,8 @@ public class CacheConfig {
     /**
      * ✅ CacheManager padrão da aplicação usando Caffeine.
      *
-     * - Define o(s) nome(s) dos caches que usaremos (aqui: "usersByEmail").
+     * - Define o(s) nome(s) dos caches que usaremos (aqui: "usersByEmail" e "motos",
+     *   este último usado pelo @Cacheable/@CacheEvict do MotoController).
      * - Configura política de expiração e tamanho máximo do cache.
      * - Esse CacheManager será utilizado por:
      *     a) @Cacheable/@CacheEvict na sua aplicação;
@@ -40,7 +41,7 @@ public class CacheConfig {
      */
     @Bean
     public CacheManager cacheManager() {
-        CaffeineCacheManager manager = new CaffeineCacheManager("usersByEmail");
+        CaffeineCacheManager manager = new CaffeineCacheManager("usersByEmail", "motos");
         manager.setCaffeine(Caffeine.newBuilder()
                 // Quantidade máxima de entradas em memória (ajuste conforme sua carga)
                 .maximumSize(1_000)
@@ -0,0 +1,29 @@
+package br.com.fiap.mototrack.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * # InicializacaoConfig
+ *
+ * ## Finalidade
+ * Com `spring.main.lazy-initialization=true` (profile `prod`), controllers, serviços,
+ * ModelMapper, cliente OAuth2, etc. só são criados no primeiro uso. Alguns beans
+ * precisam continuar **ansiosos** para a instância só ficar pronta já utilizável:
+ *
+ * - `EntityManagerFactory`: boot do Hibernate e, antes dele, as migrações do Flyway
+ *   (depends-on do Boot) — falha de banco/migração derruba a subida, não a 1ª requisição;
+ * - beans com `@Scheduled`: mantidos ansiosos pelo próprio Boot
+ *   (`ScheduledBeanLazyInitializationExcludeFilter`); os índices em memória são
+ *   carregados no `ApplicationReadyEvent`.
+ */
+@Configuration
+public class InicializacaoConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter beansCriticosAnsiosos() {
+        return LazyInitializationExcludeFilter.forBeanTypes(EntityManagerFactory.class);
+    }
+}
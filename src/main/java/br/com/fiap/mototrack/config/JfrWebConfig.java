@@ -0,0 +1,22 @@
+package br.com.fiap.mototrack.config;
+
+import br.com.fiap.mototrack.jfr.JfrWebInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/*
+ * # JfrWebConfig
+ *
+ * ## Finalidade
+ * Registrar o `JfrWebInterceptor`, que emite eventos JFR de requisição
+ * (todos os controllers) e de renderização Thymeleaf (`*PageController`).
+ */
+@Configuration
+public class JfrWebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new JfrWebInterceptor());
+    }
+}
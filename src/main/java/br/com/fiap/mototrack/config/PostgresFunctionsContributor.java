@@ -0,0 +1,32 @@
+package br.com.fiap.mototrack.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/*
+ * # PostgresFunctionsContributor
+ *
+ * ## Finalidade
+ * Registrar no Hibernate funções SQL específicas do Postgres usadas pelas Specifications.
+ *
+ * ## Funções
+ * - `fts(coluna, texto)` → `to_tsvector('portuguese', coluna) @@ plainto_tsquery('portuguese', texto)`
+ *   A expressão `to_tsvector('portuguese', coluna)` é idêntica à dos índices GIN criados
+ *   em `V4__indices_busca_texto.sql`, o que permite ao planner usá-los.
+ *
+ * ## Registro
+ * Carregado via ServiceLoader: `META-INF/services/org.hibernate.boot.model.FunctionContributor`.
+ */
+public class PostgresFunctionsContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                "fts",
+                "(to_tsvector('portuguese', ?1) @@ plainto_tsquery('portuguese', ?2))",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                        .resolve(StandardBasicTypes.BOOLEAN)
+        );
+    }
+}
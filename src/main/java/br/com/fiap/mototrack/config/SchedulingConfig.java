@@ -0,0 +1,21 @@
+package br.com.fiap.mototrack.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/*
+ * # SchedulingConfig
+ *
+ * ## Finalidade
+ * Ativar o suporte a `@Scheduled` na aplicação (jobs periódicos sobre
+ * `tb_agendamento`, reconciliação de caches, manutenção, etc.).
+ *
+ * ## Cluster
+ * Com várias réplicas, todo `@Scheduled` roda em **todos** os nós.
+ * Jobs que não podem ser duplicados devem consultar o
+ * `ClusterLeadership` (pacote `cluster`) antes de executar.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,23 +1,42 @@
 package br.com.fiap.mototrack.config;
 
+import br.com.fiap.mototrack.auth.JwtAuthenticationFilter;
+import br.com.fiap.mototrack.auth.JwtService;
+import br.com.fiap.mototrack.auth.SenhaEncoder;
+import br.com.fiap.mototrack.exception.ErrorResponse;
+import br.com.fiap.mototrack.limite.LimiteRequisicoes;
+import br.com.fiap.mototrack.limite.LimiteRequisicoesFilter;
 import br.com.fiap.mototrack.model.Usuario;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
 import br.com.fiap.mototrack.repository.UsuarioRepository;
+import br.com.fiap.mototrack.web.CookieFlashMapManager;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.security.core.userdetails.UserCache;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.savedrequest.NullRequestCache;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -27,10 +46,37 @@ public class SecurityConfiguration {
     /*
      * # 🔐 PasswordEncoder
      * - **BCrypt** para armazenar senhas com hash seguro.
+     * - **Fora do thread da requisição:** pool dedicado e limitado (`mototrack.senha.*`),
+     *   com cache curto de verificações bem-sucedidas (ver `SenhaEncoder`).
+     * - `threads=0` usa metade dos núcleos, deixando CPU para o restante da API.
      */
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    PasswordEncoder passwordEncoder(@Value("${mototrack.senha.bcrypt-custo:10}") int custo,
+                                    @Value("${mototrack.senha.threads:0}") int threads,
+                                    @Value("${mototrack.senha.fila:200}") int fila,
+                                    @Value("${mototrack.senha.espera-max:PT3S}") Duration esperaMax,
+                                    @Value("${mototrack.senha.cache-ttl:PT5M}") Duration cacheTtl,
+                                    @Value("${mototrack.senha.cache-max:10000}") long cacheMax,
+                                    MeterRegistry registry) {
+        int paralelo = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new SenhaEncoder(custo, paralelo, fila, esperaMax, cacheTtl, cacheMax, registry);
+    }
+
+    /*
+     * # ♻️ UserDetailsPasswordService (rehash no login)
+     * - Chamado pelo `DaoAuthenticationProvider` quando o hash salvo tem custo menor que
+     *   `mototrack.senha.bcrypt-custo`: a senha recém-conferida é regravada com o custo atual.
+     * - Remove o usuário do `UserCache` para o próximo login não reaproveitar o hash antigo.
+     */
+    @Bean
+    UserDetailsPasswordService userDetailsPasswordService(UsuarioRepository repo,
+                                                          ObjectProvider<UserCache> userCacheOpt) {
+        return (UserDetails user, String novoHash) -> {
+            repo.atualizarSenha(user.getUsername(), novoHash);
+            UserCache userCache = userCacheOpt.getIfAvailable();
+            if (userCache != null) userCache.removeUserFromCache(user.getUsername());
+            return User.withUserDetails(user).password(novoHash).build();
+        };
     }
 
     /*
@@ -59,16 +105,19 @@ public class SecurityConfiguration {
      * # 🧩 AuthenticationProvider
      * - **DaoAuthenticationProvider** usando o `UserDetailsService` e `PasswordEncoder`.
      * - **Cache opcional** (se existir um `UserCache` no contexto).
+     * - **Rehash** transparente via `UserDetailsPasswordService`.
      */
     @Bean
     AuthenticationProvider authenticationProvider(
             UserDetailsService uds,
             PasswordEncoder encoder,
+            UserDetailsPasswordService passwordService,
             ObjectProvider<UserCache> userCacheOpt
     ) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(uds);
         provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService(passwordService);
         UserCache userCache = userCacheOpt.getIfAvailable();
         if (userCache != null) provider.setUserCache(userCache);
         return provider;
@@ -77,13 +126,13 @@ public class SecurityConfiguration {
     /*
      * # 🚧 (Opcional) AccessDeniedHandler custom
      * - **Uso alternativo** ao forward padrão para `/acesso-negado`.
-     * - Redireciona de volta para a página anterior com `?denied=1` e grava uma flash na sessão.
+     * - Redireciona de volta para a página anterior com `?denied=1` e grava uma flash (cookie, ver `CookieFlashMapManager`).
      * - **Desabilitado por padrão** (veja bloco comentado em `.exceptionHandling`).
      */
     @Bean
-    AccessDeniedHandler accessDeniedHandler() {
+    AccessDeniedHandler accessDeniedHandler(CookieFlashMapManager flash) {
         return (request, response, ex) -> {
-            request.getSession().setAttribute("FLASH_MSG_ERRO", "Você não tem permissão para realizar esta ação.");
+            flash.flash(request, response, "msgErro", "Você não tem permissão para realizar esta ação.");
             String referer  = request.getHeader("Referer");
             String fallback = request.getContextPath() + "/agendamentos/ui";
             String target   = (referer != null && !referer.isBlank()) ? referer : fallback;
@@ -92,21 +141,76 @@ public class SecurityConfiguration {
         };
     }
 
+    /*
+     * # 🎫 API stateless (Bearer token)
+     * - **Quando:** só requisições com `Authorization: Bearer ...`; as demais seguem para a cadeia abaixo.
+     * - **Sem sessão e sem CSRF:** o token é validado pelo `JwtService` (cache por hash do token),
+     *   sem BCrypt e sem consulta ao banco por requisição.
+     * - **Emissão:** `POST /auth/token` (na cadeia padrão, público).
+     * - **Erros:** 401/403 em JSON (`ErrorResponse`), nunca redirect para `/login`.
+     * - **Limite por cliente:** depois do token, `LimiteRequisicoesFilter` (429 + `Retry-After`).
+     * - **Scrape do Prometheus:** ADMIN ou o token fixo `mototrack.metricas.token` (`ROLE_METRICAS`).
+     */
+    @Bean
+    @Order(1)
+    @ConditionalOnWebApplication
+    SecurityFilterChain apiTokenFilterChain(HttpSecurity http,
+                                            JwtService jwtService,
+                                            LimiteRequisicoes limites,
+                                            ObjectMapper objectMapper,
+                                            @Value("${mototrack.metricas.token:}") String tokenMetricas) throws Exception {
+        http
+                .securityMatcher(JwtAuthenticationFilter::temBearer)
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .requestCache(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers(JwtAuthenticationFilter.ROTA_METRICAS).hasAnyRole("ADMIN", "METRICAS")
+                        .requestMatchers("/actuator/**", "/admin/**").hasRole("ADMIN")
+                        .anyRequest().authenticated()
+                )
+                .addFilterBefore(new JwtAuthenticationFilter(jwtService, objectMapper, tokenMetricas),
+                        UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(new LimiteRequisicoesFilter(limites, objectMapper),
+                        JwtAuthenticationFilter.class)
+                .exceptionHandling(e -> e
+                        .authenticationEntryPoint((request, response, ex) ->
+                                erroJson(objectMapper, response, HttpStatus.UNAUTHORIZED, "Token de acesso ausente ou inválido."))
+                        .accessDeniedHandler((request, response, ex) ->
+                                erroJson(objectMapper, response, HttpStatus.FORBIDDEN, "Acesso negado."))
+                );
+        return http.build();
+    }
+
+    private static void erroJson(ObjectMapper objectMapper, HttpServletResponse response,
+                                 HttpStatus status, String mensagem) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(status.value(), mensagem));
+    }
+
     /*
      * # 🌐 HTTP Security (SecurityFilterChain)
      * - **CSRF**: ativo para a UI; ignorado nas **APIs** (`/api/**`).
      * - **Autorização por URL**: UI consistente sem exigir `@PreAuthorize` (se preferir).
      * - **Acesso negado (403)**: **forward** para `/acesso-negado` (view Thymeleaf) — simples e padronizado.
      * - **Login/Logout**: formulário tradicional, pós-login sempre em `/home/ui`.
+     * - **Limite de requisições**: antes do login por formulário (chave = usuário da sessão ou IP).
      */
     @Bean
+    @ConditionalOnWebApplication // sem servidor web (ex.: profile "gerador") não há HttpSecurity
     SecurityFilterChain securityFilterChain(HttpSecurity http,
-                                            AuthenticationProvider authProvider) throws Exception {
+                                            AuthenticationProvider authProvider,
+                                            LimiteRequisicoes limites,
+                                            ObjectMapper objectMapper) throws Exception {
         http
                 /* ## CSRF
                  * - Mantenha habilitado para páginas Thymeleaf.
-                 * - Ignore somente caminhos de **API**. */
-                .csrf(csrf -> csrf.ignoringRequestMatchers("/api/**"))
+                 * - Ignore somente caminhos de **API**. O actuator continua protegido: com sessão de
+                 *   ADMIN, POST/DELETE operacionais exigem o token; automações usam Bearer (sem CSRF). */
+                .csrf(csrf -> csrf.ignoringRequestMatchers("/api/**", "/auth/token"))
 
                 /* ## Autorização por URL
                  * - Ajuste conforme seus endpoints reais. */
@@ -114,7 +218,7 @@ public class SecurityConfiguration {
                         // Públicos
                         .requestMatchers(
                                 "/", "/index",
-                                "/login", "/error", "/error/403",
+                                "/login", "/error", "/error/403", "/auth/token",
                                 "/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html",
                                 "/css/**", "/js/**", "/images/**", "/webjars/**", "/favicon.ico"
                         ).permitAll()
@@ -133,6 +237,10 @@ public class SecurityConfiguration {
                         // Área admin
                         .requestMatchers("/admin/**").hasRole("ADMIN")
 
+                        // Actuator: health aberto; o resto (inclusive /actuator/prometheus) só ADMIN
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         // Demais rotas
                         .anyRequest().authenticated()
                 )
@@ -144,6 +252,11 @@ public class SecurityConfiguration {
                 /* ## Autenticação */
                 .authenticationProvider(authProvider)
 
+                /* ## Limite de requisições (`mototrack.limite.*`)
+                 * - Antes do `POST /login`, para também conter tentativas de senha em massa. */
+                .addFilterBefore(new LimiteRequisicoesFilter(limites, objectMapper),
+                        UsernamePasswordAuthenticationFilter.class)
+
                 /* ## Login (form) */
                 .formLogin(form -> form
                         .loginPage("/login")                 // GET /login -> templates/login.html
@@ -0,0 +1,44 @@
+package br.com.fiap.mototrack.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.thymeleaf.cache.StandardCacheManager;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+/*
+ * # ThymeleafConfig
+ *
+ * ## Finalidade
+ * Tamanhos explícitos dos caches internos do Thymeleaf (`spring.thymeleaf.cache` só
+ * liga/desliga o cache de templates; o devtools o desliga em desenvolvimento):
+ *
+ * - **templates analisados**: páginas, fragmentos e os trechos `mt:fora` do cache de
+ *   saída (cada trecho distinto é um template em string);
+ * - **expressões analisadas**: as telas de lista têm centenas de expressões
+ *   (`th:text`, links de paginação, `sec:authorize`); o padrão do Thymeleaf (500)
+ *   faz as telas disputarem o cache.
+ *
+ * A saída já renderizada (fragmentos e listas) fica no `SaidaCache`.
+ */
+@Configuration
+public class ThymeleafConfig {
+
+    @Bean
+    static BeanPostProcessor cachesDoThymeleaf(@Value("${mototrack.ui.templates.cache-max:200}") int templates,
+                                               @Value("${mototrack.ui.expressoes.cache-max:2000}") int expressoes) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String nome) {
+                if (bean instanceof SpringTemplateEngine engine) {
+                    StandardCacheManager caches = new StandardCacheManager();
+                    caches.setTemplateCacheMaxSize(templates);
+                    caches.setExpressionCacheMaxSize(expressoes);
+                    engine.setCacheManager(caches);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -2,10 +2,16 @@ package br.com.fiap.mototrack.controller;
 
 import br.com.fiap.mototrack.dto.request.AgendamentoRequest;
 import br.com.fiap.mototrack.dto.response.AgendamentoResponse;
+import br.com.fiap.mototrack.dto.response.DisponibilidadeResponse;
+import br.com.fiap.mototrack.dto.response.LoteResponse;
 import br.com.fiap.mototrack.filter.AgendamentoFilter;
+import br.com.fiap.mototrack.idempotencia.IdempotenciaAspect;
+import br.com.fiap.mototrack.idempotencia.Idempotente;
 import br.com.fiap.mototrack.service.AgendamentoService;
+import br.com.fiap.mototrack.service.CadastroLoteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -17,10 +23,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -40,18 +48,36 @@ public class AgendamentoController {
 
     private static final Logger log = LoggerFactory.getLogger(AgendamentoController.class);
     private final AgendamentoService service;
+    private final CadastroLoteService loteService;
 
     /**
      * ### 📅 POST /agendamentos
      * Cadastra um novo agendamento no sistema.
+     * Aceita `Idempotency-Key`: retentativas recebem a resposta original (ver `@Idempotente`).
      */
     @PostMapping
+    @Idempotente
+    @Parameter(in = ParameterIn.HEADER, name = IdempotenciaAspect.HEADER,
+            description = "Chave única por cadastro; retentativas com a mesma chave devolvem a resposta original.")
     @Operation(summary = "Cadastrar novo agendamento", description = "Registra um novo agendamento no sistema da Mottu.")
     public ResponseEntity<AgendamentoResponse> cadastrar(@RequestBody @Valid AgendamentoRequest dto) {
         log.info("📅 Cadastrando agendamento: {}", dto);
         return ResponseEntity.ok(service.cadastrar(dto));
     }
 
+    /**
+     * ### 📦 POST /agendamentos/lote
+     * Cadastra vários agendamentos de uma vez (até `mototrack.lote.max-itens`).
+     * Horários sobrepostos (com a agenda ou dentro do lote) são rejeitados item a item (409).
+     */
+    @PostMapping("/lote")
+    @Operation(summary = "Cadastrar agendamentos em lote",
+            description = "Valida todos os itens, consulta as motos de uma vez e grava os válidos em batch. Retorna o resultado de cada item.")
+    public ResponseEntity<LoteResponse<AgendamentoResponse>> cadastrarEmLote(@RequestBody List<AgendamentoRequest> itens) {
+        log.info("📦 Cadastrando lote de {} agendamentos.", itens.size());
+        return ResponseEntity.ok(loteService.cadastrarAgendamentos(itens));
+    }
+
     /**
      * ### 📄 GET /agendamentos
      * Lista todos os agendamentos cadastrados.
@@ -113,4 +139,23 @@ public class AgendamentoController {
         log.info("🗃️ Filtros aplicados: {}", filtro);
         return ResponseEntity.ok(service.consultarComFiltro(filtro, pageable));
     }
+
+    /**
+     * ### 🗓️ GET /agendamentos/disponibilidade
+     * Verifica se a moto está livre na janela informada e sugere o próximo horário livre.
+     */
+    @GetMapping("/disponibilidade")
+    @Operation(summary = "Verificar disponibilidade da moto",
+            description = "Indica se a moto está livre na janela [inicio, inicio + duração) e sugere o próximo horário livre.")
+    public ResponseEntity<DisponibilidadeResponse> disponibilidade(
+            @Parameter(description = "ID da moto", example = "5")
+            @RequestParam Long motoId,
+            @Parameter(description = "Início da janela (ISO-8601)", example = "2025-06-01T14:00:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @Parameter(description = "Duração em minutos (padrão: 60)", example = "60")
+            @RequestParam(required = false) Integer duracaoMinutos
+    ) {
+        log.info("🗓️ Verificando disponibilidade da moto {} em {} ({} min)", motoId, inicio, duracaoMinutos);
+        return ResponseEntity.ok(service.verificarDisponibilidade(motoId, inicio, duracaoMinutos));
+    }
 }
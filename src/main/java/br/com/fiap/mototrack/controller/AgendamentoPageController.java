@@ -4,24 +4,25 @@ import br.com.fiap.mototrack.dto.request.AgendamentoRequest;
 import br.com.fiap.mototrack.dto.response.AgendamentoResponse;
 import br.com.fiap.mototrack.filter.AgendamentoFilter;
 import br.com.fiap.mototrack.service.AgendamentoService;
+import br.com.fiap.mototrack.web.SaidaCache;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springdoc.core.annotations.ParameterObject;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.beans.PropertyEditorSupport;
@@ -51,6 +52,7 @@ public class AgendamentoPageController {
 
     private final AgendamentoService service;
     private final ModelMapper modelMapper;
+    private final SaidaCache saidaCache;
 
     /** Binder para datetime-local (HTML5). */
     @InitBinder
@@ -79,33 +81,20 @@ public class AgendamentoPageController {
             @ParameterObject AgendamentoFilter filtro,
             @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.ASC) Pageable pageable,
             Model model,
-            @RequestParam(value = "denied", required = false) String denied,      // ← aceita ?denied=1
-            jakarta.servlet.http.HttpServletRequest req
+            HttpServletRequest request,
+            @RequestParam(value = "denied", required = false) String denied       // ← aceita ?denied=1
     ) {
         // 1) Mensagem vinda do AccessDeniedHandler (?denied=1)
         if ("1".equals(denied)) {
             model.addAttribute("msgErro", "Você não tem permissão para realizar esta ação.");
         }
 
-        // 2) Mensagens 'flash' guardadas em sessão (erro/ok)
-        jakarta.servlet.http.HttpSession session = req.getSession(false);
-        if (session != null) {
-            Object fe = session.getAttribute("FLASH_MSG_ERRO");
-            if (fe != null) {
-                model.addAttribute("msgErro", fe.toString());
-                session.removeAttribute("FLASH_MSG_ERRO");
-            }
-            Object fk = session.getAttribute("FLASH_MSG_OK");
-            if (fk != null) {
-                model.addAttribute("msgSucesso", fk.toString());
-                session.removeAttribute("FLASH_MSG_OK");
-            }
-        }
-
         log.info("UI >> listando agendamentos | filtro={}, pageable={}", filtro, pageable);
 
-        Page<AgendamentoResponse> page = service.consultarComFiltro(filtro, pageable);
-        model.addAttribute("page", page);
+        // Lista já renderizada em cache (mesmos filtros/página/papéis): pula a consulta
+        if (!saidaCache.lista("agendamentos", request, model)) {
+            model.addAttribute("page", service.consultarComFiltro(filtro, pageable));
+        }
         model.addAttribute("filtro", filtro);
         return "agendamentos/list";
     }
@@ -137,7 +126,14 @@ public class AgendamentoPageController {
             model.addAttribute("id", null); // <-- mantém o título "Novo Agendamento"
             return "agendamentos/form";
         }
-        service.cadastrar(agendamento);
+        try {
+            service.cadastrar(agendamento);
+        } catch (ResponseStatusException e) {
+            if (e.getStatusCode() != HttpStatus.CONFLICT) throw e;
+            binding.reject("agendamento.conflito", e.getReason()); // horário já ocupado para a moto
+            model.addAttribute("id", null);
+            return "agendamentos/form";
+        }
         ra.addFlashAttribute("msgSucesso", "Agendamento criado com sucesso.");
         return "redirect:/agendamentos/ui";
     }
@@ -172,7 +168,14 @@ public class AgendamentoPageController {
             model.addAttribute("id", id);
             return "agendamentos/form";
         }
-        service.atualizar(id, agendamento);
+        try {
+            service.atualizar(id, agendamento);
+        } catch (ResponseStatusException e) {
+            if (e.getStatusCode() != HttpStatus.CONFLICT) throw e;
+            binding.reject("agendamento.conflito", e.getReason()); // horário já ocupado para a moto
+            model.addAttribute("id", id);
+            return "agendamentos/form";
+        }
         ra.addFlashAttribute("msgSucesso", "Agendamento atualizado com sucesso.");
         return "redirect:/agendamentos/ui";
     }
@@ -0,0 +1,38 @@
+package br.com.fiap.mototrack.controller;
+
+import br.com.fiap.mototrack.dto.response.DashboardResponse;
+import br.com.fiap.mototrack.service.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * ## 📊 Controller: DashboardController
+ *
+ * Expõe os agregados operacionais da frota (motos por status/filial,
+ * eventos por hora e agendamentos do dia), servidos a partir de memória.
+ */
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Dashboard", description = "Indicadores operacionais da frota")
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequestMapping("/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService service;
+
+    /**
+     * ### 📊 GET /dashboard
+     * Retorna o snapshot atual dos indicadores.
+     */
+    @GetMapping
+    @Operation(summary = "Indicadores da frota",
+            description = "Motos por status e filial, eventos por hora/tipo (24h) e agendamentos de hoje. Não consulta o banco.")
+    public ResponseEntity<DashboardResponse> consultar() {
+        return ResponseEntity.ok(service.consultar());
+    }
+}
@@ -2,10 +2,18 @@ package br.com.fiap.mototrack.controller;
 
 import br.com.fiap.mototrack.dto.request.EventoRequest;
 import br.com.fiap.mototrack.dto.response.EventoResponse;
+import br.com.fiap.mototrack.dto.response.EventoRollupResponse;
+import br.com.fiap.mototrack.dto.response.LoteResponse;
 import br.com.fiap.mototrack.filter.EventoFilter;
+import br.com.fiap.mototrack.filter.EventoRelatorioFilter;
+import br.com.fiap.mototrack.idempotencia.IdempotenciaAspect;
+import br.com.fiap.mototrack.idempotencia.Idempotente;
+import br.com.fiap.mototrack.service.CadastroLoteService;
+import br.com.fiap.mototrack.service.EventoRelatorioService;
 import br.com.fiap.mototrack.service.EventoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -40,18 +48,37 @@ public class EventoController {
 
     private static final Logger log = LoggerFactory.getLogger(EventoController.class);
     private final EventoService service;
+    private final EventoRelatorioService relatorioService;
+    private final CadastroLoteService loteService;
 
     /**
      * ### 📑 POST /eventos
      * Cadastra um novo evento no sistema.
+     * Aceita `Idempotency-Key`: retentativas recebem a resposta original (ver `@Idempotente`).
      */
     @PostMapping
+    @Idempotente
+    @Parameter(in = ParameterIn.HEADER, name = IdempotenciaAspect.HEADER,
+            description = "Chave única por cadastro; retentativas com a mesma chave devolvem a resposta original.")
     @Operation(summary = "Cadastrar novo evento", description = "Registra um novo evento de movimentação no sistema da Mottu.")
     public ResponseEntity<EventoResponse> cadastrar(@RequestBody @Valid EventoRequest dto) {
         log.info("📑 Cadastrando evento: {}", dto);
         return ResponseEntity.ok(service.cadastrar(dto));
     }
 
+    /**
+     * ### 📦 POST /eventos/lote
+     * Cadastra vários eventos de uma vez (até `mototrack.lote.max-itens`).
+     * Itens inválidos não impedem os demais: o resultado vem item a item, na ordem enviada.
+     */
+    @PostMapping("/lote")
+    @Operation(summary = "Cadastrar eventos em lote",
+            description = "Valida todos os itens, consulta as motos de uma vez e grava os válidos em batch. Retorna o resultado de cada item.")
+    public ResponseEntity<LoteResponse<EventoResponse>> cadastrarEmLote(@RequestBody List<EventoRequest> itens) {
+        log.info("📦 Cadastrando lote de {} eventos.", itens.size());
+        return ResponseEntity.ok(loteService.cadastrarEventos(itens));
+    }
+
     /**
      * ### 📄 GET /eventos
      * Lista todos os eventos cadastrados.
@@ -113,4 +140,16 @@ public class EventoController {
         log.info("🗃️ Filtros aplicados: {}", filtro);
         return ResponseEntity.ok(service.consultarComFiltro(filtro, pageable));
     }
+
+    /**
+     * ### 📊 GET /eventos/relatorio
+     * Quantidade de eventos por dia (ou hora), tipo e filial, lida dos rollups.
+     */
+    @GetMapping("/relatorio")
+    @Operation(summary = "Relatório agregado de eventos",
+            description = "Eventos por dia ou hora, tipo e filial no período informado. Lê os rollups pré-agregados, sem varrer tb_evento.")
+    public ResponseEntity<List<EventoRollupResponse>> relatorio(@ParameterObject @ModelAttribute EventoRelatorioFilter filtro) {
+        log.info("📊 Relatório de eventos: {}", filtro);
+        return ResponseEntity.ok(relatorioService.consultar(filtro));
+    }
 }
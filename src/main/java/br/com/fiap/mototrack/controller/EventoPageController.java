@@ -4,6 +4,8 @@ import br.com.fiap.mototrack.dto.request.EventoRequest;
 import br.com.fiap.mototrack.dto.response.EventoResponse;
 import br.com.fiap.mototrack.filter.EventoFilter;
 import br.com.fiap.mototrack.service.EventoService;
+import br.com.fiap.mototrack.web.SaidaCache;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
@@ -11,7 +13,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
@@ -51,6 +52,7 @@ public class EventoPageController {
 
     private final EventoService service;
     private final ModelMapper modelMapper;
+    private final SaidaCache saidaCache;
 
     /** Binder para campos <input type="datetime-local"> (HTML5). */
     @InitBinder
@@ -78,32 +80,19 @@ public class EventoPageController {
             @ParameterObject EventoFilter filtro,
             @PageableDefault(size = 10, sort = "dataHora", direction = Sort.Direction.DESC) Pageable pageable,
             Model model,
-            @RequestParam(value = "denied", required = false) String denied,
-            jakarta.servlet.http.HttpServletRequest req
+            HttpServletRequest request,
+            @RequestParam(value = "denied", required = false) String denied
     ) {
         // 1) Mensagem vinda do AccessDeniedHandler (?denied=1)
         if ("1".equals(denied)) {
             model.addAttribute("msgErro", "Você não tem permissão para realizar esta ação.");
         }
 
-        // 2) Mensagens 'flash' guardadas em sessão (erro/ok)
-        jakarta.servlet.http.HttpSession session = req.getSession(false);
-        if (session != null) {
-            Object fe = session.getAttribute("FLASH_MSG_ERRO");
-            if (fe != null) {
-                model.addAttribute("msgErro", fe.toString());
-                session.removeAttribute("FLASH_MSG_ERRO");
-            }
-            Object fk = session.getAttribute("FLASH_MSG_OK");
-            if (fk != null) {
-                model.addAttribute("msgSucesso", fk.toString());
-                session.removeAttribute("FLASH_MSG_OK");
-            }
-        }
-
         log.info("UI >> listando eventos | filtro={}, pageable={}", filtro, pageable);
-        Page<EventoResponse> page = service.consultarComFiltro(filtro, pageable);
-        model.addAttribute("page", page);
+        // Lista já renderizada em cache (mesmos filtros/página/papéis): pula a consulta
+        if (!saidaCache.lista("eventos", request, model)) {
+            model.addAttribute("page", service.consultarComFiltro(filtro, pageable));
+        }
         model.addAttribute("filtro", filtro);
         return "eventos/list"; // templates/eventos/list.html
     }
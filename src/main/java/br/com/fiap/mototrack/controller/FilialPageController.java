@@ -4,6 +4,8 @@ import br.com.fiap.mototrack.dto.request.FilialRequest;
 import br.com.fiap.mototrack.dto.response.FilialResponse;
 import br.com.fiap.mototrack.filter.FilialFilter;
 import br.com.fiap.mototrack.service.FilialService;
+import br.com.fiap.mototrack.web.SaidaCache;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
@@ -11,7 +13,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
@@ -23,8 +24,6 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpSession;
 
 /**
  * UI (Thymeleaf) - FilialPageController
@@ -49,12 +48,13 @@ public class FilialPageController {
 
     private final FilialService service;
     private final ModelMapper modelMapper;
+    private final SaidaCache saidaCache;
 
     /**
      * GET /filiais/ui
      * Lista paginada + filtro para a view.
      * Ordenação padrão: nome ASC.
-     * Também trata ?denied=1 e mensagens flash vindas da sessão.
+     * Também trata ?denied=1; mensagens flash chegam no model pelo FlashMapManager.
      */
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
     @GetMapping
@@ -62,33 +62,20 @@ public class FilialPageController {
             @ParameterObject FilialFilter filtro,
             @PageableDefault(size = 10, sort = "nome", direction = Sort.Direction.ASC) Pageable pageable,
             Model model,
-            @RequestParam(value = "denied", required = false) String denied,
-            HttpServletRequest req
+            HttpServletRequest request,
+            @RequestParam(value = "denied", required = false) String denied
     ) {
         // 1) Mensagem de Acesso Negado via query param (?denied=1)
         if ("1".equals(denied)) {
             model.addAttribute("msgErro", "Você não tem permissão para realizar esta ação.");
         }
 
-        // 2) Mensagens flash guardadas em sessão por outros handlers
-        HttpSession session = req.getSession(false);
-        if (session != null) {
-            Object fe = session.getAttribute("FLASH_MSG_ERRO");
-            if (fe != null) {
-                model.addAttribute("msgErro", fe.toString());
-                session.removeAttribute("FLASH_MSG_ERRO");
-            }
-            Object fk = session.getAttribute("FLASH_MSG_OK");
-            if (fk != null) {
-                model.addAttribute("msgSucesso", fk.toString());
-                session.removeAttribute("FLASH_MSG_OK");
-            }
-        }
-
         log.info("UI >> listando filiais | filtro={}, pageable={}", filtro, pageable);
 
-        Page<FilialResponse> page = service.consultarComFiltro(filtro, pageable);
-        model.addAttribute("page", page);
+        // Lista já renderizada em cache (mesmos filtros/página/papéis): pula a consulta
+        if (!saidaCache.lista("filiais", request, model)) {
+            model.addAttribute("page", service.consultarComFiltro(filtro, pageable));
+        }
         model.addAttribute("filtro", filtro);
         return "filiais/list";
     }
@@ -1,5 +1,7 @@
 package br.com.fiap.mototrack.controller;
 
+import br.com.fiap.mototrack.service.DashboardService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -10,14 +12,18 @@ import org.springframework.web.bind.annotation.GetMapping;
 import java.util.stream.Collectors;
 
 @Controller
+@RequiredArgsConstructor
 public class HomePageController {
 
+    private final DashboardService dashboardService;
+
     // ⛔️ NÃO mapeia "/" (evita conflito com HomeController)
     // ⛔️ NÃO mapeia "/login" (evita conflito com AuthController)
 
     /**
      * Dashboard autenticada (usa a mesma view "index").
      * Requer ROLE_USER ou ROLE_ADMIN.
+     * Inclui o painel operacional (contadores em memória; sem consulta ao banco).
      */
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
     @GetMapping("/home/ui")
@@ -29,6 +35,7 @@ public class HomePageController {
             model.addAttribute("authorities", auth.getAuthorities()
                     .stream().map(GrantedAuthority::getAuthority).collect(Collectors.toList()));
         }
+        model.addAttribute("dashboard", dashboardService.consultar());
         return "index"; // src/main/resources/templates/index.html
     }
 }
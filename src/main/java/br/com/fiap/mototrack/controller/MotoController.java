@@ -2,13 +2,19 @@ package br.com.fiap.mototrack.controller;
 
 import br.com.fiap.mototrack.dto.request.MotoRequest;
 import br.com.fiap.mototrack.dto.response.MotoResponse;
+import br.com.fiap.mototrack.dto.response.PlacaSugestaoResponse;
 import br.com.fiap.mototrack.filter.MotoFilter;
+import br.com.fiap.mototrack.idempotencia.IdempotenciaAspect;
+import br.com.fiap.mototrack.idempotencia.Idempotente;
 import br.com.fiap.mototrack.service.MotoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,8 +52,12 @@ public class MotoController {
     /**
      * ### 🛵 POST /motos
      * Cadastra uma nova moto no sistema.
+     * Aceita `Idempotency-Key`: retentativas recebem a resposta original (ver `@Idempotente`).
      */
     @PostMapping
+    @Idempotente
+    @Parameter(in = ParameterIn.HEADER, name = IdempotenciaAspect.HEADER,
+            description = "Chave única por cadastro; retentativas com a mesma chave devolvem a resposta original.")
     @CacheEvict(value = "motos", allEntries = true)
     @Operation(summary = "Cadastrar nova moto", description = "Registra uma nova moto no sistema da Mottu.")
     public ResponseEntity<MotoResponse> cadastrar(@RequestBody @Valid MotoRequest dto) {
@@ -67,6 +77,20 @@ public class MotoController {
         return service.consultarTodos();
     }
 
+    /**
+     * ### 🔤 GET /motos/placas/autocomplete
+     * Sugestões de placas por prefixo (typeahead), servidas do índice em memória.
+     */
+    @GetMapping("/placas/autocomplete")
+    @Operation(summary = "Autocomplete de placas",
+            description = "Retorna até `limite` motos cuja placa começa com o prefixo informado (ignora caixa e hífen).")
+    public List<PlacaSugestaoResponse> autocompletarPlaca(
+            @Parameter(description = "Início da placa", example = "ABC") @RequestParam String prefixo,
+            @Parameter(description = "Máximo de sugestões (1-50)", example = "10")
+            @RequestParam(defaultValue = "10") @Min(1) @Max(50) int limite) {
+        return service.sugerirPlacas(prefixo, limite);
+    }
+
     /**
      * ### 🔍 GET /motos/{id}
      * Retorna os dados de uma moto específica por ID.
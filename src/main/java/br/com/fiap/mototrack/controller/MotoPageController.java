@@ -4,6 +4,8 @@ import br.com.fiap.mototrack.dto.request.MotoRequest;
 import br.com.fiap.mototrack.dto.response.MotoResponse;
 import br.com.fiap.mototrack.filter.MotoFilter;
 import br.com.fiap.mototrack.service.MotoService;
+import br.com.fiap.mototrack.web.SaidaCache;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
@@ -11,7 +13,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
@@ -23,8 +24,6 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpSession;
 
 @Controller
 @RequestMapping("/motos/ui")
@@ -35,13 +34,14 @@ public class MotoPageController {
 
     private final MotoService service;
     private final ModelMapper modelMapper;
+    private final SaidaCache saidaCache;
 
     /**
      * GET /motos/ui
      * Lista paginada + filtro (ex.: placa, marca, modelo, status).
      * Ordenação padrão: placa ASC.
      * Aceita ?denied=1 vindo do AccessDeniedHandler.
-     * Lê mensagens flash salvas em sessão (FLASH_MSG_OK / FLASH_MSG_ERRO).
+     * Mensagens flash (msgSucesso / msgErro) chegam no model pelo FlashMapManager.
      */
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
     @GetMapping
@@ -49,30 +49,18 @@ public class MotoPageController {
             @ParameterObject MotoFilter filtro,
             @PageableDefault(size = 10, sort = "placa", direction = Sort.Direction.ASC) Pageable pageable,
             Model model,
-            @RequestParam(value = "denied", required = false) String denied,
-            HttpServletRequest req
+            HttpServletRequest request,
+            @RequestParam(value = "denied", required = false) String denied
     ) {
         if ("1".equals(denied)) {
             model.addAttribute("msgErro", "Você não tem permissão para realizar esta ação.");
         }
 
-        HttpSession session = req.getSession(false);
-        if (session != null) {
-            Object fe = session.getAttribute("FLASH_MSG_ERRO");
-            if (fe != null) {
-                model.addAttribute("msgErro", fe.toString());
-                session.removeAttribute("FLASH_MSG_ERRO");
-            }
-            Object fk = session.getAttribute("FLASH_MSG_OK");
-            if (fk != null) {
-                model.addAttribute("msgSucesso", fk.toString());
-                session.removeAttribute("FLASH_MSG_OK");
-            }
-        }
-
         log.info("UI >> listando motos | filtro={}, pageable={}", filtro, pageable);
-        Page<MotoResponse> page = service.consultarComFiltro(filtro, pageable);
-        model.addAttribute("page", page);
+        // Lista já renderizada em cache (mesmos filtros/página/papéis): pula a consulta
+        if (!saidaCache.lista("motos", request, model)) {
+            model.addAttribute("page", service.consultarComFiltro(filtro, pageable));
+        }
         model.addAttribute("filtro", filtro);
         return "motos/list"; // templates/motos/list.html
     }
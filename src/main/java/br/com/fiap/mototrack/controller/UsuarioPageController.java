@@ -4,13 +4,14 @@ import br.com.fiap.mototrack.dto.request.UsuarioRequest;
 import br.com.fiap.mototrack.dto.response.UsuarioResponse;
 import br.com.fiap.mototrack.filter.UsuarioFilter;
 import br.com.fiap.mototrack.service.UsuarioService;
+import br.com.fiap.mototrack.web.SaidaCache;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springdoc.core.annotations.ParameterObject;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
@@ -40,6 +41,7 @@ public class UsuarioPageController {
 
     private final UsuarioService service;
     private final ModelMapper modelMapper;
+    private final SaidaCache saidaCache;
 
     /**
      * GET /usuarios/ui
@@ -50,11 +52,14 @@ public class UsuarioPageController {
     public String listar(
             @ParameterObject UsuarioFilter filtro,
             @PageableDefault(size = 10, sort = "nome", direction = Sort.Direction.ASC) Pageable pageable,
-            Model model
+            Model model,
+            HttpServletRequest request
     ) {
         log.info("UI >> listando usuários | filtro={}, pageable={}", filtro, pageable);
-        Page<UsuarioResponse> page = service.consultarComFiltro(filtro, pageable);
-        model.addAttribute("page", page);
+        // Lista já renderizada em cache (mesmos filtros/página/papéis): pula a consulta
+        if (!saidaCache.lista("usuarios", request, model)) {
+            model.addAttribute("page", service.consultarComFiltro(filtro, pageable));
+        }
         model.addAttribute("filtro", filtro);
         return "usuarios/list"; // templates/usuarios/list.html
     }
@@ -0,0 +1,225 @@
+package br.com.fiap.mototrack.dashboard;
+
+import br.com.fiap.mototrack.index.AgendaMotoIndex;
+import br.com.fiap.mototrack.repository.EventoRepository;
+import br.com.fiap.mototrack.repository.MotoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static br.com.fiap.mototrack.util.TransacaoUtils.aposCommit;
+
+/**
+ * # 📊 DashboardCounters
+ *
+ * Contadores **em memória** que alimentam o dashboard operacional sem consultar o banco:
+ * - motos por **filial × status**;
+ * - eventos por **hora × tipo** nas últimas 24 horas;
+ * - agendamentos do dia (lidos do {@link AgendaMotoIndex}, que tem recarga própria).
+ *
+ * ---
+ * ## 🔄 Atualização
+ * - **Incremental:** os services avisam cada escrita; o contador só muda após o commit.
+ * - **Reconciliação periódica:** consultas agrupadas corrigem os contadores **no lugar**,
+ *   somando a diferença entre o banco e o valor em memória do início da consulta.
+ *   Isso corrige desvios e escritas feitas por outros nós (cada réplica mantém seus
+ *   próprios contadores) sem perder os incrementos feitos durante a consulta.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DashboardCounters {
+
+    /** Janela de eventos mantida em memória. */
+    public static final int JANELA_HORAS = 24;
+
+    /** Rótulo usado quando a moto não possui status. */
+    public static final String SEM_STATUS = "(sem status)";
+
+    private final MotoRepository motoRepository;
+    private final EventoRepository eventoRepository;
+    private final AgendaMotoIndex agendaIndex;
+
+    private final Map<ChaveStatus, LongAdder> motos = new ConcurrentHashMap<>();
+    private final Map<ChaveHora, LongAdder> eventos = new ConcurrentHashMap<>();
+    private volatile LocalDateTime reconciliadoEm;
+
+    // =============================
+    // 🛵 Motos
+    // =============================
+
+    public void motoCriada(Long filialId, String status) {
+        aposCommit(() -> somar(motos, new ChaveStatus(filialId, rotulo(status)), 1));
+    }
+
+    public void motoAlterada(Long filialAntes, String statusAntes, Long filialDepois, String statusDepois) {
+        ChaveStatus antes = new ChaveStatus(filialAntes, rotulo(statusAntes));
+        ChaveStatus depois = new ChaveStatus(filialDepois, rotulo(statusDepois));
+        if (antes.equals(depois)) return;
+        aposCommit(() -> {
+            somar(motos, antes, -1);
+            somar(motos, depois, 1);
+        });
+    }
+
+    public void motoExcluida(Long filialId, String status) {
+        aposCommit(() -> somar(motos, new ChaveStatus(filialId, rotulo(status)), -1));
+    }
+
+    // =============================
+    // 📑 Eventos
+    // =============================
+
+    public void eventoRegistrado(LocalDateTime dataHora, String tipo) {
+        if (dataHora == null) return;
+        aposCommit(() -> somar(eventos, new ChaveHora(dataHora.truncatedTo(ChronoUnit.HOURS), tipo), 1));
+    }
+
+    public void eventoAlterado(LocalDateTime dataHoraAntes, String tipoAntes, LocalDateTime dataHoraDepois, String tipoDepois) {
+        eventoExcluido(dataHoraAntes, tipoAntes);
+        eventoRegistrado(dataHoraDepois, tipoDepois);
+    }
+
+    public void eventoExcluido(LocalDateTime dataHora, String tipo) {
+        if (dataHora == null) return;
+        aposCommit(() -> somar(eventos, new ChaveHora(dataHora.truncatedTo(ChronoUnit.HOURS), tipo), -1));
+    }
+
+    // =============================
+    // 📖 Leitura (sem I/O)
+    // =============================
+
+    /** Cópia dos contadores de motos (apenas chaves com valor positivo). */
+    public Map<ChaveStatus, Long> motosPorFilialEStatus() {
+        return copiar(motos);
+    }
+
+    /** Cópia dos contadores de eventos dentro da janela de {@value #JANELA_HORAS} horas. */
+    public Map<ChaveHora, Long> eventosPorHoraETipo() {
+        LocalDateTime limite = inicioDaJanela();
+        eventos.keySet().removeIf(k -> k.hora().isBefore(limite));
+        return copiar(eventos);
+    }
+
+    public long agendamentosNoDia(LocalDate dia) {
+        return agendaIndex.quantidadeNoDia(dia);
+    }
+
+    public LocalDateTime getReconciliadoEm() {
+        return reconciliadoEm;
+    }
+
+    // =============================
+    // 🔄 Reconciliação com o banco
+    // =============================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        reconciliar();
+    }
+
+    /**
+     * Corrige os contadores a partir de consultas agrupadas.
+     *
+     * Cada contador recebe `banco - valor antes da consulta`: incrementos aplicados durante
+     * a consulta continuam valendo. Um commit que entra no banco no instante entre a foto
+     * da memória e a da consulta pode contar em dobro — a próxima reconciliação corrige.
+     */
+    @Scheduled(initialDelayString = "${mototrack.dashboard.reconcile-ms:300000}",
+            fixedDelayString = "${mototrack.dashboard.reconcile-ms:300000}")
+    public void reconciliar() {
+        long t0 = System.nanoTime();
+        try {
+            Map<ChaveStatus, Long> motosAntes = instantaneo(motos);
+            Map<ChaveStatus, Long> motosNoBanco = new HashMap<>();
+            for (var c : motoRepository.contarPorFilialEStatus()) {
+                motosNoBanco.merge(new ChaveStatus(c.getFilialId(), rotulo(c.getStatus())), c.getTotal(), Long::sum);
+            }
+            corrigir(motos, motosAntes, motosNoBanco);
+
+            LocalDateTime limite = inicioDaJanela();
+            eventos.keySet().removeIf(k -> k.hora().isBefore(limite));
+            Map<ChaveHora, Long> eventosAntes = instantaneo(eventos);
+            Map<ChaveHora, Long> eventosNoBanco = new HashMap<>();
+            for (var c : eventoRepository.contarPorHoraETipo(limite)) {
+                LocalDateTime hora = c.getDia().atTime(c.getHora(), 0);
+                eventosNoBanco.merge(new ChaveHora(hora, c.getTipo()), c.getTotal(), Long::sum);
+            }
+            corrigir(eventos, eventosAntes, eventosNoBanco);
+
+            reconciliadoEm = LocalDateTime.now();
+            log.info("Dashboard reconciliado em {} ms", (System.nanoTime() - t0) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao reconciliar contadores do dashboard: {}", e.getMessage());
+        }
+    }
+
+    // =============================
+    // 🔧 Auxiliares
+    // =============================
+
+    private static <K> void somar(Map<K, LongAdder> mapa, K chave, long delta) {
+        mapa.computeIfAbsent(chave, k -> new LongAdder()).add(delta);
+    }
+
+    /** Valores atuais de todas as chaves, inclusive zeradas ou negativas. */
+    private static <K> Map<K, Long> instantaneo(Map<K, LongAdder> mapa) {
+        Map<K, Long> valores = new HashMap<>();
+        mapa.forEach((k, v) -> valores.put(k, v.sum()));
+        return valores;
+    }
+
+    /** Soma em cada chave a diferença entre o banco e o valor lido antes da consulta. */
+    private static <K> void corrigir(Map<K, LongAdder> mapa, Map<K, Long> antes, Map<K, Long> banco) {
+        Set<K> chaves = new HashSet<>(antes.keySet());
+        chaves.addAll(banco.keySet());
+        for (K chave : chaves) {
+            long delta = banco.getOrDefault(chave, 0L) - antes.getOrDefault(chave, 0L);
+            if (delta != 0) somar(mapa, chave, delta);
+        }
+    }
+
+    private static <K> Map<K, Long> copiar(Map<K, LongAdder> mapa) {
+        Map<K, Long> copia = new HashMap<>();
+        mapa.forEach((k, v) -> {
+            long total = v.sum();
+            if (total > 0) copia.put(k, total);
+        });
+        return copia;
+    }
+
+    private static String rotulo(String status) {
+        return (status == null || status.isBlank()) ? SEM_STATUS : status.trim();
+    }
+
+    private static LocalDateTime inicioDaJanela() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(JANELA_HORAS - 1);
+    }
+
+    // =============================
+    // 📦 Chaves
+    // =============================
+
+    /** Filial (pode ser nula) × status. */
+    public record ChaveStatus(Long filialId, String status) {}
+
+    /** Hora cheia × tipo de evento. */
+    public record ChaveHora(LocalDateTime hora, String tipo) {}
+}
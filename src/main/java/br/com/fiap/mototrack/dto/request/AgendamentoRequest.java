@@ -50,6 +50,15 @@ public class AgendamentoRequest {
     @FutureOrPresent(message = "A data agendada não pode estar no passado.")
     private LocalDateTime dataAgendada;
 
+    /**
+     * Duração prevista em minutos.
+     * Opcional: quando ausente, assume a duração padrão (60 minutos).
+     */
+    @Schema(example = "90", description = "Duração prevista do agendamento em minutos (padrão: 60)")
+    @Min(value = 1, message = "A duração mínima é de 1 minuto.")
+    @Max(value = 1440, message = "A duração máxima é de 24 horas.")
+    private Integer duracaoMinutos;
+
     /**
      * Descrição do motivo do agendamento.
      */
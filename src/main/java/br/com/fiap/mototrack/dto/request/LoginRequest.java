@@ -0,0 +1,34 @@
+package br.com.fiap.mototrack.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 📦 DTO: LoginRequest
+ *
+ * Credenciais para emissão do token de acesso da API.
+ *
+ * ---
+ * @author Rafael
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+public class LoginRequest {
+
+    /**
+     * E-mail do usuário.
+     */
+    @Schema(example = "admin@mototrack.com", description = "E-mail cadastrado do usuário")
+    @NotBlank(message = "O e-mail é obrigatório.")
+    private String email;
+
+    /**
+     * Senha em texto puro (conferida com o hash BCrypt).
+     */
+    @Schema(example = "admin123", description = "Senha do usuário")
+    @NotBlank(message = "A senha é obrigatória.")
+    private String senha;
+}
@@ -39,6 +39,9 @@ public class AgendamentoResponse {
     @JsonFormat(pattern = "dd/MM/yyyy HH:mm")
     private LocalDateTime dataAgendada;
 
+    /** Duração prevista em minutos */
+    @Schema(example = "60", description = "Duração prevista do agendamento em minutos")
+    private Integer duracaoMinutos;
 
     /** Descrição do motivo do agendamento */
     @Schema(example = "Manutenção preventiva programada", description = "Descrição do agendamento")
@@ -0,0 +1,62 @@
+package br.com.fiap.mototrack.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 📦 DTO: DashboardResponse
+ *
+ * Agregados operacionais da frota, montados a partir dos contadores em memória.
+ *
+ * ---
+ * @author Rafael
+ * @version 1.0
+ */
+public record DashboardResponse(
+
+        @Schema(description = "Momento em que o snapshot foi montado")
+        @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+        LocalDateTime geradoEm,
+
+        @Schema(description = "Última reconciliação dos contadores com o banco")
+        @JsonFormat(pattern = "dd/MM/yyyy HH:mm:ss")
+        LocalDateTime reconciliadoEm,
+
+        @Schema(example = "1520", description = "Total de motos cadastradas")
+        long totalMotos,
+
+        @Schema(description = "Total de motos por status")
+        Map<String, Long> motosPorStatus,
+
+        @Schema(description = "Motos por filial e status")
+        List<MotosFilialStatus> motosPorFilial,
+
+        @Schema(example = "342", description = "Total de eventos nas últimas 24 horas")
+        long totalEventos24h,
+
+        @Schema(description = "Eventos por hora e tipo nas últimas 24 horas")
+        List<EventosHoraTipo> eventosPorHora,
+
+        @Schema(example = "37", description = "Agendamentos marcados para hoje")
+        long agendamentosHoje
+
+) {
+
+    /** Quantidade de motos de uma filial em um status. */
+    public record MotosFilialStatus(
+            @Schema(example = "2", description = "ID da filial (nulo = sem filial)") Long filialId,
+            @Schema(example = "Disponível") String status,
+            @Schema(example = "48") long total
+    ) {}
+
+    /** Quantidade de eventos de um tipo em uma hora cheia. */
+    public record EventosHoraTipo(
+            @Schema(example = "01/06/2025 14:00") @JsonFormat(pattern = "dd/MM/yyyy HH:mm") LocalDateTime hora,
+            @Schema(example = "Saída") String tipo,
+            @Schema(example = "12") long total
+    ) {}
+}
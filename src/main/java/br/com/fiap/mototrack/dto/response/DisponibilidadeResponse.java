@@ -0,0 +1,42 @@
+package br.com.fiap.mototrack.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * 📦 DTO: DisponibilidadeResponse
+ *
+ * Resultado da verificação de disponibilidade de uma moto para uma janela de agendamento.
+ * Quando há conflito, informa o agendamento que ocupa a janela e o próximo horário livre.
+ *
+ * ---
+ * @author Rafael
+ * @version 1.0
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DisponibilidadeResponse(
+
+        @Schema(example = "5", description = "ID da moto consultada")
+        Long motoId,
+
+        @Schema(example = "01/06/2025 14:00", description = "Início da janela consultada")
+        @JsonFormat(pattern = "dd/MM/yyyy HH:mm")
+        LocalDateTime inicio,
+
+        @Schema(example = "60", description = "Duração da janela consultada em minutos")
+        int duracaoMinutos,
+
+        @Schema(example = "false", description = "Indica se a moto está livre na janela")
+        boolean disponivel,
+
+        @Schema(example = "1001", description = "ID do agendamento em conflito (se houver)")
+        Long agendamentoConflitanteId,
+
+        @Schema(example = "01/06/2025 15:30", description = "Primeiro horário livre a partir do início informado")
+        @JsonFormat(pattern = "dd/MM/yyyy HH:mm")
+        LocalDateTime proximoHorarioLivre
+
+) {}
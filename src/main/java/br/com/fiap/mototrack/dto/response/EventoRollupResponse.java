@@ -0,0 +1,32 @@
+package br.com.fiap.mototrack.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * 📦 DTO: EventoRollupResponse
+ *
+ * Linha do relatório agregado de eventos: quantidade por período, tipo e filial.
+ *
+ * ---
+ * @author Rafael
+ * @version 1.0
+ */
+public record EventoRollupResponse(
+
+        @Schema(example = "01/06/2025 00:00", description = "Início do período (dia ou hora cheia)")
+        @JsonFormat(pattern = "dd/MM/yyyy HH:mm")
+        LocalDateTime periodo,
+
+        @Schema(example = "Saída", description = "Tipo do evento")
+        String tipo,
+
+        @Schema(example = "2", description = "ID da filial (0 = motos sem filial)")
+        Long filialId,
+
+        @Schema(example = "128", description = "Quantidade de eventos no período")
+        long total
+
+) {}
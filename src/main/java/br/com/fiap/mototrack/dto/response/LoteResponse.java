@@ -0,0 +1,70 @@
+package br.com.fiap.mototrack.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * 📦 DTO: LoteResponse
+ *
+ * Resultado de um cadastro em lote (`POST /eventos/lote`, `POST /agendamentos/lote`).
+ * Cada item da requisição tem o seu resultado, na mesma ordem: os válidos são gravados,
+ * os inválidos voltam com o status e as mensagens que teriam no cadastro individual.
+ *
+ * ---
+ * @author Rafael
+ * @version 1.0
+ */
+public record LoteResponse<T>(
+
+        @Schema(example = "3", description = "Quantidade de itens recebidos")
+        int total,
+
+        @Schema(example = "2", description = "Quantidade de itens gravados")
+        int criados,
+
+        @Schema(example = "1", description = "Quantidade de itens rejeitados")
+        int rejeitados,
+
+        @Schema(description = "Resultado de cada item, na ordem da requisição")
+        List<Item<T>> itens
+) {
+
+    public static <T> LoteResponse<T> de(List<Item<T>> itens) {
+        int criados = (int) itens.stream().filter(Item::criado).count();
+        return new LoteResponse<>(itens.size(), criados, itens.size() - criados, itens);
+    }
+
+    /**
+     * Resultado de um item: `resultado` quando gravado (201), `erros` quando rejeitado.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Item<T>(
+
+            @Schema(example = "0", description = "Posição do item na requisição (a partir de 0)")
+            int indice,
+
+            @Schema(example = "201", description = "Status do item, como no cadastro individual (201, 400, 404, 409, 500)")
+            int status,
+
+            @Schema(description = "Registro gravado")
+            T resultado,
+
+            @Schema(example = "[\"O motivo do evento é obrigatório.\"]", description = "Mensagens de erro do item")
+            List<String> erros
+    ) {
+
+        public static <T> Item<T> criado(int indice, T resultado) {
+            return new Item<>(indice, 201, resultado, null);
+        }
+
+        public static <T> Item<T> rejeitado(int indice, int status, List<String> erros) {
+            return new Item<>(indice, status, null, erros);
+        }
+
+        public boolean criado() {
+            return status == 201;
+        }
+    }
+}
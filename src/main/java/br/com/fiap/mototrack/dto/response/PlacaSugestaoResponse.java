@@ -0,0 +1,25 @@
+package br.com.fiap.mototrack.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * 📦 DTO: PlacaSugestaoResponse
+ *
+ * Sugestão do autocomplete de placas: identifica a moto e o seu status atual.
+ *
+ * ---
+ * @author Rafael
+ * @version 1.0
+ */
+public record PlacaSugestaoResponse(
+
+        @Schema(example = "1", description = "Identificador único da moto")
+        Long id,
+
+        @Schema(example = "ABC1D23", description = "Placa da moto")
+        String placa,
+
+        @Schema(example = "Disponível", description = "Status operacional da moto")
+        String status
+
+) {}
@@ -0,0 +1,25 @@
+package br.com.fiap.mototrack.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * 📦 DTO: TokenResponse
+ *
+ * Token de acesso emitido no login da API.
+ *
+ * ---
+ * @author Rafael
+ * @version 1.0
+ */
+public record TokenResponse(
+
+        @Schema(example = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...", description = "JWT para o header Authorization")
+        String accessToken,
+
+        @Schema(example = "Bearer", description = "Tipo do token")
+        String tokenType,
+
+        @Schema(example = "3600", description = "Segundos até a expiração")
+        long expiresIn
+
+) {}
@@ -103,6 +103,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleResponseStatus(ResponseStatusException ex) {
         log.warn("Exceção manual: {}", ex.getReason());
         return ResponseEntity.status(ex.getStatusCode())
+                .headers(ex.getHeaders())
                 .body(new ErrorResponse(ex.getStatusCode().value(), ex.getReason()));
     }
 
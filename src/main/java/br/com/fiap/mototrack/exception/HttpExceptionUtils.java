@@ -1,8 +1,11 @@
 package br.com.fiap.mototrack.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
+
 /**
  * # 📦 HttpExceptionUtils
  *
@@ -20,6 +23,7 @@ import org.springframework.web.server.ResponseStatusException;
  * throw HttpExceptionUtils.forbidden("Acesso negado ao recurso X");
  * throw HttpExceptionUtils.unauthorized("Token inválido");
  * throw HttpExceptionUtils.internalError("Erro inesperado na aplicação");
+ * throw HttpExceptionUtils.serviceUnavailable("Sobrecarga temporária", Duration.ofSeconds(1));
  * ```
  *
  * > **Vantagem:** Facilita manutenção, testes, centralização e internacionalização das mensagens de erro.
@@ -97,6 +101,62 @@ public final class HttpExceptionUtils {
         return new ResponseStatusException(HttpStatus.BAD_REQUEST, mensagem);
     }
 
+    // ============================
+    // ⚔️ 409 - CONFLICT
+    // ============================
+
+    /**
+     * Lança uma exceção HTTP 409 (`Conflict`) quando a operação conflita com o estado atual do recurso.
+     *
+     * @param mensagem Mensagem descrevendo o conflito
+     * @return ResponseStatusException 409, com mensagem customizada
+     *
+     * **Exemplo:**
+     * ```java
+     * throw HttpExceptionUtils.conflict("Moto já possui agendamento neste horário");
+     * ```
+     */
+    public static ResponseStatusException conflict(String mensagem) {
+        return new ResponseStatusException(HttpStatus.CONFLICT, mensagem);
+    }
+
+    /**
+     * Lança uma exceção HTTP 409 (`Conflict`) para um conflito passageiro,
+     * com o header `Retry-After` indicando quando tentar de novo.
+     *
+     * @param mensagem Mensagem descrevendo o conflito
+     * @param tentarEm Tempo sugerido até a próxima tentativa
+     * @return ResponseStatusException 409, com `Retry-After` em segundos
+     *
+     * **Exemplo:**
+     * ```java
+     * throw HttpExceptionUtils.conflict("Requisição com esta Idempotency-Key em andamento", Duration.ofSeconds(1));
+     * ```
+     */
+    public static ResponseStatusException conflict(String mensagem, Duration tentarEm) {
+        return comRetryAfter(HttpStatus.CONFLICT, mensagem, tentarEm);
+    }
+
+    // ============================
+    // 🧾 422 - UNPROCESSABLE ENTITY
+    // ============================
+
+    /**
+     * Lança uma exceção HTTP 422 (`Unprocessable Entity`) quando a requisição é bem formada,
+     * mas não pode ser aceita no contexto atual.
+     *
+     * @param mensagem Motivo da recusa
+     * @return ResponseStatusException 422, com mensagem customizada
+     *
+     * **Exemplo:**
+     * ```java
+     * throw HttpExceptionUtils.unprocessableEntity("Idempotency-Key já usada com outro corpo");
+     * ```
+     */
+    public static ResponseStatusException unprocessableEntity(String mensagem) {
+        return new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, mensagem);
+    }
+
     // ============================
     // 🔒 403 - FORBIDDEN
     // ============================
@@ -153,4 +213,36 @@ public final class HttpExceptionUtils {
     public static ResponseStatusException internalError(String mensagem) {
         return new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, mensagem);
     }
+
+    // ============================
+    // ⏳ 503 - SERVICE UNAVAILABLE
+    // ============================
+
+    /**
+     * Lança uma exceção HTTP 503 (`Service Unavailable`) para sobrecarga temporária,
+     * com o header `Retry-After` indicando quando tentar de novo.
+     *
+     * @param mensagem Motivo da indisponibilidade
+     * @param tentarEm Tempo sugerido até a próxima tentativa
+     * @return ResponseStatusException 503, com `Retry-After` em segundos
+     *
+     * **Exemplo:**
+     * ```java
+     * throw HttpExceptionUtils.serviceUnavailable("Muitos logins simultâneos", Duration.ofSeconds(2));
+     * ```
+     */
+    public static ResponseStatusException serviceUnavailable(String mensagem, Duration tentarEm) {
+        return comRetryAfter(HttpStatus.SERVICE_UNAVAILABLE, mensagem, tentarEm);
+    }
+
+    private static ResponseStatusException comRetryAfter(HttpStatus status, String mensagem, Duration tentarEm) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, tentarEm.toSeconds())));
+        return new ResponseStatusException(status, mensagem) {
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
 }
@@ -29,6 +29,9 @@ public record AgendamentoFilter(
         /** Texto parcial ou completo da descrição */
         String descricao,
 
+        /** Quando true, busca descrição por palavras (full-text) em vez de trecho (LIKE) */
+        Boolean textoCompleto,
+
         // 📆 Intervalo de datas agendadas
 
         /** Data mínima do agendamento */
@@ -35,6 +35,9 @@ public record EventoFilter(
         /** Localização textual do evento (bairro, pátio, etc.) */
         String localizacao,
 
+        /** Quando true, busca motivo por palavras (full-text) em vez de trecho (LIKE) */
+        Boolean textoCompleto,
+
         // 📆 Filtros por intervalo de datas
 
         /** Data mínima do evento */
@@ -0,0 +1,45 @@
+package br.com.fiap.mototrack.filter;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * 📄 DTO de filtro para o relatório agregado de eventos (rollups).
+ *
+ * Define o período, a granularidade e os recortes opcionais por tipo e filial.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public record EventoRelatorioFilter(
+
+        // 📆 Período (obrigatório)
+
+        /** Data inicial (inclusiva) */
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate dataInicio,
+
+        /** Data final (inclusiva) */
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate dataFim,
+
+        // 🏷️ Recortes opcionais
+
+        /** Tipo do evento (igualdade exata) */
+        String tipo,
+
+        /** ID da filial (0 = motos sem filial) */
+        Long filialId,
+
+        // 📊 Agregação
+
+        /** DIA (padrão) ou HORA */
+        Granularidade granularidade
+
+) {
+
+    /** Granularidade do rollup consultado. */
+    public enum Granularidade { DIA, HORA }
+}
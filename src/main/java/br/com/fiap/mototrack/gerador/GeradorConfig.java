@@ -0,0 +1,41 @@
+package br.com.fiap.mototrack.gerador;
+
+/**
+ * 📄 Parâmetros do gerador de massa sintética.
+ *
+ * A mesma combinação de parâmetros (incluindo `seed`) gera sempre os mesmos dados.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public record GeradorConfig(
+
+        /** Quantidade de filiais */
+        int filiais,
+
+        /** Quantidade de motos (distribuídas entre as filiais) */
+        int motos,
+
+        /** Quantidade de eventos (distribuídos no histórico de `diasHistorico` dias) */
+        long eventos,
+
+        /** Quantidade de agendamentos (futuros, sem sobreposição por moto) */
+        long agendamentos,
+
+        /** Quantidade de usuários (perfis em {@link GeradorFrota#perfil(int)}) */
+        int usuarios,
+
+        /** Semente do gerador pseudoaleatório */
+        long seed,
+
+        /** Senha (em texto puro) atribuída a todos os usuários gerados */
+        String senha,
+
+        /** Linhas por comando COPY */
+        int lote,
+
+        /** Janela de histórico dos eventos, em dias */
+        int diasHistorico
+
+) {}
@@ -0,0 +1,375 @@
+package br.com.fiap.mototrack.gerador;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.SplittableRandom;
+import java.util.function.LongConsumer;
+
+/**
+ * # 🏭 GeradorFrota
+ *
+ * Gera massa **sintética e realista** (filiais, usuários, motos, eventos e
+ * agendamentos) direto no Postgres com `COPY ... FROM STDIN`, em lotes.
+ *
+ * ---
+ * ## 📋 Características
+ * - **Determinístico:** cada entidade usa um gerador derivado da `seed`; mudar a
+ *   quantidade de eventos não altera as motos geradas, por exemplo.
+ * - **Consistente:** motos e usuários ligados a filiais existentes; eventos e
+ *   agendamentos ligados a motos; agendamentos sem sobreposição por moto.
+ * - **Rápido:** COPY em formato CSV, `lote` linhas por comando, sem passar pelo JPA.
+ * - Ao final roda `ANALYZE` para o planner enxergar os volumes novos.
+ *
+ * Usuários: `usuario{N}@gerador.mototrack.local`, todos com a senha configurada. Em banco
+ * vazio `N` começa em 0 (`usuario0` é ADMINISTRADOR); rodadas seguintes continuam a partir
+ * do maior `N` já gerado, então o e-mail (único) nunca repete.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Slf4j
+public class GeradorFrota {
+
+    public static final String DOMINIO_EMAIL = "@gerador.mototrack.local";
+
+    static final String[] CIDADES = {"São Paulo", "Rio de Janeiro", "Belo Horizonte", "Curitiba", "Porto Alegre",
+            "Salvador", "Recife", "Fortaleza", "Brasília", "Goiânia", "Campinas", "Florianópolis"};
+    static final String[] UFS = {"SP", "RJ", "MG", "PR", "RS", "BA", "PE", "CE", "DF", "GO", "SP", "SC"};
+    static final double[][] COORDENADAS = {{-23.55, -46.63}, {-22.91, -43.17}, {-19.92, -43.94}, {-25.43, -49.27},
+            {-30.03, -51.23}, {-12.97, -38.50}, {-8.05, -34.88}, {-3.73, -38.52}, {-15.79, -47.88}, {-16.68, -49.25},
+            {-22.91, -47.06}, {-27.59, -48.55}};
+    static final String[] BAIRROS = {"Centro", "Lapa", "Mooca", "Pinheiros", "Tatuapé", "Santana", "Butantã",
+            "Ipiranga", "Barra Funda", "Vila Mariana"};
+    static final String[] MARCAS = {"Honda", "Yamaha", "Mottu"};
+    static final int[] PESO_MARCA = {50, 30, 20};
+    public static final String[][] MODELOS = {{"CG 160", "Pop 110i", "Biz 125"}, {"Factor 150", "Fazer 250"}, {"Mottu Sport", "Mottu-E"}};
+    public static final String[] STATUS = {"Disponível", "Locada", "Manutenção", "Indisponível"};
+    public static final int[] PESO_STATUS = {45, 40, 10, 5};
+    public static final String[] TIPOS_EVENTO = {"Entrada", "Saída", "Manutenção", "Transferência"};
+    static final int[] PESO_TIPO = {40, 40, 12, 8};
+    public static final String[] MOTIVOS = {"Entrega programada", "Retorno de locação", "Troca de óleo",
+            "Revisão preventiva", "Pneu furado", "Realocação entre filiais", "Vistoria de rotina",
+            "Recolhimento por inadimplência", "Troca de bateria", "Sinistro leve"};
+    static final String[] SERVICOS = {"Revisão dos 10.000 km", "Troca de pneus", "Troca de óleo e filtro",
+            "Vistoria de entrega", "Manutenção do freio", "Instalação de rastreador"};
+
+    private final DataSource dataSource;
+
+    public GeradorFrota(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    // =============================
+    // 🚀 Geração
+    // =============================
+
+    public void gerar(GeradorConfig cfg) {
+        long t0 = System.nanoTime();
+        try (Connection c = dataSource.getConnection()) {
+            CopyManager copy = c.unwrap(PGConnection.class).getCopyAPI();
+
+            long[] filiais = gerarFiliais(c, copy, cfg);
+            gerarUsuarios(c, copy, cfg, filiais);
+            long[] motos = gerarMotos(c, copy, cfg, filiais);
+            gerarEventos(copy, cfg, motos);
+            gerarAgendamentos(copy, cfg, motos);
+
+            try (Statement st = c.createStatement()) {
+                st.execute("analyze tb_filial, tb_usuario, tb_moto, tb_evento, tb_agendamento");
+            }
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Falha ao gerar massa sintética: " + e.getMessage(), e);
+        }
+        log.info("Massa sintética gerada em {} s (seed={})", (System.nanoTime() - t0) / 1_000_000_000, cfg.seed());
+    }
+
+    public static String email(int usuario) {
+        return "usuario" + usuario + DOMINIO_EMAIL;
+    }
+
+    /** Distribuição de perfis: 2% ADMINISTRADOR (inclui o `usuario0`), 8% GESTOR, o resto OPERADOR. */
+    public static String perfil(int usuario) {
+        if (usuario % 50 == 0) return "ADMINISTRADOR";
+        return usuario % 10 == 0 ? "GESTOR" : "OPERADOR";
+    }
+
+    // =============================
+    // 🏢 Filiais
+    // =============================
+
+    private long[] gerarFiliais(Connection c, CopyManager copy, GeradorConfig cfg) throws SQLException, IOException {
+        SplittableRandom rnd = new SplittableRandom(cfg.seed() ^ 0x01);
+        long antes = maxId(c, "tb_filial", "id_filial");
+        Lote lote = new Lote(copy, """
+                copy tb_filial (nm_filial, ds_endereco, ds_bairro, ds_cidade, ds_estado, nr_cep,
+                                vl_latitude, vl_longitude, raio_geofence_m) from stdin with (format csv)""", cfg.lote());
+        for (int i = 0; i < cfg.filiais(); i++) {
+            int cidade = i % CIDADES.length;
+            lote.linha("Filial " + CIDADES[cidade] + " " + (i / CIDADES.length + 1),
+                    "Rua " + BAIRROS[rnd.nextInt(BAIRROS.length)] + ", " + (10 + rnd.nextInt(2_000)),
+                    BAIRROS[rnd.nextInt(BAIRROS.length)], CIDADES[cidade], UFS[cidade],
+                    "%05d-%03d".formatted(rnd.nextInt(1_000, 99_999), rnd.nextInt(1_000)),
+                    COORDENADAS[cidade][0] + rnd.nextDouble(-0.15, 0.15),
+                    COORDENADAS[cidade][1] + rnd.nextDouble(-0.15, 0.15),
+                    200 + rnd.nextInt(6) * 50);
+        }
+        lote.fechar();
+        log.info("Filiais: {}", cfg.filiais());
+        return idsNovos(c, "tb_filial", "id_filial", antes);
+    }
+
+    // =============================
+    // 👤 Usuários
+    // =============================
+
+    private void gerarUsuarios(Connection c, CopyManager copy, GeradorConfig cfg, long[] filiais)
+            throws SQLException, IOException {
+        SplittableRandom rnd = new SplittableRandom(cfg.seed() ^ 0x02);
+        int primeiro = proximoUsuario(c);
+        String hash = new BCryptPasswordEncoder().encode(cfg.senha());
+        Lote lote = new Lote(copy,
+                "copy tb_usuario (nm_usuario, ds_email, ds_senha, tp_perfil, id_filial) from stdin with (format csv)",
+                cfg.lote());
+        for (int i = 0; i < cfg.usuarios(); i++) {
+            int n = primeiro + i;
+            lote.linha("Usuário " + n, email(n), hash, perfil(n), filiais[rnd.nextInt(filiais.length)]);
+        }
+        lote.fechar();
+        log.info("Usuários: {} (usuario{} em diante)", cfg.usuarios(), primeiro);
+    }
+
+    // =============================
+    // 🛵 Motos
+    // =============================
+
+    private long[] gerarMotos(Connection c, CopyManager copy, GeradorConfig cfg, long[] filiais)
+            throws SQLException, IOException {
+        SplittableRandom rnd = new SplittableRandom(cfg.seed() ^ 0x03);
+        long antes = maxId(c, "tb_moto", "id_moto");
+        int deslocamentoPlaca = (int) contar(c, "tb_moto");
+        LocalDateTime agora = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        Lote lote = new Lote(copy, """
+                copy tb_moto (cd_placa, ds_modelo, ds_marca, nr_ano, ds_status, id_filial,
+                              vl_latitude, vl_longitude, dt_criacao) from stdin with (format csv)""", cfg.lote());
+        for (int i = 0; i < cfg.motos(); i++) {
+            int marca = ponderado(rnd, PESO_MARCA);
+            // Posição na lista gerada = índice `i` de gerarFiliais (ids podem não começar em 1)
+            int posicao = rnd.nextInt(filiais.length);
+            long filial = filiais[posicao];
+            int cidade = posicao % CIDADES.length;
+            lote.linha(placaMercosul(deslocamentoPlaca + i),
+                    MODELOS[marca][rnd.nextInt(MODELOS[marca].length)], MARCAS[marca],
+                    2015 + rnd.nextInt(11), STATUS[ponderado(rnd, PESO_STATUS)], filial,
+                    COORDENADAS[cidade][0] + rnd.nextDouble(-0.2, 0.2),
+                    COORDENADAS[cidade][1] + rnd.nextDouble(-0.2, 0.2),
+                    agora.minusDays(rnd.nextInt(3 * 365)));
+            lote.progresso("Motos", cfg.motos());
+        }
+        lote.fechar();
+        log.info("Motos: {}", cfg.motos());
+        return idsNovos(c, "tb_moto", "id_moto", antes);
+    }
+
+    // =============================
+    // 📑 Eventos
+    // =============================
+
+    private void gerarEventos(CopyManager copy, GeradorConfig cfg, long[] motos) throws IOException {
+        if (motos.length == 0) return;
+        SplittableRandom rnd = new SplittableRandom(cfg.seed() ^ 0x04);
+        LocalDateTime inicio = LocalDate.now().minusDays(cfg.diasHistorico()).atStartOfDay();
+        long janelaSegundos = cfg.diasHistorico() * 86_400L;
+
+        Lote lote = new Lote(copy, """
+                copy tb_evento (id_moto, tp_evento, ds_motivo, dt_hr_evento, ds_localizacao)
+                from stdin with (format csv)""", cfg.lote());
+        for (long i = 0; i < cfg.eventos(); i++) {
+            // Horário comercial concentra ~70% dos eventos
+            long segundo = rnd.nextLong(janelaSegundos);
+            if (rnd.nextInt(10) < 7) segundo = (segundo / 86_400) * 86_400 + rnd.nextInt(8 * 3600, 19 * 3600);
+            int cidade = rnd.nextInt(CIDADES.length);
+            lote.linha(motos[rnd.nextInt(motos.length)], TIPOS_EVENTO[ponderado(rnd, PESO_TIPO)],
+                    MOTIVOS[rnd.nextInt(MOTIVOS.length)], inicio.plusSeconds(segundo),
+                    "Pátio " + BAIRROS[rnd.nextInt(BAIRROS.length)] + " - " + CIDADES[cidade]);
+            lote.progresso("Eventos", cfg.eventos());
+        }
+        lote.fechar();
+        log.info("Eventos: {}", cfg.eventos());
+    }
+
+    // =============================
+    // 📆 Agendamentos
+    // =============================
+
+    /**
+     * O agendamento `i` vai para a moto `i % motos`, no dia `i / motos` a partir de amanhã:
+     * cada moto tem no máximo um agendamento por dia, então nunca há sobreposição.
+     */
+    private void gerarAgendamentos(CopyManager copy, GeradorConfig cfg, long[] motos) throws IOException {
+        if (motos.length == 0) return;
+        SplittableRandom rnd = new SplittableRandom(cfg.seed() ^ 0x05);
+        LocalDateTime amanha = LocalDate.now().plusDays(1).atStartOfDay();
+        LocalDateTime agora = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        Lote lote = new Lote(copy, """
+                copy tb_agendamento (id_moto, dt_agendada, nr_duracao_min, ds_descricao, dt_criacao)
+                from stdin with (format csv)""", cfg.lote());
+        for (long i = 0; i < cfg.agendamentos(); i++) {
+            long dia = i / motos.length;
+            LocalDateTime inicio = amanha.plusDays(dia).plusHours(8 + rnd.nextInt(9)).plusMinutes(rnd.nextInt(4) * 15);
+            lote.linha(motos[(int) (i % motos.length)], inicio, 30 + rnd.nextInt(6) * 30,
+                    SERVICOS[rnd.nextInt(SERVICOS.length)], agora);
+            lote.progresso("Agendamentos", cfg.agendamentos());
+        }
+        lote.fechar();
+        log.info("Agendamentos: {}", cfg.agendamentos());
+    }
+
+    // =============================
+    // 🔧 Auxiliares
+    // =============================
+
+    /** Placa no padrão Mercosul (AAA0A00), única para cada índice. */
+    public static String placaMercosul(int i) {
+        char[] p = new char[7];
+        int n = i;
+        p[6] = (char) ('0' + n % 10); n /= 10;
+        p[5] = (char) ('0' + n % 10); n /= 10;
+        p[4] = (char) ('A' + n % 26); n /= 26;
+        p[3] = (char) ('0' + n % 10); n /= 10;
+        p[2] = (char) ('A' + n % 26); n /= 26;
+        p[1] = (char) ('A' + n % 26); n /= 26;
+        p[0] = (char) ('A' + n % 26);
+        return new String(p);
+    }
+
+    public static int ponderado(SplittableRandom rnd, int[] pesos) {
+        int total = 0;
+        for (int p : pesos) total += p;
+        int r = rnd.nextInt(total);
+        for (int i = 0; i < pesos.length; i++) {
+            r -= pesos[i];
+            if (r < 0) return i;
+        }
+        return pesos.length - 1;
+    }
+
+    private static long maxId(Connection c, String tabela, String coluna) throws SQLException {
+        try (Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("select coalesce(max(" + coluna + "), 0) from " + tabela)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /** Próximo `N` livre de `usuario{N}@gerador...` (0 se nenhum usuário gerado ainda). */
+    private static int proximoUsuario(Connection c) throws SQLException {
+        try (Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("select coalesce(max(substring(ds_email from '^usuario([0-9]+)@')::int) + 1, 0)"
+                     + " from tb_usuario where ds_email like 'usuario%" + DOMINIO_EMAIL + "'")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static long contar(Connection c, String tabela) throws SQLException {
+        try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery("select count(*) from " + tabela)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static long[] idsNovos(Connection c, String tabela, String coluna, long acimaDe) throws SQLException {
+        try (Statement st = c.createStatement()) {
+            ResultSet rs = st.executeQuery("select count(*) from " + tabela + " where " + coluna + " > " + acimaDe);
+            rs.next();
+            long[] ids = new long[rs.getInt(1)];
+            rs.close();
+            st.setFetchSize(50_000);
+            c.setAutoCommit(false);
+            try (ResultSet ids0 = st.executeQuery("select " + coluna + " from " + tabela + " where " + coluna
+                    + " > " + acimaDe + " order by " + coluna)) {
+                int i = 0;
+                while (ids0.next() && i < ids.length) ids[i++] = ids0.getLong(1);
+            } finally {
+                c.commit();
+                c.setAutoCommit(true);
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * Acumula linhas CSV e as envia em um `COPY` a cada `tamanho` linhas.
+     */
+    private static final class Lote {
+
+        private final CopyManager copy;
+        private final String sql;
+        private final int tamanho;
+        private final StringBuilder buffer = new StringBuilder(1 << 20);
+        private int linhas;
+        private long total;
+
+        Lote(CopyManager copy, String sql, int tamanho) {
+            this.copy = copy;
+            this.sql = sql;
+            this.tamanho = Math.max(1, tamanho);
+        }
+
+        void linha(Object... valores) throws IOException {
+            for (int i = 0; i < valores.length; i++) {
+                if (i > 0) buffer.append(',');
+                csv(valores[i]);
+            }
+            buffer.append('\n');
+            if (++linhas >= tamanho) enviar();
+        }
+
+        void progresso(String entidade, long esperado) {
+            if (linhas == 0 && total % (10L * tamanho) == 0 && total > 0) {
+                log.info("{}: {} / {}", entidade, total, esperado);
+            }
+        }
+
+        void fechar() throws IOException {
+            if (linhas > 0) enviar();
+        }
+
+        private void enviar() throws IOException {
+            try {
+                copy.copyIn(sql, new StringReader(buffer.toString()));
+            } catch (SQLException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+            total += linhas;
+            linhas = 0;
+            buffer.setLength(0);
+        }
+
+        private void csv(Object valor) {
+            if (valor == null) return;
+            String s = valor.toString();
+            if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0) {
+                buffer.append(s);
+            } else {
+                buffer.append('"').append(s.replace("\"", "\"\"")).append('"');
+            }
+        }
+    }
+}
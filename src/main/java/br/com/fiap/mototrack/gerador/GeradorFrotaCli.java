@@ -0,0 +1,35 @@
+package br.com.fiap.mototrack.gerador;
+
+import br.com.fiap.mototrack.MototrackApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * # 💻 GeradorFrotaCli
+ *
+ * Ponto de entrada de linha de comando do gerador de massa: sobe a aplicação
+ * sem servidor web, com o profile `gerador`, e deixa o {@link GeradorFrotaRunner} trabalhar.
+ *
+ * ---
+ * ## ▶️ Execução
+ * ```
+ * gradle gerarMassa -Dgerador.motos=1000000 -Dgerador.eventos=50000000 -Dgerador.seed=7
+ * java -cp mototrack.jar -Dloader.main=br.com.fiap.mototrack.gerador.GeradorFrotaCli \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher --gerador.motos=1000000
+ * ```
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public final class GeradorFrotaCli {
+
+    private GeradorFrotaCli() {
+        // Não instanciar
+    }
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(MototrackApplication.class)
+                .profiles("gerador")
+                .run(args);
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.fiap.mototrack.gerador;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * # ▶️ GeradorFrotaRunner
+ *
+ * Executa o {@link GeradorFrota} quando a aplicação sobe com o profile **`gerador`**
+ * e encerra o processo ao final (o Flyway já rodou, então o schema está atualizado).
+ *
+ * ---
+ * ## ⚙️ Propriedades (`application-gerador.properties`)
+ * `gerador.filiais`, `gerador.motos`, `gerador.eventos`, `gerador.agendamentos`,
+ * `gerador.usuarios`, `gerador.seed`, `gerador.senha`, `gerador.lote`, `gerador.dias-historico`.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@Profile("gerador")
+@RequiredArgsConstructor
+public class GeradorFrotaRunner implements CommandLineRunner {
+
+    private final DataSource dataSource;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${gerador.filiais:50}")
+    private int filiais;
+
+    @Value("${gerador.motos:100000}")
+    private int motos;
+
+    @Value("${gerador.eventos:5000000}")
+    private long eventos;
+
+    @Value("${gerador.agendamentos:500000}")
+    private long agendamentos;
+
+    @Value("${gerador.usuarios:1000}")
+    private int usuarios;
+
+    @Value("${gerador.seed:42}")
+    private long seed;
+
+    @Value("${gerador.senha:gerador123}")
+    private String senha;
+
+    @Value("${gerador.lote:50000}")
+    private int lote;
+
+    @Value("${gerador.dias-historico:365}")
+    private int diasHistorico;
+
+    @Value("${gerador.encerrar:true}")
+    private boolean encerrar;
+
+    @Override
+    public void run(String... args) {
+        GeradorConfig cfg = new GeradorConfig(filiais, motos, eventos, agendamentos, usuarios, seed, senha, lote, diasHistorico);
+        log.info("Gerando massa sintética: {}", cfg);
+        new GeradorFrota(dataSource).gerar(cfg);
+
+        // Jobs agendados mantêm threads vivas; o gerador é um processo de execução única
+        if (encerrar) System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
@@ -0,0 +1,181 @@
+package br.com.fiap.mototrack.idempotencia;
+
+import br.com.fiap.mototrack.exception.HttpExceptionUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * # 🔂 IdempotenciaAspect
+ *
+ * Suporte ao header `Idempotency-Key` nos métodos {@link Idempotente}: clientes móveis
+ * em rede instável repetem o `POST` e, sem isso, cada retentativa vira um cadastro duplicado.
+ *
+ * ---
+ * ## 📋 Como funciona
+ * - Chave = SHA-256 de (usuário autenticado, método + URI, `Idempotency-Key`):
+ *   a mesma chave de dois usuários não colide;
+ * - Impressão = SHA-256 do `@RequestBody` serializado pelo `ObjectMapper`;
+ * - Resposta concluída → devolvida como estava (bytes JSON gravados), sem validar
+ *   referências nem executar o cadastro de novo; header `Idempotent-Replayed: true`;
+ * - Mesma chave com outro corpo → `422`; ainda em andamento (outra requisição) → `409` com `Retry-After`;
+ * - Falha no cadastro (exceção ou status não `2xx`) → reserva desfeita; a retentativa executa.
+ *
+ * ---
+ * ## 📈 Métricas
+ * - `mototrack.idempotencia{resultado=executada|repetida|em-andamento|divergente}`
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Slf4j
+@Aspect
+@Component
+@ConditionalOnWebApplication
+public class IdempotenciaAspect {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String HEADER_REPETIDA = "Idempotent-Replayed";
+    private static final int TAMANHO_MAX = 255;
+
+    private final IdempotenciaStore store;
+    private final ObjectMapper objectMapper;
+    private final Counter executadas;
+    private final Counter repetidas;
+    private final Counter emAndamento;
+    private final Counter divergentes;
+
+    public IdempotenciaAspect(IdempotenciaStore store, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.executadas = contador(registry, "executada");
+        this.repetidas = contador(registry, "repetida");
+        this.emAndamento = contador(registry, "em-andamento");
+        this.divergentes = contador(registry, "divergente");
+    }
+
+    @Around("@annotation(br.com.fiap.mototrack.idempotencia.Idempotente)")
+    public Object executar(ProceedingJoinPoint pjp) throws Throwable {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos)) {
+            return pjp.proceed();
+        }
+        HttpServletRequest request = atributos.getRequest();
+        String idempotencyKey = request.getHeader(HEADER);
+        if (idempotencyKey == null) return pjp.proceed();
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > TAMANHO_MAX) {
+            throw HttpExceptionUtils.badRequest("Header " + HEADER + " deve ter de 1 a " + TAMANHO_MAX + " caracteres.");
+        }
+
+        byte[] chave = sha256(usuario() + '\n' + request.getMethod() + ' ' + request.getRequestURI() + '\n' + idempotencyKey);
+        byte[] impressao = sha256(objectMapper.writeValueAsBytes(corpo(pjp)));
+
+        IdempotenciaStore.Registro registro = store.concluidoEmCache(chave);
+        if (registro == null) {
+            if (store.reservar(chave, impressao)) return executarEGuardar(pjp, chave, impressao);
+            registro = store.buscar(chave);
+        }
+        return repetir(registro, impressao);
+    }
+
+    // =============================
+    // 🔧 Auxiliares
+    // =============================
+
+    private Object executarEGuardar(ProceedingJoinPoint pjp, byte[] chave, byte[] impressao) throws Throwable {
+        Object resultado;
+        try {
+            resultado = pjp.proceed();
+        } catch (Throwable t) {
+            store.liberar(chave);
+            throw t;
+        }
+        if (!(resultado instanceof ResponseEntity<?> resposta) || !resposta.getStatusCode().is2xxSuccessful()) {
+            store.liberar(chave);
+            return resultado;
+        }
+        executadas.increment();
+        try {
+            store.concluir(chave, impressao, resposta.getStatusCode().value(),
+                    objectMapper.writeValueAsBytes(resposta.getBody()));
+        } catch (DataAccessException e) {
+            // O cadastro já foi confirmado: a reserva vence por `em-andamento-max`
+            log.warn("Falha ao registrar resposta idempotente: {}", e.getMessage());
+        }
+        return resultado;
+    }
+
+    /**
+     * Devolve a resposta gravada. O corpo vai como `byte[]` (JSON original), escrito
+     * sem reserializar: em tempo de execução o `ResponseEntity` não carrega o tipo genérico.
+     */
+    private Object repetir(IdempotenciaStore.Registro registro, byte[] impressao) {
+        if (registro == null || !registro.concluido()) {
+            emAndamento.increment();
+            throw HttpExceptionUtils.conflict("Requisição com esta " + HEADER + " ainda em andamento.", Duration.ofSeconds(1));
+        }
+        if (!Arrays.equals(registro.impressao(), impressao)) {
+            divergentes.increment();
+            throw HttpExceptionUtils.unprocessableEntity(HEADER + " já utilizada com outro corpo de requisição.");
+        }
+        repetidas.increment();
+        return ResponseEntity.status(registro.status())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HEADER_REPETIDA, "true")
+                .body(registro.resposta());
+    }
+
+    /** Argumento anotado com `@RequestBody` (ou `null`). */
+    private static Object corpo(ProceedingJoinPoint pjp) {
+        var metodo = ((MethodSignature) pjp.getSignature()).getMethod();
+        Object[] args = pjp.getArgs();
+        for (int i = 0; i < args.length; i++) {
+            if (new MethodParameter(metodo, i).hasParameterAnnotation(RequestBody.class)) return args[i];
+        }
+        return null;
+    }
+
+    private static String usuario() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth == null ? "" : auth.getName().toLowerCase();
+    }
+
+    private static byte[] sha256(String valor) {
+        return sha256(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] sha256(byte[] valor) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(valor);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Counter contador(MeterRegistry registry, String resultado) {
+        return Counter.builder("mototrack.idempotencia").tag("resultado", resultado).register(registry);
+    }
+}
@@ -0,0 +1,176 @@
+package br.com.fiap.mototrack.idempotencia;
+
+import br.com.fiap.mototrack.cluster.ClusterLeadership;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * # 🗃️ IdempotenciaStore
+ *
+ * Respostas já entregues por chave de idempotência: **Caffeine na frente**,
+ * `tb_idempotencia` (V6) como fonte da verdade entre nós.
+ *
+ * ---
+ * ## 📋 Ciclo de uma chave
+ * 1. `reservar` — um único `INSERT ... ON CONFLICT`: só um nó/requisição ganha a chave
+ *    (também retoma chaves vencidas ou reservas abandonadas há mais de `em-andamento-max`);
+ * 2. `concluir` — grava status e corpo da resposta e publica no cache local;
+ * 3. `liberar` — desfaz a reserva quando o cadastro falhou (a retentativa executa de novo).
+ *
+ * Só respostas concluídas vão para o cache (são imutáveis até vencer), então o caminho
+ * comum de uma retentativa não toca no banco.
+ *
+ * ---
+ * ## 🧹 Limpeza
+ * Chaves vencidas saem em lotes (`FOR UPDATE SKIP LOCKED`), em um único nó por vez
+ * (liderança via {@link ClusterLeadership}).
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication
+public class IdempotenciaStore {
+
+    static final String JOB = "idempotencia-expirada";
+
+    private static final String SQL_RESERVAR = """
+            insert into tb_idempotencia (cd_chave, cd_impressao, dt_expiracao)
+            values (?, ?, now() + make_interval(secs => ?))
+            on conflict (cd_chave) do update
+               set cd_impressao = excluded.cd_impressao,
+                   nr_status    = null,
+                   ds_resposta  = null,
+                   dt_criacao   = now(),
+                   dt_expiracao = excluded.dt_expiracao
+             where tb_idempotencia.dt_expiracao <= now()
+                or (tb_idempotencia.nr_status is null
+                    and tb_idempotencia.dt_criacao < now() - make_interval(secs => ?))
+            """;
+
+    private static final String SQL_BUSCAR = """
+            select cd_impressao, nr_status, ds_resposta
+              from tb_idempotencia
+             where cd_chave = ? and dt_expiracao > now()
+            """;
+
+    private static final String SQL_CONCLUIR = """
+            update tb_idempotencia set nr_status = ?, ds_resposta = ?
+             where cd_chave = ? and nr_status is null
+            """;
+
+    private static final String SQL_LIBERAR = "delete from tb_idempotencia where cd_chave = ? and nr_status is null";
+
+    private static final String SQL_LIMPEZA = """
+            delete from tb_idempotencia
+             where cd_chave in (select cd_chave
+                                  from tb_idempotencia
+                                 where dt_expiracao < now()
+                                 order by dt_expiracao
+                                 limit ?
+                                   for update skip locked)
+            """;
+
+    /** Resposta registrada para uma chave; `status` nulo = ainda em andamento. */
+    record Registro(byte[] impressao, Integer status, byte[] resposta) {
+
+        boolean concluido() {
+            return status != null;
+        }
+    }
+
+    private final JdbcTemplate jdbc;
+    private final ClusterLeadership leadership;
+    private final Duration ttl;
+    private final Duration emAndamentoMax;
+    private final int lote;
+    private final int maxLotes;
+    private final Cache<String, Registro> concluidos;
+
+    public IdempotenciaStore(JdbcTemplate jdbc,
+                             ClusterLeadership leadership,
+                             @Value("${mototrack.idempotencia.ttl:PT24H}") Duration ttl,
+                             @Value("${mototrack.idempotencia.em-andamento-max:PT30S}") Duration emAndamentoMax,
+                             @Value("${mototrack.idempotencia.cache-max:10000}") long cacheMax,
+                             @Value("${mototrack.idempotencia.limpeza.lote:1000}") int lote,
+                             @Value("${mototrack.idempotencia.limpeza.max-lotes:50}") int maxLotes) {
+        this.jdbc = jdbc;
+        this.leadership = leadership;
+        this.ttl = ttl;
+        this.emAndamentoMax = emAndamentoMax;
+        this.lote = lote;
+        this.maxLotes = maxLotes;
+        this.concluidos = Caffeine.newBuilder()
+                .maximumSize(cacheMax)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    // =============================
+    // 🔂 Chaves
+    // =============================
+
+    /** Resposta concluída no cache local (sem ida ao banco), ou `null`. */
+    Registro concluidoEmCache(byte[] chave) {
+        return concluidos.getIfPresent(HexFormat.of().formatHex(chave));
+    }
+
+    /** @return `true` se esta requisição ficou com a chave e deve executar o cadastro */
+    boolean reservar(byte[] chave, byte[] impressao) {
+        return jdbc.update(SQL_RESERVAR, chave, impressao, ttl.toSeconds(), emAndamentoMax.toSeconds()) == 1;
+    }
+
+    /** Estado atual da chave no banco (concluída vai também para o cache), ou `null` se vencida. */
+    Registro buscar(byte[] chave) {
+        List<Registro> registros = jdbc.query(SQL_BUSCAR, (rs, i) -> new Registro(
+                rs.getBytes("cd_impressao"), rs.getObject("nr_status", Integer.class),
+                rs.getBytes("ds_resposta")), chave);
+        if (registros.isEmpty()) return null;
+        Registro registro = registros.get(0);
+        if (registro.concluido()) concluidos.put(HexFormat.of().formatHex(chave), registro);
+        return registro;
+    }
+
+    void concluir(byte[] chave, byte[] impressao, int status, byte[] resposta) {
+        jdbc.update(SQL_CONCLUIR, status, resposta, chave);
+        concluidos.put(HexFormat.of().formatHex(chave), new Registro(impressao, status, resposta));
+    }
+
+    void liberar(byte[] chave) {
+        jdbc.update(SQL_LIBERAR, chave);
+    }
+
+    // =============================
+    // 🧹 Limpeza
+    // =============================
+
+    @Scheduled(initialDelayString = "${mototrack.idempotencia.limpeza-ms:300000}",
+            fixedDelayString = "${mototrack.idempotencia.limpeza-ms:300000}")
+    public void removerExpiradas() {
+        if (!leadership.isLeader(JOB)) return;
+        try {
+            long total = 0;
+            for (int i = 0; i < maxLotes; i++) {
+                int removidas = jdbc.update(SQL_LIMPEZA, lote);
+                total += removidas;
+                if (removidas < lote) break;
+            }
+            if (total > 0) log.info("Chaves de idempotência vencidas removidas: {}", total);
+        } catch (DataAccessException e) {
+            log.warn("Falha ao remover chaves de idempotência vencidas: {}", e.getMessage());
+        }
+    }
+}
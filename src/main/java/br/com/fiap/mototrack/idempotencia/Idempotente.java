@@ -0,0 +1,36 @@
+package br.com.fiap.mototrack.idempotencia;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * # 🔂 Idempotente
+ *
+ * Marca um endpoint de cadastro que aceita o header `Idempotency-Key`.
+ *
+ * ---
+ * ## 📋 Regras
+ * - Sem o header, o endpoint funciona como sempre;
+ * - Com o header, a primeira requisição executa e a resposta `2xx` é guardada
+ *   (ver {@link IdempotenciaAspect}); retentativas com a mesma chave e o mesmo corpo
+ *   recebem a resposta original, com `Idempotent-Replayed: true`, sem executar de novo;
+ * - O método deve devolver `ResponseEntity` e receber o corpo em um parâmetro `@RequestBody`.
+ *
+ * ```java
+ * @PostMapping
+ * @Idempotente
+ * public ResponseEntity<EventoResponse> cadastrar(@RequestBody @Valid EventoRequest dto) { ... }
+ * ```
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Idempotente {
+}
@@ -0,0 +1,411 @@
+package br.com.fiap.mototrack.index;
+
+import br.com.fiap.mototrack.repository.AgendamentoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static br.com.fiap.mototrack.exception.HttpExceptionUtils.conflict;
+import static br.com.fiap.mototrack.util.TransacaoUtils.aposCommit;
+
+/**
+ * # 📆 AgendaMotoIndex
+ *
+ * Índice **em memória** das janelas ocupadas por moto, usado para detectar
+ * agendamentos sobrepostos sem ir ao banco.
+ *
+ * ---
+ * ## 📋 Estrutura
+ * - Um `TreeSet` por moto, ordenado por início (e ID como desempate).
+ * - Como cada moto guarda a maior duração já vista, uma checagem de conflito
+ *   só percorre o trecho `[início - maiorDuração, fim)`: **O(log n + k)**.
+ *
+ * ---
+ * ## 🔄 Sincronização com o banco
+ * - Carregado uma vez na subida (`findAllJanelas`, projeção sem entidades).
+ * - `reservar` verifica e ocupa a janela **atomicamente** (por moto) com uma
+ *   reserva provisória; ela vira definitiva no commit e some no rollback — inclusive
+ *   quando a gravação falha antes do `confirmar`.
+ * - Exclusões são aplicadas apenas após o commit.
+ * - `recarregar` (periódico, `mototrack.agenda-index.reload-ms`) compara com o banco e
+ *   corrige **no lugar**, sob o lock de cada moto, trazendo escritas feitas por outros nós. Reservas provisórias e agendamentos
+ *   alterados por este nó durante a consulta são preservados.
+ *
+ * Também mantém a quantidade de agendamentos por dia (usada no dashboard).
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AgendaMotoIndex {
+
+    /** Duração assumida quando o agendamento não informa uma. */
+    public static final int DURACAO_PADRAO_MIN = 60;
+
+    private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private final AgendamentoRepository repository;
+
+    private final Map<Long, Agenda> porMoto = new ConcurrentHashMap<>();
+    private final Map<Long, Janela> porId = new ConcurrentHashMap<>();
+    private final Map<LocalDate, LongAdder> porDia = new ConcurrentHashMap<>();
+    private final AtomicLong sequenciaProvisoria = new AtomicLong();
+
+    /** Escritas confirmadas usam o lock de leitura; a correção de `recarregar`, o de escrita. */
+    private final ReadWriteLock recarga = new ReentrantReadWriteLock();
+    /** IDs alterados por este nó enquanto `recarregar` consulta o banco (nulo fora da recarga). */
+    private volatile Set<Long> alteradosNaRecarga;
+    private volatile boolean carregado;
+
+    // =============================
+    // 🚀 Carga inicial
+    // =============================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        garantirCarregado();
+    }
+
+    /**
+     * Recarga periódica; uma falha só é registrada e o índice segue com o estado atual
+     * até a próxima rodada.
+     */
+    @Scheduled(initialDelayString = "${mototrack.agenda-index.reload-ms:300000}",
+            fixedDelayString = "${mototrack.agenda-index.reload-ms:300000}")
+    public void recarregarPeriodicamente() {
+        try {
+            recarregar();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao recarregar índice de agendamentos: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recarrega o índice a partir do banco, corrigindo o estado atual no lugar:
+     * - agendamentos que sumiram do banco saem; novos ou alterados entram;
+     * - reservas provisórias (transações em andamento) ficam como estão;
+     * - agendamentos que este nó alterou durante a consulta mantêm o estado em memória,
+     *   que é mais novo que o lido.
+     */
+    public synchronized void recarregar() {
+        long t0 = System.nanoTime();
+        Set<Long> alterados = ConcurrentHashMap.newKeySet();
+        alteradosNaRecarga = alterados;
+        Map<Long, Janela> doBanco = new HashMap<>();
+        try {
+            for (var j : repository.findAllJanelas()) {
+                if (j.getMotoId() == null || j.getDataAgendada() == null) continue;
+                doBanco.put(j.getId(), new Janela(j.getId(), j.getMotoId(), j.getDataAgendada(),
+                        duracaoOuPadrao(j.getDuracaoMinutos())));
+            }
+        } catch (RuntimeException e) {
+            alteradosNaRecarga = null;
+            throw e;
+        }
+
+        int corrigidas = 0;
+        recarga.writeLock().lock();
+        try {
+            alteradosNaRecarga = null;
+            for (Janela atual : List.copyOf(porId.values())) {
+                if (!doBanco.containsKey(atual.id()) && !alterados.contains(atual.id())) {
+                    aplicarRemocao(atual.id());
+                    corrigidas++;
+                }
+            }
+            for (Janela janela : doBanco.values()) {
+                if (!alterados.contains(janela.id()) && !janela.equals(porId.get(janela.id()))) {
+                    aplicarAdicao(janela);
+                    corrigidas++;
+                }
+            }
+        } finally {
+            recarga.writeLock().unlock();
+        }
+        carregado = true;
+        log.info("Índice de agendamentos carregado: {} janelas ({} corrigidas), {} motos em {} ms",
+                porId.size(), corrigidas, porMoto.size(), (System.nanoTime() - t0) / 1_000_000);
+    }
+
+    private void garantirCarregado() {
+        if (!carregado) {
+            synchronized (this) {
+                if (!carregado) recarregar();
+            }
+        }
+    }
+
+    // =============================
+    // 🔍 Consulta
+    // =============================
+
+    /**
+     * Retorna o primeiro agendamento que conflita com a janela informada, se houver.
+     *
+     * @param ignorarId ID do próprio agendamento (em atualizações); pode ser nulo
+     */
+    public Optional<Janela> conflito(Long motoId, Long ignorarId, LocalDateTime inicio, int duracaoMin) {
+        garantirCarregado();
+        Agenda agenda = porMoto.get(motoId);
+        if (agenda == null) return Optional.empty();
+        synchronized (agenda) {
+            return agenda.sobrepostas(inicio, inicio.plusMinutes(duracaoMin), ignorarId).stream().findFirst();
+        }
+    }
+
+    /**
+     * Sugere o primeiro horário, a partir de `inicio`, em que a moto está livre
+     * por `duracaoMin` minutos.
+     */
+    public LocalDateTime proximoHorarioLivre(Long motoId, Long ignorarId, LocalDateTime inicio, int duracaoMin) {
+        garantirCarregado();
+        Agenda agenda = porMoto.get(motoId);
+        if (agenda == null) return inicio;
+        synchronized (agenda) {
+            return agenda.proximoLivre(inicio, duracaoMin, ignorarId);
+        }
+    }
+
+    /**
+     * Quantidade de agendamentos marcados para o dia informado.
+     */
+    public long quantidadeNoDia(LocalDate dia) {
+        garantirCarregado();
+        LongAdder total = porDia.get(dia);
+        return total == null ? 0 : total.sum();
+    }
+
+    // =============================
+    // 📝 Escrita (sincronizada com a transação)
+    // =============================
+
+    /**
+     * Verifica a disponibilidade e ocupa a janela de forma atômica para a moto.
+     * Lança 409 (com sugestão de horário) se houver sobreposição.
+     *
+     * A reserva é provisória: chame {@link Reserva#confirmar(Long)} com o ID salvo.
+     * Ela é efetivada após o commit; se a transação terminar sem commit (rollback, ou
+     * falha no `save` antes do `confirmar`), a janela é liberada.
+     *
+     * @param ignorarId ID do próprio agendamento (em atualizações); pode ser nulo
+     */
+    public Reserva reservar(Long motoId, Long ignorarId, LocalDateTime inicio, int duracaoMin) {
+        garantirCarregado();
+        Agenda agenda = porMoto.computeIfAbsent(motoId, id -> new Agenda());
+        Janela provisoria = new Janela(-sequenciaProvisoria.incrementAndGet(), motoId, inicio, duracaoMin);
+
+        synchronized (agenda) {
+            List<Janela> sobrepostas = agenda.sobrepostas(provisoria.inicio(), provisoria.fim(), ignorarId);
+            if (!sobrepostas.isEmpty()) {
+                Janela c = sobrepostas.get(0);
+                LocalDateTime sugestao = agenda.proximoLivre(inicio, duracaoMin, ignorarId);
+                // ID negativo = reserva provisória (ainda em gravação, p.ex. no mesmo lote)
+                String agendamento = c.id() < 0 ? "um agendamento em gravação" : "o agendamento " + c.id();
+                throw conflict(String.format(
+                        "A moto %d já possui %s entre %s e %s. Próximo horário livre: %s",
+                        motoId, agendamento, c.inicio().format(FMT), c.fim().format(FMT), sugestao.format(FMT)));
+            }
+            agenda.adicionar(provisoria);
+        }
+        Reserva reserva = new Reserva(provisoria);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    reserva.encerrar(status == STATUS_COMMITTED);
+                }
+            });
+        }
+        return reserva;
+    }
+
+    /**
+     * Remove o agendamento do índice após o commit da exclusão.
+     */
+    public void remover(Long agendamentoId) {
+        aposCommit(() -> removerJanela(agendamentoId));
+    }
+
+    // =============================
+    // 🔧 Internos
+    // =============================
+
+    private void adicionar(Janela janela) {
+        recarga.readLock().lock();
+        try {
+            marcarAlterado(janela.id());
+            aplicarAdicao(janela);
+        } finally {
+            recarga.readLock().unlock();
+        }
+    }
+
+    private void removerJanela(Long id) {
+        recarga.readLock().lock();
+        try {
+            marcarAlterado(id);
+            aplicarRemocao(id);
+        } finally {
+            recarga.readLock().unlock();
+        }
+    }
+
+    private void marcarAlterado(Long id) {
+        Set<Long> alterados = alteradosNaRecarga;
+        if (alterados != null) alterados.add(id);
+    }
+
+    private void aplicarAdicao(Janela janela) {
+        Janela anterior = porId.put(janela.id(), janela);
+        if (anterior != null) {
+            removerDaAgenda(anterior);
+            porDia.computeIfAbsent(anterior.inicio().toLocalDate(), d -> new LongAdder()).decrement();
+        }
+        porDia.computeIfAbsent(janela.inicio().toLocalDate(), d -> new LongAdder()).increment();
+        Agenda agenda = porMoto.computeIfAbsent(janela.motoId(), id -> new Agenda());
+        synchronized (agenda) {
+            agenda.adicionar(janela);
+        }
+    }
+
+    private void aplicarRemocao(Long id) {
+        Janela janela = porId.remove(id);
+        if (janela != null) {
+            removerDaAgenda(janela);
+            porDia.computeIfAbsent(janela.inicio().toLocalDate(), d -> new LongAdder()).decrement();
+        }
+    }
+
+    private void removerDaAgenda(Janela janela) {
+        Agenda agenda = porMoto.get(janela.motoId());
+        if (agenda == null) return;
+        synchronized (agenda) {
+            agenda.remover(janela);
+        }
+    }
+
+    private static int duracaoOuPadrao(Integer duracaoMin) {
+        return (duracaoMin == null || duracaoMin <= 0) ? DURACAO_PADRAO_MIN : duracaoMin;
+    }
+
+    // =============================
+    // 📦 Tipos auxiliares
+    // =============================
+
+    /**
+     * Janela ocupada por um agendamento: `[inicio, fim)`.
+     */
+    public record Janela(Long id, Long motoId, LocalDateTime inicio, int duracaoMin) {
+
+        public LocalDateTime fim() {
+            return inicio.plusMinutes(duracaoMin);
+        }
+
+        boolean sobrepoe(LocalDateTime outroInicio, LocalDateTime outroFim) {
+            return inicio.isBefore(outroFim) && fim().isAfter(outroInicio);
+        }
+    }
+
+    /**
+     * Reserva provisória devolvida por {@link #reservar}.
+     * Registrada na transação corrente já na criação: a janela provisória sai no fim da
+     * transação, e só com commit (e `confirmar`) entra a definitiva.
+     */
+    public final class Reserva {
+
+        private final Janela provisoria;
+        private volatile Janela definitiva;
+
+        private Reserva(Janela provisoria) {
+            this.provisoria = provisoria;
+        }
+
+        /**
+         * Vincula a reserva ao ID salvo. Efetiva após o commit; sem transação ativa, na hora.
+         */
+        public void confirmar(Long agendamentoId) {
+            definitiva = new Janela(agendamentoId, provisoria.motoId(), provisoria.inicio(), provisoria.duracaoMin());
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                encerrar(true);
+            }
+        }
+
+        private void encerrar(boolean commit) {
+            removerDaAgenda(provisoria);
+            if (commit && definitiva != null) adicionar(definitiva);
+        }
+    }
+
+    /**
+     * Agenda de uma moto. Não é thread-safe: acesso sempre sob `synchronized (agenda)`.
+     */
+    private static final class Agenda {
+
+        private static final Comparator<Janela> ORDEM =
+                Comparator.comparing(Janela::inicio).thenComparing(Janela::id);
+
+        private final NavigableSet<Janela> janelas = new TreeSet<>(ORDEM);
+        private int maiorDuracaoMin;
+
+        void adicionar(Janela j) {
+            janelas.add(j);
+            maiorDuracaoMin = Math.max(maiorDuracaoMin, j.duracaoMin());
+        }
+
+        void remover(Janela j) {
+            janelas.remove(j);
+        }
+
+        List<Janela> sobrepostas(LocalDateTime inicio, LocalDateTime fim, Long ignorarId) {
+            Janela de = sentinela(inicio.minus(Duration.ofMinutes(maiorDuracaoMin)));
+            Janela ate = sentinela(fim);
+            List<Janela> result = new ArrayList<>();
+            for (Janela j : janelas.subSet(de, true, ate, false)) {
+                if (j.sobrepoe(inicio, fim) && !j.id().equals(ignorarId)) result.add(j);
+            }
+            return result;
+        }
+
+        LocalDateTime proximoLivre(LocalDateTime inicio, int duracaoMin, Long ignorarId) {
+            LocalDateTime candidato = inicio;
+            while (true) {
+                List<Janela> sobrepostas = sobrepostas(candidato, candidato.plusMinutes(duracaoMin), ignorarId);
+                if (sobrepostas.isEmpty()) return candidato;
+                for (Janela j : sobrepostas) {
+                    if (j.fim().isAfter(candidato)) candidato = j.fim();
+                }
+            }
+        }
+
+        private static Janela sentinela(LocalDateTime instante) {
+            return new Janela(Long.MIN_VALUE, null, instante, 0);
+        }
+    }
+}
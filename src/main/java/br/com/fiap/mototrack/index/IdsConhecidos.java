@@ -0,0 +1,229 @@
+package br.com.fiap.mototrack.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * # 🧮 IdsConhecidos
+ *
+ * Conjunto **compactado** de IDs (bitmap no estilo Roaring), usado para saber se
+ * uma moto/filial existe sem consultar o banco.
+ *
+ * ---
+ * ## 📋 Estrutura
+ * - O ID é dividido em chave alta (`id >>> 16`) e 16 bits baixos;
+ * - Cada chave alta tem um contêiner com até 65.536 valores:
+ *   - **esparso**: `char[]` ordenado (busca binária), enquanto tiver até 4.096 valores;
+ *   - **denso**: bitmap de 8 KB (`long[1024]`), acima disso.
+ * - IDs de identity (sequenciais) ocupam ~1 bit por registro: 1 milhão de motos ≈ 128 KB.
+ *
+ * Leituras concorrentes; escritas exclusivas (`ReentrantReadWriteLock`).
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public final class IdsConhecidos {
+
+    /** Acima disso o contêiner esparso (2 bytes/valor) passa a ocupar mais que o bitmap (8 KB). */
+    private static final int LIMITE_ESPARSO = 4096;
+
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+    private final Map<Long, Conteiner> conteineres = new HashMap<>();
+    private long tamanho;
+
+    // =============================
+    // 🔍 Consulta
+    // =============================
+
+    public boolean contem(long id) {
+        if (id < 0) return false;
+        trava.readLock().lock();
+        try {
+            Conteiner c = conteineres.get(id >>> 16);
+            return c != null && c.contem((char) id);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /** Quantidade de IDs no conjunto. */
+    public long tamanho() {
+        trava.readLock().lock();
+        try {
+            return tamanho;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /** Memória aproximada ocupada pelos contêineres, em bytes. */
+    public long bytes() {
+        trava.readLock().lock();
+        try {
+            return conteineres.values().stream().mapToLong(Conteiner::bytes).sum();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    // =============================
+    // ✏️ Escritas
+    // =============================
+
+    /** @return `true` se o ID ainda não estava no conjunto */
+    public boolean adicionar(long id) {
+        if (id < 0) return false;
+        trava.writeLock().lock();
+        try {
+            Long chave = id >>> 16;
+            Conteiner c = conteineres.get(chave);
+            if (c == null) {
+                c = new Esparso();
+                conteineres.put(chave, c);
+            }
+            if (c.contem((char) id)) return false;
+            Conteiner novo = c.adicionar((char) id);
+            if (novo != c) conteineres.put(chave, novo);
+            tamanho++;
+            return true;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /** @return `true` se o ID estava no conjunto */
+    public boolean remover(long id) {
+        if (id < 0) return false;
+        trava.writeLock().lock();
+        try {
+            Long chave = id >>> 16;
+            Conteiner c = conteineres.get(chave);
+            if (c == null || !c.contem((char) id)) return false;
+            Conteiner novo = c.remover((char) id);
+            if (novo.cardinalidade() == 0) conteineres.remove(chave);
+            else if (novo != c) conteineres.put(chave, novo);
+            tamanho--;
+            return true;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    // =============================
+    // 📦 Contêineres (acesso sempre sob a trava)
+    // =============================
+
+    /**
+     * Valores de 16 bits de uma chave alta. `adicionar`/`remover` recebem valores
+     * ausentes/presentes e devolvem o contêiner resultante (pode trocar de formato).
+     */
+    private interface Conteiner {
+
+        boolean contem(char valor);
+
+        Conteiner adicionar(char valor);
+
+        Conteiner remover(char valor);
+
+        int cardinalidade();
+
+        long bytes();
+    }
+
+    private static final class Esparso implements Conteiner {
+
+        private char[] valores = new char[4];
+        private int n;
+
+        @Override
+        public boolean contem(char valor) {
+            return Arrays.binarySearch(valores, 0, n, valor) >= 0;
+        }
+
+        @Override
+        public Conteiner adicionar(char valor) {
+            if (n == LIMITE_ESPARSO) return paraDenso().adicionar(valor);
+            int pos = -Arrays.binarySearch(valores, 0, n, valor) - 1;
+            if (n == valores.length) valores = Arrays.copyOf(valores, Math.min(n * 2, LIMITE_ESPARSO));
+            System.arraycopy(valores, pos, valores, pos + 1, n - pos);
+            valores[pos] = valor;
+            n++;
+            return this;
+        }
+
+        @Override
+        public Conteiner remover(char valor) {
+            int pos = Arrays.binarySearch(valores, 0, n, valor);
+            System.arraycopy(valores, pos + 1, valores, pos, n - pos - 1);
+            n--;
+            return this;
+        }
+
+        @Override
+        public int cardinalidade() {
+            return n;
+        }
+
+        @Override
+        public long bytes() {
+            return 2L * valores.length;
+        }
+
+        private Denso paraDenso() {
+            Denso denso = new Denso();
+            for (int i = 0; i < n; i++) denso.adicionar(valores[i]);
+            return denso;
+        }
+    }
+
+    private static final class Denso implements Conteiner {
+
+        private final long[] bits = new long[1024];
+        private int n;
+
+        @Override
+        public boolean contem(char valor) {
+            return (bits[valor >>> 6] & (1L << valor)) != 0;
+        }
+
+        @Override
+        public Conteiner adicionar(char valor) {
+            bits[valor >>> 6] |= 1L << valor;
+            n++;
+            return this;
+        }
+
+        @Override
+        public Conteiner remover(char valor) {
+            bits[valor >>> 6] &= ~(1L << valor);
+            n--;
+            return n <= LIMITE_ESPARSO ? paraEsparso() : this;
+        }
+
+        @Override
+        public int cardinalidade() {
+            return n;
+        }
+
+        @Override
+        public long bytes() {
+            return 8L * bits.length;
+        }
+
+        private Esparso paraEsparso() {
+            Esparso esparso = new Esparso();
+            esparso.valores = new char[Math.max(n, 4)];
+            for (int i = 0; i < bits.length; i++) {
+                long palavra = bits[i];
+                while (palavra != 0) {
+                    esparso.valores[esparso.n++] = (char) ((i << 6) + Long.numberOfTrailingZeros(palavra));
+                    palavra &= palavra - 1;
+                }
+            }
+            return esparso;
+        }
+    }
+}
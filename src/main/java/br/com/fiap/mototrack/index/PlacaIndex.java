@@ -0,0 +1,187 @@
+package br.com.fiap.mototrack.index;
+
+import br.com.fiap.mototrack.repository.MotoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static br.com.fiap.mototrack.util.TransacaoUtils.aposCommit;
+
+/**
+ * # 🔤 PlacaIndex
+ *
+ * Índice **em memória** das placas de todas as motos, usado no autocomplete
+ * (typeahead) sem tocar no Postgres.
+ *
+ * ---
+ * ## 📋 Estrutura
+ * - Um **`ConcurrentSkipListMap`** ordenado pela placa normalizada (maiúsculas,
+ *   só letras e dígitos) e pelo id — escrita em **O(log n)**, sem copiar o índice.
+ * - Busca por prefixo: `tailMap` a partir do prefixo e varredura enquanto ele
+ *   casar — **O(log n + limite)**, sem bloquear nem alocar além do resultado.
+ *
+ * ---
+ * ## 🔄 Sincronização com o banco
+ * - Carregado na subida (`findAllPlacas`, projeção sem entidades).
+ * - Escritas do `MotoService` são aplicadas **após o commit**. Numa troca de placa
+ *   a nova entrada entra antes de a antiga sair: a moto nunca some da busca.
+ * - Recarga periódica corrige escritas feitas por outros nós; o mapa novo é montado
+ *   sob o mesmo lock das escritas, então nenhum commit local se perde na troca.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PlacaIndex {
+
+    /** Quantidade máxima de sugestões por consulta. */
+    public static final int LIMITE_MAXIMO = 50;
+
+    private static final Comparator<Entrada> ORDEM =
+            Comparator.comparing(Entrada::chave).thenComparing(Entrada::id);
+
+    private final MotoRepository repository;
+
+    /** Entradas ordenadas por chave/id; o valor é sempre a entrada atual (status incluso). */
+    private volatile ConcurrentNavigableMap<Entrada, Entrada> entradas = new ConcurrentSkipListMap<>(ORDEM);
+
+    /** Entrada atual de cada moto (usado para localizar a anterior em updates/exclusões). */
+    private volatile Map<Long, Entrada> porId = new ConcurrentHashMap<>();
+
+    // =============================
+    // 🚀 Carga / recarga
+    // =============================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        recarregar();
+    }
+
+    /**
+     * Reconstrói o índice a partir do banco e o publica de uma vez.
+     */
+    @Scheduled(initialDelayString = "${mototrack.placa-index.reload-ms:300000}",
+            fixedDelayString = "${mototrack.placa-index.reload-ms:300000}")
+    public synchronized void recarregar() {
+        long t0 = System.nanoTime();
+        try {
+            ConcurrentNavigableMap<Entrada, Entrada> novas = new ConcurrentSkipListMap<>(ORDEM);
+            Map<Long, Entrada> novasPorId = new ConcurrentHashMap<>();
+            for (var m : repository.findAllPlacas()) {
+                Entrada e = Entrada.de(m.getId(), m.getPlaca(), m.getStatus());
+                if (e != null && novasPorId.put(e.id(), e) == null) novas.put(e, e);
+            }
+
+            porId = novasPorId;
+            entradas = novas;
+            log.info("Índice de placas carregado: {} motos em {} ms",
+                    novasPorId.size(), (System.nanoTime() - t0) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao recarregar índice de placas: {}", e.getMessage());
+        }
+    }
+
+    // =============================
+    // ✏️ Escritas (após o commit)
+    // =============================
+
+    /** Registra (ou atualiza) a placa/status de uma moto. */
+    public void salvar(Long motoId, String placa, String status) {
+        Entrada nova = Entrada.de(motoId, placa, status);
+        aposCommit(() -> substituir(motoId, nova));
+    }
+
+    /** Remove a moto do índice. */
+    public void remover(Long motoId) {
+        aposCommit(() -> substituir(motoId, null));
+    }
+
+    private synchronized void substituir(Long motoId, Entrada nova) {
+        Entrada antiga = porId.get(motoId);
+        if (nova != null && nova.equals(antiga)) return;
+
+        if (nova != null) {
+            entradas.put(nova, nova);
+            porId.put(motoId, nova);
+        } else {
+            porId.remove(motoId);
+        }
+        if (antiga != null && (nova == null || !antiga.chave().equals(nova.chave()))) {
+            entradas.remove(antiga);
+        }
+    }
+
+    // =============================
+    // 🔍 Consulta (sem I/O)
+    // =============================
+
+    /**
+     * Até `limite` placas que começam com o prefixo informado, em ordem alfabética.
+     * Hífens, espaços e caixa são ignorados ("abc-1" encontra "ABC1D23").
+     */
+    public List<Entrada> buscarPorPrefixo(String prefixo, int limite) {
+        String chave = normalizar(prefixo);
+        int max = Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        if (chave.isEmpty()) return List.of();
+
+        // Menor entrada possível com a chave: o primeiro candidato é o teto dela
+        Entrada inicio = new Entrada(chave, Long.MIN_VALUE, null, null);
+        List<Entrada> resultado = new ArrayList<>(max);
+        for (Entrada e : entradas.tailMap(inicio, true).values()) {
+            if (resultado.size() >= max || !e.chave().startsWith(chave)) break;
+            resultado.add(e);
+        }
+        return resultado;
+    }
+
+    /** Placa da moto, ou `null` se ela ainda não foi indexada (ex.: criada em outro nó). */
+    public String placa(Long motoId) {
+        Entrada entrada = porId.get(motoId);
+        return entrada != null ? entrada.placa() : null;
+    }
+
+    /** Quantidade de placas indexadas. */
+    public int tamanho() {
+        return porId.size();
+    }
+
+    // =============================
+    // 🔧 Auxiliares
+    // =============================
+
+    /** Maiúsculas, apenas letras e dígitos. */
+    static String normalizar(String placa) {
+        if (placa == null) return "";
+        StringBuilder sb = new StringBuilder(placa.length());
+        for (char c : placa.toUpperCase(Locale.ROOT).toCharArray()) {
+            if (Character.isLetterOrDigit(c)) sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Placa indexada: chave normalizada (ordenação/busca) e dados devolvidos ao cliente.
+     */
+    public record Entrada(String chave, Long id, String placa, String status) {
+
+        static Entrada de(Long id, String placa, String status) {
+            if (id == null || placa == null || placa.isBlank()) return null;
+            return new Entrada(normalizar(placa), id, placa, status);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package br.com.fiap.mototrack.index;
+
+import br.com.fiap.mototrack.model.Filial;
+import br.com.fiap.mototrack.model.Moto;
+import br.com.fiap.mototrack.repository.FilialRepository;
+import br.com.fiap.mototrack.repository.MotoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongPredicate;
+
+import static br.com.fiap.mototrack.exception.HttpExceptionUtils.notFound;
+import static br.com.fiap.mototrack.util.TransacaoUtils.aposCommit;
+
+/**
+ * # 🔗 ReferenciaIndex
+ *
+ * Resolve os IDs de relacionamento das escritas (`motoId`, `filialId`) **sem carregar
+ * a entidade**: a existência é conferida em memória ({@link IdsConhecidos}) e o vínculo
+ * é feito com `getReferenceById` (proxy; só o FK vai para o INSERT/UPDATE).
+ *
+ * ---
+ * ## 📋 Resolução
+ * - ID conhecido → referência, sem I/O;
+ * - ID desconhecido → um `existsById` confirma (moto criada em outro nó ou por carga
+ *   em massa ainda não reconciliada) e o ID passa a ser conhecido; se não existir, `404`;
+ * - ID conhecido, mas excluído em outro nó antes da recarga → o INSERT/UPDATE falha no FK;
+ *   {@link #motoInexistente} esquece o ID e devolve `404` em vez de `500`.
+ *
+ * ---
+ * ## 🔄 Sincronização com o banco
+ * - Carregado na subida (apenas as colunas de ID, sem entidades);
+ * - Cadastros/exclusões de `MotoService` e `FilialService` são aplicados **após o commit**;
+ * - Recarga periódica corrige exclusões feitas por outros nós. Escritas locais que
+ *   acontecem durante a recarga são reaplicadas sobre o conjunto novo antes da troca.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class ReferenciaIndex {
+
+    /** SQLSTATE do Postgres para `foreign_key_violation`. */
+    private static final String FK_VIOLADA = "23503";
+
+    private final MotoRepository motoRepository;
+    private final FilialRepository filialRepository;
+    private final JdbcTemplate jdbc;
+    private final Conhecidos motos = new Conhecidos("select id_moto from tb_moto");
+    private final Conhecidos filiais = new Conhecidos("select id_filial from tb_filial");
+
+    public ReferenciaIndex(MotoRepository motoRepository, FilialRepository filialRepository, JdbcTemplate jdbc) {
+        this.motoRepository = motoRepository;
+        this.filialRepository = filialRepository;
+        this.jdbc = jdbc;
+    }
+
+    // =============================
+    // 🚀 Carga / recarga
+    // =============================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        recarregar();
+    }
+
+    /**
+     * Reconstrói os conjuntos a partir do banco e os publica de uma vez.
+     */
+    @Scheduled(initialDelayString = "${mototrack.referencias.reload-ms:300000}",
+            fixedDelayString = "${mototrack.referencias.reload-ms:300000}")
+    public synchronized void recarregar() {
+        long t0 = System.nanoTime();
+        try {
+            motos.recarregar();
+            filiais.recarregar();
+            log.info("Índice de referências carregado: {} motos, {} filiais ({} KB) em {} ms",
+                    motos.atual.tamanho(), filiais.atual.tamanho(),
+                    (motos.atual.bytes() + filiais.atual.bytes()) / 1024,
+                    (System.nanoTime() - t0) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao recarregar índice de referências: {}", e.getMessage());
+        }
+    }
+
+    // =============================
+    // 🔍 Resolução
+    // =============================
+
+    /** Referência (proxy) para a moto; `404` se não existir. */
+    public Moto moto(Long id) {
+        if (!motos.existe(id, motoRepository::existsById)) throw notFound("Moto", id);
+        return motoRepository.getReferenceById(id);
+    }
+
+    /** Referência (proxy) para a filial; `404` se não existir. */
+    public Filial filial(Long id) {
+        if (!filiais.existe(id, filialRepository::existsById)) throw notFound("Filial", id);
+        return filialRepository.getReferenceById(id);
+    }
+
+    /**
+     * Traduz a falha de uma escrita que usou {@link #moto(Long)}: se foi o FK da moto,
+     * ela foi excluída em outro nó depois de entrar no conjunto. O ID é esquecido e
+     * a resposta vira `404`; qualquer outra violação de integridade segue como está.
+     */
+    public RuntimeException motoInexistente(Long id, DataIntegrityViolationException e) {
+        if (id == null || !(e.getMostSpecificCause() instanceof SQLException sql)
+                || !FK_VIOLADA.equals(sql.getSQLState())) {
+            return e;
+        }
+        motos.alterar(id, false);
+        return notFound("Moto", id);
+    }
+
+    // =============================
+    // ✏️ Escritas (após o commit)
+    // =============================
+
+    public void motoSalva(Long id) {
+        aposCommit(() -> motos.alterar(id, true));
+    }
+
+    public void motoRemovida(Long id) {
+        aposCommit(() -> motos.alterar(id, false));
+    }
+
+    public void filialSalva(Long id) {
+        aposCommit(() -> filiais.alterar(id, true));
+    }
+
+    public void filialRemovida(Long id) {
+        aposCommit(() -> filiais.alterar(id, false));
+    }
+
+    // =============================
+    // 📦 Tipos auxiliares
+    // =============================
+
+    /**
+     * IDs conhecidos de uma tabela. Durante a recarga, as alterações locais também
+     * vão para um diário (`+id` / `-id`), reaplicado sobre o conjunto novo.
+     */
+    private final class Conhecidos {
+
+        private final String sqlIds;
+        private volatile IdsConhecidos atual = new IdsConhecidos();
+        private List<Long> diario;
+
+        Conhecidos(String sqlIds) {
+            this.sqlIds = sqlIds;
+        }
+
+        boolean existe(Long id, LongPredicate noBanco) {
+            if (id == null) return false;
+            if (atual.contem(id)) return true;
+            if (!noBanco.test(id)) return false;
+            alterar(id, true);
+            return true;
+        }
+
+        synchronized void alterar(Long id, boolean existe) {
+            if (existe) atual.adicionar(id);
+            else atual.remover(id);
+            if (diario != null) diario.add(existe ? id : -id);
+        }
+
+        void recarregar() {
+            synchronized (this) {
+                diario = new ArrayList<>();
+            }
+            IdsConhecidos novo = new IdsConhecidos();
+            try {
+                jdbc.query(sqlIds, (RowCallbackHandler) rs -> novo.adicionar(rs.getLong(1)));
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    diario = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                for (long alteracao : diario) {
+                    if (alteracao > 0) novo.adicionar(alteracao);
+                    else novo.remover(-alteracao);
+                }
+                diario = null;
+                atual = novo;
+            }
+        }
+    }
+}
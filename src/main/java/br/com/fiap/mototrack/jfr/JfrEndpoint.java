@@ -0,0 +1,43 @@
+package br.com.fiap.mototrack.jfr;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * # 🛩️ JfrEndpoint
+ *
+ * Endpoint actuator `/actuator/jfr`:
+ * - `GET` informa se a gravação contínua está ativa;
+ * - `POST` grava um dump `.jfr` da janela atual e devolve o caminho do arquivo
+ *   (abra no JDK Mission Control ou com `jfr print --events br.com.fiap.mototrack.*`).
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Component
+@Endpoint(id = "jfr")
+@RequiredArgsConstructor
+public class JfrEndpoint {
+
+    private final JfrRecorder recorder;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return Map.of("ativo", recorder.isAtivo());
+    }
+
+    @WriteOperation
+    public Map<String, Object> dump() throws IOException {
+        Path arquivo = recorder.dump();
+        return Map.of("arquivo", arquivo.toString(), "bytes", Files.size(arquivo));
+    }
+}
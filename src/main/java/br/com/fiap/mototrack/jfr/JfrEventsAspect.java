@@ -0,0 +1,72 @@
+package br.com.fiap.mototrack.jfr;
+
+import br.com.fiap.mototrack.sql.SqlStatementCounter;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * # 🛩️ JfrEventsAspect
+ *
+ * Emite os eventos JFR {@link ServicoEvent} e {@link MapeamentoEvent} em volta
+ * dos métodos de serviço e de cada `ModelMapper.map`.
+ *
+ * Quando nenhuma gravação JFR está ativa, `isEnabled()` é falso e o custo
+ * é apenas o da chamada do aspecto.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Aspect
+@Component
+public class JfrEventsAspect {
+
+    @Around("execution(public * br.com.fiap.mototrack.service.*Service.*(..))")
+    public Object servico(ProceedingJoinPoint pjp) throws Throwable {
+        ServicoEvent event = new ServicoEvent();
+        if (!event.isEnabled()) return pjp.proceed();
+
+        long sqlAntes = SqlStatementCounter.atual();
+        event.begin();
+        boolean sucesso = false;
+        Object resultado = null;
+        try {
+            resultado = pjp.proceed();
+            sucesso = true;
+            return resultado;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                String classe = pjp.getSignature().getDeclaringType().getSimpleName();
+                event.classe = classe;
+                event.metodo = pjp.getSignature().getName();
+                event.entidade = JfrSupport.entidade(classe, "Service");
+                event.linhas = JfrSupport.linhas(resultado);
+                event.statements = SqlStatementCounter.atual() - sqlAntes;
+                event.sucesso = sucesso;
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(public * org.modelmapper.ModelMapper.map(..)) && args(origem, destino)")
+    public Object mapeamento(ProceedingJoinPoint pjp, Object origem, Object destino) throws Throwable {
+        MapeamentoEvent event = new MapeamentoEvent();
+        if (!event.isEnabled()) return pjp.proceed();
+
+        event.begin();
+        try {
+            return pjp.proceed();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.origem = origem == null ? null : origem.getClass().getSimpleName();
+                event.destino = destino instanceof Class<?> c ? c.getSimpleName() : destino.getClass().getSimpleName();
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.fiap.mototrack.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * # 🛩️ JfrRecorder
+ *
+ * Mantém uma gravação **JFR contínua** (em memória/disco temporário, limitada por
+ * idade e tamanho) com os eventos da JVM e os eventos de domínio da aplicação.
+ * Um dump pode ser pedido a qualquer momento pelo endpoint `/actuator/jfr`.
+ *
+ * ---
+ * ## ⚙️ Configuração
+ * - `mototrack.jfr.enabled`: liga a gravação contínua na subida;
+ * - `mototrack.jfr.settings`: perfil do JDK (`default` ≈ 1% de overhead, `profile` mais detalhado);
+ * - `mototrack.jfr.max-age` / `max-size-mb`: janela mantida;
+ * - `mototrack.jfr.dump-dir`: onde os dumps são gravados.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class JfrRecorder implements DisposableBean {
+
+    private static final DateTimeFormatter ARQUIVO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final boolean enabled;
+    private final String settings;
+    private final Duration maxAge;
+    private final long maxSizeMb;
+    private final Path dumpDir;
+
+    private Recording recording;
+
+    public JfrRecorder(@Value("${mototrack.jfr.enabled:true}") boolean enabled,
+                       @Value("${mototrack.jfr.settings:default}") String settings,
+                       @Value("${mototrack.jfr.max-age:PT15M}") Duration maxAge,
+                       @Value("${mototrack.jfr.max-size-mb:100}") long maxSizeMb,
+                       @Value("${mototrack.jfr.dump-dir:${java.io.tmpdir}/mototrack-jfr}") Path dumpDir) {
+        this.enabled = enabled;
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSizeMb = maxSizeMb;
+        this.dumpDir = dumpDir;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void iniciar() {
+        if (!enabled || recording != null) return;
+        try {
+            Recording r = new Recording(Configuration.getConfiguration(settings));
+            r.setName("mototrack-continuo");
+            r.setToDisk(true);
+            r.setMaxAge(maxAge);
+            r.setMaxSize(maxSizeMb * 1024 * 1024);
+            r.enable(RequisicaoEvent.class).withoutStackTrace();
+            r.enable(ServicoEvent.class).withoutStackTrace();
+            r.enable(MapeamentoEvent.class).withoutStackTrace();
+            r.enable(RenderizacaoEvent.class).withoutStackTrace();
+            r.start();
+            recording = r;
+            log.info("Gravação JFR contínua iniciada (settings={}, maxAge={}, maxSize={} MB)", settings, maxAge, maxSizeMb);
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            log.warn("Não foi possível iniciar a gravação JFR: {}", e.getMessage());
+        }
+    }
+
+    /** Indica se há gravação contínua ativa. */
+    public synchronized boolean isAtivo() {
+        return recording != null;
+    }
+
+    /**
+     * Grava em arquivo o conteúdo atual da gravação contínua (que continua rodando).
+     *
+     * @return caminho do arquivo `.jfr`
+     */
+    public synchronized Path dump() throws IOException {
+        if (recording == null) throw new IllegalStateException("Gravação JFR não está ativa");
+        Files.createDirectories(dumpDir);
+        Path arquivo = dumpDir.resolve("mototrack-" + LocalDateTime.now().format(ARQUIVO) + ".jfr");
+        recording.dump(arquivo);
+        log.info("Dump JFR gravado em {}", arquivo);
+        return arquivo;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.fiap.mototrack.jfr;
+
+import org.springframework.data.domain.Page;
+
+import java.util.Collection;
+
+/**
+ * Auxiliares compartilhados pelos emissores de eventos JFR.
+ */
+final class JfrSupport {
+
+    private JfrSupport() {
+        // Não instanciar
+    }
+
+    /** "MotoPageController" → "Moto" (remove o sufixo informado). */
+    static String entidade(String nomeClasse, String sufixo) {
+        return nomeClasse.endsWith(sufixo) ? nomeClasse.substring(0, nomeClasse.length() - sufixo.length()) : nomeClasse;
+    }
+
+    /** Itens de uma `Page` ou coleção; -1 para qualquer outro valor. */
+    static long linhas(Object valor) {
+        if (valor instanceof Page<?> page) return page.getNumberOfElements();
+        if (valor instanceof Collection<?> col) return col.size();
+        return -1;
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.fiap.mototrack.jfr;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * # 🛩️ JfrWebInterceptor
+ *
+ * Emite {@link RequisicaoEvent} para cada requisição tratada por um controller e,
+ * nos `*PageController`, um {@link RenderizacaoEvent} cobrindo apenas a
+ * renderização Thymeleaf (de `postHandle` até `afterCompletion`).
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public class JfrWebInterceptor implements HandlerInterceptor {
+
+    private static final String ATTR_REQUISICAO = JfrWebInterceptor.class.getName() + ".requisicao";
+    private static final String ATTR_RENDER = JfrWebInterceptor.class.getName() + ".render";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod)) return true;
+        RequisicaoEvent event = new RequisicaoEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            request.setAttribute(ATTR_REQUISICAO, event);
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView mav) {
+        if (mav == null || !(handler instanceof HandlerMethod hm)) return;
+        String controller = hm.getBeanType().getSimpleName();
+        if (!controller.endsWith("PageController")) return;
+
+        RenderizacaoEvent event = new RenderizacaoEvent();
+        if (!event.isEnabled()) return;
+        event.view = mav.getViewName();
+        event.entidade = JfrSupport.entidade(controller, "PageController");
+        event.linhas = -1;
+        for (Object valor : mav.getModel().values()) {
+            long linhas = JfrSupport.linhas(valor);
+            if (linhas >= 0) {
+                event.linhas = linhas;
+                break;
+            }
+        }
+        event.begin();
+        request.setAttribute(ATTR_RENDER, event);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(ATTR_RENDER) instanceof RenderizacaoEvent render) {
+            render.commit();
+        }
+        if (request.getAttribute(ATTR_REQUISICAO) instanceof RequisicaoEvent event
+                && handler instanceof HandlerMethod hm) {
+            event.end();
+            if (event.shouldCommit()) {
+                Object rota = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                String controller = hm.getBeanType().getSimpleName();
+                event.metodo = request.getMethod();
+                event.rota = rota != null ? rota.toString() : request.getRequestURI();
+                event.handler = controller + "#" + hm.getMethod().getName();
+                event.entidade = JfrSupport.entidade(JfrSupport.entidade(controller, "Controller"), "Page");
+                event.status = response.getStatus();
+                event.commit();
+            }
+        }
+    }
+}
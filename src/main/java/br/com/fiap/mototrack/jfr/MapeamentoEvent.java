@@ -0,0 +1,25 @@
+package br.com.fiap.mototrack.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR: um `ModelMapper.map` (entidade ↔ DTO).
+ */
+@Name("br.com.fiap.mototrack.Mapeamento")
+@Label("Mapeamento ModelMapper")
+@Category({"MotoTrack", "Mapeamento"})
+@Description("Conversão de objetos pelo ModelMapper")
+@StackTrace(false)
+public class MapeamentoEvent extends Event {
+
+    @Label("Origem")
+    public String origem;
+
+    @Label("Destino")
+    public String destino;
+}
@@ -0,0 +1,29 @@
+package br.com.fiap.mototrack.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR: renderização Thymeleaf da view devolvida por um `*PageController`.
+ */
+@Name("br.com.fiap.mototrack.Renderizacao")
+@Label("Renderização Thymeleaf")
+@Category({"MotoTrack", "Web"})
+@Description("Renderização da view de um PageController")
+@StackTrace(false)
+public class RenderizacaoEvent extends Event {
+
+    @Label("View")
+    public String view;
+
+    @Label("Entidade")
+    public String entidade;
+
+    @Label("Linhas")
+    @Description("Itens da página/lista presente no model; -1 quando não há")
+    public long linhas;
+}
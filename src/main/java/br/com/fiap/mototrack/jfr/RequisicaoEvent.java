@@ -0,0 +1,34 @@
+package br.com.fiap.mototrack.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR: tratamento de uma requisição por um controller (do handler até o fim da view).
+ */
+@Name("br.com.fiap.mototrack.Requisicao")
+@Label("Requisição")
+@Category({"MotoTrack", "Web"})
+@Description("Tratamento de uma requisição HTTP por um controller")
+@StackTrace(false)
+public class RequisicaoEvent extends Event {
+
+    @Label("Método HTTP")
+    public String metodo;
+
+    @Label("Rota")
+    public String rota;
+
+    @Label("Handler")
+    public String handler;
+
+    @Label("Entidade")
+    public String entidade;
+
+    @Label("Status HTTP")
+    public int status;
+}
@@ -0,0 +1,38 @@
+package br.com.fiap.mototrack.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR: chamada a um método de serviço (inclui o SQL executado por ele).
+ */
+@Name("br.com.fiap.mototrack.Servico")
+@Label("Serviço")
+@Category({"MotoTrack", "Serviço"})
+@Description("Execução de um método da camada de serviço")
+@StackTrace(false)
+public class ServicoEvent extends Event {
+
+    @Label("Classe")
+    public String classe;
+
+    @Label("Método")
+    public String metodo;
+
+    @Label("Entidade")
+    public String entidade;
+
+    @Label("Linhas")
+    @Description("Itens devolvidos (Page/coleção); -1 quando não se aplica")
+    public long linhas;
+
+    @Label("Statements SQL")
+    public long statements;
+
+    @Label("Sucesso")
+    public boolean sucesso;
+}
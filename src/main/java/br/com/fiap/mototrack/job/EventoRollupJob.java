@@ -0,0 +1,90 @@
+package br.com.fiap.mototrack.job;
+
+import br.com.fiap.mototrack.cluster.ClusterLeadership;
+import br.com.fiap.mototrack.repository.EventoRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * # ⏱️ EventoRollupJob
+ *
+ * Mantém os rollups diário e horário de eventos de forma **incremental**:
+ * a cada execução retira os eventos da fila de pendentes, em lotes, cada lote em
+ * sua própria transação (fila e rollups mudam juntos).
+ *
+ * A fila é preenchida na transação que insere o evento, então o job só vê eventos
+ * confirmados — a ordem de commit dos ids não importa.
+ *
+ * ---
+ * ## 🛰️ Cluster
+ * Roda em um único nó por vez (liderança via {@link ClusterLeadership}).
+ *
+ * ---
+ * ## ⚙️ Propriedades
+ * - `mototrack.rollup.evento.interval-ms` — intervalo entre execuções
+ * - `mototrack.rollup.evento.lote` — eventos por lote
+ * - `mototrack.rollup.evento.max-lotes` — lotes por execução (limita o tempo de cada ciclo)
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class EventoRollupJob {
+
+    static final String JOB = "evento-rollup";
+
+    private final EventoRollupRepository repository;
+    private final ClusterLeadership leadership;
+    private final TransactionTemplate tx;
+    private final int lote;
+    private final int maxLotes;
+
+    public EventoRollupJob(EventoRollupRepository repository,
+                           ClusterLeadership leadership,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${mototrack.rollup.evento.lote:50000}") int lote,
+                           @Value("${mototrack.rollup.evento.max-lotes:20}") int maxLotes) {
+        this.repository = repository;
+        this.leadership = leadership;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.lote = lote;
+        this.maxLotes = maxLotes;
+    }
+
+    @Scheduled(initialDelayString = "${mototrack.rollup.evento.interval-ms:60000}",
+            fixedDelayString = "${mototrack.rollup.evento.interval-ms:60000}")
+    public void executar() {
+        if (!leadership.isLeader(JOB)) return;
+        try {
+            long total = 0;
+            for (int i = 0; i < maxLotes; i++) {
+                Long processados = tx.execute(status -> processarLote());
+                if (processados == null || processados == 0) break;
+                total += processados;
+            }
+            if (total > 0) log.info("Rollup de eventos: {} eventos agregados", total);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao atualizar rollup de eventos: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Retira um lote da fila e o agrega na mesma transação.
+     *
+     * @return quantos eventos foram agregados
+     */
+    private long processarLote() {
+        List<Long> eventos = repository.retirarPendentes(lote);
+        if (eventos.isEmpty()) return 0;
+        repository.agregar(eventos);
+        return eventos.size();
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.fiap.mototrack.limite;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * # 🪣 BaldeTokens
+ *
+ * Token bucket **sem lock** de uma chave (usuário/cliente) em uma família de rotas.
+ *
+ * ---
+ * ## 📋 Como funciona
+ * Implementado como GCRA: em vez de guardar "tokens restantes" e "última reposição"
+ * (dois campos, exigiriam lock), guarda só o **instante teórico de chegada** (`tat`)
+ * em um `AtomicLong`. Cada requisição tenta avançar o `tat` em um intervalo de emissão
+ * com `compareAndSet`; se o `tat` ficaria mais de `capacidade` intervalos à frente do
+ * relógio, o balde está vazio.
+ *
+ * Equivale a um balde de `capacidade` tokens reposto a `1 / intervalo` por segundo.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+final class BaldeTokens {
+
+    private final AtomicLong tat;
+
+    BaldeTokens(long agoraNanos) {
+        this.tat = new AtomicLong(agoraNanos);
+    }
+
+    /**
+     * Tenta consumir um token.
+     *
+     * @param agoraNanos     `System.nanoTime()` da requisição
+     * @param intervaloNanos tempo de reposição de um token
+     * @param capacidade     tamanho máximo da rajada
+     * @return tokens restantes (≥ 0) se permitido; senão, `-(nanos até o próximo token)`
+     */
+    long consumir(long agoraNanos, long intervaloNanos, long capacidade) {
+        long tolerancia = intervaloNanos * capacidade;
+        while (true) {
+            long atual = tat.get();
+            long novo = Math.max(atual, agoraNanos) + intervaloNanos;
+            long excesso = novo - agoraNanos - tolerancia;
+            if (excesso > 0) return -excesso;
+            if (tat.compareAndSet(atual, novo)) return -excesso / intervaloNanos;
+        }
+    }
+}
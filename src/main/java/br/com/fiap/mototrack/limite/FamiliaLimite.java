@@ -0,0 +1,120 @@
+package br.com.fiap.mototrack.limite;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * # 🧺 FamiliaLimite
+ *
+ * Grupo de rotas com o mesmo limite (ex.: `consultas`, `escrita`, `login`)
+ * e os baldes de cada chave que já passou por ele.
+ *
+ * ---
+ * ## 📋 Regras
+ * - Rotas no formato `MÉTODO /padrão` (ou só `/padrão` para qualquer método);
+ * - `capacidade` = rajada máxima; `porSegundo` = reposição contínua;
+ * - Com vários nós, a taxa e a rajada de cada nó são divididas pelos nós vivos
+ *   (`nos`), para o total do cluster ficar próximo do configurado;
+ * - Baldes ociosos saem do cache depois de reabastecidos (não há o que lembrar).
+ *
+ * ---
+ * ## 📈 Métricas
+ * - `mototrack.limite.requisicoes{familia, resultado=permitida|bloqueada}`
+ * - `mototrack.limite.chaves{familia}` — baldes em memória
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+final class FamiliaLimite {
+
+    private final String nome;
+    private final List<RequestMatcher> rotas;
+    private final long capacidade;
+    private final double porSegundo;
+    private final IntSupplier nos;
+    private final Cache<String, BaldeTokens> baldes;
+    private final Counter permitidas;
+    private final Counter bloqueadas;
+
+    FamiliaLimite(String nome, List<String> rotas, long capacidade, double porSegundo,
+                  IntSupplier nos, long maxChaves, MeterRegistry registry) {
+        if (capacidade < 1 || porSegundo <= 0) {
+            throw new IllegalArgumentException("Limite inválido para a família " + nome
+                    + ": capacidade=" + capacidade + ", por-segundo=" + porSegundo);
+        }
+        this.nome = nome;
+        this.rotas = rotas.stream().map(FamiliaLimite::rota).toList();
+        this.capacidade = capacidade;
+        this.porSegundo = porSegundo;
+        this.nos = nos;
+
+        // Depois de capacidade/porSegundo sem uso o balde está cheio: esquecer a chave é equivalente
+        long cheioEm = (long) Math.ceil(capacidade / porSegundo * 1_000);
+        this.baldes = Caffeine.newBuilder()
+                .maximumSize(maxChaves)
+                .expireAfterAccess(Math.max(cheioEm, Duration.ofMinutes(1).toMillis()), TimeUnit.MILLISECONDS)
+                .build();
+
+        this.permitidas = Counter.builder("mototrack.limite.requisicoes")
+                .tag("familia", nome).tag("resultado", "permitida").register(registry);
+        this.bloqueadas = Counter.builder("mototrack.limite.requisicoes")
+                .tag("familia", nome).tag("resultado", "bloqueada").register(registry);
+        Gauge.builder("mototrack.limite.chaves", baldes, Cache::estimatedSize)
+                .tag("familia", nome).register(registry);
+    }
+
+    String nome() {
+        return nome;
+    }
+
+    boolean atende(HttpServletRequest request) {
+        for (RequestMatcher rota : rotas) {
+            if (rota.matches(request)) return true;
+        }
+        return false;
+    }
+
+    /** Rajada efetiva deste nó (ao menos 1). */
+    long capacidadeNoNo() {
+        return Math.max(1, capacidade / Math.max(1, nos.getAsInt()));
+    }
+
+    /** @see BaldeTokens#consumir */
+    long consumir(String chave) {
+        int n = Math.max(1, nos.getAsInt());
+        long intervalo = (long) Math.ceil(1_000_000_000d * n / porSegundo);
+        long agora = System.nanoTime();
+        long resultado = baldes.get(chave, c -> new BaldeTokens(agora))
+                .consumir(agora, intervalo, capacidadeNoNo());
+        (resultado >= 0 ? permitidas : bloqueadas).increment();
+        return resultado;
+    }
+
+    private static RequestMatcher rota(String definicao) {
+        String[] partes = definicao.trim().split("\\s+", 2);
+        if (partes.length == 1) return AntPathRequestMatcher.antMatcher(partes[0]);
+        return AntPathRequestMatcher.antMatcher(HttpMethod.valueOf(partes[0].toUpperCase()), partes[1]);
+    }
+
+    static List<String> rotas(String lista) {
+        List<String> rotas = new ArrayList<>();
+        for (String r : lista.split(",")) {
+            if (!r.isBlank()) rotas.add(r.trim());
+        }
+        return rotas;
+    }
+}
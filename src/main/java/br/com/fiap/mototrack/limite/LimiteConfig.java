@@ -0,0 +1,63 @@
+package br.com.fiap.mototrack.limite;
+
+import br.com.fiap.mototrack.cluster.ClusterLeadership;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/*
+ * # LimiteConfig
+ *
+ * ## Finalidade
+ * Limite de requisições por usuário/cliente (token bucket sem lock), para que uma
+ * integração com defeito não derrube o banco consultando `/motos` ou `/eventos/filtro`
+ * em laço:
+ *
+ *   JwtAuthenticationFilter / sessão → LimiteRequisicoesFilter → 429 + Retry-After
+ *
+ * ## Famílias
+ * `mototrack.limite.familias` lista os nomes, na ordem de avaliação; cada família tem
+ * `mototrack.limite.<nome>.rotas` (`MÉTODO /padrão`, separados por vírgula),
+ * `.capacidade` (rajada) e `.por-segundo` (reposição).
+ *
+ * ## Cluster
+ * Com `mototrack.limite.dividir-entre-nos=true`, cada nó aplica a sua fração do limite,
+ * pelos nós vivos contados no Postgres (`ClusterLeadership`, a cada heartbeat). Evita
+ * uma ida ao banco por requisição; com o balanceador distribuindo bem, o total
+ * do cluster fica próximo do configurado.
+ */
+@Configuration
+@ConditionalOnWebApplication
+public class LimiteConfig {
+
+    @Bean
+    public LimiteRequisicoes limiteRequisicoes(Environment env,
+                                               ClusterLeadership leadership,
+                                               MeterRegistry registry,
+                                               @Value("${mototrack.limite.enabled:true}") boolean enabled,
+                                               @Value("${mototrack.limite.familias:}") List<String> nomes,
+                                               @Value("${mototrack.limite.dividir-entre-nos:true}") boolean dividir,
+                                               @Value("${mototrack.limite.max-chaves:100000}") long maxChaves) {
+        List<FamiliaLimite> familias = new ArrayList<>();
+        if (enabled) {
+            IntSupplier nos = dividir ? leadership::getLiveNodes : () -> 1;
+            for (String nome : nomes) {
+                if (nome.isBlank()) continue;
+                String prefixo = "mototrack.limite." + nome.trim();
+                familias.add(new FamiliaLimite(nome.trim(),
+                        FamiliaLimite.rotas(env.getRequiredProperty(prefixo + ".rotas")),
+                        env.getRequiredProperty(prefixo + ".capacidade", Long.class),
+                        env.getRequiredProperty(prefixo + ".por-segundo", Double.class),
+                        nos, maxChaves, registry));
+            }
+        }
+        return new LimiteRequisicoes(familias);
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.fiap.mototrack.limite;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * # 🚦 LimiteRequisicoes
+ *
+ * Decide se uma requisição cabe no limite da sua família de rotas.
+ *
+ * ---
+ * ## 🔑 Chave do balde
+ * - Usuário autenticado (sessão da UI ou bearer token da API): `u:<e-mail>` —
+ *   cada integração usa o próprio usuário, então o limite é por cliente;
+ * - Anônimo (ex.: `POST /login`, `POST /auth/token`): `ip:<endereço do cliente>`.
+ *
+ * Atrás do load balancer o endereço remoto seria o do proxy para todo mundo; o Tomcat
+ * (`server.forward-headers-strategy=native`) troca-o pelo cliente do `X-Forwarded-For`
+ * quando a conexão vem de um proxy em `server.tomcat.remoteip.internal-proxies`.
+ * De qualquer outra origem o cabeçalho é ignorado — não dá para forjar outro balde.
+ *
+ * A primeira família cuja rota casa com a requisição decide; rotas fora de todas
+ * as famílias não são limitadas.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public class LimiteRequisicoes {
+
+    private final List<FamiliaLimite> familias;
+
+    LimiteRequisicoes(List<FamiliaLimite> familias) {
+        this.familias = List.copyOf(familias);
+    }
+
+    /** Resultado de {@link #avaliar}; `esperar` é zero quando permitida. */
+    public record Decisao(String familia, long limite, long restantes, Duration esperar) {
+
+        public boolean permitida() {
+            return esperar.isZero();
+        }
+    }
+
+    /** @return a decisão, ou `null` se a rota não pertence a nenhuma família */
+    public Decisao avaliar(HttpServletRequest request) {
+        for (FamiliaLimite familia : familias) {
+            if (!familia.atende(request)) continue;
+            long resultado = familia.consumir(chave(request));
+            return resultado >= 0
+                    ? new Decisao(familia.nome(), familia.capacidadeNoNo(), resultado, Duration.ZERO)
+                    : new Decisao(familia.nome(), familia.capacidadeNoNo(), 0, Duration.ofNanos(-resultado));
+        }
+        return null;
+    }
+
+    private static String chave(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+            return "u:" + auth.getName().toLowerCase();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
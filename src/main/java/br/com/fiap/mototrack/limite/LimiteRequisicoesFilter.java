@@ -0,0 +1,66 @@
+package br.com.fiap.mototrack.limite;
+
+import br.com.fiap.mototrack.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * # 🚦 LimiteRequisicoesFilter
+ *
+ * Aplica o {@link LimiteRequisicoes} na cadeia de segurança, depois da autenticação
+ * por token/sessão (a chave é o usuário) e antes do login por formulário.
+ *
+ * - Permitida: segue, com `RateLimit-Limit` e `RateLimit-Remaining`;
+ * - Bloqueada: `429` com `Retry-After` (segundos) e corpo no formato {@link ErrorResponse}.
+ *
+ * Não é um bean de propósito (mesmo motivo do `JwtAuthenticationFilter`):
+ * é instanciado nas cadeias do `SecurityConfiguration`.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public class LimiteRequisicoesFilter extends OncePerRequestFilter {
+
+    private final LimiteRequisicoes limites;
+    private final ObjectMapper objectMapper;
+
+    public LimiteRequisicoesFilter(LimiteRequisicoes limites, ObjectMapper objectMapper) {
+        this.limites = limites;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        LimiteRequisicoes.Decisao decisao = limites.avaliar(request);
+        if (decisao == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        response.setHeader("RateLimit-Limit", Long.toString(decisao.limite()));
+        response.setHeader("RateLimit-Remaining", Long.toString(decisao.restantes()));
+        if (decisao.permitida()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long segundos = Math.max(1, (decisao.esperar().toMillis() + 999) / 1_000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Limite de requisições excedido. Tente novamente em " + segundos + " s."));
+    }
+}
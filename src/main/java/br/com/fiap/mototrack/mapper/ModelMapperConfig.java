@@ -1,17 +1,70 @@
 package br.com.fiap.mototrack.mapper;
 
+import br.com.fiap.mototrack.dto.request.AgendamentoRequest;
+import br.com.fiap.mototrack.dto.request.EventoRequest;
+import br.com.fiap.mototrack.dto.request.MotoRequest;
+import br.com.fiap.mototrack.dto.request.UsuarioRequest;
+import br.com.fiap.mototrack.dto.response.EventoResponse;
+import br.com.fiap.mototrack.model.Agendamento;
+import br.com.fiap.mototrack.model.Evento;
+import br.com.fiap.mototrack.model.Moto;
+import br.com.fiap.mototrack.model.Usuario;
 import org.modelmapper.ModelMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
  * Configuração do ModelMapper para mapeamento automático de DTOs e entidades.
+ *
+ * Nos requests, os IDs de relacionamento (`motoId`, `filialId`) não são mapeados:
+ * o casamento implícito os jogaria em `id` (sobrescrevendo outro registro) ou em
+ * `moto.id` / `filial.id` (alterando o ID da entidade vinculada). Os serviços
+ * resolvem o vínculo com o {@link br.com.fiap.mototrack.index.ReferenciaIndex}.
  */
 @Configuration
 public class ModelMapperConfig {
 
+    /**
+     * `Evento` → `EventoResponse` sem `motoPlaca`: respostas de escrita, em que a moto é
+     * um proxy de `getReferenceById` e ler a placa dispararia um SELECT.
+     */
+    public static final String EVENTO_SEM_PLACA = "eventoSemPlaca";
+
     @Bean
     public ModelMapper modelMapper() {
-        return new ModelMapper();
+        ModelMapper mapper = new ModelMapper();
+
+        mapper.emptyTypeMap(MotoRequest.class, Moto.class)
+                .addMappings(m -> {
+                    m.skip(Moto::setId);
+                    m.skip(Moto::setFilial);
+                })
+                .implicitMappings();
+
+        mapper.emptyTypeMap(EventoRequest.class, Evento.class)
+                .addMappings(m -> {
+                    m.skip(Evento::setId);
+                    m.skip(Evento::setMoto);
+                })
+                .implicitMappings();
+
+        mapper.emptyTypeMap(AgendamentoRequest.class, Agendamento.class)
+                .addMappings(m -> {
+                    m.skip(Agendamento::setId);
+                    m.skip(Agendamento::setMoto);
+                })
+                .implicitMappings();
+
+        mapper.emptyTypeMap(UsuarioRequest.class, Usuario.class)
+                .addMappings(m -> {
+                    m.skip(Usuario::setId);
+                    m.skip(Usuario::setFilial);
+                })
+                .implicitMappings();
+
+        mapper.typeMap(Evento.class, EventoResponse.class, EVENTO_SEM_PLACA)
+                .addMappings(m -> m.skip(EventoResponse::setMotoPlaca));
+
+        return mapper;
     }
 }
@@ -0,0 +1,168 @@
+package br.com.fiap.mototrack.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * # ⏱️ ServiceMetricsAspect
+ *
+ * Instrumentação **Micrometer** da camada de serviço, para separar o tempo de
+ * uma requisição entre regra de negócio, SQL e mapeamento de DTOs.
+ *
+ * ---
+ * ## 📋 Métricas
+ * - `mototrack.service` (timer, com percentis) — tags `classe`, `metodo`,
+ *   `outcome` (`sucesso` ou `erro`) e `filtros`: campos preenchidos no `*Filter`, em ordem
+ *   alfabética (ex.: `motivo+tipo`). Um campo sozinho sempre vira tag; combinações só as
+ *   listadas em `mototrack.metricas.filtros-combinados`, as demais ficam em `outros`.
+ * - `mototrack.service.linhas` (summary) — itens devolvidos (`Page`/coleção).
+ * - `mototrack.mapper` (timer) — cada `ModelMapper.map`, com a tag `destino`.
+ * - Repositórios: `spring.data.repository.invocations`, registrado pelo próprio
+ *   Spring Boot (percentis ligados no `application.properties`).
+ *
+ * As tags são de **baixa cardinalidade**: apenas nomes de classes, métodos e
+ * campos — nunca valores informados pelo usuário — e conjuntos fechados
+ * (`filtros` ≤ campos do filtro + combinações listadas + 2; `outcome` = 2).
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    private static final String SEM_FILTRO = "nenhum";
+    private static final String OUTROS_FILTROS = "outros";
+
+    private final MeterRegistry registry;
+
+    /** Combinações de filtros que viram tag própria (campos em ordem alfabética, unidos por `+`). */
+    private final Set<String> combinacoes;
+
+    /** Componentes dos records de filtro, resolvidos uma vez por classe. */
+    private final Map<Class<?>, RecordComponent[]> componentes = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry registry,
+                                @Value("${mototrack.metricas.filtros-combinados:}") List<String> combinacoes) {
+        this.registry = registry;
+        this.combinacoes = combinacoes.stream()
+                .filter(c -> !c.isBlank())
+                .map(c -> chave(Arrays.asList(c.split("\\+"))))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    // =============================
+    // 🛠️ Services
+    // =============================
+
+    @Around("execution(public * br.com.fiap.mototrack.service.*Service.*(..))")
+    public Object medirServico(ProceedingJoinPoint pjp) throws Throwable {
+        String classe = pjp.getSignature().getDeclaringType().getSimpleName();
+        String metodo = pjp.getSignature().getName();
+        String filtros = filtrosPreenchidos(pjp.getArgs());
+
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "sucesso";
+        try {
+            Object resultado = pjp.proceed();
+            registrarLinhas(classe, metodo, resultado);
+            return resultado;
+        } catch (Throwable t) {
+            outcome = "erro";
+            throw t;
+        } finally {
+            sample.stop(Timer.builder("mototrack.service")
+                    .description("Tempo de execução dos métodos de serviço")
+                    .tag("classe", classe)
+                    .tag("metodo", metodo)
+                    .tag("filtros", filtros)
+                    .tag("outcome", outcome)
+                    .register(registry));
+        }
+    }
+
+    // =============================
+    // 🔁 ModelMapper
+    // =============================
+
+    @Around("execution(public * org.modelmapper.ModelMapper.map(..)) && args(origem, destino)")
+    public Object medirMapeamento(ProceedingJoinPoint pjp, Object origem, Object destino) throws Throwable {
+        String nomeDestino = destino instanceof Class<?> c ? c.getSimpleName() : destino.getClass().getSimpleName();
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            return pjp.proceed();
+        } finally {
+            sample.stop(Timer.builder("mototrack.mapper")
+                    .description("Tempo gasto pelo ModelMapper por tipo de destino")
+                    .tag("destino", nomeDestino)
+                    .register(registry));
+        }
+    }
+
+    // =============================
+    // 🔧 Auxiliares
+    // =============================
+
+    private void registrarLinhas(String classe, String metodo, Object resultado) {
+        long linhas;
+        if (resultado instanceof Page<?> page) linhas = page.getNumberOfElements();
+        else if (resultado instanceof Collection<?> col) linhas = col.size();
+        else return;
+
+        DistributionSummary.builder("mototrack.service.linhas")
+                .description("Quantidade de itens devolvidos pelos métodos de serviço")
+                .tag("classe", classe)
+                .tag("metodo", metodo)
+                .register(registry)
+                .record(linhas);
+    }
+
+    /**
+     * Tag `filtros` do primeiro argumento que for um record do pacote `filter`:
+     * `nenhum`, o campo preenchido, uma combinação conhecida ou `outros`.
+     */
+    private String filtrosPreenchidos(Object[] args) {
+        for (Object arg : args) {
+            if (arg == null || !arg.getClass().isRecord()
+                    || !arg.getClass().getPackageName().endsWith(".filter")) continue;
+
+            Set<String> nomes = new TreeSet<>();
+            for (RecordComponent rc : componentes.computeIfAbsent(arg.getClass(), Class::getRecordComponents)) {
+                try {
+                    Object valor = rc.getAccessor().invoke(arg);
+                    if (valor == null || (valor instanceof String s && s.isBlank())) continue;
+                    nomes.add(rc.getName());
+                } catch (ReflectiveOperationException ignored) {
+                    // componente inacessível: não entra na tag
+                }
+            }
+            if (nomes.isEmpty()) return SEM_FILTRO;
+            String chave = chave(nomes);
+            return nomes.size() == 1 || combinacoes.contains(chave) ? chave : OUTROS_FILTROS;
+        }
+        return SEM_FILTRO;
+    }
+
+    /** Campos em ordem alfabética unidos por `+`, independentemente da ordem informada. */
+    private static String chave(Collection<String> campos) {
+        return campos.stream().map(String::trim).sorted().collect(Collectors.joining("+"));
+    }
+}
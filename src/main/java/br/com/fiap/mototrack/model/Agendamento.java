@@ -52,6 +52,11 @@ public class Agendamento {
     @Column(name = "dt_agendada", nullable = false)
     private LocalDateTime dataAgendada;
 
+    /** Duração prevista em minutos (janela ocupada pela moto) */
+    @Min(value = 1, message = "A duração mínima é de 1 minuto.")
+    @Column(name = "nr_duracao_min", nullable = false)
+    private Integer duracaoMinutos;
+
     /** Descrição do agendamento */
     @NotBlank(message = "A descrição é obrigatória.")
     @Column(name = "ds_descricao", nullable = false)
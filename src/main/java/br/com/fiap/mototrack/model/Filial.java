@@ -3,6 +3,8 @@ package br.com.fiap.mototrack.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 
 /**
@@ -21,6 +23,8 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "tb_filial")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "filial")
 public class Filial {
 
 
@@ -0,0 +1,66 @@
+package br.com.fiap.mototrack.replica;
+
+import br.com.fiap.mototrack.util.TransacaoUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * # ✍️ EscritaRecente
+ *
+ * Memória curta de **quem escreveu** recentemente, para garantir *read-your-writes*
+ * enquanto as réplicas ainda não aplicaram a escrita.
+ *
+ * ---
+ * ## 📋 Como funciona
+ * - A chave é o usuário autenticado ou, sem autenticação, o id da sessão HTTP já existente;
+ * - Após o **commit** de uma transação de escrita, a chave fica "grudada" no primário
+ *   por `mototrack.replicas.sticky-ms`;
+ * - Sem usuário nem sessão (jobs, chamadas anônimas), não há o que grudar.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public class EscritaRecente {
+
+    private final Cache<String, Boolean> recentes;
+
+    public EscritaRecente(Duration janela) {
+        this.recentes = Caffeine.newBuilder()
+                .expireAfterWrite(janela)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    /** Marca o chamador atual como "escreveu agora" assim que a transação confirmar. */
+    public void registrarAposCommit() {
+        String chave = chaveAtual();
+        if (chave != null) TransacaoUtils.aposCommit(() -> recentes.put(chave, Boolean.TRUE));
+    }
+
+    /** Indica se o chamador atual escreveu dentro da janela de aderência ao primário. */
+    public boolean houve() {
+        String chave = chaveAtual();
+        return chave != null && recentes.getIfPresent(chave) != null;
+    }
+
+    private static String chaveAtual() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+            return "u:" + auth.getName();
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attrs) {
+            HttpSession sessao = attrs.getRequest().getSession(false);
+            if (sessao != null) return "s:" + sessao.getId();
+        }
+        return null;
+    }
+}
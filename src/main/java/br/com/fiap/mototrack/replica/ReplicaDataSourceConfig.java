@@ -0,0 +1,114 @@
+package br.com.fiap.mototrack.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * # ReplicaDataSourceConfig
+ *
+ * ## Finalidade
+ * Com `mototrack.replicas.enabled=true`, substituir o `DataSource` da aplicação por
+ * um roteador primário/réplicas:
+ *
+ *   LazyConnectionDataSourceProxy → ReplicaRoutingDataSource → { primário, replica-1, replica-2, ... }
+ *
+ * - Métodos `@Transactional(readOnly = true)` dos services leem de uma réplica saudável;
+ * - Escritas, Flyway, jobs e locks continuam no primário;
+ * - Réplicas atrasadas (`max-lag-ms`) ou fora do ar saem do rodízio; sem nenhuma apta,
+ *   a leitura cai no primário;
+ * - Após uma escrita, o mesmo usuário/sessão lê do primário por `sticky-ms`.
+ *
+ * ## Propriedades
+ * - `mototrack.replicas.urls` — JDBC URLs separadas por vírgula;
+ * - `mototrack.replicas.username` / `password` — padrão: as do primário;
+ * - `mototrack.replicas.pool-size`, `max-lag-ms`, `lag-check-ms`, `sticky-ms`.
+ *
+ * ## Observações
+ * - O pool do primário continua configurável por `spring.datasource.hikari.*`.
+ * - Os pools internos publicam as métricas `hikaricp.*` com a tag `pool`.
+ * - Desligado (padrão), nada muda: vale o `DataSource` autoconfigurado pelo Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(name = "mototrack.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public ReplicaPools replicaPools(DataSourceProperties properties,
+                                     Environment environment,
+                                     MeterRegistry registry,
+                                     @Value("${mototrack.replicas.urls}") List<String> urls,
+                                     @Value("${mototrack.replicas.username:}") String username,
+                                     @Value("${mototrack.replicas.password:}") String password,
+                                     @Value("${mototrack.replicas.pool-size:10}") int poolSize) {
+        var metricas = new MicrometerMetricsTrackerFactory(registry);
+
+        HikariDataSource primario = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primario));
+        primario.setPoolName("primario");
+        primario.setMetricsTrackerFactory(metricas);
+
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            String nome = "replica-" + (i + 1);
+            HikariDataSource ds = new HikariDataSource();
+            ds.setPoolName(nome);
+            ds.setJdbcUrl(urls.get(i).trim());
+            ds.setUsername(username.isBlank() ? properties.determineUsername() : username);
+            ds.setPassword(password.isBlank() ? properties.determinePassword() : password);
+            ds.setMaximumPoolSize(poolSize);
+            ds.setReadOnly(true);
+            ds.setMetricsTrackerFactory(metricas);
+            replicas.put(nome, ds);
+        }
+        return new ReplicaPools(primario, replicas);
+    }
+
+    @Bean
+    public EscritaRecente escritaRecente(@Value("${mototrack.replicas.sticky-ms:5000}") long stickyMs) {
+        return new EscritaRecente(Duration.ofMillis(stickyMs));
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaPools replicaPools,
+                                               @Value("${mototrack.replicas.max-lag-ms:5000}") long maxLagMs,
+                                               MeterRegistry registry) {
+        return new ReplicaLagMonitor(replicaPools, maxLagMs, registry);
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaPools replicaPools,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 EscritaRecente escritaRecente) {
+        Map<Object, Object> destinos = new HashMap<>(replicaPools.replicas());
+        destinos.put(ReplicaRoutingDataSource.PRIMARIO, replicaPools.primario());
+
+        ReplicaRoutingDataSource roteador = new ReplicaRoutingDataSource(replicaLagMonitor, escritaRecente);
+        roteador.setTargetDataSources(destinos);
+        roteador.setDefaultTargetDataSource(replicaPools.primario());
+        roteador.afterPropertiesSet();
+
+        // Adia a conexão real até o primeiro statement, quando o flag readOnly já é conhecido
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy(roteador);
+        lazy.setDefaultAutoCommit(true);
+        lazy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return lazy;
+    }
+}
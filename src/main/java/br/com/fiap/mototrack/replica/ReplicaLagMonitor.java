@@ -0,0 +1,121 @@
+package br.com.fiap.mototrack.replica;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * # ⏱️ ReplicaLagMonitor
+ *
+ * Mede periodicamente o **atraso de replicação** de cada réplica e mantém a lista
+ * das que podem receber leituras.
+ *
+ * ---
+ * ## 📋 Como o atraso é medido
+ * - Lê `pg_current_wal_lsn()` no primário e `pg_last_wal_replay_lsn()` na réplica;
+ * - Se a réplica já aplicou tudo o que o primário gerou, o atraso é **zero**
+ *   (mesmo que o primário esteja ocioso há horas);
+ * - Caso contrário, o atraso é `now() - pg_last_xact_replay_timestamp()`.
+ *
+ * Réplica inacessível ou acima de `max-lag-ms` sai do rodízio até a próxima medição.
+ * O atraso fica exposto na métrica `mototrack.replica.lag` (ms, tag `replica`).
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String SQL_LAG = """
+            select case
+                     when pg_wal_lsn_diff(pg_last_wal_replay_lsn(), ?::pg_lsn) >= 0 then 0
+                     else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   end""";
+
+    private final DataSource primario;
+    private final Map<String, ? extends DataSource> replicas;
+    private final long maxLagMs;
+    private final Map<String, Double> atrasos = new ConcurrentHashMap<>();
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    private volatile String[] saudaveis = new String[0];
+
+    public ReplicaLagMonitor(ReplicaPools pools, long maxLagMs, MeterRegistry registry) {
+        this.primario = pools.primario();
+        this.replicas = pools.replicas();
+        this.maxLagMs = maxLagMs;
+        replicas.keySet().forEach(nome -> {
+            atrasos.put(nome, Double.NaN);
+            Gauge.builder("mototrack.replica.lag", atrasos, m -> m.getOrDefault(nome, Double.NaN))
+                    .tag("replica", nome)
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        });
+    }
+
+    // =============================
+    // 🎯 Seleção
+    // =============================
+
+    /** Próxima réplica saudável em rodízio, ou `null` se nenhuma estiver apta. */
+    public String proximaSaudavel() {
+        String[] atuais = saudaveis;
+        if (atuais.length == 0) return null;
+        return atuais[Math.floorMod(cursor.getAndIncrement(), atuais.length)];
+    }
+
+    // =============================
+    // 💓 Medição
+    // =============================
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${mototrack.replicas.lag-check-ms:2000}")
+    public void medir() {
+        String lsnPrimario;
+        try (Connection c = primario.getConnection(); Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("select pg_current_wal_lsn()::text")) {
+            rs.next();
+            lsnPrimario = rs.getString(1);
+        } catch (SQLException e) {
+            log.warn("Não foi possível ler o LSN do primário: {}", e.getMessage());
+            return;
+        }
+
+        List<String> aptas = new ArrayList<>();
+        replicas.forEach((nome, ds) -> {
+            double lag = medirReplica(nome, ds, lsnPrimario);
+            atrasos.put(nome, lag);
+            if (lag <= maxLagMs) aptas.add(nome);
+        });
+
+        if (aptas.size() != saudaveis.length) {
+            log.info("Réplicas aptas para leitura: {} de {} {}", aptas.size(), replicas.size(), aptas);
+        }
+        saudaveis = aptas.toArray(new String[0]);
+    }
+
+    private double medirReplica(String nome, DataSource ds, String lsnPrimario) {
+        try (Connection c = ds.getConnection(); var ps = c.prepareStatement(SQL_LAG)) {
+            ps.setString(1, lsnPrimario);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getDouble(1);
+            }
+        } catch (SQLException e) {
+            log.warn("Réplica '{}' indisponível: {}", nome, e.getMessage());
+            return Double.POSITIVE_INFINITY;
+        }
+    }
+}
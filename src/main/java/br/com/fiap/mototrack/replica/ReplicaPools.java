@@ -0,0 +1,32 @@
+package br.com.fiap.mototrack.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.Map;
+
+/**
+ * 📄 Pools JDBC do primário e das réplicas.
+ *
+ * Não são beans `DataSource` de propósito: só o roteador é exposto à aplicação
+ * (e envolvido pelo datasource-proxy), para que cada statement seja medido uma única vez.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public record ReplicaPools(
+
+        /** Pool do primário (escritas e fallback) */
+        HikariDataSource primario,
+
+        /** Pools das réplicas, por nome (`replica-1`, `replica-2`, ...) */
+        Map<String, HikariDataSource> replicas
+
+) implements AutoCloseable {
+
+    @Override
+    public void close() {
+        replicas.values().forEach(HikariDataSource::close);
+        primario.close();
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.fiap.mototrack.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * # 🔀 ReplicaRoutingDataSource
+ *
+ * Decide, a cada conexão obtida, se ela vem do **primário** ou de uma **réplica**.
+ *
+ * ---
+ * ## 📋 Regras
+ * - Transação `@Transactional(readOnly = true)` → réplica saudável (round-robin,
+ *   atraso abaixo de `mototrack.replicas.max-lag-ms`), senão primário;
+ * - Qualquer outra conexão (escrita, Flyway, jobs, advisory locks) → primário;
+ * - **Read-your-writes:** se o mesmo usuário/sessão confirmou uma escrita há pouco,
+ *   as leituras dele continuam no primário ({@link EscritaRecente}).
+ *
+ * Precisa estar atrás de um `LazyConnectionDataSourceProxy`: o `JpaTransactionManager`
+ * pede a conexão antes de publicar o flag `readOnly` da transação, e o proxy adia a
+ * obtenção real até o primeiro statement.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARIO = "primario";
+
+    private final ReplicaLagMonitor monitor;
+    private final EscritaRecente escritaRecente;
+
+    public ReplicaRoutingDataSource(ReplicaLagMonitor monitor, EscritaRecente escritaRecente) {
+        this.monitor = monitor;
+        this.escritaRecente = escritaRecente;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                escritaRecente.registrarAposCommit();
+            }
+            return PRIMARIO;
+        }
+        if (escritaRecente.houve()) {
+            return PRIMARIO;
+        }
+        String replica = monitor.proximaSaudavel();
+        return replica != null ? replica : PRIMARIO;
+    }
+}
@@ -1,10 +1,18 @@
 package br.com.fiap.mototrack.repository;
 
 import br.com.fiap.mototrack.model.Agendamento;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * 📁 Repositório JPA para a entidade Agendamento.
  *
@@ -12,4 +20,33 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface AgendamentoRepository extends JpaRepository<Agendamento, Long>, JpaSpecificationExecutor<Agendamento> {
+
+    /**
+     * 🔍 Consulta paginada por Specification trazendo a moto no mesmo SELECT (join).
+     * Sem o grafo, o `@ManyToOne` EAGER vira uma consulta por linha quando a moto não está no L2.
+     */
+    @Override
+    @EntityGraph(attributePaths = "moto")
+    Page<Agendamento> findAll(Specification<Agendamento> spec, Pageable pageable);
+
+    /**
+     * 📆 Janelas ocupadas de todos os agendamentos (sem carregar as entidades).
+     * Usado para montar o índice em memória de conflitos por moto.
+     */
+    @Query("""
+            select a.id as id, a.moto.id as motoId,
+                   a.dataAgendada as dataAgendada, a.duracaoMinutos as duracaoMinutos
+              from Agendamento a
+            """)
+    List<JanelaAgendamento> findAllJanelas();
+
+    /**
+     * Projeção enxuta de um agendamento: apenas o necessário para detectar sobreposição.
+     */
+    interface JanelaAgendamento {
+        Long getId();
+        Long getMotoId();
+        LocalDateTime getDataAgendada();
+        Integer getDuracaoMinutos();
+    }
 }
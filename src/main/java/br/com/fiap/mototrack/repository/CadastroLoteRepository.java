@@ -0,0 +1,85 @@
+package br.com.fiap.mototrack.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 📁 Repositório JDBC dos cadastros em lote (`tb_evento`, `tb_agendamento`).
+ *
+ * As entidades usam `IDENTITY`, o que impede o Hibernate de agrupar INSERTs. Aqui:
+ * 1. os IDs do lote são reservados de uma vez na sequência da coluna identity
+ *    (`nextval` × n, um único SELECT) — assim cada item já sabe o seu ID;
+ * 2. os INSERTs vão em **batch JDBC** (com `reWriteBatchedInserts`, viram INSERTs multi-linha).
+ *
+ * Participa da transação corrente (mesma conexão do JPA).
+ */
+@Repository
+@RequiredArgsConstructor
+public class CadastroLoteRepository {
+
+    private final JdbcTemplate jdbc;
+
+    /** Evento a inserir, com ID já reservado. */
+    public record NovoEvento(long id, long motoId, String tipo, String motivo,
+                             LocalDateTime dataHora, String localizacao) {}
+
+    /** Agendamento a inserir, com ID já reservado. */
+    public record NovoAgendamento(long id, long motoId, LocalDateTime dataAgendada, int duracaoMinutos,
+                                  String descricao, LocalDateTime dataCriacao) {}
+
+    // =============================
+    // 🔢 IDs
+    // =============================
+
+    public List<Long> proximosIdsEvento(int quantidade) {
+        return proximosIds("tb_evento", "id_evento", quantidade);
+    }
+
+    public List<Long> proximosIdsAgendamento(int quantidade) {
+        return proximosIds("tb_agendamento", "id_agendamento", quantidade);
+    }
+
+    private List<Long> proximosIds(String tabela, String coluna, int quantidade) {
+        if (quantidade == 0) return List.of();
+        return jdbc.queryForList(
+                "select nextval(pg_get_serial_sequence(?, ?)) from generate_series(1, ?)",
+                Long.class, tabela, coluna, quantidade);
+    }
+
+    // =============================
+    // 📝 INSERT em batch
+    // =============================
+
+    public void inserirEventos(List<NovoEvento> eventos) {
+        jdbc.batchUpdate("""
+                insert into tb_evento (id_evento, id_moto, tp_evento, ds_motivo, dt_hr_evento, ds_localizacao)
+                values (?, ?, ?, ?, ?, ?)
+                """, eventos, eventos.size(), (ps, e) -> {
+            ps.setLong(1, e.id());
+            ps.setLong(2, e.motoId());
+            ps.setString(3, e.tipo());
+            ps.setString(4, e.motivo());
+            ps.setTimestamp(5, Timestamp.valueOf(e.dataHora()));
+            ps.setString(6, e.localizacao());
+        });
+    }
+
+    public void inserirAgendamentos(List<NovoAgendamento> agendamentos) {
+        jdbc.batchUpdate("""
+                insert into tb_agendamento (id_agendamento, id_moto, dt_agendada, nr_duracao_min, ds_descricao, dt_criacao)
+                values (?, ?, ?, ?, ?, ?)
+                """, agendamentos, agendamentos.size(), (ps, a) -> {
+            ps.setLong(1, a.id());
+            ps.setLong(2, a.motoId());
+            ps.setTimestamp(3, Timestamp.valueOf(a.dataAgendada()));
+            ps.setInt(4, a.duracaoMinutos());
+            ps.setString(5, a.descricao());
+            ps.setTimestamp(6, Timestamp.valueOf(a.dataCriacao()));
+        });
+    }
+}
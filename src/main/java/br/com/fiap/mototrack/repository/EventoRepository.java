@@ -1,10 +1,20 @@
 package br.com.fiap.mototrack.repository;
 
 import br.com.fiap.mototrack.model.Evento;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * 📁 Repositório JPA para a entidade Evento.
  *
@@ -12,4 +22,34 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface EventoRepository extends JpaRepository<Evento, Long>, JpaSpecificationExecutor<Evento> {
+
+    /**
+     * 🔍 Consulta paginada por Specification trazendo a moto no mesmo SELECT (join).
+     * Sem o grafo, o `@ManyToOne` EAGER vira uma consulta por linha quando a moto não está no L2.
+     */
+    @Override
+    @EntityGraph(attributePaths = "moto")
+    Page<Evento> findAll(Specification<Evento> spec, Pageable pageable);
+
+    /**
+     * 📊 Quantidade de eventos por hora e tipo a partir de um instante (reconciliação do dashboard).
+     */
+    @Query("""
+            select cast(e.dataHora as LocalDate) as dia, extract(hour from e.dataHora) as hora,
+                   e.tipo as tipo, count(e) as total
+              from Evento e
+             where e.dataHora >= :desde
+             group by cast(e.dataHora as LocalDate), extract(hour from e.dataHora), e.tipo
+            """)
+    List<ContagemHoraTipo> contarPorHoraETipo(@Param("desde") LocalDateTime desde);
+
+    /**
+     * Projeção de contagem agrupada por hora e tipo.
+     */
+    interface ContagemHoraTipo {
+        LocalDate getDia();
+        Integer getHora();
+        String getTipo();
+        Long getTotal();
+    }
 }
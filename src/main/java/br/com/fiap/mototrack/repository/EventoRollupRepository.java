@@ -0,0 +1,199 @@
+package br.com.fiap.mototrack.repository;
+
+import br.com.fiap.mototrack.dto.response.EventoRollupResponse;
+import br.com.fiap.mototrack.filter.EventoRelatorioFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 📁 Repositório JDBC dos rollups de eventos (`tb_evento_rollup_dia` / `tb_evento_rollup_hora`).
+ *
+ * Os rollups são mantidos incrementalmente a partir da fila `tb_evento_rollup_pendente`
+ * (preenchida por trigger no INSERT de `tb_evento`): cada lote retira eventos já confirmados
+ * da fila e soma a contagem deles às linhas existentes (upsert), na mesma transação.
+ * Eventos de motos sem filial são agregados com `id_filial = 0`.
+ *
+ * A filial em que cada evento foi contado fica em `tb_evento_rollup_filial`; alterações e
+ * exclusões descontam dela, mesmo que a moto tenha mudado de filial depois da agregação.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventoRollupRepository {
+
+    private final JdbcTemplate jdbc;
+
+    // =============================
+    // 📥 Fila de pendentes
+    // =============================
+
+    /**
+     * Retira da fila até `lote` eventos, travando as linhas até o fim da transação.
+     * Só enxerga eventos cujo INSERT já fez commit; linhas travadas por outra transação
+     * (um ajuste em andamento) ficam para o próximo lote.
+     */
+    public List<Long> retirarPendentes(int lote) {
+        return jdbc.queryForList("""
+                delete from tb_evento_rollup_pendente
+                 where id_evento in (select id_evento from tb_evento_rollup_pendente
+                                      order by id_evento
+                                      limit ?
+                                        for update skip locked)
+                returning id_evento
+                """, Long.class, lote);
+    }
+
+    // =============================
+    // ➕ Agregação incremental
+    // =============================
+
+    /**
+     * Agrega os eventos informados nos rollups diário e horário, registrando antes a filial
+     * em que cada um é contado (as duas somas leem a mesma atribuição).
+     */
+    public void agregar(List<Long> eventos) {
+        Long[] ids = eventos.toArray(Long[]::new);
+        jdbc.update("""
+                insert into tb_evento_rollup_filial (id_evento, id_filial)
+                select e.id_evento, coalesce(m.id_filial, 0)
+                  from tb_evento e
+                  join tb_moto m on m.id_moto = e.id_moto
+                 where e.id_evento = any(?)
+                on conflict (id_evento) do update set id_filial = excluded.id_filial
+                """, (Object) ids);
+        jdbc.update("""
+                insert into tb_evento_rollup_dia (dt_dia, tp_evento, id_filial, qt_eventos)
+                select cast(e.dt_hr_evento as date), e.tp_evento, a.id_filial, count(*)
+                  from tb_evento e
+                  join tb_evento_rollup_filial a on a.id_evento = e.id_evento
+                 where e.id_evento = any(?)
+                 group by 1, 2, 3
+                on conflict (dt_dia, tp_evento, id_filial)
+                do update set qt_eventos = tb_evento_rollup_dia.qt_eventos + excluded.qt_eventos
+                """, (Object) ids);
+        jdbc.update("""
+                insert into tb_evento_rollup_hora (dt_hora, tp_evento, id_filial, qt_eventos)
+                select date_trunc('hour', e.dt_hr_evento), e.tp_evento, a.id_filial, count(*)
+                  from tb_evento e
+                  join tb_evento_rollup_filial a on a.id_evento = e.id_evento
+                 where e.id_evento = any(?)
+                 group by 1, 2, 3
+                on conflict (dt_hora, tp_evento, id_filial)
+                do update set qt_eventos = tb_evento_rollup_hora.qt_eventos + excluded.qt_eventos
+                """, (Object) ids);
+    }
+
+    // =============================
+    // ✏️ Ajustes (alteração / exclusão)
+    // =============================
+
+    /**
+     * Desconta um evento já agregado da filial em que foi contado e apaga a atribuição.
+     * Deve rodar antes do DELETE do evento (a atribuição sai em cascata com ele).
+     * Não faz nada se o evento ainda está na fila ou nunca foi contado (sem moto).
+     *
+     * @param dataHora data/hora com que o evento foi contado
+     * @param tipo     tipo com que o evento foi contado
+     */
+    public void descontarSeAgregado(long eventoId, LocalDateTime dataHora, String tipo) {
+        if (pendente(eventoId)) return;
+        jdbc.update("""
+                with atribuido as (
+                    delete from tb_evento_rollup_filial where id_evento = ? returning id_filial
+                ), dia as (
+                    insert into tb_evento_rollup_dia (dt_dia, tp_evento, id_filial, qt_eventos)
+                    select ?, ?, id_filial, -1 from atribuido
+                    on conflict (dt_dia, tp_evento, id_filial)
+                    do update set qt_eventos = tb_evento_rollup_dia.qt_eventos + excluded.qt_eventos
+                )
+                insert into tb_evento_rollup_hora (dt_hora, tp_evento, id_filial, qt_eventos)
+                select ?, ?, id_filial, -1 from atribuido
+                on conflict (dt_hora, tp_evento, id_filial)
+                do update set qt_eventos = tb_evento_rollup_hora.qt_eventos + excluded.qt_eventos
+                """, eventoId, dataHora.toLocalDate(), tipo,
+                Timestamp.valueOf(dataHora.truncatedTo(ChronoUnit.HOURS)), tipo);
+    }
+
+    /**
+     * Conta de novo um evento já agregado, com os valores atuais da linha (já gravada nesta
+     * transação) e a filial atual da moto, que passa a ser a atribuição dele.
+     * Não faz nada se o evento ainda está na fila — o job o agregará com os valores atuais.
+     */
+    public void contarSeAgregado(long eventoId) {
+        if (pendente(eventoId)) return;
+        jdbc.update("""
+                with atual as (
+                    select e.id_evento, e.dt_hr_evento, e.tp_evento, coalesce(m.id_filial, 0) as id_filial
+                      from tb_evento e
+                      join tb_moto m on m.id_moto = e.id_moto
+                     where e.id_evento = ?
+                ), atribuido as (
+                    insert into tb_evento_rollup_filial (id_evento, id_filial)
+                    select id_evento, id_filial from atual
+                    on conflict (id_evento) do update set id_filial = excluded.id_filial
+                ), dia as (
+                    insert into tb_evento_rollup_dia (dt_dia, tp_evento, id_filial, qt_eventos)
+                    select cast(dt_hr_evento as date), tp_evento, id_filial, 1 from atual
+                    on conflict (dt_dia, tp_evento, id_filial)
+                    do update set qt_eventos = tb_evento_rollup_dia.qt_eventos + excluded.qt_eventos
+                )
+                insert into tb_evento_rollup_hora (dt_hora, tp_evento, id_filial, qt_eventos)
+                select date_trunc('hour', dt_hr_evento), tp_evento, id_filial, 1 from atual
+                on conflict (dt_hora, tp_evento, id_filial)
+                do update set qt_eventos = tb_evento_rollup_hora.qt_eventos + excluded.qt_eventos
+                """, eventoId);
+    }
+
+    /**
+     * Se o evento ainda está na fila, travando a linha (`for update`) até o fim da transação:
+     * se um lote está agregando o evento, espera o commit dele (o comando seguinte já enxerga
+     * a atribuição gravada); enquanto a trava é desta transação, o job pula o evento.
+     */
+    private boolean pendente(long eventoId) {
+        return !jdbc.queryForList("select 1 from tb_evento_rollup_pendente where id_evento = ? for update",
+                Integer.class, eventoId).isEmpty();
+    }
+
+    // =============================
+    // 🔎 Leitura
+    // =============================
+
+    /**
+     * Lê o rollup conforme a granularidade e os recortes do filtro.
+     * O período é inclusivo nas duas pontas (dia inteiro).
+     */
+    public List<EventoRollupResponse> consultar(EventoRelatorioFilter f) {
+        boolean porHora = f.granularidade() == EventoRelatorioFilter.Granularidade.HORA;
+        String tabela = porHora ? "tb_evento_rollup_hora" : "tb_evento_rollup_dia";
+        String coluna = porHora ? "dt_hora" : "dt_dia";
+
+        StringBuilder sql = new StringBuilder("select ").append(coluna).append(" as periodo, tp_evento, id_filial, qt_eventos from ")
+                .append(tabela).append(" where ").append(coluna).append(" >= ? and ").append(coluna).append(" < ?");
+        List<Object> args = new ArrayList<>();
+        args.add(porHora ? Timestamp.valueOf(f.dataInicio().atStartOfDay()) : f.dataInicio());
+        args.add(porHora ? Timestamp.valueOf(f.dataFim().plusDays(1).atStartOfDay()) : f.dataFim().plusDays(1));
+
+        if (f.tipo() != null && !f.tipo().isBlank()) {
+            sql.append(" and tp_evento = ?");
+            args.add(f.tipo());
+        }
+        if (f.filialId() != null) {
+            sql.append(" and id_filial = ?");
+            args.add(f.filialId());
+        }
+        sql.append(" and qt_eventos > 0 order by 1, 2, 3");
+
+        return jdbc.query(sql.toString(), (rs, i) -> new EventoRollupResponse(
+                rs.getTimestamp("periodo").toLocalDateTime(),
+                rs.getString("tp_evento"),
+                rs.getLong("id_filial"),
+                rs.getLong("qt_eventos")
+        ), args.toArray());
+    }
+}
@@ -3,12 +3,58 @@ package br.com.fiap.mototrack.repository;
 import br.com.fiap.mototrack.model.Moto;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * 📁 Repositório JPA para a entidade Moto.
  * Permite operações CRUD e suporte a Specifications para filtros dinâmicos.
  */
 @Repository
-public interface MotoRepository extends JpaRepository<Moto, Long>, JpaSpecificationExecutor<Moto> {
-}
\ No newline at end of file
+public interface MotoRepository extends JpaRepository<Moto, Long>, JpaSpecificationExecutor<Moto>, MotoRepositoryCustom {
+
+    /**
+     * 📊 Quantidade de motos por filial e status (reconciliação do dashboard).
+     */
+    @Query("""
+            select f.id as filialId, m.status as status, count(m) as total
+              from Moto m left join m.filial f
+             group by f.id, m.status
+            """)
+    List<ContagemStatus> contarPorFilialEStatus();
+
+    /**
+     * 🔤 Placas de todas as motos (sem carregar as entidades).
+     * Usado para montar o índice de autocomplete em memória.
+     */
+    @Query("select m.id as id, m.placa as placa, m.status as status from Moto m")
+    List<PlacaMoto> findAllPlacas();
+
+    /**
+     * 🔤 Placas das motos informadas, em uma única consulta `IN` (sem carregar as entidades).
+     * Usado pelos cadastros em lote para validar as referências de uma vez.
+     */
+    @Query("select m.id as id, m.placa as placa, m.status as status from Moto m where m.id in :ids")
+    List<PlacaMoto> findPlacasByIdIn(Collection<Long> ids);
+
+    /**
+     * Projeção enxuta para o autocomplete de placas.
+     */
+    interface PlacaMoto {
+        Long getId();
+        String getPlaca();
+        String getStatus();
+    }
+
+    /**
+     * Projeção de contagem agrupada por filial e status.
+     */
+    interface ContagemStatus {
+        Long getFilialId();
+        String getStatus();
+        Long getTotal();
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.fiap.mototrack.repository;
+
+import br.com.fiap.mototrack.model.Moto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * 📁 Consultas de Moto que o Spring Data não gera sozinho.
+ */
+public interface MotoRepositoryCustom {
+
+    /**
+     * 🗃️ Mesmo resultado de `findAll(spec, pageable)`, mas com a página e o total
+     * guardados no **cache de consultas** do Hibernate (região `moto-filtro`).
+     *
+     * Usar apenas para combinações de filtro de baixa cardinalidade; qualquer escrita
+     * em `tb_moto` invalida a região automaticamente. A página guarda as linhas inteiras
+     * (layout FULL em `Moto`): um acerto não relê motos que saíram da região `moto`.
+     */
+    Page<Moto> findAllCacheavel(Specification<Moto> spec, Pageable pageable);
+}
@@ -0,0 +1,65 @@
+package br.com.fiap.mototrack.repository;
+
+import br.com.fiap.mototrack.model.Moto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+/**
+ * Implementação de {@link MotoRepositoryCustom} com Criteria + hints de cache do Hibernate.
+ */
+class MotoRepositoryCustomImpl implements MotoRepositoryCustom {
+
+    private static final String REGIAO = "moto-filtro";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public Page<Moto> findAllCacheavel(Specification<Moto> spec, Pageable pageable) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+
+        CriteriaQuery<Moto> cq = cb.createQuery(Moto.class);
+        Root<Moto> root = cq.from(Moto.class);
+        Predicate filtro = spec.toPredicate(root, cq, cb);
+        if (filtro != null) cq.where(filtro);
+        cq.select(root).orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Moto> query = cacheavel(em.createQuery(cq));
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<Moto> conteudo = query.getResultList();
+
+        return PageableExecutionUtils.getPage(conteudo, pageable, () -> contar(spec));
+    }
+
+    private long contar(Specification<Moto> spec) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+        Root<Moto> root = cq.from(Moto.class);
+        Predicate filtro = spec.toPredicate(root, cq, cb);
+        if (filtro != null) cq.where(filtro);
+        cq.select(cb.count(root));
+        return cacheavel(em.createQuery(cq)).getSingleResult();
+    }
+
+    private static <T> TypedQuery<T> cacheavel(TypedQuery<T> query) {
+        return query
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, REGIAO);
+    }
+}
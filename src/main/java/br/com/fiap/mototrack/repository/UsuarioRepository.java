@@ -3,7 +3,11 @@ package br.com.fiap.mototrack.repository;
 import br.com.fiap.mototrack.model.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -18,14 +22,28 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long>, JpaSpec
 
     /**
      * 🔍 Busca um usuário pelo e-mail (ignorando maiúsculas/minúsculas).
+     * Somente leitura: usado a cada login, sem snapshot para dirty checking.
      *
      * @param email e-mail do usuário
      * @return Optional com o usuário encontrado (se existir)
      */
+    @Transactional(readOnly = true)
     Optional<Usuario> findByEmailIgnoreCase(String email);
 
     /**
      * ✅ Útil para validações/idempotência (opcional).
      */
     boolean existsByEmailIgnoreCase(String email);
+
+    /**
+     * ♻️ Regrava o hash da senha (rehash no login, quando o custo do BCrypt aumenta).
+     *
+     * @param email e-mail do usuário
+     * @param senha novo hash
+     * @return linhas atualizadas
+     */
+    @Modifying
+    @Transactional
+    @Query("update Usuario u set u.senha = :senha where lower(u.email) = lower(:email)")
+    int atualizarSenha(@Param("email") String email, @Param("senha") String senha);
 }
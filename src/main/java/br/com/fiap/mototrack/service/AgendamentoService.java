@@ -2,20 +2,24 @@ package br.com.fiap.mototrack.service;
 
 import br.com.fiap.mototrack.dto.request.AgendamentoRequest;
 import br.com.fiap.mototrack.dto.response.AgendamentoResponse;
+import br.com.fiap.mototrack.dto.response.DisponibilidadeResponse;
 import br.com.fiap.mototrack.filter.AgendamentoFilter;
+import br.com.fiap.mototrack.index.AgendaMotoIndex;
+import br.com.fiap.mototrack.index.ReferenciaIndex;
 import br.com.fiap.mototrack.model.Agendamento;
-import br.com.fiap.mototrack.model.Moto;
 import br.com.fiap.mototrack.repository.AgendamentoRepository;
-import br.com.fiap.mototrack.repository.MotoRepository;
 import br.com.fiap.mototrack.specification.AgendamentoSpecification;
+import br.com.fiap.mototrack.web.SaidaCache;
 import static br.com.fiap.mototrack.exception.HttpExceptionUtils.notFound;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -26,7 +30,8 @@ import java.util.List;
  * ---
  * ## 📋 Responsabilidades:
  * - Conversão entre DTOs e entidades com ModelMapper
- * - Validação do vínculo com Moto
+ * - Validação do vínculo com Moto, sem carregá-la ({@link ReferenciaIndex})
+ * - Detecção de conflito de horário por moto (índice em memória, sem ida ao banco)
  * - Registro, atualização, exclusão e consulta de agendamentos
  * - Suporte a filtros dinâmicos e paginação via Specification
  * - Tratamento centralizado de exceções customizadas
@@ -44,27 +49,32 @@ public class AgendamentoService {
     // =============================
 
     private final AgendamentoRepository agendamentoRepository;
-    private final MotoRepository motoRepository;
+    private final ReferenciaIndex referencias;
     private final ModelMapper modelMapper;
+    private final AgendaMotoIndex agendaIndex;
+    private final SaidaCache saidaCache;
 
     // =============================
     // 📝 Cadastrar novo agendamento
     // =============================
 
     /**
-     * Cadastra um novo agendamento, validando o vínculo com a moto.
+     * Cadastra um novo agendamento, validando o vínculo com a moto
+     * e rejeitando (409) horários sobrepostos para a mesma moto.
      */
     @Transactional
     public AgendamentoResponse cadastrar(AgendamentoRequest dto) {
         Agendamento agendamento = modelMapper.map(dto, Agendamento.class);
+        agendamento.setDuracaoMinutos(duracaoOuPadrao(dto.getDuracaoMinutos()));
 
         if (dto.getMotoId() != null) {
-            Moto moto = motoRepository.findById(dto.getMotoId())
-                    .orElseThrow(() -> notFound("Moto", dto.getMotoId()));
-            agendamento.setMoto(moto);
+            agendamento.setMoto(referencias.moto(dto.getMotoId()));
         }
 
-        Agendamento salvo = agendamentoRepository.save(agendamento);
+        AgendaMotoIndex.Reserva reserva = reservar(agendamento, null);
+        Agendamento salvo = gravar(agendamento, dto.getMotoId());
+        if (reserva != null) reserva.confirmar(salvo.getId());
+        saidaCache.invalidarListas("agendamentos");
         return modelMapper.map(salvo, AgendamentoResponse.class);
     }
 
@@ -80,17 +90,22 @@ public class AgendamentoService {
         Agendamento existente = agendamentoRepository.findById(id)
                 .orElseThrow(() -> notFound("Agendamento", id));
 
+        Integer duracaoAtual = existente.getDuracaoMinutos();
         modelMapper.map(dto, existente);
+        existente.setDuracaoMinutos(dto.getDuracaoMinutos() != null
+                ? dto.getDuracaoMinutos()
+                : duracaoOuPadrao(duracaoAtual));
 
         if (dto.getMotoId() != null) {
-            Moto moto = motoRepository.findById(dto.getMotoId())
-                    .orElseThrow(() -> notFound("Moto", dto.getMotoId()));
-            existente.setMoto(moto);
+            existente.setMoto(referencias.moto(dto.getMotoId()));
         } else {
             existente.setMoto(null);
         }
 
-        Agendamento atualizado = agendamentoRepository.save(existente);
+        AgendaMotoIndex.Reserva reserva = reservar(existente, id);
+        Agendamento atualizado = gravar(existente, dto.getMotoId());
+        if (reserva != null) reserva.confirmar(atualizado.getId());
+        saidaCache.invalidarListas("agendamentos");
         return modelMapper.map(atualizado, AgendamentoResponse.class);
     }
 
@@ -101,6 +116,7 @@ public class AgendamentoService {
     /**
      * Retorna todos os agendamentos cadastrados.
      */
+    @Transactional(readOnly = true)
     public List<AgendamentoResponse> consultarTodos() {
         return agendamentoRepository.findAll().stream()
                 .map(a -> modelMapper.map(a, AgendamentoResponse.class))
@@ -115,6 +131,7 @@ public class AgendamentoService {
      * Retorna um agendamento pelo ID.
      * Lança exceção se não encontrado.
      */
+    @Transactional(readOnly = true)
     public AgendamentoResponse buscarPorId(Long id) {
         Agendamento agendamento = agendamentoRepository.findById(id)
                 .orElseThrow(() -> notFound("Agendamento", id));
@@ -135,6 +152,29 @@ public class AgendamentoService {
             throw notFound("Agendamento", id);
         }
         agendamentoRepository.deleteById(id);
+        agendaIndex.remover(id);
+        saidaCache.invalidarListas("agendamentos");
+    }
+
+    // =============================
+    // 🗓️ Disponibilidade da moto
+    // =============================
+
+    /**
+     * Verifica se a moto está livre na janela informada e sugere o próximo horário livre.
+     * Responde a partir do índice em memória, sem consultar o banco.
+     */
+    public DisponibilidadeResponse verificarDisponibilidade(Long motoId, LocalDateTime inicio, Integer duracaoMinutos) {
+        int duracao = duracaoOuPadrao(duracaoMinutos);
+        var conflito = agendaIndex.conflito(motoId, null, inicio, duracao);
+        return new DisponibilidadeResponse(
+                motoId,
+                inicio,
+                duracao,
+                conflito.isEmpty(),
+                conflito.map(AgendaMotoIndex.Janela::id).orElse(null),
+                agendaIndex.proximoHorarioLivre(motoId, null, inicio, duracao)
+        );
     }
 
     // =============================
@@ -144,9 +184,42 @@ public class AgendamentoService {
     /**
      * Retorna uma página de agendamentos aplicando filtros dinâmicos.
      */
+    @Transactional(readOnly = true)
     public Page<AgendamentoResponse> consultarComFiltro(AgendamentoFilter filtro, Pageable pageable) {
         var spec = AgendamentoSpecification.comFiltros(filtro);
         return agendamentoRepository.findAll(spec, pageable)
                 .map(a -> modelMapper.map(a, AgendamentoResponse.class));
     }
+
+    // =============================
+    // 🔧 Auxiliares
+    // =============================
+
+    /**
+     * Ocupa a janela do agendamento no índice (409 se houver sobreposição).
+     * Retorna nulo quando ainda não há moto/data para validar.
+     */
+    private AgendaMotoIndex.Reserva reservar(Agendamento agendamento, Long ignorarId) {
+        if (agendamento.getMoto() == null || agendamento.getDataAgendada() == null) {
+            return null;
+        }
+        return agendaIndex.reservar(agendamento.getMoto().getId(), ignorarId,
+                agendamento.getDataAgendada(), agendamento.getDuracaoMinutos());
+    }
+
+    /**
+     * Grava já com flush, para que um FK de moto excluída em outro nó vire `404` aqui
+     * (e não `500` no commit).
+     */
+    private Agendamento gravar(Agendamento agendamento, Long motoId) {
+        try {
+            return agendamentoRepository.saveAndFlush(agendamento);
+        } catch (DataIntegrityViolationException e) {
+            throw referencias.motoInexistente(motoId, e);
+        }
+    }
+
+    private static int duracaoOuPadrao(Integer duracaoMinutos) {
+        return duracaoMinutos != null ? duracaoMinutos : AgendaMotoIndex.DURACAO_PADRAO_MIN;
+    }
 }
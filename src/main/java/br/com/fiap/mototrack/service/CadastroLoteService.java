@@ -0,0 +1,295 @@
+package br.com.fiap.mototrack.service;
+
+import br.com.fiap.mototrack.dashboard.DashboardCounters;
+import br.com.fiap.mototrack.dto.request.AgendamentoRequest;
+import br.com.fiap.mototrack.dto.request.EventoRequest;
+import br.com.fiap.mototrack.dto.response.AgendamentoResponse;
+import br.com.fiap.mototrack.dto.response.EventoResponse;
+import br.com.fiap.mototrack.dto.response.LoteResponse;
+import br.com.fiap.mototrack.dto.response.LoteResponse.Item;
+import br.com.fiap.mototrack.index.AgendaMotoIndex;
+import br.com.fiap.mototrack.repository.CadastroLoteRepository;
+import br.com.fiap.mototrack.repository.CadastroLoteRepository.NovoAgendamento;
+import br.com.fiap.mototrack.repository.CadastroLoteRepository.NovoEvento;
+import br.com.fiap.mototrack.repository.MotoRepository;
+import br.com.fiap.mototrack.web.SaidaCache;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static br.com.fiap.mototrack.exception.HttpExceptionUtils.badRequest;
+import static br.com.fiap.mototrack.exception.HttpExceptionUtils.notFound;
+
+/**
+ * # 🛠️ Serviço: CadastroLoteService
+ *
+ * Cadastro em lote de eventos e agendamentos (`POST /eventos/lote`, `POST /agendamentos/lote`)
+ * para integrações que hoje enviam um item por requisição.
+ *
+ * ---
+ * ## 📋 Fluxo
+ * 1. **Validação em massa:** Bean Validation item a item, sem abortar o lote;
+ * 2. **Referências:** todas as motos do lote em **uma** consulta `IN` (projeção, sem entidades);
+ * 3. **Gravação:** itens válidos em transações de até `itens-por-transacao`, com IDs
+ *    reservados de uma vez e INSERT em batch (`CadastroLoteRepository`);
+ * 4. **Resultado por item**, na ordem recebida (`LoteResponse`).
+ *
+ * Efeitos colaterais iguais aos do cadastro individual: contadores do dashboard e índice
+ * de agenda (conflito de horário → 409 no item, inclusive entre itens do mesmo lote).
+ * Uma transação que falha marca só os itens dela como 500; as demais seguem.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Slf4j
+@Service
+public class CadastroLoteService {
+
+    // =============================
+    // 🔗 Injeção de Dependências
+    // =============================
+
+    private final MotoRepository motoRepository;
+    private final CadastroLoteRepository loteRepository;
+    private final DashboardCounters dashboardCounters;
+    private final AgendaMotoIndex agendaIndex;
+    private final SaidaCache saidaCache;
+    private final Validator validator;
+    private final TransactionTemplate tx;
+    private final int maxItens;
+    private final int itensPorTransacao;
+
+    public CadastroLoteService(MotoRepository motoRepository,
+                               CadastroLoteRepository loteRepository,
+                               DashboardCounters dashboardCounters,
+                               AgendaMotoIndex agendaIndex,
+                               SaidaCache saidaCache,
+                               Validator validator,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${mototrack.lote.max-itens:5000}") int maxItens,
+                               @Value("${mototrack.lote.itens-por-transacao:1000}") int itensPorTransacao) {
+        this.motoRepository = motoRepository;
+        this.loteRepository = loteRepository;
+        this.dashboardCounters = dashboardCounters;
+        this.agendaIndex = agendaIndex;
+        this.saidaCache = saidaCache;
+        this.validator = validator;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.maxItens = maxItens;
+        this.itensPorTransacao = Math.max(1, itensPorTransacao);
+    }
+
+    // =============================
+    // 📑 Eventos
+    // =============================
+
+    /**
+     * Cadastra os eventos válidos do lote. Como no cadastro individual,
+     * a data/hora gravada é a do registro (`@CreationTimestamp` em `Evento`).
+     */
+    public LoteResponse<EventoResponse> cadastrarEventos(List<EventoRequest> itens) {
+        validarTamanho(itens);
+        List<Item<EventoResponse>> resultados = itensVazios(itens.size());
+        Map<Long, String> placas = validar(itens, EventoRequest::getMotoId, resultados);
+
+        for (List<Integer> parte : partes(pendentes(resultados))) {
+            List<Item<EventoResponse>> gravados = new ArrayList<>(parte.size());
+            try {
+                tx.executeWithoutResult(status -> {
+                    List<Long> ids = loteRepository.proximosIdsEvento(parte.size());
+                    LocalDateTime agora = LocalDateTime.now();
+                    List<NovoEvento> novos = new ArrayList<>(parte.size());
+                    for (int i = 0; i < parte.size(); i++) {
+                        EventoRequest dto = itens.get(parte.get(i));
+                        NovoEvento novo = new NovoEvento(ids.get(i), dto.getMotoId(), dto.getTipo(),
+                                dto.getMotivo(), agora, dto.getLocalizacao());
+                        novos.add(novo);
+                        gravados.add(Item.criado(parte.get(i), eventoResponse(novo, placas.get(novo.motoId()))));
+                    }
+                    loteRepository.inserirEventos(novos);
+                    novos.forEach(n -> dashboardCounters.eventoRegistrado(n.dataHora(), n.tipo()));
+                    saidaCache.invalidarListas("eventos");
+                });
+                gravados.forEach(item -> resultados.set(item.indice(), item));
+            } catch (DataAccessException | TransactionException e) {
+                falhaNaGravacao("eventos", parte, resultados, e);
+            }
+        }
+        return LoteResponse.de(resultados);
+    }
+
+    // =============================
+    // 📅 Agendamentos
+    // =============================
+
+    /**
+     * Cadastra os agendamentos válidos do lote, rejeitando (409) janelas sobrepostas
+     * para a mesma moto — com a agenda existente ou com itens anteriores do lote.
+     */
+    public LoteResponse<AgendamentoResponse> cadastrarAgendamentos(List<AgendamentoRequest> itens) {
+        validarTamanho(itens);
+        List<Item<AgendamentoResponse>> resultados = itensVazios(itens.size());
+        for (int i = 0; i < itens.size(); i++) {
+            if (itens.get(i) != null && itens.get(i).getDataAgendada() == null) {
+                resultados.set(i, Item.rejeitado(i, 400, List.of("A data agendada é obrigatória.")));
+            }
+        }
+        validar(itens, AgendamentoRequest::getMotoId, resultados);
+
+        for (List<Integer> parte : partes(pendentes(resultados))) {
+            List<Item<AgendamentoResponse>> parcial = new ArrayList<>(parte.size());
+            try {
+                tx.executeWithoutResult(status -> {
+                    List<Long> ids = loteRepository.proximosIdsAgendamento(parte.size());
+                    LocalDateTime agora = LocalDateTime.now();
+                    List<NovoAgendamento> novos = new ArrayList<>(parte.size());
+                    for (int i = 0; i < parte.size(); i++) {
+                        int indice = parte.get(i);
+                        AgendamentoRequest dto = itens.get(indice);
+                        int duracao = dto.getDuracaoMinutos() != null
+                                ? dto.getDuracaoMinutos() : AgendaMotoIndex.DURACAO_PADRAO_MIN;
+                        AgendaMotoIndex.Reserva reserva;
+                        try {
+                            reserva = agendaIndex.reservar(dto.getMotoId(), null, dto.getDataAgendada(), duracao);
+                        } catch (ResponseStatusException conflito) {
+                            parcial.add(Item.rejeitado(indice, conflito.getStatusCode().value(),
+                                    List.of(conflito.getReason())));
+                            continue;
+                        }
+                        // Efetivada no commit, descartada no rollback
+                        reserva.confirmar(ids.get(i));
+                        NovoAgendamento novo = new NovoAgendamento(ids.get(i), dto.getMotoId(),
+                                dto.getDataAgendada(), duracao, dto.getDescricao(), agora);
+                        novos.add(novo);
+                        parcial.add(Item.criado(indice, agendamentoResponse(novo)));
+                    }
+                    if (!novos.isEmpty()) {
+                        loteRepository.inserirAgendamentos(novos);
+                        saidaCache.invalidarListas("agendamentos");
+                    }
+                });
+                parcial.forEach(item -> resultados.set(item.indice(), item));
+            } catch (DataAccessException | TransactionException e) {
+                parcial.stream().filter(item -> !item.criado()).forEach(item -> resultados.set(item.indice(), item));
+                falhaNaGravacao("agendamentos", parte.stream().filter(i -> resultados.get(i) == null).toList(),
+                        resultados, e);
+            }
+        }
+        return LoteResponse.de(resultados);
+    }
+
+    // =============================
+    // 🔧 Auxiliares
+    // =============================
+
+    private void validarTamanho(List<?> itens) {
+        if (itens == null || itens.isEmpty()) {
+            throw badRequest("O lote deve conter ao menos um item.");
+        }
+        if (itens.size() > maxItens) {
+            throw badRequest("O lote excede o máximo de " + maxItens + " itens (recebidos: " + itens.size() + ").");
+        }
+    }
+
+    /**
+     * Bean Validation de cada item ainda sem resultado e checagem das motos em uma única consulta.
+     * Itens inválidos recebem 400/404; devolve as placas das motos encontradas.
+     */
+    private <R, T> Map<Long, String> validar(List<R> itens, Function<R, Long> motoId, List<Item<T>> resultados) {
+        Set<Long> motoIds = new LinkedHashSet<>();
+        for (int i = 0; i < itens.size(); i++) {
+            if (resultados.get(i) != null) continue;
+            R item = itens.get(i);
+            if (item == null) {
+                resultados.set(i, Item.rejeitado(i, 400, List.of("Item vazio.")));
+                continue;
+            }
+            Set<ConstraintViolation<R>> violacoes = validator.validate(item);
+            if (!violacoes.isEmpty()) {
+                resultados.set(i, Item.rejeitado(i, 400,
+                        violacoes.stream().map(ConstraintViolation::getMessage).sorted().toList()));
+                continue;
+            }
+            motoIds.add(motoId.apply(item));
+        }
+
+        Map<Long, String> placas = new HashMap<>();
+        if (!motoIds.isEmpty()) {
+            motoRepository.findPlacasByIdIn(motoIds).forEach(m -> placas.put(m.getId(), m.getPlaca()));
+        }
+        for (int i = 0; i < itens.size(); i++) {
+            if (resultados.get(i) != null) continue;
+            Long id = motoId.apply(itens.get(i));
+            if (!placas.containsKey(id)) {
+                resultados.set(i, Item.rejeitado(i, 404, List.of(notFound("Moto", id).getReason())));
+            }
+        }
+        return placas;
+    }
+
+    private static <T> void falhaNaGravacao(String tipo, List<Integer> indices, List<Item<T>> resultados, Exception e) {
+        log.warn("Falha ao gravar lote de {} ({} itens): {}", tipo, indices.size(), e.getMessage());
+        indices.forEach(i -> resultados.set(i, Item.rejeitado(i, 500, List.of("Falha ao gravar o item; tente novamente."))));
+    }
+
+    /** Um resultado por item; `null` = ainda pendente. */
+    private static <T> List<Item<T>> itensVazios(int tamanho) {
+        return new ArrayList<>(Collections.nCopies(tamanho, null));
+    }
+
+    private static <T> List<Integer> pendentes(List<Item<T>> resultados) {
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < resultados.size(); i++) {
+            if (resultados.get(i) == null) indices.add(i);
+        }
+        return indices;
+    }
+
+    private List<List<Integer>> partes(List<Integer> indices) {
+        List<List<Integer>> partes = new ArrayList<>();
+        for (int i = 0; i < indices.size(); i += itensPorTransacao) {
+            partes.add(indices.subList(i, Math.min(indices.size(), i + itensPorTransacao)));
+        }
+        return partes;
+    }
+
+    private static EventoResponse eventoResponse(NovoEvento evento, String placa) {
+        EventoResponse r = new EventoResponse();
+        r.setId(evento.id());
+        r.setMotoId(evento.motoId());
+        r.setMotoPlaca(placa);
+        r.setTipo(evento.tipo());
+        r.setMotivo(evento.motivo());
+        r.setDataHora(evento.dataHora());
+        r.setLocalizacao(evento.localizacao());
+        return r;
+    }
+
+    private static AgendamentoResponse agendamentoResponse(NovoAgendamento agendamento) {
+        AgendamentoResponse r = new AgendamentoResponse();
+        r.setId(agendamento.id());
+        r.setMotoId(agendamento.motoId());
+        r.setDataAgendada(agendamento.dataAgendada());
+        r.setDuracaoMinutos(agendamento.duracaoMinutos());
+        r.setDescricao(agendamento.descricao());
+        return r;
+    }
+}
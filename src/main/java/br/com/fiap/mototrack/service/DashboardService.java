@@ -0,0 +1,70 @@
+package br.com.fiap.mototrack.service;
+
+import br.com.fiap.mototrack.dashboard.DashboardCounters;
+import br.com.fiap.mototrack.dto.response.DashboardResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * # 🛠️ Serviço: DashboardService
+ *
+ * Monta os agregados do dashboard operacional.
+ *
+ * ---
+ * ## 📋 Responsabilidades:
+ * - Ler os contadores em memória ({@link DashboardCounters}) — **nenhuma consulta ao banco**
+ * - Consolidar totais por status, por filial e por hora/tipo de evento
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+
+    private final DashboardCounters counters;
+
+    /**
+     * Snapshot atual do dashboard.
+     */
+    public DashboardResponse consultar() {
+        Map<DashboardCounters.ChaveStatus, Long> motos = counters.motosPorFilialEStatus();
+        Map<DashboardCounters.ChaveHora, Long> eventos = counters.eventosPorHoraETipo();
+
+        Map<String, Long> porStatus = new TreeMap<>();
+        motos.forEach((k, total) -> porStatus.merge(k.status(), total, Long::sum));
+
+        List<DashboardResponse.MotosFilialStatus> porFilial = motos.entrySet().stream()
+                .map(e -> new DashboardResponse.MotosFilialStatus(e.getKey().filialId(), e.getKey().status(), e.getValue()))
+                .sorted(Comparator.comparing(DashboardResponse.MotosFilialStatus::filialId,
+                                Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(DashboardResponse.MotosFilialStatus::status))
+                .toList();
+
+        List<DashboardResponse.EventosHoraTipo> porHora = eventos.entrySet().stream()
+                .map(e -> new DashboardResponse.EventosHoraTipo(e.getKey().hora(), e.getKey().tipo(), e.getValue()))
+                .sorted(Comparator.comparing(DashboardResponse.EventosHoraTipo::hora)
+                        .thenComparing(DashboardResponse.EventosHoraTipo::tipo,
+                                Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+
+        return new DashboardResponse(
+                LocalDateTime.now(),
+                counters.getReconciliadoEm(),
+                porStatus.values().stream().mapToLong(Long::longValue).sum(),
+                porStatus,
+                porFilial,
+                porHora.stream().mapToLong(DashboardResponse.EventosHoraTipo::total).sum(),
+                porHora,
+                counters.agendamentosNoDia(LocalDate.now())
+        );
+    }
+}
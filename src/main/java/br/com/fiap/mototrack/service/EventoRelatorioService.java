@@ -0,0 +1,62 @@
+package br.com.fiap.mototrack.service;
+
+import br.com.fiap.mototrack.dto.response.EventoRollupResponse;
+import br.com.fiap.mototrack.filter.EventoRelatorioFilter;
+import br.com.fiap.mototrack.repository.EventoRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static br.com.fiap.mototrack.exception.HttpExceptionUtils.badRequest;
+
+/**
+ * # 🛠️ Serviço: EventoRelatorioService
+ *
+ * Relatórios gerenciais de eventos lidos dos **rollups** (diário/horário),
+ * sem varrer `tb_evento`.
+ *
+ * ---
+ * ## 📋 Responsabilidades:
+ * - Validar o período e a granularidade solicitados
+ * - Consultar o rollup adequado com os recortes por tipo e filial
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Service
+@RequiredArgsConstructor
+public class EventoRelatorioService {
+
+    /** Limite do período no rollup horário (evita respostas gigantes). */
+    private static final long MAX_DIAS_POR_HORA = 92;
+
+    private final EventoRollupRepository repository;
+
+    /**
+     * Retorna a quantidade de eventos por período, tipo e filial.
+     */
+    @Transactional(readOnly = true)
+    public List<EventoRollupResponse> consultar(EventoRelatorioFilter filtro) {
+        if (filtro.dataInicio() == null || filtro.dataFim() == null) {
+            throw badRequest("Informe dataInicio e dataFim.");
+        }
+        if (filtro.dataFim().isBefore(filtro.dataInicio())) {
+            throw badRequest("dataFim deve ser igual ou posterior a dataInicio.");
+        }
+
+        var granularidade = filtro.granularidade() != null
+                ? filtro.granularidade()
+                : EventoRelatorioFilter.Granularidade.DIA;
+        if (granularidade == EventoRelatorioFilter.Granularidade.HORA
+                && ChronoUnit.DAYS.between(filtro.dataInicio(), filtro.dataFim()) > MAX_DIAS_POR_HORA) {
+            throw badRequest("Para granularidade HORA o período máximo é de " + MAX_DIAS_POR_HORA + " dias.");
+        }
+
+        return repository.consultar(new EventoRelatorioFilter(
+                filtro.dataInicio(), filtro.dataFim(), filtro.tipo(), filtro.filialId(), granularidade));
+    }
+}
@@ -1,22 +1,30 @@
 package br.com.fiap.mototrack.service;
 
+import br.com.fiap.mototrack.dashboard.DashboardCounters;
 import br.com.fiap.mototrack.dto.request.EventoRequest;
 import br.com.fiap.mototrack.dto.response.EventoResponse;
 import br.com.fiap.mototrack.filter.EventoFilter;
+import br.com.fiap.mototrack.index.PlacaIndex;
+import br.com.fiap.mototrack.index.ReferenciaIndex;
+import br.com.fiap.mototrack.mapper.ModelMapperConfig;
 import br.com.fiap.mototrack.model.Evento;
 import br.com.fiap.mototrack.model.Moto;
 import br.com.fiap.mototrack.repository.EventoRepository;
-import br.com.fiap.mototrack.repository.MotoRepository;
+import br.com.fiap.mototrack.repository.EventoRollupRepository;
 import br.com.fiap.mototrack.specification.EventoSpecification;
+import br.com.fiap.mototrack.web.SaidaCache;
 import static br.com.fiap.mototrack.exception.HttpExceptionUtils.notFound;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import jakarta.transaction.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -27,9 +35,12 @@ import java.util.List;
  * ---
  * ## 📋 Responsabilidades:
  * - Conversão entre DTOs e entidades com ModelMapper
- * - Validação do relacionamento com Moto
+ * - Validação do relacionamento com Moto, sem carregá-la ({@link ReferenciaIndex});
+ *   a placa da resposta vem do {@link PlacaIndex}
  * - Registro, atualização, exclusão e consulta de eventos
  * - Consulta dinâmica via Specification
+ * - Ajuste dos rollups de analytics quando um evento já agregado muda ou é removido
+ *   (descontado da filial em que foi contado, sem carregar a moto)
  * - Tratamento centralizado de exceções customizadas
  *
  * ---
@@ -45,8 +56,12 @@ public class EventoService {
     // =============================
 
     private final EventoRepository repository;
-    private final MotoRepository motoRepository;
+    private final ReferenciaIndex referencias;
+    private final PlacaIndex placas;
     private final ModelMapper modelMapper;
+    private final DashboardCounters dashboardCounters;
+    private final EventoRollupRepository rollupRepository;
+    private final SaidaCache saidaCache;
 
     // =============================
     // 📝 Registrar novo evento
@@ -60,13 +75,13 @@ public class EventoService {
         Evento evento = modelMapper.map(dto, Evento.class);
 
         if (dto.getMotoId() != null) {
-            Moto moto = motoRepository.findById(dto.getMotoId())
-                    .orElseThrow(() -> notFound("Moto", dto.getMotoId()));
-            evento.setMoto(moto);
+            evento.setMoto(referencias.moto(dto.getMotoId()));
         }
 
-        Evento salvo = repository.save(evento);
-        return modelMapper.map(salvo, EventoResponse.class);
+        Evento salvo = gravar(evento, dto.getMotoId());
+        dashboardCounters.eventoRegistrado(salvo.getDataHora(), salvo.getTipo());
+        saidaCache.invalidarListas("eventos");
+        return resposta(salvo);
     }
 
     // =============================
@@ -82,18 +97,25 @@ public class EventoService {
         Evento existente = repository.findById(id)
                 .orElseThrow(() -> notFound("Evento", id));
 
+        LocalDateTime dataHoraAntes = existente.getDataHora();
+        String tipoAntes = existente.getTipo();
         modelMapper.map(dto, existente);
+        if (existente.getDataHora() == null) {
+            existente.setDataHora(dataHoraAntes); // coluna obrigatória; request sem data mantém a atual
+        }
 
         if (dto.getMotoId() != null) {
-            Moto moto = motoRepository.findById(dto.getMotoId())
-                    .orElseThrow(() -> notFound("Moto", dto.getMotoId()));
-            existente.setMoto(moto);
+            existente.setMoto(referencias.moto(dto.getMotoId()));
         } else {
             existente.setMoto(null);
         }
 
-        Evento atualizado = repository.save(existente);
-        return modelMapper.map(atualizado, EventoResponse.class);
+        Evento atualizado = gravar(existente, dto.getMotoId());
+        dashboardCounters.eventoAlterado(dataHoraAntes, tipoAntes, atualizado.getDataHora(), atualizado.getTipo());
+        saidaCache.invalidarListas("eventos");
+        rollupRepository.descontarSeAgregado(id, dataHoraAntes, tipoAntes);
+        rollupRepository.contarSeAgregado(id);
+        return resposta(atualizado);
     }
 
     // =============================
@@ -103,6 +125,7 @@ public class EventoService {
     /**
      * Retorna todos os eventos registrados no sistema.
      */
+    @Transactional(readOnly = true)
     public List<EventoResponse> consultarTodos() {
         return repository.findAll().stream()
                 .map(e -> modelMapper.map(e, EventoResponse.class))
@@ -117,6 +140,7 @@ public class EventoService {
      * Retorna os dados de um evento específico pelo seu ID.
      * Lança exceção se não encontrado.
      */
+    @Transactional(readOnly = true)
     public EventoResponse buscarPorId(Long id) {
         Evento evento = repository.findById(id)
                 .orElseThrow(() -> notFound("Evento", id));
@@ -133,10 +157,12 @@ public class EventoService {
      */
     @Transactional
     public void excluir(Long id) {
-        if (!repository.existsById(id)) {
-            throw notFound("Evento", id);
-        }
-        repository.deleteById(id);
+        Evento evento = repository.findById(id)
+                .orElseThrow(() -> notFound("Evento", id));
+        rollupRepository.descontarSeAgregado(id, evento.getDataHora(), evento.getTipo());
+        repository.delete(evento);
+        dashboardCounters.eventoExcluido(evento.getDataHora(), evento.getTipo());
+        saidaCache.invalidarListas("eventos");
     }
 
     // =============================
@@ -146,9 +172,41 @@ public class EventoService {
     /**
      * Realiza uma busca paginada e ordenada de eventos com base nos filtros dinâmicos.
      */
+    @Transactional(readOnly = true)
     public Page<EventoResponse> consultarComFiltro(EventoFilter filtro, Pageable pageable) {
         var spec = EventoSpecification.comFiltros(filtro);
         return repository.findAll(spec, pageable)
                 .map(e -> modelMapper.map(e, EventoResponse.class));
     }
+
+    // =============================
+    // 🔧 Auxiliares
+    // =============================
+
+    /**
+     * Grava já com flush, para que um FK de moto excluída em outro nó vire `404` aqui
+     * (e não `500` no commit).
+     */
+    private Evento gravar(Evento evento, Long motoId) {
+        try {
+            return repository.saveAndFlush(evento);
+        } catch (DataIntegrityViolationException e) {
+            throw referencias.motoInexistente(motoId, e);
+        }
+    }
+
+    /**
+     * Resposta de uma escrita. A moto é um proxy de `getReferenceById`: a placa vem do
+     * {@link PlacaIndex} para não inicializá-lo; só uma moto ainda fora do índice é lida
+     * (do L2 ou do banco).
+     */
+    private EventoResponse resposta(Evento evento) {
+        Moto moto = evento.getMoto();
+        if (moto == null || Hibernate.isInitialized(moto)) return modelMapper.map(evento, EventoResponse.class);
+
+        EventoResponse resposta = modelMapper.map(evento, EventoResponse.class, ModelMapperConfig.EVENTO_SEM_PLACA);
+        String placa = placas.placa(moto.getId());
+        resposta.setMotoPlaca(placa != null ? placa : moto.getPlaca());
+        return resposta;
+    }
 }
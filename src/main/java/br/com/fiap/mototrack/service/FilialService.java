@@ -3,17 +3,19 @@ package br.com.fiap.mototrack.service;
 import br.com.fiap.mototrack.dto.request.FilialRequest;
 import br.com.fiap.mototrack.dto.response.FilialResponse;
 import br.com.fiap.mototrack.filter.FilialFilter;
+import br.com.fiap.mototrack.index.ReferenciaIndex;
 import br.com.fiap.mototrack.model.Filial;
 import br.com.fiap.mototrack.repository.FilialRepository;
 import br.com.fiap.mototrack.specification.FilialSpecification;
+import br.com.fiap.mototrack.web.SaidaCache;
 import static br.com.fiap.mototrack.exception.HttpExceptionUtils.notFound;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -44,6 +46,8 @@ public class FilialService {
 
     private final FilialRepository repository;
     private final ModelMapper modelMapper;
+    private final ReferenciaIndex referencias;
+    private final SaidaCache saidaCache;
 
     // =============================
     // 📝 Criar nova filial
@@ -56,6 +60,8 @@ public class FilialService {
     public FilialResponse cadastrar(FilialRequest dto) {
         Filial nova = modelMapper.map(dto, Filial.class);
         Filial salva = repository.save(nova);
+        referencias.filialSalva(salva.getId());
+        saidaCache.invalidarListas("filiais");
         return modelMapper.map(salva, FilialResponse.class);
     }
 
@@ -74,6 +80,7 @@ public class FilialService {
 
         modelMapper.map(dto, existente);
         Filial atualizada = repository.save(existente);
+        saidaCache.invalidarListas("filiais");
         return modelMapper.map(atualizada, FilialResponse.class);
     }
 
@@ -84,6 +91,7 @@ public class FilialService {
     /**
      * Retorna a lista de todas as filiais cadastradas.
      */
+    @Transactional(readOnly = true)
     public List<FilialResponse> consultarTodos() {
         return repository.findAll().stream()
                 .map(f -> modelMapper.map(f, FilialResponse.class))
@@ -98,6 +106,7 @@ public class FilialService {
      * Retorna os dados de uma filial específica pelo seu ID.
      * Lança exceção se não encontrada.
      */
+    @Transactional(readOnly = true)
     public FilialResponse buscarPorId(Long id) {
         Filial filial = repository.findById(id)
                 .orElseThrow(() -> notFound("Filial", id));
@@ -118,6 +127,8 @@ public class FilialService {
             throw notFound("Filial", id);
         }
         repository.deleteById(id);
+        referencias.filialRemovida(id);
+        saidaCache.invalidarListas("filiais");
     }
 
     // =============================
@@ -127,6 +138,7 @@ public class FilialService {
     /**
      * Consulta paginada de filiais com suporte a filtros dinâmicos.
      */
+    @Transactional(readOnly = true)
     public Page<FilialResponse> consultarComFiltro(FilialFilter filtro, Pageable pageable) {
         var spec = FilialSpecification.comFiltros(filtro);
         return repository.findAll(spec, pageable)
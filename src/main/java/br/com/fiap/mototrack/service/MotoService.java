@@ -1,20 +1,23 @@
 package br.com.fiap.mototrack.service;
 
+import br.com.fiap.mototrack.dashboard.DashboardCounters;
 import br.com.fiap.mototrack.dto.request.MotoRequest;
 import br.com.fiap.mototrack.dto.response.MotoResponse;
+import br.com.fiap.mototrack.dto.response.PlacaSugestaoResponse;
 import br.com.fiap.mototrack.filter.MotoFilter;
-import br.com.fiap.mototrack.model.Filial;
+import br.com.fiap.mototrack.index.PlacaIndex;
+import br.com.fiap.mototrack.index.ReferenciaIndex;
 import br.com.fiap.mototrack.model.Moto;
-import br.com.fiap.mototrack.repository.FilialRepository;
 import br.com.fiap.mototrack.repository.MotoRepository;
 import br.com.fiap.mototrack.specification.MotoSpecification;
+import br.com.fiap.mototrack.web.SaidaCache;
 import static br.com.fiap.mototrack.exception.HttpExceptionUtils.notFound;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -26,7 +29,7 @@ import java.util.List;
  * ---
  * ## 📋 Responsabilidades:
  * - Conversão entre `DTO` e `Entity` com `ModelMapper`
- * - Validação de entidades relacionadas (como `Filial`)
+ * - Validação de entidades relacionadas (como `Filial`), sem carregá-las ({@link ReferenciaIndex})
  * - Aplicação de regras de negócio
  * - Utilização de Specifications para filtros dinâmicos
  * - Tratamento de exceções personalizadas
@@ -39,13 +42,19 @@ import java.util.List;
 @RequiredArgsConstructor
 public class MotoService {
 
+    /** Telas de lista que exibem dados da moto (a de eventos mostra a placa). */
+    private static final String[] LISTAS_AFETADAS = {"motos", "eventos"};
+
     // =============================
     // 🔗 Injeção de Dependências
     // =============================
 
     private final MotoRepository repository;
-    private final FilialRepository filialRepository;
     private final ModelMapper modelMapper;
+    private final DashboardCounters dashboardCounters;
+    private final PlacaIndex placaIndex;
+    private final ReferenciaIndex referencias;
+    private final SaidaCache saidaCache;
 
     // =============================
     // 📝 Cadastrar nova moto
@@ -60,12 +69,14 @@ public class MotoService {
         Moto moto = modelMapper.map(dto, Moto.class);
 
         if (dto.getFilialId() != null) {
-            Filial filial = filialRepository.findById(dto.getFilialId())
-                    .orElseThrow(() -> notFound("Filial", dto.getFilialId()));
-            moto.setFilial(filial);
+            moto.setFilial(referencias.filial(dto.getFilialId()));
         }
 
         Moto salva = repository.save(moto);
+        dashboardCounters.motoCriada(filialId(salva), salva.getStatus());
+        placaIndex.salvar(salva.getId(), salva.getPlaca(), salva.getStatus());
+        referencias.motoSalva(salva.getId());
+        saidaCache.invalidarListas(LISTAS_AFETADAS);
         return modelMapper.map(salva, MotoResponse.class);
     }
 
@@ -86,17 +97,20 @@ public class MotoService {
         Moto existente = repository.findById(id)
                 .orElseThrow(() -> notFound("Moto", id));
 
+        Long filialAntes = filialId(existente);
+        String statusAntes = existente.getStatus();
         modelMapper.map(dto, existente);
 
         if (dto.getFilialId() != null) {
-            Filial filial = filialRepository.findById(dto.getFilialId())
-                    .orElseThrow(() -> notFound("Filial", dto.getFilialId()));
-            existente.setFilial(filial);
+            existente.setFilial(referencias.filial(dto.getFilialId()));
         } else {
             existente.setFilial(null);
         }
 
         Moto atualizada = repository.save(existente);
+        dashboardCounters.motoAlterada(filialAntes, statusAntes, filialId(atualizada), atualizada.getStatus());
+        placaIndex.salvar(atualizada.getId(), atualizada.getPlaca(), atualizada.getStatus());
+        saidaCache.invalidarListas(LISTAS_AFETADAS);
         return modelMapper.map(atualizada, MotoResponse.class);
     }
 
@@ -108,6 +122,7 @@ public class MotoService {
     /**
      * Retorna todas as motos cadastradas no sistema.
      */
+    @Transactional(readOnly = true)
     public List<MotoResponse> consultarTodos() {
         return repository.findAll().stream()
                 .map(m -> modelMapper.map(m, MotoResponse.class))
@@ -122,6 +137,7 @@ public class MotoService {
      * Retorna os dados de uma moto pelo ID.
      * Lança exceção se não encontrada.
      */
+    @Transactional(readOnly = true)
     public MotoResponse buscarPorId(Long id) {
         Moto moto = repository.findById(id)
                 .orElseThrow(() -> notFound("Moto", id));
@@ -139,10 +155,13 @@ public class MotoService {
      */
     @Transactional
     public void excluir(Long id) {
-        if (!repository.existsById(id)) {
-            throw notFound("Moto", id);
-        }
-        repository.deleteById(id);
+        Moto moto = repository.findById(id)
+                .orElseThrow(() -> notFound("Moto", id));
+        repository.delete(moto);
+        dashboardCounters.motoExcluida(filialId(moto), moto.getStatus());
+        placaIndex.remover(moto.getId());
+        referencias.motoRemovida(moto.getId());
+        saidaCache.invalidarListas(LISTAS_AFETADAS);
     }
 
 
@@ -152,10 +171,53 @@ public class MotoService {
 
     /**
      * Retorna uma página de motos com base nos filtros recebidos.
+     * Combinações frequentes (ver {@link #consultaFrequente}) vêm do cache de consultas.
      */
+    @Transactional(readOnly = true)
     public Page<MotoResponse> consultarComFiltro(MotoFilter filtro, Pageable pageable) {
         var spec = MotoSpecification.comFiltros(filtro);
-        return repository.findAll(spec, pageable)
-                .map(moto -> modelMapper.map(moto, MotoResponse.class));
+        var pagina = consultaFrequente(filtro)
+                ? repository.findAllCacheavel(spec, pageable)
+                : repository.findAll(spec, pageable);
+        return pagina.map(moto -> modelMapper.map(moto, MotoResponse.class));
+    }
+
+    // =============================
+    // 🔤 Autocomplete de placas
+    // =============================
+
+    /**
+     * Sugestões de placas que começam com o prefixo informado.
+     * Atendido pelo índice em memória; não consulta o banco.
+     */
+    public List<PlacaSugestaoResponse> sugerirPlacas(String prefixo, int limite) {
+        return placaIndex.buscarPorPrefixo(prefixo, limite).stream()
+                .map(e -> new PlacaSugestaoResponse(e.id(), e.placa(), e.status()))
+                .toList();
+    }
+
+    // =============================
+    // 🔧 Auxiliares
+    // =============================
+
+    /**
+     * Filtros de baixa cardinalidade (status, filial, marca, faixa de ano, ou nenhum):
+     * poucas combinações que se repetem muito nas telas. Busca por placa/modelo, id ou
+     * datas gera combinações demais para valer a pena cachear.
+     */
+    private static boolean consultaFrequente(MotoFilter f) {
+        return f.id() == null
+                && vazio(f.placa())
+                && vazio(f.modelo())
+                && f.dataCriacaoInicio() == null
+                && f.dataCriacaoFim() == null;
+    }
+
+    private static boolean vazio(String valor) {
+        return valor == null || valor.isBlank();
+    }
+
+    private static Long filialId(Moto moto) {
+        return moto.getFilial() != null ? moto.getFilial().getId() : null;
     }
 }
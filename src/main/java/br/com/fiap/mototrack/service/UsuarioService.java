@@ -3,19 +3,19 @@ package br.com.fiap.mototrack.service;
 import br.com.fiap.mototrack.dto.request.UsuarioRequest;
 import br.com.fiap.mototrack.dto.response.UsuarioResponse;
 import br.com.fiap.mototrack.filter.UsuarioFilter;
-import br.com.fiap.mototrack.model.Filial;
+import br.com.fiap.mototrack.index.ReferenciaIndex;
 import br.com.fiap.mototrack.model.Usuario;
-import br.com.fiap.mototrack.repository.FilialRepository;
 import br.com.fiap.mototrack.repository.UsuarioRepository;
 import br.com.fiap.mototrack.specification.UsuarioSpecification;
+import br.com.fiap.mototrack.web.SaidaCache;
 import static br.com.fiap.mototrack.exception.HttpExceptionUtils.notFound;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -28,7 +28,7 @@ import java.util.List;
  * ## 📋 Responsabilidades:
  * - Cadastro, edição e exclusão de usuários do sistema
  * - Conversão entre DTOs e entidades com ModelMapper
- * - Validação e vinculação da filial ao usuário
+ * - Validação e vinculação da filial ao usuário, sem carregá-la ({@link ReferenciaIndex})
  * - Consultas dinâmicas com Specification
  * - Tratamento de exceções centralizadas e amigáveis
  *
@@ -45,8 +45,9 @@ public class UsuarioService {
     // =============================
 
     private final UsuarioRepository repository;
-    private final FilialRepository filialRepository;
+    private final ReferenciaIndex referencias;
     private final ModelMapper modelMapper;
+    private final SaidaCache saidaCache;
 
     // =============================
     // 📝 Cadastrar novo usuário
@@ -62,14 +63,13 @@ public class UsuarioService {
 
         // Se foi informado o ID da filial, vincula ao usuário
         if (dto.getFilialId() != null) {
-            Filial filial = filialRepository.findById(dto.getFilialId())
-                    .orElseThrow(() -> notFound("Filial", dto.getFilialId()));
-            usuario.setFilial(filial);
+            usuario.setFilial(referencias.filial(dto.getFilialId()));
         } else {
             usuario.setFilial(null);
         }
 
         Usuario salvo = repository.save(usuario);
+        saidaCache.invalidarListas("usuarios");
 
         // Prepara o response já incluindo o filialId, se houver
         UsuarioResponse response = modelMapper.map(salvo, UsuarioResponse.class);
@@ -96,14 +96,13 @@ public class UsuarioService {
         modelMapper.map(dto, existente);
 
         if (dto.getFilialId() != null) {
-            Filial filial = filialRepository.findById(dto.getFilialId())
-                    .orElseThrow(() -> notFound("Filial", dto.getFilialId()));
-            existente.setFilial(filial);
+            existente.setFilial(referencias.filial(dto.getFilialId()));
         } else {
             existente.setFilial(null);
         }
 
         Usuario atualizado = repository.save(existente);
+        saidaCache.invalidarListas("usuarios");
 
         UsuarioResponse response = modelMapper.map(atualizado, UsuarioResponse.class);
         if (atualizado.getFilial() != null) {
@@ -120,6 +119,7 @@ public class UsuarioService {
      * Retorna todos os usuários cadastrados no sistema.
      * Inclui o ID da filial associada, se houver.
      */
+    @Transactional(readOnly = true)
     public List<UsuarioResponse> consultarTodos() {
         return repository.findAll().stream()
                 .map(u -> {
@@ -140,6 +140,7 @@ public class UsuarioService {
      * Retorna os dados de um usuário específico.
      * Lança exceção se não encontrado.
      */
+    @Transactional(readOnly = true)
     public UsuarioResponse buscarPorId(Long id) {
         Usuario usuario = repository.findById(id)
                 .orElseThrow(() -> notFound("Usuario", id));
@@ -164,6 +165,7 @@ public class UsuarioService {
             throw notFound("Usuario", id);
         }
         repository.deleteById(id);
+        saidaCache.invalidarListas("usuarios");
     }
 
     // =============================
@@ -173,6 +175,7 @@ public class UsuarioService {
     /**
      * Realiza consulta paginada e com filtros para usuários.
      */
+    @Transactional(readOnly = true)
     public Page<UsuarioResponse> consultarComFiltro(UsuarioFilter filtro, Pageable pageable) {
         var spec = UsuarioSpecification.comFiltros(filtro);
         return repository.findAll(spec, pageable)
@@ -0,0 +1,90 @@
+package br.com.fiap.mototrack.sessao;
+
+import br.com.fiap.mototrack.cluster.ClusterLeadership;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.FlushMode;
+import org.springframework.session.SaveMode;
+import org.springframework.session.config.SessionRepositoryCustomizer;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.session.jdbc.config.annotation.web.http.EnableJdbcHttpSession;
+
+import java.time.Duration;
+
+/*
+ * # SessaoConfig
+ *
+ * ## Finalidade
+ * Sessão HTTP no Postgres (Spring Session JDBC), para que qualquer nó atenda
+ * qualquer requisição sem sticky session:
+ *
+ *   SessionRepositoryFilter → SessaoRepository → JdbcIndexedSessionRepository → spring_session
+ *
+ * - Atributos gravados compactados (`SessaoSerializador`) e desserializados sob demanda;
+ * - Sessão inalterada não é regravada (`SessaoRepository`);
+ * - Expiradas removidas em lotes (`SessaoLimpezaJob`; cron do Spring Session desligado);
+ * - Mensagens flash vão em cookie (`web.CookieFlashMapManager`), não na sessão.
+ *
+ * ## Por que `@EnableJdbcHttpSession`
+ * A autoconfiguração do Spring Boot recua quando existe qualquer `SessionRepository`
+ * (o nosso decorador). Por isso a configuração é explícita: flush no fim da requisição,
+ * gravação só de atributos alterados e cron de limpeza desligado. O timeout continua
+ * em `server.servlet.session.timeout` e o cookie em `server.servlet.session.cookie.*`.
+ *
+ * ## Propriedades
+ * - `mototrack.sessao.toque-min` — granularidade do último acesso;
+ * - `mototrack.sessao.compactar-acima` — tamanho (bytes) a partir do qual comprime;
+ * - `mototrack.sessao.limpeza-ms`, `limpeza.lote`, `limpeza.max-lotes`.
+ */
+@Configuration
+@ConditionalOnWebApplication
+@EnableJdbcHttpSession(flushMode = FlushMode.ON_SAVE,
+        saveMode = SaveMode.ON_SET_ATTRIBUTE,
+        cleanupCron = Scheduled.CRON_DISABLED)
+public class SessaoConfig implements BeanClassLoaderAware {
+
+    private ClassLoader classLoader;
+
+    @Override
+    public void setBeanClassLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /** Timeout das sessões = `server.servlet.session.timeout` (padrão 30 min). */
+    @Bean
+    public SessionRepositoryCustomizer<JdbcIndexedSessionRepository> sessaoTimeout(
+            @Value("${server.servlet.session.timeout:30m}") Duration timeout) {
+        return repository -> repository.setDefaultMaxInactiveInterval(timeout);
+    }
+
+    /** Nome exigido pelo Spring Session para substituir a serialização padrão. */
+    @Bean("springSessionConversionService")
+    public ConversionService springSessionConversionService(
+            @Value("${mototrack.sessao.compactar-acima:256}") int compactarAcima) {
+        return new SessaoSerializador(classLoader, compactarAcima).conversionService();
+    }
+
+    @Bean
+    @Primary
+    public SessaoRepository sessaoRepository(JdbcIndexedSessionRepository jdbc,
+                                             MeterRegistry registry,
+                                             @Value("${mototrack.sessao.toque-min:PT1M}") Duration toqueMin) {
+        return new SessaoRepository(jdbc, toqueMin, registry);
+    }
+
+    @Bean
+    public SessaoLimpezaJob sessaoLimpezaJob(JdbcTemplate jdbcTemplate,
+                                             ClusterLeadership leadership,
+                                             @Value("${mototrack.sessao.limpeza.lote:1000}") int lote,
+                                             @Value("${mototrack.sessao.limpeza.max-lotes:50}") int maxLotes) {
+        return new SessaoLimpezaJob(jdbcTemplate, leadership, lote, maxLotes);
+    }
+}
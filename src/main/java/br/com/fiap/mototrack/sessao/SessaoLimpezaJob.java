@@ -0,0 +1,75 @@
+package br.com.fiap.mototrack.sessao;
+
+import br.com.fiap.mototrack.cluster.ClusterLeadership;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * # 🧹 SessaoLimpezaJob
+ *
+ * Remove sessões expiradas de `spring_session` **em lotes**, no lugar do cron do
+ * Spring Session (um único `DELETE ... WHERE expiry_time < ?` que, depois de um pico
+ * de logins, apaga milhares de linhas e seus atributos numa transação só).
+ *
+ * ---
+ * ## 📋 Como funciona
+ * - Cada lote é um `DELETE` próprio (autocommit) de até `lote` sessões, na ordem de expiração;
+ * - `FOR UPDATE SKIP LOCKED` pula sessões sendo gravadas naquele instante;
+ * - Os atributos saem por `ON DELETE CASCADE`;
+ * - Para quando um lote vem incompleto ou após `max-lotes`.
+ *
+ * ---
+ * ## 🛰️ Cluster
+ * Roda em um único nó por vez (liderança via {@link ClusterLeadership}).
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Slf4j
+public class SessaoLimpezaJob {
+
+    static final String JOB = "sessoes-expiradas";
+
+    private static final String SQL_LOTE = """
+            delete from spring_session
+             where primary_id in (select primary_id
+                                    from spring_session
+                                   where expiry_time < ?
+                                   order by expiry_time
+                                   limit ?
+                                     for update skip locked)
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final ClusterLeadership leadership;
+    private final int lote;
+    private final int maxLotes;
+
+    public SessaoLimpezaJob(JdbcTemplate jdbc, ClusterLeadership leadership, int lote, int maxLotes) {
+        this.jdbc = jdbc;
+        this.leadership = leadership;
+        this.lote = lote;
+        this.maxLotes = maxLotes;
+    }
+
+    @Scheduled(initialDelayString = "${mototrack.sessao.limpeza-ms:60000}",
+            fixedDelayString = "${mototrack.sessao.limpeza-ms:60000}")
+    public void executar() {
+        if (!leadership.isLeader(JOB)) return;
+        try {
+            long agora = System.currentTimeMillis();
+            long total = 0;
+            for (int i = 0; i < maxLotes; i++) {
+                int removidas = jdbc.update(SQL_LOTE, agora, lote);
+                total += removidas;
+                if (removidas < lote) break;
+            }
+            if (total > 0) log.info("Sessões expiradas removidas: {}", total);
+        } catch (DataAccessException e) {
+            log.warn("Falha ao remover sessões expiradas: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package br.com.fiap.mototrack.sessao;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * # 🗄️ SessaoRepository
+ *
+ * Decorador do `JdbcIndexedSessionRepository` que **não grava sessões inalteradas**.
+ *
+ * ---
+ * ## 📋 Por quê
+ * A cada requisição o `SessionRepositoryFilter` atualiza o último acesso da sessão,
+ * o que no JDBC vira um `UPDATE spring_session` (em transação própria) mesmo quando
+ * nada mudou. Aqui:
+ * - o último acesso só é repassado se avançou pelo menos `toqueMin`
+ *   (a expiração fica, no máximo, `toqueMin` adiantada);
+ * - `save` só chega ao banco para sessão nova ou com atributo, id ou timeout alterado.
+ *
+ * Pressupõe `SaveMode.ON_SET_ATTRIBUTE` (ver `SessaoConfig`): ler atributo não é alteração.
+ *
+ * ---
+ * ## 📈 Métricas
+ * - `mototrack.sessao.gravacoes{resultado=gravada|evitada}`
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public class SessaoRepository implements FindByIndexNameSessionRepository<SessaoRepository.Sessao> {
+
+    private final FindByIndexNameSessionRepository<Session> delegate;
+    private final Duration toqueMin;
+    private final Counter gravadas;
+    private final Counter evitadas;
+
+    @SuppressWarnings("unchecked")
+    public SessaoRepository(JdbcIndexedSessionRepository jdbc, Duration toqueMin, MeterRegistry registry) {
+        // JdbcSession é package-private; o delegate só recebe de volta as sessões que ele mesmo criou
+        this.delegate = (FindByIndexNameSessionRepository<Session>) (FindByIndexNameSessionRepository<?>) jdbc;
+        this.toqueMin = toqueMin;
+        this.gravadas = Counter.builder("mototrack.sessao.gravacoes").tag("resultado", "gravada").register(registry);
+        this.evitadas = Counter.builder("mototrack.sessao.gravacoes").tag("resultado", "evitada").register(registry);
+    }
+
+    // =============================
+    // 🔁 SessionRepository
+    // =============================
+
+    @Override
+    public Sessao createSession() {
+        return new Sessao(delegate.createSession(), true);
+    }
+
+    @Override
+    public void save(Sessao sessao) {
+        if (!sessao.nova && !sessao.alterada) {
+            evitadas.increment();
+            return;
+        }
+        delegate.save(sessao.delegate);
+        sessao.nova = false;
+        sessao.alterada = false;
+        gravadas.increment();
+    }
+
+    @Override
+    public Sessao findById(String id) {
+        Session sessao = delegate.findById(id);
+        return sessao == null ? null : new Sessao(sessao, false);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        delegate.deleteById(id);
+    }
+
+    @Override
+    public Map<String, Sessao> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        Map<String, Sessao> sessoes = new LinkedHashMap<>();
+        delegate.findByIndexNameAndIndexValue(indexName, indexValue)
+                .forEach((id, sessao) -> sessoes.put(id, new Sessao(sessao, false)));
+        return sessoes;
+    }
+
+    // =============================
+    // 🧾 Sessão com controle de alteração
+    // =============================
+
+    /** Sessão que registra se algo relevante mudou desde a leitura. */
+    public final class Sessao implements Session {
+
+        private final Session delegate;
+        private boolean nova;
+        private boolean alterada;
+
+        private Sessao(Session delegate, boolean nova) {
+            this.delegate = delegate;
+            this.nova = nova;
+        }
+
+        @Override
+        public String getId() {
+            return delegate.getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+            alterada = true;
+            return delegate.changeSessionId();
+        }
+
+        @Override
+        public <T> T getAttribute(String nome) {
+            return delegate.getAttribute(nome);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return delegate.getAttributeNames();
+        }
+
+        @Override
+        public void setAttribute(String nome, Object valor) {
+            alterada = true;
+            delegate.setAttribute(nome, valor);
+        }
+
+        @Override
+        public void removeAttribute(String nome) {
+            if (!delegate.getAttributeNames().contains(nome)) return; // sem desserializar o valor
+            alterada = true;
+            delegate.removeAttribute(nome);
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return delegate.getCreationTime();
+        }
+
+        /** Repassa o toque só se o último acesso gravado já estiver `toqueMin` para trás. */
+        @Override
+        public void setLastAccessedTime(Instant agora) {
+            if (nova || Duration.between(delegate.getLastAccessedTime(), agora).compareTo(toqueMin) >= 0) {
+                alterada = true;
+                delegate.setLastAccessedTime(agora);
+            }
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return delegate.getLastAccessedTime();
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration intervalo) {
+            if (intervalo.equals(delegate.getMaxInactiveInterval())) return;
+            alterada = true;
+            delegate.setMaxInactiveInterval(intervalo);
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return delegate.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return delegate.isExpired();
+        }
+    }
+}
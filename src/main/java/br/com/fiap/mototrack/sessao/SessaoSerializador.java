@@ -0,0 +1,111 @@
+package br.com.fiap.mototrack.sessao;
+
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.core.serializer.support.SerializationFailedException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * # 🗜️ SessaoSerializador
+ *
+ * Serialização compacta dos atributos de sessão gravados em `spring_session_attributes`.
+ *
+ * ---
+ * ## 📋 Formato
+ * - 1º byte = marcador: `1` serialização Java pura, `2` serialização Java + deflate;
+ * - Atributos pequenos (CSRF, flags) ficam crus — comprimir não compensa;
+ * - Acima de `compactarAcima` bytes (ex.: `SPRING_SECURITY_CONTEXT`, ~1,5 KB) vão
+ *   com deflate rápido, e só se ficarem de fato menores;
+ * - Sem marcador (`0xAC 0xED`): formato padrão do Spring Session, ainda lido.
+ *
+ * A desserialização continua **preguiçosa**: o Spring Session só chama
+ * {@link #desserializar(byte[])} quando o atributo é lido na requisição.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public final class SessaoSerializador {
+
+    private static final byte CRU = 1;
+    private static final byte DEFLATE = 2;
+
+    private final ClassLoader classLoader;
+    private final int compactarAcima;
+
+    public SessaoSerializador(ClassLoader classLoader, int compactarAcima) {
+        this.classLoader = classLoader;
+        this.compactarAcima = compactarAcima;
+    }
+
+    /** ConversionService no formato esperado pelo Spring Session (`Object` ↔ `byte[]`). */
+    public GenericConversionService conversionService() {
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(Object.class, byte[].class, this::serializar);
+        conversionService.addConverter(byte[].class, Object.class, this::desserializar);
+        return conversionService;
+    }
+
+    // =============================
+    // 💾 Escrita
+    // =============================
+
+    public byte[] serializar(Object valor) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+            out.write(CRU);
+            try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+                oos.writeObject(valor);
+            }
+            byte[] cru = out.toByteArray();
+            if (cru.length - 1 < compactarAcima) return cru;
+
+            byte[] compactado = deflate(cru);
+            return compactado.length < cru.length ? compactado : cru;
+        } catch (IOException e) {
+            throw new SerializationFailedException("Falha ao serializar atributo de sessão " + valor.getClass().getName(), e);
+        }
+    }
+
+    private static byte[] deflate(byte[] cru) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(cru, 1, cru.length - 1);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(cru.length / 2);
+            out.write(DEFLATE);
+            byte[] buffer = new byte[512];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    // =============================
+    // 📖 Leitura
+    // =============================
+
+    public Object desserializar(byte[] bytes) {
+        InputStream in = switch (bytes[0]) {
+            case CRU -> new ByteArrayInputStream(bytes, 1, bytes.length - 1);
+            case DEFLATE -> new InflaterInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1));
+            default -> new ByteArrayInputStream(bytes);
+        };
+        try (ObjectInputStream ois = new ConfigurableObjectInputStream(in, classLoader)) {
+            return ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new SerializationFailedException("Falha ao desserializar atributo de sessão", e);
+        }
+    }
+}
@@ -19,7 +19,7 @@ import java.util.List;
  *
  * - 🔑 `id` do agendamento
  * - 🛵 `id` da moto vinculada
- * - 📝 `descrição` (busca parcial, ignorando maiúsculas/minúsculas)
+ * - 📝 `descrição` (busca parcial, ignorando maiúsculas/minúsculas, ou full-text com `textoCompleto`)
  * - 📅 Intervalo de `dataAgendada`
  *
  * ---
@@ -52,9 +52,10 @@ public class AgendamentoSpecification {
 
             /**
              * ### 📝 Filtro por Descrição
-             * Aplica um LIKE ignorando case para buscar termos contidos na descrição.
+             * Aplica um LIKE ignorando case para buscar termos contidos na descrição
+             * ou, com `textoCompleto=true`, busca por palavras (full-text).
              */
-            like(p, cb, root.get("descricao"), f.descricao());
+            SpecificationUtils.texto(p, cb, root.get("descricao"), f.descricao(), f.textoCompleto());
 
             /**
              * ### 📅 Filtro por Intervalo de Datas Agendadas
@@ -85,17 +86,6 @@ public class AgendamentoSpecification {
         }
     }
 
-    /**
-     * ### 🧩 `like` - Busca textual parcial (`%valor%`)
-     * Converte ambos os lados para lowercase para tornar a busca case-insensitive.
-     */
-    private static void like(List<Predicate> p, jakarta.persistence.criteria.CriteriaBuilder cb,
-                             jakarta.persistence.criteria.Path<String> path, String value) {
-        if (value != null && !value.isBlank()) {
-            p.add(cb.like(cb.lower(path), "%" + value.toLowerCase() + "%"));
-        }
-    }
-
     /**
      * ### 🧩 `range` - Faixa de valores (`>= min`, `<= max`)
      * Aplica filtro de intervalo entre dois valores comparáveis, como datas.
@@ -19,6 +19,7 @@ import java.util.List;
  * ## Filtros suportados
  * - 🔑 Identificadores: `id` (Evento) e `moto.id`
  * - 🏷️ Atributos textuais: `tipo` (igualdade, case-insensitive), `motivo` e `localizacao` (LIKE, case-insensitive)
+ * - 🔎 `textoCompleto`: troca o LIKE de `motivo` por busca full-text (to_tsvector/plainto_tsquery)
  * - 📅 Período: `dataInicio` e `dataFim` (ambos `LocalDate`) aplicados sobre o campo **dataHora** (`LocalDateTime`)
  *
  * Obs.: O atributo de data na entidade chama-se **dataHora**. Evite usar nomes inexistentes como "dataEvento".
@@ -60,11 +61,12 @@ public class EventoSpecification {
             // tipo: igualdade ignorando maiúsculas/minúsculas
             eqIgnoreCase(p, cb, root.get("tipo"), f.tipo());
 
-            // motivo: busca parcial (LIKE %valor%), case-insensitive
-            like(p, cb, root.get("motivo"), f.motivo());
+            // motivo: busca parcial (LIKE %valor%), case-insensitive,
+            // ou por palavras (full-text 'portuguese') quando textoCompleto=true
+            SpecificationUtils.texto(p, cb, root.get("motivo"), f.motivo(), f.textoCompleto());
 
             // localizacao: busca parcial (LIKE %valor%), case-insensitive
-            like(p, cb, root.get("localizacao"), f.localizacao());
+            SpecificationUtils.parcial(p, cb, root.get("localizacao"), f.localizacao());
 
             // -----------------------------------------------------------------
             // 📅 Período (dataInicio/dataFim são LocalDate; campo é LocalDateTime)
@@ -113,19 +115,6 @@ public class EventoSpecification {
         }
     }
 
-    /**
-     * LIKE case-insensitive: LOWER(path) LIKE %lower(value)%.
-     * Ótimo para buscas parciais em textos.
-     */
-    private static void like(List<Predicate> p,
-                             jakarta.persistence.criteria.CriteriaBuilder cb,
-                             jakarta.persistence.criteria.Path<String> path,
-                             String value) {
-        if (value != null && !value.isBlank()) {
-            p.add(cb.like(cb.lower(path), "%" + value.toLowerCase() + "%"));
-        }
-    }
-
     /**
      * Intervalo [min, max] para campos comparáveis (>= min e <= max).
      * Adiciona cada lado somente se o valor existir.
@@ -47,17 +47,17 @@ public class FilialSpecification {
             /**
              * ### 🏷️ Filtro por Nome da filial (parcial, case-insensitive)
              */
-            like(p, cb, root.get("nome"), f.nome());
+            SpecificationUtils.parcial(p, cb, root.get("nome"), f.nome());
 
             /**
              * ### 🏷️ Filtro por Bairro da filial (parcial, case-insensitive)
              */
-            like(p, cb, root.get("bairro"), f.bairro());
+            SpecificationUtils.parcial(p, cb, root.get("bairro"), f.bairro());
 
             /**
              * ### 🏷️ Filtro por Cidade da filial (parcial, case-insensitive)
              */
-            like(p, cb, root.get("cidade"), f.cidade());
+            SpecificationUtils.parcial(p, cb, root.get("cidade"), f.cidade());
 
             /**
              * ### 🏷️ Filtro por Estado da filial (igualdade ignorando case)
@@ -68,7 +68,7 @@ public class FilialSpecification {
             /**
              * ### 🏷️ Filtro por CEP da filial (parcial, case-insensitive)
              */
-            like(p, cb, root.get("cep"), f.cep());
+            SpecificationUtils.parcial(p, cb, root.get("cep"), f.cep());
 
             /**
              * ### 🔄 Combinação dos predicados com operador AND
@@ -100,14 +100,4 @@ public class FilialSpecification {
             p.add(cb.equal(cb.lower(path), value.toLowerCase()));
         }
     }
-
-    /**
-     * ### 🧩 `like` - Busca parcial com LIKE (case-insensitive)
-     */
-    private static void like(List<Predicate> p, jakarta.persistence.criteria.CriteriaBuilder cb,
-                             jakarta.persistence.criteria.Path<String> path, String value) {
-        if (value != null && !value.isBlank()) {
-            p.add(cb.like(cb.lower(path), "%" + value.toLowerCase() + "%"));
-        }
-    }
 }
@@ -48,17 +48,17 @@ public class MotoSpecification {
              * ### 🔍 Filtro por Placa (busca parcial, ignorando maiúsculas/minúsculas)
              * Permite buscar motos por parte da placa, ex: "abc" encontra "ABC1234"
              */
-            like(p, cb, root.get("placa"), f.placa());
+            SpecificationUtils.parcial(p, cb, root.get("placa"), f.placa());
 
             /**
              * ### 🔍 Filtro por Modelo (busca parcial, ignorando case)
              */
-            like(p, cb, root.get("modelo"), f.modelo());
+            SpecificationUtils.parcial(p, cb, root.get("modelo"), f.modelo());
 
             /**
              * ### 🔍 Filtro por Marca (busca parcial, ignorando case)
              */
-            like(p, cb, root.get("marca"), f.marca());
+            SpecificationUtils.parcial(p, cb, root.get("marca"), f.marca());
 
             /**
              * ### 🔍 Filtro por Status (igualdade exata, ignorando case)
@@ -121,17 +121,6 @@ public class MotoSpecification {
         }
     }
 
-    /**
-     * ### 🧩 `like` - Busca parcial (contém), ignorando case
-     * Aplica um `LIKE` com `%valor%`, para facilitar buscas por parte do texto.
-     */
-    private static void like(List<Predicate> p, jakarta.persistence.criteria.CriteriaBuilder cb,
-                             jakarta.persistence.criteria.Path<String> path, String value) {
-        if (value != null && !value.isBlank()) {
-            p.add(cb.like(cb.lower(path), "%" + value.toLowerCase() + "%"));
-        }
-    }
-
     /**
      * ### 🧩 `range` - Faixa de valores
      * Permite aplicar `>=` e/ou `<=` para campos comparáveis como datas e números.
@@ -0,0 +1,83 @@
+package br.com.fiap.mototrack.specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+import java.util.List;
+
+/**
+ * # 🔧 SpecificationUtils
+ *
+ * Predicados de texto compartilhados pelas Specifications, escritos para casar
+ * com os índices criados na migração `V4__indices_busca_texto.sql`.
+ *
+ * ---
+ * ## 📋 Predicados
+ * - {@link #contem}: `lower(col) LIKE '%valor%' ESCAPE '\'` — atendido pelos índices
+ *   **GIN `pg_trgm`** sobre `lower(col)` (mesma expressão, por isso o `lower` no lado da coluna).
+ *   Curingas digitados pelo usuário (`%`, `_`) são escapados e tratados como texto.
+ * - {@link #textoCompleto}: `to_tsvector('portuguese', col) @@ plainto_tsquery('portuguese', valor)` —
+ *   atendido pelos índices GIN de full-text (função `fts`, registrada em
+ *   {@link br.com.fiap.mototrack.config.PostgresFunctionsContributor}).
+ * - {@link #parcial} / {@link #texto}: adicionam o predicado à lista do `comFiltros` só quando o
+ *   valor foi preenchido; `texto` escolhe entre os dois conforme a flag `textoCompleto` do filtro.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public final class SpecificationUtils {
+
+    /** Caractere de escape usado nos padrões LIKE. */
+    public static final char ESCAPE = '\\';
+
+    private SpecificationUtils() {
+        // Não instanciar
+    }
+
+    /**
+     * Busca parcial case-insensitive (`contém`), compatível com índice trigram em `lower(col)`.
+     */
+    public static Predicate contem(CriteriaBuilder cb, Path<String> path, String value) {
+        return cb.like(cb.lower(path), "%" + escaparLike(value.toLowerCase()) + "%", ESCAPE);
+    }
+
+    /**
+     * Busca por palavras (full-text, dicionário `portuguese`), com stemming e sem ordem fixa.
+     */
+    public static Predicate textoCompleto(CriteriaBuilder cb, Path<String> path, String value) {
+        return cb.isTrue(cb.function("fts", Boolean.class, path, cb.literal(value)));
+    }
+
+    /**
+     * Adiciona em `p` a busca parcial do campo. Valores nulos ou em branco não geram predicado.
+     */
+    public static void parcial(List<Predicate> p, CriteriaBuilder cb, Path<String> path, String value) {
+        texto(p, cb, path, value, false);
+    }
+
+    /**
+     * Adiciona em `p` o filtro de texto do campo: full-text quando `textoCompleto=true`,
+     * senão busca parcial. Valores nulos ou em branco não geram predicado.
+     */
+    public static void texto(List<Predicate> p, CriteriaBuilder cb, Path<String> path,
+                             String value, Boolean textoCompleto) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        p.add(Boolean.TRUE.equals(textoCompleto) ? textoCompleto(cb, path, value) : contem(cb, path, value));
+    }
+
+    /**
+     * Escapa os curingas do LIKE para que o valor seja comparado literalmente.
+     */
+    static String escaparLike(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 4);
+        for (char c : value.toCharArray()) {
+            if (c == '%' || c == '_' || c == ESCAPE) sb.append(ESCAPE);
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
@@ -48,10 +48,10 @@ public class UsuarioSpecification {
             }
 
             // 🧑 Filtro por Nome (busca parcial, case-insensitive)
-            like(p, cb, root.get("nome"), f.nome());
+            SpecificationUtils.parcial(p, cb, root.get("nome"), f.nome());
 
             // 📧 Filtro por E-mail (busca parcial, case-insensitive)
-            like(p, cb, root.get("email"), f.email());
+            SpecificationUtils.parcial(p, cb, root.get("email"), f.email());
 
             // 🔐 Filtro por Perfil (igualdade ignorando maiúsculas/minúsculas)
             eqIgnoreCase(p, cb, root.get("perfil"), f.perfil());
@@ -85,14 +85,4 @@ public class UsuarioSpecification {
             p.add(cb.equal(cb.lower(path), value.toLowerCase()));
         }
     }
-
-    /**
-     * ### 🧩 `like` - Busca parcial com LIKE (`%valor%`) e insensível a caixa
-     */
-    private static void like(List<Predicate> p, jakarta.persistence.criteria.CriteriaBuilder cb,
-                             jakarta.persistence.criteria.Path<String> path, String value) {
-        if (value != null && !value.isBlank()) {
-            p.add(cb.like(cb.lower(path), "%" + value.toLowerCase() + "%"));
-        }
-    }
 }
@@ -0,0 +1,43 @@
+package br.com.fiap.mototrack.sql;
+
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/*
+ * # DataSourceProxyConfig
+ *
+ * ## Finalidade
+ * Envolver o `DataSource` da aplicação com o **datasource-proxy**, para que todo
+ * statement JDBC (JPA, JdbcTemplate, jobs) passe pelos `QueryExecutionListener`
+ * registrados como beans — medição de tempo, captura de queries lentas, etc.
+ *
+ * ## Observações
+ * - Substitui o antigo `spring.jpa.show-sql`: nada é logado por statement;
+ *   apenas o que os listeners decidirem registrar.
+ * - Os listeners são resolvidos de forma tardia (ObjectProvider) para não
+ *   antecipar a criação de beans durante o post-processing.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<QueryExecutionListener> listeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource ds) || bean instanceof ProxyDataSource) return bean;
+
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(ds).name(beanName);
+                listeners.orderedStream().forEach(builder::listener);
+                return builder.build();
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.fiap.mototrack.sql;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * # 🗄️ L2CacheEndpoint
+ *
+ * Endpoint actuator `/actuator/l2cache` com as estatísticas do cache de 2º nível do Hibernate:
+ * - `GET` lista hits, misses, puts e taxa de acerto por região (`filial`, `moto`,
+ *   `moto-filtro`, ...), além dos totais do cache de consultas;
+ * - `DELETE` zera as estatísticas (ex.: antes de uma rodada de carga).
+ *
+ * Requer `hibernate.generate_statistics=true`.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Component
+@Endpoint(id = "l2cache")
+public class L2CacheEndpoint {
+
+    private final Statistics statistics;
+
+    public L2CacheEndpoint(EntityManagerFactory emf) {
+        this.statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public Resumo consultar() {
+        List<Regiao> regioes = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(nome -> regiao(nome, statistics.getCacheRegionStatistics(nome)))
+                .toList();
+        return new Resumo(
+                statistics.isStatisticsEnabled(),
+                regioes,
+                new Totais(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+                        statistics.getQueryCachePutCount(),
+                        taxa(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount())),
+                new Totais(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount(),
+                        statistics.getSecondLevelCachePutCount(),
+                        taxa(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount())));
+    }
+
+    @DeleteOperation
+    public void zerar() {
+        statistics.clear();
+    }
+
+    // =============================
+    // 📄 Resposta
+    // =============================
+
+    public record Resumo(boolean estatisticasAtivas, List<Regiao> regioes, Totais consultas, Totais entidades) {}
+
+    public record Regiao(String nome, long hits, long misses, long puts, double taxaAcerto) {}
+
+    public record Totais(long hits, long misses, long puts, double taxaAcerto) {}
+
+    private static Regiao regiao(String nome, CacheRegionStatistics s) {
+        if (s == null) return new Regiao(nome, 0, 0, 0, 0);
+        return new Regiao(nome, s.getHitCount(), s.getMissCount(), s.getPutCount(), taxa(s.getHitCount(), s.getMissCount()));
+    }
+
+    private static double taxa(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.fiap.mototrack.sql;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * # 🐢 SlowQueryEndpoint
+ *
+ * Endpoint actuator `/actuator/slowqueries`:
+ * - `GET` lista as queries mais lentas (SQL, parâmetros, origem e plano, se houver);
+ * - `DELETE` limpa o registro (ex.: depois de criar um índice, para medir de novo).
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private final SlowQueryRegistry registry;
+
+    @ReadOperation
+    public List<SlowQueryRegistry.SlowQuery> listar() {
+        return registry.listar();
+    }
+
+    @DeleteOperation
+    public void limpar() {
+        registry.limpar();
+    }
+}
@@ -0,0 +1,203 @@
+package br.com.fiap.mototrack.sql;
+
+import br.com.fiap.mototrack.sql.SlowQueryRegistry.SlowQuery;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * # 🔎 SlowQueryListener
+ *
+ * Listener do datasource-proxy que cronometra **todo statement** e envia os que
+ * passam do limite (`mototrack.sql.slow.threshold-ms`) para o {@link SlowQueryRegistry}.
+ *
+ * ---
+ * ## 🔒 Parâmetros
+ * Por padrão o log e o registro guardam só o **tipo** de cada parâmetro (`String`, `Long`, ...):
+ * os valores podem ser hashes de senha (`UsuarioRepository.atualizarSenha`), e-mails etc.
+ * Com `mototrack.sql.slow.log-params=true` os valores aparecem (truncados) — só para depuração local.
+ *
+ * ---
+ * ## 🧪 EXPLAIN opcional
+ * Com `mototrack.sql.slow.explain=true`, cada `SELECT` lento guardado ganha um
+ * `EXPLAIN` **simples** (só o plano estimado), executado **fora da requisição**:
+ * - em uma única thread com fila curta (o excedente é descartado);
+ * - em transação read-only, com `statement_timeout` e rollback ao final;
+ * - no máximo uma vez por SQL a cada `explain-interval`.
+ *
+ * Sem `ANALYZE` de propósito: a query não é executada de novo, então funções com
+ * efeito colateral no SELECT (ex.: `pg_try_advisory_lock`) não rodam uma segunda vez.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class SlowQueryListener implements QueryExecutionListener, DisposableBean {
+
+    private static final int MAX_PARAM = 200;
+
+    private final SlowQueryRegistry registry;
+    private final ObjectProvider<DataSource> dataSource;
+    private final long thresholdMs;
+    private final boolean logParams;
+    private final boolean explain;
+    private final Duration explainInterval;
+
+    private final Map<String, Instant> ultimoExplain = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(
+            1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16),
+            r -> {
+                Thread t = new Thread(r, "slow-query-explain");
+                t.setDaemon(true);
+                return t;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    public SlowQueryListener(SlowQueryRegistry registry,
+                             ObjectProvider<DataSource> dataSource,
+                             @Value("${mototrack.sql.slow.threshold-ms:200}") long thresholdMs,
+                             @Value("${mototrack.sql.slow.log-params:false}") boolean logParams,
+                             @Value("${mototrack.sql.slow.explain:false}") boolean explain,
+                             @Value("${mototrack.sql.slow.explain-interval:PT10M}") Duration explainInterval) {
+        this.registry = registry;
+        this.dataSource = dataSource;
+        this.thresholdMs = thresholdMs;
+        this.logParams = logParams;
+        this.explain = explain;
+        this.explainInterval = explainInterval;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // nada a fazer antes
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        if (elapsed < thresholdMs) return;
+
+        String origem = origemDaRequisicao();
+        for (QueryInfo qi : queryInfoList) {
+            String sql = qi.getQuery();
+            if (sql == null || sql.regionMatches(true, 0, "explain", 0, 7)) continue;
+
+            List<Object> valores = primeiroLote(qi);
+            List<String> parametros = valores.stream()
+                    .map(logParams ? SlowQueryListener::formatar : SlowQueryListener::tipo)
+                    .toList();
+            log.warn("Query lenta ({} ms) em {}: {} {}", elapsed, origem, sql, parametros);
+
+            SlowQuery registrada = registry.registrar(elapsed, sql, parametros, origem);
+            if (registrada != null && explain && sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+                agendarExplain(registrada, sql, valores);
+            }
+        }
+    }
+
+    // =============================
+    // 🧪 EXPLAIN (plano estimado)
+    // =============================
+
+    private void agendarExplain(SlowQuery alvo, String sql, List<Object> valores) {
+        Instant agora = Instant.now();
+        Instant anterior = ultimoExplain.get(sql);
+        if (anterior != null && anterior.plus(explainInterval).isAfter(agora)) return;
+        ultimoExplain.put(sql, agora);
+        explainExecutor.execute(() -> alvo.setPlano(explicar(sql, valores)));
+    }
+
+    private String explicar(String sql, List<Object> valores) {
+        try (Connection c = dataSource.getObject().getConnection()) {
+            c.setAutoCommit(false);
+            c.setReadOnly(true);
+            try (Statement st = c.createStatement()) {
+                st.execute("set local statement_timeout = '10s'");
+            }
+            StringBuilder plano = new StringBuilder();
+            try (PreparedStatement ps = c.prepareStatement("explain " + sql)) {
+                for (int i = 0; i < valores.size(); i++) ps.setObject(i + 1, valores.get(i));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) plano.append(rs.getString(1)).append('\n');
+                }
+            } finally {
+                c.rollback();
+            }
+            return plano.toString();
+        } catch (SQLException | RuntimeException e) {
+            return "EXPLAIN indisponível: " + e.getMessage();
+        }
+    }
+
+    // =============================
+    // 🔧 Auxiliares
+    // =============================
+
+    /** Valores do primeiro conjunto de parâmetros (batches guardam só o primeiro). */
+    private static List<Object> primeiroLote(QueryInfo qi) {
+        List<List<ParameterSetOperation>> lotes = qi.getParametersList();
+        if (lotes == null || lotes.isEmpty()) return List.of();
+        List<ParameterSetOperation> ops = new ArrayList<>(lotes.get(0));
+        ops.removeIf(op -> !(op.getArgs()[0] instanceof Integer));
+        ops.sort(Comparator.comparingInt(op -> (Integer) op.getArgs()[0]));
+        List<Object> valores = new ArrayList<>(ops.size());
+        for (ParameterSetOperation op : ops) {
+            Object[] args = op.getArgs();
+            valores.add(ParameterSetOperation.isSetNullParameterOperation(op) || args.length < 2 ? null : args[1]);
+        }
+        return valores;
+    }
+
+    private static String formatar(Object valor) {
+        if (valor == null) return "null";
+        String s = valor.toString();
+        return s.length() > MAX_PARAM ? s.substring(0, MAX_PARAM) + "…" : s;
+    }
+
+    /** Só o tipo do valor, para não vazar dados no log. */
+    private static String tipo(Object valor) {
+        return valor == null ? "null" : valor.getClass().getSimpleName();
+    }
+
+    private static String origemDaRequisicao() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attrs) {
+            HttpServletRequest req = attrs.getRequest();
+            return req.getMethod() + " " + req.getRequestURI();
+        }
+        return Thread.currentThread().getName().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void destroy() {
+        explainExecutor.shutdownNow();
+    }
+}
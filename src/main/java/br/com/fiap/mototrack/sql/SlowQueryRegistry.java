@@ -0,0 +1,91 @@
+package br.com.fiap.mototrack.sql;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * # 🐢 SlowQueryRegistry
+ *
+ * Guarda as **N queries mais lentas** observadas desde a subida (ou desde a
+ * última limpeza), com os tipos dos parâmetros (ou valores, se habilitado), origem
+ * da requisição e, opcionalmente, o plano `EXPLAIN`.
+ *
+ * ---
+ * ## 📋 Estrutura
+ * - Min-heap limitado a `mototrack.sql.slow.top` entradas: uma query nova só entra
+ *   se for mais lenta que a mais rápida guardada (O(log N), memória fixa).
+ * - Exposto pelo endpoint actuator `slowqueries` ({@link SlowQueryEndpoint}).
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Component
+public class SlowQueryRegistry {
+
+    private final int capacidade;
+    private final PriorityQueue<SlowQuery> heap;
+
+    public SlowQueryRegistry(@Value("${mototrack.sql.slow.top:50}") int capacidade) {
+        this.capacidade = Math.max(1, capacidade);
+        this.heap = new PriorityQueue<>(this.capacidade, Comparator.comparingLong(SlowQuery::getDuracaoMs));
+    }
+
+    /**
+     * Registra a query se ela estiver entre as N mais lentas.
+     *
+     * @return a entrada guardada, ou null se foi descartada
+     */
+    public synchronized SlowQuery registrar(long duracaoMs, String sql, List<String> parametros, String origem) {
+        if (heap.size() >= capacidade) {
+            if (heap.peek().getDuracaoMs() >= duracaoMs) return null;
+            heap.poll();
+        }
+        SlowQuery q = new SlowQuery(Instant.now(), duracaoMs, sql, parametros, origem);
+        heap.add(q);
+        return q;
+    }
+
+    /** Queries guardadas, da mais lenta para a mais rápida. */
+    public synchronized List<SlowQuery> listar() {
+        List<SlowQuery> lista = new ArrayList<>(heap);
+        lista.sort(Comparator.comparingLong(SlowQuery::getDuracaoMs).reversed());
+        return lista;
+    }
+
+    public synchronized void limpar() {
+        heap.clear();
+    }
+
+    /**
+     * Query lenta capturada. O plano é preenchido depois, de forma assíncrona.
+     */
+    @Getter
+    public static final class SlowQuery {
+        private final Instant quando;
+        private final long duracaoMs;
+        private final String sql;
+        private final List<String> parametros;
+        private final String origem;
+        private volatile String plano;
+
+        SlowQuery(Instant quando, long duracaoMs, String sql, List<String> parametros, String origem) {
+            this.quando = quando;
+            this.duracaoMs = duracaoMs;
+            this.sql = sql;
+            this.parametros = parametros;
+            this.origem = origem;
+        }
+
+        void setPlano(String plano) {
+            this.plano = plano;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package br.com.fiap.mototrack.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * # 🚨 SqlCountFilter
+ *
+ * Conta os statements SQL de cada requisição para pegar regressões de **N+1**
+ * (ex.: uma mudança no mapeamento de `Moto.filial`).
+ *
+ * ---
+ * ## 📋 Saídas
+ * - Header `X-SQL-Count` com os statements executados até o início da resposta.
+ * - Métrica `mototrack.sql.statements` (summary) por `method` e `uri` (padrão da rota).
+ * - Acima de `mototrack.sql.guard.max-statements`: log de alerta ou, com
+ *   `mototrack.sql.guard.fail=true` (testes), falha da requisição.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-SQL-Count";
+
+    private final MeterRegistry registry;
+    private final int maxStatements;
+    private final boolean falhar;
+
+    public SqlCountFilter(MeterRegistry registry,
+                          @Value("${mototrack.sql.guard.max-statements:30}") int maxStatements,
+                          @Value("${mototrack.sql.guard.fail:false}") boolean falhar) {
+        this.registry = registry;
+        this.maxStatements = maxStatements;
+        this.falhar = falhar;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        SqlStatementCounter.iniciar();
+        ContagemResponse wrapper = new ContagemResponse(response);
+        long total;
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            wrapper.escreverHeader();
+            total = SqlStatementCounter.encerrar();
+        }
+
+        String uri = rota(request);
+        DistributionSummary.builder("mototrack.sql.statements")
+                .description("Statements SQL executados por requisição")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registry)
+                .record(total);
+
+        if (total > maxStatements) {
+            String msg = "Requisição %s %s executou %d statements SQL (limite %d)"
+                    .formatted(request.getMethod(), uri, total, maxStatements);
+            if (falhar) throw new IllegalStateException(msg);
+            log.warn(msg);
+        }
+    }
+
+    /** Padrão da rota (baixa cardinalidade); "UNKNOWN" fora do Spring MVC. */
+    private static String rota(HttpServletRequest request) {
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return padrao != null ? padrao.toString() : "UNKNOWN";
+    }
+
+    /**
+     * Escreve o header com o total parcial assim que o corpo começa a ser
+     * escrito (depois disso os headers já não podem mudar).
+     */
+    private static final class ContagemResponse extends HttpServletResponseWrapper {
+
+        private boolean escrito;
+
+        ContagemResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        void escreverHeader() {
+            if (escrito || isCommitted()) return;
+            escrito = true;
+            setHeader(HEADER, Long.toString(SqlStatementCounter.atual()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            escreverHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            escreverHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            escreverHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            escreverHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            escreverHeader();
+            super.sendRedirect(location);
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            escreverHeader();
+            super.flushBuffer();
+        }
+    }
+}
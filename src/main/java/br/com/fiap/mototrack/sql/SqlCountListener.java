@@ -0,0 +1,33 @@
+package br.com.fiap.mototrack.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * # 🔢 SqlCountListener
+ *
+ * Listener do datasource-proxy que soma cada statement executado no
+ * {@link SqlStatementCounter} da thread atual. Um batch conta como um
+ * statement por SQL distinto, que é o que vai ao banco em cada round-trip.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Component
+public class SqlCountListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // nada a fazer antes
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatementCounter.incrementar(execInfo.isBatch() ? 1 : queryInfoList.size());
+    }
+}
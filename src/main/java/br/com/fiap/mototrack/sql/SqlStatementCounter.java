@@ -0,0 +1,55 @@
+package br.com.fiap.mototrack.sql;
+
+/**
+ * # 🔢 SqlStatementCounter
+ *
+ * Contador de statements JDBC **por thread**, alimentado pelo
+ * {@link SqlCountListener}. Só conta enquanto houver uma contagem ativa
+ * (aberta pelo {@link SqlCountFilter} em cada requisição, ou por testes).
+ *
+ * ---
+ * ## 🧩 Uso
+ * ```java
+ * SqlStatementCounter.iniciar();
+ * try {
+ *     ...
+ * } finally {
+ *     long total = SqlStatementCounter.encerrar();
+ * }
+ * ```
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<long[]> CONTADOR = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+        // Não instanciar
+    }
+
+    /** Abre (ou reinicia) a contagem na thread atual. */
+    public static void iniciar() {
+        CONTADOR.set(new long[1]);
+    }
+
+    /** Total contado até agora na thread atual (0 se não houver contagem ativa). */
+    public static long atual() {
+        long[] c = CONTADOR.get();
+        return c == null ? 0 : c[0];
+    }
+
+    /** Encerra a contagem da thread atual e devolve o total. */
+    public static long encerrar() {
+        long total = atual();
+        CONTADOR.remove();
+        return total;
+    }
+
+    static void incrementar(int statements) {
+        long[] c = CONTADOR.get();
+        if (c != null) c[0] += statements;
+    }
+}
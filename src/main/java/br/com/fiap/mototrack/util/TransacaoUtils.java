@@ -0,0 +1,46 @@
+package br.com.fiap.mototrack.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * # 🔁 TransacaoUtils
+ *
+ * Utilitário para adiar efeitos colaterais em memória (índices, contadores, caches)
+ * até que a transação corrente seja confirmada.
+ *
+ * ---
+ * ## 📋 Como usar?
+ * ```java
+ * Moto salva = repository.save(moto);
+ * TransacaoUtils.aposCommit(() -> contadores.motoCriada(salva));
+ * ```
+ * Sem transação ativa, a ação é executada imediatamente.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public final class TransacaoUtils {
+
+    private TransacaoUtils() {
+        // Não instanciar
+    }
+
+    /**
+     * Executa a ação somente após o commit da transação corrente
+     * (descartada em caso de rollback).
+     */
+    public static void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
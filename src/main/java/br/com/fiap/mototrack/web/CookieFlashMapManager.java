@@ -0,0 +1,147 @@
+package br.com.fiap.mototrack.web;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.FlashMap;
+import org.springframework.web.servlet.support.AbstractFlashMapManager;
+import org.springframework.web.util.WebUtils;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * # 🍪 CookieFlashMapManager
+ *
+ * Mensagens flash (`RedirectAttributes.addFlashAttribute`, PRG) guardadas em um
+ * **cookie de curta duração** em vez da sessão HTTP.
+ *
+ * ---
+ * ## 📋 Por quê
+ * Com a sessão no Postgres, cada flash na sessão custaria duas gravações
+ * (criar e remover o atributo) — e criaria uma sessão só para entregar a mensagem.
+ * Aqui a mensagem vai no redirect e volta no GET seguinte, sem tocar no banco.
+ *
+ * ---
+ * ## ⚠️ Limites
+ * - Apenas **texto**: os valores são gravados com `toString()`;
+ * - Cookie sem assinatura: o conteúdo é exibido escapado (`th:text`) e só para quem o enviou;
+ *   cookie inválido é ignorado;
+ * - Até ~3 KB; acima disso a mensagem é descartada (com log).
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Slf4j
+@Component(DispatcherServlet.FLASH_MAP_MANAGER_BEAN_NAME)
+public class CookieFlashMapManager extends AbstractFlashMapManager {
+
+    public static final String COOKIE = "MTRK_FLASH";
+    private static final int TAMANHO_MAX = 3_000;
+    private static final TypeReference<List<Registro>> LISTA = new TypeReference<>() { };
+
+    private final ObjectMapper objectMapper;
+
+    public CookieFlashMapManager(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Grava uma mensagem para a próxima página, fora do `DispatcherServlet`
+     * (ex.: handlers do Spring Security que fazem redirect).
+     */
+    public void flash(HttpServletRequest request, HttpServletResponse response, String chave, String mensagem) {
+        FlashMap flashMap = new FlashMap();
+        flashMap.put(chave, mensagem);
+        saveOutputFlashMap(flashMap, request, response);
+    }
+
+    // =============================
+    // 🔁 AbstractFlashMapManager
+    // =============================
+
+    @Override
+    protected List<FlashMap> retrieveFlashMaps(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, COOKIE);
+        if (cookie == null || !StringUtils.hasText(cookie.getValue())) return null;
+        try {
+            List<Registro> registros = objectMapper.readValue(Base64.getUrlDecoder().decode(cookie.getValue()), LISTA);
+            List<FlashMap> flashMaps = new ArrayList<>(registros.size());
+            registros.forEach(r -> flashMaps.add(r.paraFlashMap()));
+            return flashMaps;
+        } catch (Exception e) {
+            log.debug("Cookie de flash inválido ignorado: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    protected void updateFlashMaps(List<FlashMap> flashMaps, HttpServletRequest request, HttpServletResponse response) {
+        String valor = "";
+        if (!flashMaps.isEmpty()) {
+            try {
+                List<Registro> registros = flashMaps.stream().map(Registro::de).toList();
+                valor = Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(registros));
+            } catch (Exception e) {
+                log.warn("Falha ao gravar mensagem flash: {}", e.getMessage());
+                return;
+            }
+            if (valor.length() > TAMANHO_MAX) {
+                log.warn("Mensagem flash descartada: {} bytes (máx. {}).", valor.length(), TAMANHO_MAX);
+                return;
+            }
+        }
+        String caminho = StringUtils.hasText(request.getContextPath()) ? request.getContextPath() : "/";
+        ResponseCookie cookie = ResponseCookie.from(COOKIE, valor)
+                .path(caminho)
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .maxAge(valor.isEmpty() ? 0 : getFlashMapTimeout())
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    /** Sem sessão, não há mutex compartilhado: cada requisição lê/grava o próprio cookie. */
+    @Override
+    protected Object getFlashMapsMutex(HttpServletRequest request) {
+        return null;
+    }
+
+    /**
+     * Forma serializada de um {@link FlashMap} (só texto).
+     */
+    record Registro(String caminho, Map<String, List<String>> parametros, long expira, Map<String, String> valores) {
+
+        static Registro de(FlashMap flashMap) {
+            Map<String, String> valores = new LinkedHashMap<>();
+            flashMap.forEach((chave, valor) -> {
+                if (valor != null) valores.put(chave, valor.toString());
+            });
+            return new Registro(flashMap.getTargetRequestPath(), flashMap.getTargetRequestParams(),
+                    flashMap.getExpirationTime(), valores);
+        }
+
+        FlashMap paraFlashMap() {
+            FlashMap flashMap = new FlashMap();
+            flashMap.setTargetRequestPath(caminho);
+            if (parametros != null) flashMap.addTargetRequestParams(new LinkedMultiValueMap<>(parametros));
+            flashMap.setExpirationTime(expira);
+            if (valores != null) flashMap.putAll(valores);
+            return flashMap;
+        }
+    }
+}
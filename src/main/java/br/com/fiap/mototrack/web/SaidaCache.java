@@ -0,0 +1,196 @@
+package br.com.fiap.mototrack.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.ui.Model;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static br.com.fiap.mototrack.util.TransacaoUtils.aposCommit;
+
+/**
+ * # 🧾 SaidaCache
+ *
+ * Cache de **saída renderizada** da UI: trechos de HTML já processados pelo Thymeleaf,
+ * marcados nos templates com `mt:cache` ({@link SaidaCacheDialect}).
+ *
+ * ---
+ * ## 📋 O que é cacheado
+ * - **Fragmentos** (`head`, `footer`, `navbar` por variante de papéis): chave montada no
+ *   próprio template; vencem por tempo (`fragmentos-ttl`).
+ * - **Listas** (`motos/list.html` e demais): chave = região + geração + parâmetros da
+ *   requisição + papéis ({@link #lista}). Com a saída em cache, o controller nem consulta o banco.
+ *
+ * Partes por usuário (token CSRF, nome do usuário) ficam fora do cache (`mt:fora`) e são
+ * processadas a cada requisição.
+ *
+ * ---
+ * ## 🔄 Invalidação
+ * - Escritas dos serviços chamam {@link #invalidarListas} (aplicado **após o commit**): a
+ *   geração da região avança e as chaves antigas deixam de ser encontradas, inclusive as
+ *   gravadas por renderizações que começaram antes da escrita;
+ * - Escritas de outros nós aparecem em até `listas-ttl`.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Component
+public class SaidaCache {
+
+    /** Atributo do model com a chave da lista (usado em `mt:cache="${chaveLista}"`). */
+    public static final String ATRIBUTO_CHAVE = "chaveLista";
+
+    /** Atributo do model com a saída encontrada pelo controller (não some entre a consulta e a renderização). */
+    static final String ATRIBUTO_FIXADA = "saidaFixada";
+
+    /** Parâmetros que não alteram o trecho cacheado (só mensagens fora dele). */
+    private static final Set<String> PARAMETROS_IGNORADOS = Set.of("denied");
+
+    /**
+     * Trecho renderizado: `html` pronto intercalado com `buracos` (markup Thymeleaf das
+     * partes `mt:fora`, processado a cada uso). `html` tem sempre um item a mais.
+     */
+    public record Entrada(Object chave, List<String> html, List<String> buracos) {
+
+        int tamanho() {
+            int total = 0;
+            for (String parte : html) total += parte.length();
+            for (String buraco : buracos) total += buraco.length();
+            return total;
+        }
+    }
+
+    /** Chave de uma tela de lista. */
+    public record ChaveLista(String regiao, long geracao, String parametros, String papeis) {}
+
+    private final boolean habilitado;
+    private final boolean listasHabilitadas;
+    private final Cache<Object, Entrada> entradas;
+    private final Map<String, AtomicLong> geracoes = new ConcurrentHashMap<>();
+
+    public SaidaCache(@Value("${mototrack.ui.cache.enabled:true}") boolean habilitado,
+                      @Value("${mototrack.ui.cache.listas.enabled:true}") boolean listasHabilitadas,
+                      @Value("${mototrack.ui.cache.fragmentos-ttl:PT10M}") Duration fragmentosTtl,
+                      @Value("${mototrack.ui.cache.listas-ttl:PT30S}") Duration listasTtl,
+                      @Value("${mototrack.ui.cache.max-mb:32}") long maxMb) {
+        this.habilitado = habilitado;
+        this.listasHabilitadas = habilitado && listasHabilitadas;
+        this.entradas = Caffeine.newBuilder()
+                // Peso em caracteres (≈ 2 bytes cada)
+                .maximumWeight(maxMb * 1024 * 1024 / 2)
+                .<Object, Entrada>weigher((chave, entrada) -> entrada.tamanho())
+                .expireAfter(new TtlPorTipo(fragmentosTtl, listasTtl))
+                .recordStats()
+                .build();
+    }
+
+    // =============================
+    // 🔍 Consulta / gravação (usadas pelo dialeto)
+    // =============================
+
+    boolean habilitado() {
+        return habilitado;
+    }
+
+    Entrada buscar(Object chave) {
+        return entradas.getIfPresent(chave);
+    }
+
+    void gravar(Entrada entrada) {
+        entradas.put(entrada.chave(), entrada);
+    }
+
+    // =============================
+    // 📄 Telas de lista
+    // =============================
+
+    /**
+     * Prepara o model de uma tela de lista da região (`motos`, `eventos`, ...).
+     *
+     * @return `true` se a saída já está em cache (o controller pode pular a consulta)
+     */
+    public boolean lista(String regiao, HttpServletRequest request, Model model) {
+        if (!listasHabilitadas) return false;
+        ChaveLista chave = new ChaveLista(regiao, geracao(regiao).get(), parametros(request), papeis());
+        model.addAttribute(ATRIBUTO_CHAVE, chave);
+        Entrada entrada = entradas.getIfPresent(chave);
+        if (entrada == null) return false;
+        model.addAttribute(ATRIBUTO_FIXADA, entrada);
+        return true;
+    }
+
+    /**
+     * Descarta as listas das regiões após o commit da transação corrente.
+     */
+    public void invalidarListas(String... regioes) {
+        if (!listasHabilitadas) return;
+        aposCommit(() -> {
+            Set<String> alteradas = Set.of(regioes);
+            alteradas.forEach(regiao -> geracao(regiao).incrementAndGet());
+            entradas.asMap().keySet().removeIf(k -> k instanceof ChaveLista c && alteradas.contains(c.regiao()));
+        });
+    }
+
+    // =============================
+    // 🔧 Auxiliares
+    // =============================
+
+    /**
+     * Papéis do usuário corrente, na ordem em que a navbar os exibe
+     * (variante de `navbar` e parte da chave das listas).
+     */
+    public String papeis() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null) return "";
+        return auth.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
+    }
+
+    private AtomicLong geracao(String regiao) {
+        return geracoes.computeIfAbsent(regiao, r -> new AtomicLong());
+    }
+
+    /** Parâmetros da requisição em ordem canônica (filtro, página, tamanho, ordenação). */
+    private static String parametros(HttpServletRequest request) {
+        Map<String, String[]> ordenados = new TreeMap<>(request.getParameterMap());
+        PARAMETROS_IGNORADOS.forEach(ordenados::remove);
+        return ordenados.entrySet().stream()
+                .map(e -> e.getKey() + "=" + String.join("\u001f", e.getValue()))
+                .collect(Collectors.joining("\u001e"));
+    }
+
+    /** Listas vencem rápido (escritas de outros nós); fragmentos só mudam com deploy. */
+    private record TtlPorTipo(Duration fragmentos, Duration listas) implements Expiry<Object, Entrada> {
+
+        @Override
+        public long expireAfterCreate(Object chave, Entrada entrada, long agora) {
+            return (chave instanceof ChaveLista ? listas : fragmentos).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Object chave, Entrada entrada, long agora, long restante) {
+            return expireAfterCreate(chave, entrada, agora);
+        }
+
+        @Override
+        public long expireAfterRead(Object chave, Entrada entrada, long agora, long restante) {
+            return restante;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package br.com.fiap.mototrack.web;
+
+import br.com.fiap.mototrack.web.SaidaCache.Entrada;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.dialect.AbstractProcessorDialect;
+import org.thymeleaf.engine.AttributeName;
+import org.thymeleaf.engine.TemplateManager;
+import org.thymeleaf.engine.TemplateModel;
+import org.thymeleaf.inline.NoOpInliner;
+import org.thymeleaf.model.ICloseElementTag;
+import org.thymeleaf.model.IModel;
+import org.thymeleaf.model.IModelFactory;
+import org.thymeleaf.model.IOpenElementTag;
+import org.thymeleaf.model.IProcessableElementTag;
+import org.thymeleaf.model.IStandaloneElementTag;
+import org.thymeleaf.model.ITemplateEvent;
+import org.thymeleaf.processor.IProcessor;
+import org.thymeleaf.processor.element.AbstractAttributeModelProcessor;
+import org.thymeleaf.processor.element.AbstractAttributeTagProcessor;
+import org.thymeleaf.processor.element.IElementModelStructureHandler;
+import org.thymeleaf.processor.element.IElementTagStructureHandler;
+import org.thymeleaf.standard.expression.StandardExpressions;
+import org.thymeleaf.templatemode.TemplateMode;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * # 🧩 SaidaCacheDialect
+ *
+ * Dialeto `mt` do Thymeleaf que grava e reaproveita a saída renderizada no {@link SaidaCache}.
+ *
+ * | atributo              | efeito                                                                    |
+ * |-----------------------|---------------------------------------------------------------------------|
+ * | `mt:cache="${chave}"` | o elemento, já processado, fica em cache pela chave (nula = sem cache)     |
+ * | `mt:fora`             | dentro de um `mt:cache`: elemento processado a cada requisição            |
+ *
+ * ---
+ * ## 📋 Regras para os templates
+ * - Tudo dentro de `mt:cache` precisa depender apenas da chave;
+ * - Partes por usuário/sessão (token CSRF, nome do usuário) vão em `mt:fora`, que só pode
+ *   usar variáveis da requisição (`_csrf`, `#authentication`), nunca variáveis locais (`row`);
+ * - O HTML cacheado volta como texto pronto: não é analisado nem processado de novo
+ *   (conteúdo do banco com `[[...]]` continua sendo texto).
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@Component
+public class SaidaCacheDialect extends AbstractProcessorDialect {
+
+    public static final String PREFIXO = "mt";
+
+    /** Antes do dialeto padrão e do Spring Security: o cache envolve os demais atributos do elemento. */
+    private static final int PRECEDENCIA = 100;
+
+    private final SaidaCache cache;
+
+    public SaidaCacheDialect(SaidaCache cache) {
+        super("MotoTrack", PREFIXO, PRECEDENCIA);
+        this.cache = cache;
+    }
+
+    @Override
+    public Set<IProcessor> getProcessors(String prefixo) {
+        return Set.of(new CacheProcessor(prefixo, cache), new ForaProcessor(prefixo));
+    }
+
+    // =============================
+    // 💾 mt:cache
+    // =============================
+
+    private static final class CacheProcessor extends AbstractAttributeModelProcessor {
+
+        private static final String FORA = "fora";
+        private static final Pattern MARCA = Pattern.compile("<!--mt:fora:(\\d+)-->");
+
+        private final String prefixo;
+        private final SaidaCache cache;
+
+        CacheProcessor(String prefixo, SaidaCache cache) {
+            super(TemplateMode.HTML, prefixo, null, false, "cache", true, 0, false);
+            this.prefixo = prefixo;
+            this.cache = cache;
+        }
+
+        @Override
+        protected void doProcess(ITemplateContext context, IModel model, AttributeName atributo,
+                                 String valor, IElementModelStructureHandler structureHandler) {
+            IModelFactory fabrica = context.getModelFactory();
+            model.replace(0, fabrica.removeAttribute((IProcessableElementTag) model.get(0), atributo));
+            if (!cache.habilitado()) return;
+
+            Object chave = StandardExpressions.getExpressionParser(context.getConfiguration())
+                    .parseExpression(context, valor)
+                    .execute(context);
+            if (chave == null) return;
+
+            Entrada entrada = context.getVariable(SaidaCache.ATRIBUTO_FIXADA) instanceof Entrada fixada
+                    && chave.equals(fixada.chave()) ? fixada : cache.buscar(chave);
+            if (entrada == null) {
+                entrada = renderizar(context, model, chave);
+                cache.gravar(entrada);
+            }
+
+            // HTML pronto como texto; só os buracos (markup do template) são processados.
+            // Sem inlining: `[[...]]` vindo do banco no texto pronto não pode virar expressão.
+            structureHandler.setInliner(NoOpInliner.INSTANCE);
+            model.reset();
+            for (int i = 0; i < entrada.buracos().size(); i++) {
+                model.add(fabrica.createText(entrada.html().get(i)));
+                model.addModel(fabrica.parse(context.getTemplateData(), entrada.buracos().get(i)));
+            }
+            model.add(fabrica.createText(entrada.html().get(entrada.buracos().size())));
+        }
+
+        /**
+         * Processa o elemento com os `mt:fora` trocados por marcas e separa o resultado
+         * nas partes de HTML pronto e no markup de cada buraco.
+         */
+        private Entrada renderizar(ITemplateContext context, IModel model, Object chave) {
+            IModelFactory fabrica = context.getModelFactory();
+            StringWriter markup = new StringWriter();
+            List<String> markupBuracos = new ArrayList<>();
+            try {
+                for (int i = 0; i < model.size(); i++) {
+                    ITemplateEvent evento = model.get(i);
+                    if (evento instanceof IProcessableElementTag tag && tag.hasAttribute(prefixo, FORA)) {
+                        int fim = fechamento(model, i);
+                        StringWriter buraco = new StringWriter();
+                        fabrica.removeAttribute(tag, prefixo, FORA).write(buraco);
+                        for (int j = i + 1; j <= fim; j++) model.get(j).write(buraco);
+                        fabrica.createComment("mt:fora:" + markupBuracos.size()).write(markup);
+                        markupBuracos.add(buraco.toString());
+                        i = fim;
+                    } else {
+                        evento.write(markup);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            ITemplateEvent raiz = model.get(0);
+            TemplateManager templates = context.getConfiguration().getTemplateManager();
+            TemplateModel modelo = templates.parseString(context.getTemplateData(), markup.toString(),
+                    raiz.getLine(), raiz.getCol(), context.getTemplateMode(), false);
+            StringWriter escrita = new StringWriter();
+            templates.process(modelo, context, escrita);
+            String saida = escrita.toString();
+
+            // Um buraco dentro de th:each aparece uma vez por iteração
+            List<String> html = new ArrayList<>();
+            List<String> buracos = new ArrayList<>();
+            Matcher m = MARCA.matcher(saida);
+            int inicio = 0;
+            while (m.find()) {
+                html.add(saida.substring(inicio, m.start()));
+                buracos.add(markupBuracos.get(Integer.parseInt(m.group(1))));
+                inicio = m.end();
+            }
+            html.add(saida.substring(inicio));
+            return new Entrada(chave, List.copyOf(html), List.copyOf(buracos));
+        }
+
+        /** Índice do evento que fecha o elemento aberto em `inicio`. */
+        private static int fechamento(IModel model, int inicio) {
+            if (model.get(inicio) instanceof IStandaloneElementTag) return inicio;
+            int nivel = 0;
+            for (int i = inicio + 1; i < model.size(); i++) {
+                ITemplateEvent evento = model.get(i);
+                if (evento instanceof IOpenElementTag) {
+                    nivel++;
+                } else if (evento instanceof ICloseElementTag) {
+                    if (nivel == 0) return i;
+                    nivel--;
+                }
+            }
+            return model.size() - 1;
+        }
+    }
+
+    // =============================
+    // 🕳️ mt:fora
+    // =============================
+
+    /** Fora de um `mt:cache` (ou com o cache desligado) o marcador só é removido. */
+    private static final class ForaProcessor extends AbstractAttributeTagProcessor {
+
+        ForaProcessor(String prefixo) {
+            super(TemplateMode.HTML, prefixo, null, false, CacheProcessor.FORA, true, 0, true);
+        }
+
+        @Override
+        protected void doProcess(ITemplateContext context, IProcessableElementTag tag, AttributeName atributo,
+                                 String valor, IElementTagStructureHandler structureHandler) {
+            // só remove o atributo
+        }
+    }
+}
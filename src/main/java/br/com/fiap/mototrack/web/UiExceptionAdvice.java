@@ -9,6 +9,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authorization.AuthorizationDeniedException;
 import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
@@ -20,12 +21,14 @@ public class UiExceptionAdvice {
     @ExceptionHandler({ AuthorizationDeniedException.class, AccessDeniedException.class })
     public Object handleAccessDenied(Exception ex,
                                      HttpServletRequest req,
-                                     HttpServletResponse res) throws Exception {
+                                     HttpServletResponse res,
+                                     Model model) throws Exception {
         String accept = String.valueOf(req.getHeader("Accept")).toLowerCase();
         boolean wantsHtml = accept.contains("text/html");
         res.setStatus(HttpStatus.FORBIDDEN.value());
         if (wantsHtml) {
-            req.getSession().setAttribute("FLASH_MSG_ERRO","Você não tem permissão para realizar esta ação.");
+            // Renderiza direto: a mensagem vai no próprio model, sem passar pela sessão
+            model.addAttribute("msgErro", "Você não tem permissão para realizar esta ação.");
             return "erro/acesso-negado"; // templates/erro/acesso-negado.html
         }
         res.setContentType("application/json;charset=UTF-8");
@@ -0,0 +1,22 @@
+-- =============================================================
+-- V2 - Duração do agendamento
+-- Cada agendamento passa a ocupar uma janela [dt_agendada, dt_agendada + duração),
+-- usada na detecção de conflitos por moto.
+--
+-- Sem bloquear escritas em tb_agendamento: a coluna com DEFAULT constante é só
+-- metadado, a CHECK entra NOT VALID e é validada depois (sem travar INSERT/UPDATE)
+-- e o índice é criado CONCURRENTLY — por isso a migração roda fora de transação
+-- (V2__agendamento_duracao.sql.conf).
+-- =============================================================
+
+ALTER TABLE tb_agendamento
+    ADD COLUMN IF NOT EXISTS nr_duracao_min INTEGER NOT NULL DEFAULT 60;
+
+ALTER TABLE tb_agendamento
+    ADD CONSTRAINT ck_agendamento_duracao CHECK (nr_duracao_min > 0) NOT VALID;
+
+ALTER TABLE tb_agendamento
+    VALIDATE CONSTRAINT ck_agendamento_duracao;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_agendamento_moto_data
+    ON tb_agendamento (id_moto, dt_agendada);
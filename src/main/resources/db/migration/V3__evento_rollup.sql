@@ -0,0 +1,52 @@
+-- =============================================================
+-- V3 - Rollups de eventos (analytics)
+-- Agregados diários e horários de tb_evento por tipo e filial,
+-- mantidos incrementalmente a partir de uma fila de eventos pendentes.
+-- id_filial = 0 representa eventos de motos sem filial.
+-- =============================================================
+
+CREATE TABLE IF NOT EXISTS tb_evento_rollup_dia (
+    dt_dia      DATE         NOT NULL,
+    tp_evento   VARCHAR(255) NOT NULL,
+    id_filial   BIGINT       NOT NULL,
+    qt_eventos  BIGINT       NOT NULL,
+    CONSTRAINT pk_evento_rollup_dia PRIMARY KEY (dt_dia, tp_evento, id_filial)
+);
+
+CREATE TABLE IF NOT EXISTS tb_evento_rollup_hora (
+    dt_hora     TIMESTAMP    NOT NULL,
+    tp_evento   VARCHAR(255) NOT NULL,
+    id_filial   BIGINT       NOT NULL,
+    qt_eventos  BIGINT       NOT NULL,
+    CONSTRAINT pk_evento_rollup_hora PRIMARY KEY (dt_hora, tp_evento, id_filial)
+);
+
+CREATE INDEX IF NOT EXISTS ix_evento_rollup_dia_filial ON tb_evento_rollup_dia (id_filial, dt_dia);
+CREATE INDEX IF NOT EXISTS ix_evento_rollup_hora_filial ON tb_evento_rollup_hora (id_filial, dt_hora);
+
+-- Eventos ainda não agregados. A linha entra pelo trigger, na mesma transação do
+-- INSERT, e só fica visível ao job depois do commit: ids que fazem commit fora de
+-- ordem (lote longo, espera de lock, COPY intercalado) não são pulados.
+CREATE TABLE IF NOT EXISTS tb_evento_rollup_pendente (
+    id_evento  BIGINT PRIMARY KEY REFERENCES tb_evento (id_evento) ON DELETE CASCADE
+);
+
+CREATE OR REPLACE FUNCTION fn_evento_rollup_pendente() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO tb_evento_rollup_pendente (id_evento) SELECT id_evento FROM novos;
+    RETURN NULL;
+END
+$$;
+
+-- Por comando (não por linha): COPY e INSERTs em lote geram um único INSERT na fila
+DROP TRIGGER IF EXISTS tg_evento_rollup_pendente ON tb_evento;
+CREATE TRIGGER tg_evento_rollup_pendente
+    AFTER INSERT ON tb_evento
+    REFERENCING NEW TABLE AS novos
+    FOR EACH STATEMENT EXECUTE FUNCTION fn_evento_rollup_pendente();
+
+-- Eventos já existentes entram na fila
+INSERT INTO tb_evento_rollup_pendente (id_evento)
+SELECT id_evento FROM tb_evento
+ON CONFLICT (id_evento) DO NOTHING;
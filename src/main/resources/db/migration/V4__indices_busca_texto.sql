@@ -0,0 +1,46 @@
+-- =============================================================
+-- V4 - Índices para os filtros textuais das Specifications
+--
+-- As Specifications geram `lower(col) LIKE '%valor%'`, que nenhum B-tree atende.
+-- Índices GIN com pg_trgm sobre a MESMA expressão `lower(col)` permitem
+-- busca parcial sem seq scan. Igualdades case-insensitive (`lower(col) = ?`)
+-- usam B-tree de expressão. Full-text (modo opcional) usa tsvector 'portuguese'.
+--
+-- CONCURRENTLY: as tabelas seguem recebendo escritas durante a criação. Por isso a
+-- migração roda fora de transação (V4__indices_busca_texto.sql.conf). Se uma criação
+-- falhar, o índice fica INVALID: remova-o com DROP INDEX CONCURRENTLY e rode
+-- `flyway repair` antes de tentar de novo.
+-- =============================================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- ---------- tb_moto ----------
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_moto_placa_trgm   ON tb_moto USING gin (lower(cd_placa) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_moto_modelo_trgm  ON tb_moto USING gin (lower(ds_modelo) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_moto_marca_trgm   ON tb_moto USING gin (lower(ds_marca) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_moto_status_lower ON tb_moto (lower(ds_status));
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_moto_filial       ON tb_moto (id_filial);
+
+-- ---------- tb_evento ----------
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_evento_motivo_trgm      ON tb_evento USING gin (lower(ds_motivo) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_evento_localizacao_trgm ON tb_evento USING gin (lower(ds_localizacao) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_evento_tipo_lower       ON tb_evento (lower(tp_evento));
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_evento_motivo_fts       ON tb_evento USING gin (to_tsvector('portuguese', ds_motivo));
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_evento_moto_data        ON tb_evento (id_moto, dt_hr_evento);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_evento_data             ON tb_evento (dt_hr_evento);
+
+-- ---------- tb_agendamento ----------
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_agendamento_descricao_trgm ON tb_agendamento USING gin (lower(ds_descricao) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_agendamento_descricao_fts  ON tb_agendamento USING gin (to_tsvector('portuguese', ds_descricao));
+
+-- ---------- tb_filial ----------
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_filial_nome_trgm    ON tb_filial USING gin (lower(nm_filial) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_filial_bairro_trgm  ON tb_filial USING gin (lower(ds_bairro) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_filial_cidade_trgm  ON tb_filial USING gin (lower(ds_cidade) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_filial_cep_trgm     ON tb_filial USING gin (lower(nr_cep) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_filial_estado_lower ON tb_filial (lower(ds_estado));
+
+-- ---------- tb_usuario ----------
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_usuario_nome_trgm    ON tb_usuario USING gin (lower(nm_usuario) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_usuario_email_trgm   ON tb_usuario USING gin (lower(ds_email) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS ix_usuario_perfil_lower ON tb_usuario (lower(tp_perfil));
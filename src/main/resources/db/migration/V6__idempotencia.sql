@@ -0,0 +1,20 @@
+-- =============================================================
+-- V6 - Idempotency-Key dos cadastros (POST /motos, /eventos, /agendamentos)
+--
+-- Uma linha por chave: SHA-256 de (usuário, rota, Idempotency-Key) e do corpo
+-- da requisição, mais a resposta JSON original para devolver nas retentativas.
+-- nr_status NULL = requisição em andamento. Linhas vencidas são removidas
+-- em lotes pelo IdempotenciaStore, apoiado no índice por dt_expiracao.
+-- =============================================================
+
+CREATE TABLE IF NOT EXISTS tb_idempotencia (
+    cd_chave      BYTEA                    NOT NULL,
+    cd_impressao  BYTEA                    NOT NULL,
+    nr_status     SMALLINT,
+    ds_resposta   BYTEA,
+    dt_criacao    TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    dt_expiracao  TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_idempotencia PRIMARY KEY (cd_chave)
+);
+
+CREATE INDEX IF NOT EXISTS ix_idempotencia_expiracao ON tb_idempotencia (dt_expiracao);
@@ -0,0 +1,19 @@
+-- =============================================================
+-- V7 - Filial em que cada evento foi contado nos rollups
+-- O job grava a atribuição junto com a agregação; alterações e exclusões
+-- descontam da filial registrada aqui (e não da filial atual da moto,
+-- que pode ter mudado depois da agregação).
+-- =============================================================
+
+CREATE TABLE IF NOT EXISTS tb_evento_rollup_filial (
+    id_evento  BIGINT PRIMARY KEY REFERENCES tb_evento (id_evento) ON DELETE CASCADE,
+    id_filial  BIGINT NOT NULL
+);
+
+-- Eventos já agregados: a melhor informação disponível é a filial atual da moto
+INSERT INTO tb_evento_rollup_filial (id_evento, id_filial)
+SELECT e.id_evento, coalesce(m.id_filial, 0)
+  FROM tb_evento e
+  JOIN tb_moto m ON m.id_moto = e.id_moto
+ WHERE NOT EXISTS (SELECT 1 FROM tb_evento_rollup_pendente p WHERE p.id_evento = e.id_evento)
+ON CONFLICT (id_evento) DO NOTHING;
@@ -1,13 +1,27 @@
 package br.com.fiap.mototrack;
 
-import org.junit.Test;
+import br.com.fiap.mototrack.support.EmbeddedPostgresSupport;
+import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 
-@SpringBootTest
-public class MototrackApplicationTests {
+@SpringBootTest(properties = {
+        "mototrack.sql.guard.fail=true",
+        "mototrack.jfr.enabled=false"
+})
+class MototrackApplicationTests {
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        var pg = EmbeddedPostgresSupport.iniciar();
+        registry.add("spring.datasource.url", pg::url);
+        registry.add("spring.datasource.username", pg::username);
+        registry.add("spring.datasource.password", pg::password);
+    }
 
     @Test
-    public void contextLoads() {
+    void contextLoads() {
     }
 
 }
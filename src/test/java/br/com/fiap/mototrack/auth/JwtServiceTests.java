@@ -0,0 +1,90 @@
+package br.com.fiap.mototrack.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTests {
+
+    private static final String SEGREDO = Base64.getEncoder()
+            .encodeToString("segredo-de-teste-com-32-bytes!!!".getBytes(StandardCharsets.UTF_8));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void tokenEmitidoEmUmNoValeNoOutroComOMesmoSegredo() throws Exception {
+        JwtService.TokenEmitido emitido = hs256(SEGREDO, "mototrack", Duration.ofMinutes(5))
+                .emitir("ana@teste.com", List.of("ROLE_ADMIN"));
+
+        JwtService.TokenValido valido = hs256(SEGREDO, "mototrack", Duration.ofMinutes(5)).validar(emitido.token());
+
+        assertThat(valido.usuario()).isEqualTo("ana@teste.com");
+        assertThat(valido.perfis()).containsExactly("ROLE_ADMIN");
+        assertThat(valido.expiraEm().getEpochSecond()).isEqualTo(emitido.expiraEm().getEpochSecond());
+    }
+
+    @Test
+    void conteudoAlteradoInvalidaAAssinatura() throws Exception {
+        JwtService jwt = hs256(SEGREDO, "mototrack", Duration.ofMinutes(5));
+        String[] partes = jwt.emitir("ana@teste.com", List.of("ROLE_USER")).token().split("\\.");
+        String claims = new String(Base64.getUrlDecoder().decode(partes[1]), StandardCharsets.UTF_8)
+                .replace("ROLE_USER", "ROLE_ADMIN");
+        String adulterado = partes[0] + "." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(claims.getBytes(StandardCharsets.UTF_8)) + "." + partes[2];
+
+        assertThatThrownBy(() -> jwt.validar(adulterado))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessageContaining("Assinatura");
+    }
+
+    @Test
+    void recusaTokenExpiradoDeOutroEmissorOuDeOutroAlgoritmo() throws Exception {
+        String expirado = hs256(SEGREDO, "mototrack", Duration.ofMinutes(-5)).emitir("ana@teste.com", List.of()).token();
+        String outroEmissor = hs256(SEGREDO, "outro", Duration.ofMinutes(5)).emitir("ana@teste.com", List.of()).token();
+        String outroSegredo = hs256("", "mototrack", Duration.ofMinutes(5)).emitir("ana@teste.com", List.of()).token();
+        JwtService jwt = hs256(SEGREDO, "mototrack", Duration.ofMinutes(5));
+        JwtService eddsa = new JwtService(objectMapper, JwtService.EDDSA, "", "", "",
+                Duration.ofMinutes(5), "mototrack", 100);
+
+        assertThatThrownBy(() -> jwt.validar(expirado)).hasMessageContaining("expirado");
+        assertThatThrownBy(() -> jwt.validar(outroEmissor)).hasMessageContaining("Emissor");
+        assertThatThrownBy(() -> jwt.validar(outroSegredo)).hasMessageContaining("Assinatura");
+        assertThatThrownBy(() -> eddsa.validar(jwt.emitir("ana@teste.com", List.of()).token()))
+                .hasMessageContaining("algoritmo");
+        assertThatThrownBy(() -> jwt.validar("nao-e-um-jwt")).isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void eddsaAssinaEValidaComOParDeChaves() throws Exception {
+        JwtService eddsa = new JwtService(objectMapper, JwtService.EDDSA, "", "", "",
+                Duration.ofMinutes(5), "mototrack", 100);
+
+        String token = eddsa.emitir("bia@teste.com", List.of("ROLE_USER")).token();
+
+        assertThat(eddsa.validar(token).usuario()).isEqualTo("bia@teste.com");
+        // Cacheado por hash do token: segunda validação devolve o mesmo resultado
+        assertThat(eddsa.validar(token)).isEqualTo(eddsa.validar(token));
+    }
+
+    @Test
+    void segredoCurtoFalhaNaSubida() {
+        String curto = Base64.getEncoder().encodeToString(new byte[16]);
+
+        assertThatThrownBy(() -> hs256(curto, "mototrack", Duration.ofMinutes(5)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("256 bits");
+    }
+
+    private JwtService hs256(String segredo, String emissor, Duration expiracao) throws GeneralSecurityException {
+        return new JwtService(objectMapper, JwtService.HS256, segredo, "", "", expiracao, emissor, 100);
+    }
+}
@@ -0,0 +1,193 @@
+package br.com.fiap.mototrack.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SenhaEncoderTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private SenhaEncoder encoder;
+
+    @AfterEach
+    void limpar() {
+        liberar.countDown();
+        if (encoder != null) encoder.destroy();
+    }
+
+    // =============================
+    // 🧵 Pool
+    // =============================
+
+    @Test
+    void filaCheiaRecusaNaHora() throws Exception {
+        encoder = new SenhaEncoder(4, 1, 1, Duration.ofSeconds(10), Duration.ofMinutes(5), 100, registry);
+        String hash = encoder.encode("senha123");
+
+        SenhaLenta lenta = new SenhaLenta("senha123");
+        CompletableFuture<Boolean> ocupando = CompletableFuture.supplyAsync(() -> encoder.matches(lenta, hash));
+        aguardar(() -> lenta.verificada);
+        CompletableFuture<Boolean> naFila = CompletableFuture.supplyAsync(() -> encoder.matches(new SenhaLenta("senha123"), hash));
+        aguardar(() -> naFila() == 1);
+
+        long inicio = System.nanoTime();
+        assertThatThrownBy(() -> encoder.matches("senha123", hash))
+                .isInstanceOf(SenhaEncoder.LoginSobrecarregadoException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofSeconds(1));
+        assertThat(registry.get("mototrack.senha.rejeitadas").counter().count()).isEqualTo(1);
+
+        liberar.countDown();
+        assertThat(ocupando.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(naFila.get(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void esperaEsgotadaRecusaECancelaATarefaDaFila() throws Exception {
+        encoder = new SenhaEncoder(4, 1, 5, Duration.ofMillis(200), Duration.ofMinutes(5), 100, registry);
+        String hash = encoder.encode("senha123");
+
+        SenhaLenta lenta = new SenhaLenta("senha123");
+        CompletableFuture<Boolean> ocupando = CompletableFuture.supplyAsync(() -> encoder.matches(lenta, hash));
+        aguardar(() -> lenta.verificada);
+
+        SenhaLenta recusada = new SenhaLenta("senha123");
+        assertThatThrownBy(() -> encoder.matches(recusada, hash))
+                .isInstanceOf(SenhaEncoder.LoginSobrecarregadoException.class);
+        assertThat(naFila()).as("vaga liberada na hora").isZero();
+
+        liberar.countDown();
+        assertThatThrownBy(() -> ocupando.get(10, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(SenhaEncoder.LoginSobrecarregadoException.class);
+        // Pool de uma thread, FIFO: depois deste hash, nada mais ficou para trás na fila
+        encoder.encode("outra");
+        assertThat(recusada.verificada).as("BCrypt da tarefa cancelada").isFalse();
+        assertThat(registry.get("mototrack.senha.rejeitadas").counter().count()).isEqualTo(2);
+    }
+
+    // =============================
+    // 🗃️ Cache de verificações
+    // =============================
+
+    @Test
+    void acertoFicaEmCacheEFalhaNao() {
+        encoder = new SenhaEncoder(4, 1, 10, Duration.ofSeconds(10), Duration.ofMinutes(5), 100, registry);
+        String hash = encoder.encode("senha123");
+
+        assertThat(encoder.matches("senha123", hash)).isTrue();
+        assertThat(encoder.matches("senha123", hash)).isTrue();
+        assertThat(cache("hit")).isEqualTo(1);
+        assertThat(cache("miss")).isEqualTo(1);
+
+        assertThat(encoder.matches("errada", hash)).isFalse();
+        assertThat(encoder.matches("errada", hash)).isFalse();
+        assertThat(cache("hit")).isEqualTo(1);
+        assertThat(cache("miss")).isEqualTo(3);
+    }
+
+    @Test
+    void trocaDeSenhaNaoAproveitaOCacheDoHashAntigo() {
+        encoder = new SenhaEncoder(4, 1, 10, Duration.ofSeconds(10), Duration.ofMinutes(5), 100, registry);
+        String antigo = encoder.encode("senha123");
+        assertThat(encoder.matches("senha123", antigo)).isTrue();
+
+        String novo = encoder.encode("nova-senha");
+        assertThat(encoder.matches("senha123", novo)).isFalse();
+        assertThat(encoder.matches("nova-senha", novo)).isTrue();
+        assertThat(cache("hit")).isZero();
+        assertThat(cache("miss")).isEqualTo(3);
+
+        // Mesma senha com outro sal também é outra entrada
+        assertThat(encoder.matches("senha123", encoder.encode("senha123"))).isTrue();
+        assertThat(cache("hit")).isZero();
+    }
+
+    // =============================
+    // ♻️ Rehash
+    // =============================
+
+    @Test
+    void upgradeEncodingSoParaHashComCustoMenor() {
+        encoder = new SenhaEncoder(5, 1, 10, Duration.ofSeconds(10), Duration.ofMinutes(5), 100, registry);
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("senha123"))).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("senha123"))).isFalse();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("senha123"))).isFalse();
+        assertThat(encoder.upgradeEncoding(null)).isFalse();
+        assertThat(encoder.upgradeEncoding("")).isFalse();
+    }
+
+    // =============================
+    // 🔧 Auxiliares
+    // =============================
+
+    /** Senha cujo BCrypt (no pool) espera o teste liberar; a chave do cache, no chamador, não. */
+    private class SenhaLenta implements CharSequence {
+
+        private final String valor;
+        private volatile boolean verificada;
+
+        SenhaLenta(String valor) {
+            this.valor = valor;
+        }
+
+        @Override
+        public String toString() {
+            if (Thread.currentThread().getName().startsWith("senha-hash-")) {
+                verificada = true;
+                // Como o BCrypt, ignora o cancel(true) de quem desistiu de esperar
+                boolean interrompida = false;
+                while (liberar.getCount() > 0) {
+                    try {
+                        liberar.await();
+                    } catch (InterruptedException e) {
+                        interrompida = true;
+                    }
+                }
+                if (interrompida) Thread.currentThread().interrupt();
+            }
+            return valor;
+        }
+
+        @Override
+        public int length() {
+            return valor.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return valor.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return valor.subSequence(start, end);
+        }
+    }
+
+    private double naFila() {
+        return registry.get("executor.queued").tag("name", "mototrack.senha").gauge().value();
+    }
+
+    private double cache(String resultado) {
+        return registry.get("mototrack.senha.cache").tag("resultado", resultado).counter().count();
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condicao.getAsBoolean()) {
+            if (System.nanoTime() > limite) throw new AssertionError("condição não atingida em 10 s");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package br.com.fiap.mototrack.cluster;
+
+import br.com.fiap.mototrack.support.EmbeddedPostgresSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClusterLeadershipTests {
+
+    private static final String JOB = "job-de-teste";
+    private static final int SHARDS = 4;
+
+    private DataSource ds;
+    private JdbcTemplate jdbc;
+    private final List<ClusterLeadership> nos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // Banco próprio: advisory locks de outros testes (contextos Spring) não entram na contagem
+        EmbeddedPostgresSupport.Conexao c = EmbeddedPostgresSupport.iniciar();
+        String banco = "cluster_" + UUID.randomUUID().toString().replace("-", "");
+        new JdbcTemplate(new DriverManagerDataSource(c.url(), c.username(), c.password()))
+                .execute("create database " + banco);
+        ds = new DriverManagerDataSource(c.url().replaceFirst("/[^/?]+(\\?|$)", "/" + banco + "$1"),
+                c.username(), c.password());
+        jdbc = new JdbcTemplate(ds);
+    }
+
+    @AfterEach
+    void encerrar() {
+        nos.forEach(ClusterLeadership::destroy);
+    }
+
+    @Test
+    void umUnicoLiderEOutroNoAssumeQuandoASessaoCai() {
+        ClusterLeadership a = no();
+        ClusterLeadership b = no();
+
+        assertThat(a.isLeader(JOB)).isTrue();
+        assertThat(b.isLeader(JOB)).isFalse();
+
+        // Queda do nó A: o Postgres encerra a sessão e libera os locks dela
+        jdbc.queryForList("""
+                select pg_terminate_backend(pid) from pg_locks
+                 where locktype = 'advisory' and granted and pid <> pg_backend_pid()
+                   and database = (select oid from pg_database where datname = current_database())
+                """);
+
+        assertThat(b.isLeader(JOB)).isTrue();
+
+        // A percebe a sessão perdida no heartbeat e não se considera mais líder
+        a.heartbeat();
+        assertThat(a.isLeader(JOB)).isFalse();
+    }
+
+    @Test
+    void fecharONoLiberaOJobNaHora() {
+        ClusterLeadership a = no();
+        ClusterLeadership b = no();
+        a.isLeader(JOB);
+
+        a.destroy();
+
+        assertThat(b.isLeader(JOB)).isTrue();
+        assertThat(jdbc.queryForObject("""
+                select count(*) from pg_locks
+                 where locktype = 'advisory'
+                   and database = (select oid from pg_database where datname = current_database())
+                """, Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    void heartbeatContaOsNosVivos() {
+        ClusterLeadership a = no();
+        ClusterLeadership b = no();
+        ClusterLeadership c = no();
+
+        heartbeat(a, b, c);
+        heartbeat(a, b, c);
+        assertThat(List.of(a.getLiveNodes(), b.getLiveNodes(), c.getLiveNodes())).containsOnly(3);
+
+        c.destroy();
+        heartbeat(a, b);
+        assertThat(a.getLiveNodes()).isEqualTo(2);
+    }
+
+    @Test
+    void shardsSeRedistribuemQuandoNosEntramESaem() {
+        ClusterLeadership a = no();
+        a.heartbeat();
+        assertThat(a.shardsOf(JOB)).containsExactly(0, 1, 2, 3);
+
+        ClusterLeadership b = no();
+        heartbeat(b, a);
+
+        Set<Integer> deA = a.shardsOf(JOB);
+        Set<Integer> deB = b.shardsOf(JOB);
+        assertThat(deA).hasSize(2);
+        assertThat(deB).hasSize(2).doesNotContainAnyElementsOf(deA);
+
+        // Liderança e shards do mesmo job são locks diferentes
+        assertThat(b.isLeader(JOB)).isTrue();
+
+        a.destroy();
+        b.heartbeat();
+        assertThat(b.shardsOf(JOB)).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test
+    void filialSempreCaiNoMesmoShard() {
+        ClusterLeadership a = no();
+        Set<Integer> usados = new HashSet<>();
+        for (long filial = 1; filial <= 100; filial++) {
+            int shard = a.shardOf(filial);
+            assertThat(a.shardOf(filial)).isEqualTo(shard);
+            usados.add(shard);
+        }
+        assertThat(usados).containsExactlyInAnyOrder(0, 1, 2, 3);
+        assertThat(a.shardOf(null)).isZero();
+    }
+
+    private ClusterLeadership no() {
+        ClusterLeadership no = new ClusterLeadership(ds, true, SHARDS);
+        nos.add(no);
+        return no;
+    }
+
+    private static void heartbeat(ClusterLeadership... nos) {
+        for (ClusterLeadership no : nos) no.heartbeat();
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.fiap.mototrack.config;
+
+import br.com.fiap.mototrack.model.Usuario;
+import br.com.fiap.mototrack.support.AplicacaoWebTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecurityConfigurationTests extends AplicacaoWebTest {
+
+    @Test
+    void prometheusExigeAdminOuTokenDeScrape() {
+        HttpClient cliente = novoCliente();
+
+        assertThat(obter(cliente, "/actuator/prometheus").statusCode()).isEqualTo(302); // login
+        assertThat(obter(cliente, "/actuator/prometheus",
+                "Authorization", bearer("operador@teste.com", "ROLE_USER")).statusCode()).isEqualTo(403);
+        assertThat(obter(cliente, "/actuator/prometheus",
+                "Authorization", "Bearer outro-token").statusCode()).isEqualTo(401);
+
+        assertThat(obter(cliente, "/actuator/prometheus",
+                "Authorization", "Bearer " + TOKEN_METRICAS).statusCode()).isEqualTo(200);
+        assertThat(obter(cliente, "/actuator/prometheus",
+                "Authorization", bearer("admin@teste.com", "ROLE_ADMIN")).statusCode()).isEqualTo(200);
+        assertThat(obter(cliente, "/actuator/health").statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void tokenDeScrapeNaoValeForaDoPrometheus() {
+        HttpClient cliente = novoCliente();
+
+        assertThat(obter(cliente, "/actuator/metrics",
+                "Authorization", "Bearer " + TOKEN_METRICAS).statusCode()).isEqualTo(401);
+        assertThat(obter(cliente, "/motos",
+                "Authorization", "Bearer " + TOKEN_METRICAS).statusCode()).isEqualTo(401);
+    }
+
+    @Test
+    void actuatorComSessaoDeAdminExigeCsrf() {
+        HttpClient admin = sessaoLogada("ADMINISTRADOR");
+
+        // Sem token: negado (o forward para /acesso-negado não aceita DELETE, daí o 405)
+        assertThat(enviar(admin, requisicao("/actuator/slowqueries").DELETE().build()).statusCode())
+                .isIn(403, 405);
+
+        String csrf = csrf(obter(admin, "/motos/ui/novo").body());
+        assertThat(enviar(admin, requisicao("/actuator/slowqueries", "X-CSRF-TOKEN", csrf).DELETE().build())
+                .statusCode()).isEqualTo(204);
+
+        assertThat(enviar(novoCliente(), requisicao("/actuator/slowqueries",
+                "Authorization", bearer("admin@teste.com", "ROLE_ADMIN")).DELETE().build()).statusCode())
+                .isEqualTo(204);
+    }
+
+    @Test
+    void loginRegravaHashComCustoAbaixoDoConfigurado() {
+        String email = "rehash-" + UUID.randomUUID() + "@teste.com";
+        String antigo = new BCryptPasswordEncoder(4).encode("senha123");
+        usuarioRepository.save(Usuario.builder().nome("Rehash").email(email).senha(antigo).perfil("OPERADOR").build());
+        String credenciais = "{\"email\":\"" + email + "\",\"senha\":\"senha123\"}";
+
+        assertThat(pedirToken(credenciais).statusCode()).isEqualTo(200);
+
+        String novo = usuarioRepository.findByEmailIgnoreCase(email).orElseThrow().getSenha();
+        assertThat(novo).isNotEqualTo(antigo).startsWith("$2a$10$");
+        assertThat(passwordEncoder.upgradeEncoding(novo)).isFalse();
+        // O UserCache não guarda o hash antigo: o próximo login confere contra o novo
+        assertThat(pedirToken(credenciais).statusCode()).isEqualTo(200);
+        assertThat(usuarioRepository.findByEmailIgnoreCase(email).orElseThrow().getSenha()).isEqualTo(novo);
+    }
+
+    private HttpResponse<String> pedirToken(String credenciais) {
+        return enviar(novoCliente(), requisicao("/auth/token",
+                "Content-Type", "application/json", "X-Forwarded-For", "203.0.113.30")
+                .POST(HttpRequest.BodyPublishers.ofString(credenciais)).build());
+    }
+}
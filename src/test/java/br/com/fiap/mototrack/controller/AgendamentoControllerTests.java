@@ -0,0 +1,60 @@
+package br.com.fiap.mototrack.controller;
+
+import br.com.fiap.mototrack.support.AplicacaoWebTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static br.com.fiap.mototrack.support.SqlCountAssertions.sqlCount;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AgendamentoControllerTests extends AplicacaoWebTest {
+
+    private static final int AGENDAMENTOS = 6;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private String auth;
+    private String descricao;
+    private long ultimoAgendamentoId;
+
+    @BeforeEach
+    void setUp() {
+        auth = bearer("agendamentos-" + UUID.randomUUID() + "@teste.com", "ROLE_ADMIN");
+        descricao = "budget-" + UUID.randomUUID().toString().substring(0, 8);
+        long filialId = jdbc.queryForObject("insert into tb_filial (nm_filial) values ('Budget Agenda') returning id_filial",
+                Long.class);
+        for (int i = 0; i < AGENDAMENTOS; i++) {
+            long motoId = jdbc.queryForObject("""
+                    insert into tb_moto (cd_placa, nr_ano, id_filial) values (?, 2022, ?) returning id_moto
+                    """, Long.class, "AGD" + i + UUID.randomUUID().toString().substring(0, 4), filialId);
+            ultimoAgendamentoId = jdbc.queryForObject("""
+                    insert into tb_agendamento (id_moto, dt_agendada, ds_descricao)
+                    values (?, now() + interval '1 day', ?) returning id_agendamento
+                    """, Long.class, motoId, descricao);
+        }
+    }
+
+    @Test
+    void filtroNaoConsultaCadaMoto() throws Exception {
+        mockMvc.perform(get("/agendamentos/filtro").param("descricao", descricao).param("sort", "dataAgendada")
+                        .header("Authorization", auth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(AGENDAMENTOS))
+                .andExpect(sqlCount(1));
+    }
+
+    @Test
+    void detalheUsaUmaConsulta() throws Exception {
+        mockMvc.perform(get("/agendamentos/{id}", ultimoAgendamentoId).header("Authorization", auth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.descricao").value(descricao))
+                .andExpect(sqlCount(1));
+    }
+}
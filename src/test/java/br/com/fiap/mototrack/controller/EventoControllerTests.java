@@ -0,0 +1,114 @@
+package br.com.fiap.mototrack.controller;
+
+import br.com.fiap.mototrack.index.PlacaIndex;
+import br.com.fiap.mototrack.model.Moto;
+import br.com.fiap.mototrack.support.AplicacaoWebTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import static br.com.fiap.mototrack.support.SqlCountAssertions.sqlCount;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class EventoControllerTests extends AplicacaoWebTest {
+
+    /** Um evento por moto: um N+1 em `Evento.moto` apareceria como +1 statement por linha. */
+    private static final int EVENTOS = 6;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Autowired
+    private PlacaIndex placaIndex;
+
+    private String auth;
+    private String tipo;
+    private long ultimoEventoId;
+    private long ultimaMotoId;
+    private String ultimaPlaca;
+
+    @BeforeEach
+    void setUp() {
+        auth = bearer("eventos-" + UUID.randomUUID() + "@teste.com", "ROLE_ADMIN");
+        tipo = "BUDGET-" + UUID.randomUUID().toString().substring(0, 8);
+        long filialId = jdbc.queryForObject("insert into tb_filial (nm_filial) values ('Budget Eventos') returning id_filial",
+                Long.class);
+        for (int i = 0; i < EVENTOS; i++) {
+            ultimaPlaca = "EVT" + i + UUID.randomUUID().toString().substring(0, 4);
+            ultimaMotoId = jdbc.queryForObject("""
+                    insert into tb_moto (cd_placa, nr_ano, id_filial) values (?, 2022, ?) returning id_moto
+                    """, Long.class, ultimaPlaca, filialId);
+            ultimoEventoId = jdbc.queryForObject("""
+                    insert into tb_evento (id_moto, tp_evento, ds_motivo, dt_hr_evento)
+                    values (?, ?, 'budget', now()) returning id_evento
+                    """, Long.class, ultimaMotoId, tipo);
+        }
+    }
+
+    @Test
+    void filtroTrazPlacasSemConsultarCadaMoto() throws Exception {
+        mockMvc.perform(get("/eventos/filtro").param("tipo", tipo).header("Authorization", auth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(EVENTOS))
+                .andExpect(jsonPath("$.content[0].motoPlaca").isNotEmpty())
+                .andExpect(sqlCount(1));
+    }
+
+    @Test
+    void detalheTrazAPlacaNaMesmaConsulta() throws Exception {
+        mockMvc.perform(get("/eventos/{id}", ultimoEventoId).header("Authorization", auth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.motoPlaca").isNotEmpty())
+                .andExpect(sqlCount(1));
+    }
+
+    @Test
+    void cadastroGravaSemLerAMoto() throws Exception {
+        placaIndex.recarregar();
+        cadastrar(ultimaMotoId).andExpect(status().isOk()); // primeiro uso: confirma a moto no banco
+
+        // Moto fora do L2: ler a placa pelo proxy seria um SELECT
+        emf.getCache().evict(Moto.class);
+
+        cadastrar(ultimaMotoId)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.motoId").value(ultimaMotoId))
+                .andExpect(jsonPath("$.motoPlaca").value(ultimaPlaca))
+                .andExpect(sqlCount(1));
+    }
+
+    @Test
+    void motoExcluidaPorOutroNoViraNotFound() throws Exception {
+        cadastrar(ultimaMotoId).andExpect(status().isOk());
+
+        // Exclusão feita fora deste nó: o ID continua no conjunto de IDs conhecidos
+        jdbc.update("delete from tb_evento where id_moto = ?", ultimaMotoId);
+        jdbc.update("delete from tb_moto where id_moto = ?", ultimaMotoId);
+
+        cadastrar(ultimaMotoId).andExpect(status().isNotFound());
+        cadastrar(ultimaMotoId).andExpect(status().isNotFound());
+    }
+
+    private ResultActions cadastrar(long motoId) throws Exception {
+        String dataHora = LocalDateTime.now().plusDays(1).format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
+        return mockMvc.perform(post("/eventos").header("Authorization", auth)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"motoId": %d, "tipo": "%s", "motivo": "budget", "dataHora": "%s"}
+                        """.formatted(motoId, tipo, dataHora)));
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.fiap.mototrack.controller;
+
+import br.com.fiap.mototrack.model.Moto;
+import br.com.fiap.mototrack.support.AplicacaoWebTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static br.com.fiap.mototrack.support.SqlCountAssertions.sqlCount;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MotoControllerTests extends AplicacaoWebTest {
+
+    private static final int MOTOS = 6;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private String auth;
+    private long filialId;
+    private long ultimaMotoId;
+
+    @BeforeEach
+    void setUp() {
+        auth = bearer("motos-" + UUID.randomUUID() + "@teste.com", "ROLE_ADMIN");
+        filialId = jdbc.queryForObject("insert into tb_filial (nm_filial) values ('Budget Motos') returning id_filial",
+                Long.class);
+        for (int i = 0; i < MOTOS; i++) {
+            ultimaMotoId = jdbc.queryForObject("""
+                    insert into tb_moto (cd_placa, nr_ano, id_filial) values (?, 2022, ?) returning id_moto
+                    """, Long.class, "BGT" + i + UUID.randomUUID().toString().substring(0, 4), filialId);
+        }
+    }
+
+    @Test
+    void filtroPaginadoNaoFazUmaConsultaPorMoto() throws Exception {
+        // Frio: página + contagem, independente da quantidade de motos
+        mockMvc.perform(get("/motos/filtro").param("filialId", String.valueOf(filialId)).header("Authorization", auth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(MOTOS))
+                .andExpect(sqlCount(2));
+
+        // Quente: cache de consultas + entidades no L2
+        mockMvc.perform(get("/motos/filtro").param("filialId", String.valueOf(filialId)).header("Authorization", auth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(MOTOS))
+                .andExpect(sqlCount(0));
+    }
+
+    @Test
+    void filtroEmCacheNaoViraNMais1QuandoAsEntidadesSaemDoL2() throws Exception {
+        mockMvc.perform(get("/motos/filtro").param("filialId", String.valueOf(filialId)).header("Authorization", auth))
+                .andExpect(sqlCount(2));
+
+        // Região `moto` expirou (ou foi despejada por tamanho) antes do resultado em `moto-filtro`
+        emf.getCache().evict(Moto.class);
+
+        mockMvc.perform(get("/motos/filtro").param("filialId", String.valueOf(filialId)).header("Authorization", auth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(MOTOS))
+                .andExpect(sqlCount(0));
+    }
+
+    @Test
+    void detalheUsaUmaConsultaEDepoisOCache() throws Exception {
+        mockMvc.perform(get("/motos/{id}", ultimaMotoId).header("Authorization", auth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.filialId").value(filialId))
+                .andExpect(sqlCount(1));
+
+        mockMvc.perform(get("/motos/{id}", ultimaMotoId).header("Authorization", auth))
+                .andExpect(status().isOk())
+                .andExpect(sqlCount(0));
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.fiap.mototrack.dashboard;
+
+import br.com.fiap.mototrack.dashboard.DashboardCounters.ChaveStatus;
+import br.com.fiap.mototrack.index.AgendaMotoIndex;
+import br.com.fiap.mototrack.repository.AgendamentoRepository;
+import br.com.fiap.mototrack.repository.EventoRepository;
+import br.com.fiap.mototrack.repository.MotoRepository;
+import br.com.fiap.mototrack.support.TransacaoSimulada;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardCountersTests {
+
+    private final MotoRepository motoRepository = mock(MotoRepository.class);
+    private final EventoRepository eventoRepository = mock(EventoRepository.class);
+    private DashboardCounters contadores;
+
+    @BeforeEach
+    void setUp() {
+        AgendamentoRepository agendamentos = mock(AgendamentoRepository.class);
+        when(agendamentos.findAllJanelas()).thenReturn(List.of());
+        when(eventoRepository.contarPorHoraETipo(any())).thenReturn(List.of());
+        contadores = new DashboardCounters(motoRepository, eventoRepository, new AgendaMotoIndex(agendamentos));
+    }
+
+    @Test
+    void contadorMudaSoNoCommit() {
+        TransacaoSimulada.executar(() -> contadores.motoCriada(1L, "Disponível"));
+        assertThatThrownBy(() -> TransacaoSimulada.executar(() -> {
+            contadores.motoCriada(1L, "Disponível");
+            throw new IllegalStateException("rollback");
+        })).isInstanceOf(IllegalStateException.class);
+        TransacaoSimulada.executar(() -> contadores.motoAlterada(1L, "Disponível", 1L, " Locada "));
+
+        assertThat(contadores.motosPorFilialEStatus())
+                .containsExactly(Map.entry(new ChaveStatus(1L, "Locada"), 1L));
+    }
+
+    @Test
+    void reconciliarCorrigeSemPerderIncrementosFeitosDuranteAConsulta() {
+        contadores.motoCriada(1L, "Disponível");
+        contadores.motoCriada(2L, "Disponível"); // desvio: o banco não tem a moto da filial 2
+
+        when(motoRepository.contarPorFilialEStatus()).thenAnswer(inv -> {
+            List<MotoRepository.ContagemStatus> banco = List.of(contagem(1L, "Disponível", 5));
+            contadores.motoCriada(1L, "Disponível"); // commit depois da leitura do banco
+            return banco;
+        });
+
+        contadores.reconciliar();
+
+        assertThat(contadores.motosPorFilialEStatus())
+                .containsOnlyKeys(new ChaveStatus(1L, "Disponível"))
+                .containsEntry(new ChaveStatus(1L, "Disponível"), 6L);
+        assertThat(contadores.getReconciliadoEm()).isNotNull();
+    }
+
+    private static MotoRepository.ContagemStatus contagem(Long filialId, String status, long total) {
+        return new MotoRepository.ContagemStatus() {
+            @Override public Long getFilialId() { return filialId; }
+            @Override public String getStatus() { return status; }
+            @Override public Long getTotal() { return total; }
+        };
+    }
+}
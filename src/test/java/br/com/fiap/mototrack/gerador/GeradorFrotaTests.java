@@ -0,0 +1,59 @@
+package br.com.fiap.mototrack.gerador;
+
+import br.com.fiap.mototrack.support.EmbeddedPostgresSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeradorFrotaTests {
+
+    private DataSource ds;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        ds = EmbeddedPostgresSupport.migrado();
+        jdbc = new JdbcTemplate(ds);
+    }
+
+    @Test
+    void segundaRodadaContinuaOsEmailsSemViolarAUnicidade() {
+        long antes = geradosAteAgora();
+
+        new GeradorFrota(ds).gerar(config(1L));
+        new GeradorFrota(ds).gerar(config(2L));
+
+        assertThat(geradosAteAgora()).isEqualTo(antes + 10);
+        assertThat(jdbc.queryForObject("""
+                select count(*) from (select ds_email from tb_usuario group by ds_email having count(*) > 1) d
+                """, Long.class)).isZero();
+    }
+
+    @Test
+    void motosFicamPertoDaCidadeDaPropriaFilial() {
+        // Ids de filial que não começam em 1: outras filiais já existem no banco de teste
+        jdbc.update("insert into tb_filial (nm_filial) values ('Antes do gerador')");
+        long ultimaMoto = jdbc.queryForObject("select coalesce(max(id_moto), 0) from tb_moto", Long.class);
+
+        new GeradorFrota(ds).gerar(config(3L));
+
+        assertThat(jdbc.queryForObject("""
+                select count(*) from tb_moto m join tb_filial f on f.id_filial = m.id_filial
+                 where m.id_moto > ?
+                   and (abs(m.vl_latitude - f.vl_latitude) > 0.35 or abs(m.vl_longitude - f.vl_longitude) > 0.35)
+                """, Long.class, ultimaMoto)).isZero();
+    }
+
+    private long geradosAteAgora() {
+        return jdbc.queryForObject("select count(*) from tb_usuario where ds_email like ?", Long.class,
+                "usuario%" + GeradorFrota.DOMINIO_EMAIL);
+    }
+
+    private static GeradorConfig config(long seed) {
+        return new GeradorConfig(13, 40, 50, 20, 5, seed, "senha123", 100, 7);
+    }
+}
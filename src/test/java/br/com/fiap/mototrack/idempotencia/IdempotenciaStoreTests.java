@@ -0,0 +1,104 @@
+package br.com.fiap.mototrack.idempotencia;
+
+import br.com.fiap.mototrack.cluster.ClusterLeadership;
+import br.com.fiap.mototrack.support.EmbeddedPostgresSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotenciaStoreTests {
+
+    private static final byte[] IMPRESSAO = "POST /eventos {}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RESPOSTA = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+    private DataSource ds;
+    private JdbcTemplate jdbc;
+    private byte[] chave;
+
+    @BeforeEach
+    void setUp() {
+        ds = EmbeddedPostgresSupport.migrado();
+        jdbc = new JdbcTemplate(ds);
+        chave = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void apenasUmaRequisicaoReservaAChave() {
+        IdempotenciaStore store = store(Duration.ofHours(1), Duration.ofSeconds(30));
+
+        assertThat(store.reservar(chave, IMPRESSAO)).isTrue();
+        assertThat(store.reservar(chave, IMPRESSAO)).isFalse();
+
+        IdempotenciaStore.Registro emAndamento = store.buscar(chave);
+        assertThat(emAndamento.concluido()).isFalse();
+        assertThat(store.concluidoEmCache(chave)).isNull();
+    }
+
+    @Test
+    void respostaConcluidaVaiParaOCacheEOutroNoLeDoBanco() {
+        IdempotenciaStore store = store(Duration.ofHours(1), Duration.ofSeconds(30));
+        store.reservar(chave, IMPRESSAO);
+
+        store.concluir(chave, IMPRESSAO, 201, RESPOSTA);
+
+        assertThat(store.concluidoEmCache(chave).status()).isEqualTo(201);
+
+        IdempotenciaStore outroNo = store(Duration.ofHours(1), Duration.ofSeconds(30));
+        assertThat(outroNo.concluidoEmCache(chave)).isNull();
+        IdempotenciaStore.Registro registro = outroNo.buscar(chave);
+        assertThat(registro.status()).isEqualTo(201);
+        assertThat(registro.resposta()).isEqualTo(RESPOSTA);
+        assertThat(registro.impressao()).isEqualTo(IMPRESSAO);
+        assertThat(outroNo.concluidoEmCache(chave)).isNotNull();
+    }
+
+    @Test
+    void falhaLiberaAChaveParaARetentativa() {
+        IdempotenciaStore store = store(Duration.ofHours(1), Duration.ofSeconds(30));
+        store.reservar(chave, IMPRESSAO);
+
+        store.liberar(chave);
+
+        assertThat(store.buscar(chave)).isNull();
+        assertThat(store.reservar(chave, IMPRESSAO)).isTrue();
+    }
+
+    @Test
+    void reservaAbandonadaERetomadaMasRespostaConcluidaNao() {
+        // em-andamento-max zero: qualquer reserva sem resposta já conta como abandonada
+        IdempotenciaStore store = store(Duration.ofHours(1), Duration.ZERO);
+        store.reservar(chave, IMPRESSAO);
+
+        assertThat(store.reservar(chave, IMPRESSAO)).isTrue();
+
+        store.concluir(chave, IMPRESSAO, 201, RESPOSTA);
+        assertThat(store.reservar(chave, IMPRESSAO)).isFalse();
+        assertThat(store.buscar(chave).status()).isEqualTo(201);
+    }
+
+    @Test
+    void chaveVencidaSaiNaLimpezaEPodeSerReusada() {
+        IdempotenciaStore store = store(Duration.ofHours(1), Duration.ofSeconds(30));
+        store.reservar(chave, IMPRESSAO);
+        store.concluir(chave, IMPRESSAO, 201, RESPOSTA);
+        jdbc.update("update tb_idempotencia set dt_expiracao = now() - interval '1 minute' where cd_chave = ?", chave);
+        assertThat(store.buscar(chave)).isNull();
+
+        store.removerExpiradas();
+
+        assertThat(jdbc.queryForObject("select count(*) from tb_idempotencia where cd_chave = ?", Long.class, chave))
+                .isZero();
+        assertThat(store.reservar(chave, IMPRESSAO)).isTrue();
+    }
+
+    private IdempotenciaStore store(Duration ttl, Duration emAndamentoMax) {
+        return new IdempotenciaStore(jdbc, new ClusterLeadership(ds, false, 1), ttl, emAndamentoMax, 100, 100, 10);
+    }
+}
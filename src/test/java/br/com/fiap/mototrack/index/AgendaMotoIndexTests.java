@@ -0,0 +1,151 @@
+package br.com.fiap.mototrack.index;
+
+import br.com.fiap.mototrack.dto.request.AgendamentoRequest;
+import br.com.fiap.mototrack.mapper.ModelMapperConfig;
+import br.com.fiap.mototrack.model.Agendamento;
+import br.com.fiap.mototrack.model.Moto;
+import br.com.fiap.mototrack.repository.AgendamentoRepository;
+import br.com.fiap.mototrack.service.AgendamentoService;
+import br.com.fiap.mototrack.support.TransacaoSimulada;
+import br.com.fiap.mototrack.web.SaidaCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AgendaMotoIndexTests {
+
+    private static final LocalDateTime DEZ_HORAS = LocalDateTime.of(2030, 1, 10, 10, 0);
+
+    private final AgendamentoRepository repository = mock(AgendamentoRepository.class);
+    private AgendaMotoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findAllJanelas()).thenReturn(List.of());
+        index = new AgendaMotoIndex(repository);
+        index.recarregar();
+    }
+
+    @Test
+    void conflitoConsideraJanelasLongasQueComecamAntes() {
+        TransacaoSimulada.executar(() -> index.reservar(1L, null, DEZ_HORAS, 180).confirmar(10L));
+
+        assertThat(index.conflito(1L, null, DEZ_HORAS.plusHours(2), 30)).get()
+                .extracting(AgendaMotoIndex.Janela::id).isEqualTo(10L);
+        assertThat(index.conflito(1L, 10L, DEZ_HORAS.plusHours(2), 30)).isEmpty();
+        assertThat(index.conflito(2L, null, DEZ_HORAS, 30)).isEmpty();
+        assertThat(index.proximoHorarioLivre(1L, null, DEZ_HORAS.plusHours(1), 30)).isEqualTo(DEZ_HORAS.plusHours(3));
+        assertThat(index.quantidadeNoDia(DEZ_HORAS.toLocalDate())).isEqualTo(1);
+    }
+
+    @Test
+    void reservaProvisoriaBloqueiaAJanelaAteOFimDaTransacao() {
+        TransacaoSimulada.executar(() -> {
+            index.reservar(1L, null, DEZ_HORAS, 60);
+            assertThatThrownBy(() -> index.reservar(1L, null, DEZ_HORAS.plusMinutes(30), 60))
+                    .isInstanceOf(ResponseStatusException.class)
+                    .hasMessageContaining("em gravação")
+                    .hasMessageContaining("11:00");
+        });
+
+        // Sem confirmar: a transação terminou e a janela ficou livre
+        assertThat(index.conflito(1L, null, DEZ_HORAS, 60)).isEmpty();
+        assertThat(index.quantidadeNoDia(DEZ_HORAS.toLocalDate())).isZero();
+    }
+
+    @Test
+    void rollbackDescartaAReservaConfirmada() {
+        assertThatThrownBy(() -> TransacaoSimulada.executar(() -> {
+            index.reservar(1L, null, DEZ_HORAS, 60).confirmar(10L);
+            throw new IllegalStateException("falha depois do insert");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(index.conflito(1L, null, DEZ_HORAS, 60)).isEmpty();
+        assertThat(index.quantidadeNoDia(DEZ_HORAS.toLocalDate())).isZero();
+    }
+
+    @Test
+    void recarregarMantemReservasProvisoriasDeTransacoesAbertas() {
+        TransacaoSimulada.executar(() -> {
+            AgendaMotoIndex.Reserva reserva = index.reservar(1L, null, DEZ_HORAS, 60);
+
+            index.recarregar();
+
+            assertThatThrownBy(() -> index.reservar(1L, null, DEZ_HORAS, 60))
+                    .isInstanceOf(ResponseStatusException.class);
+            reserva.confirmar(10L);
+        });
+
+        assertThat(index.conflito(1L, null, DEZ_HORAS, 60)).isPresent();
+        assertThat(index.quantidadeNoDia(DEZ_HORAS.toLocalDate())).isEqualTo(1);
+    }
+
+    @Test
+    void recarregarNaoPerdeCommitsFeitosDuranteAConsulta() {
+        when(repository.findAllJanelas()).thenAnswer(inv -> {
+            // Lido do banco antes do commit abaixo: só o agendamento de outro nó
+            List<AgendamentoRepository.JanelaAgendamento> banco = List.of(janela(20L, 2L, DEZ_HORAS, 30));
+            TransacaoSimulada.executar(() -> index.reservar(1L, null, DEZ_HORAS, 60).confirmar(10L));
+            return banco;
+        });
+
+        index.recarregar();
+
+        assertThat(index.conflito(1L, null, DEZ_HORAS, 60)).get()
+                .extracting(AgendaMotoIndex.Janela::id).isEqualTo(10L);
+        assertThat(index.conflito(2L, null, DEZ_HORAS, 60)).get()
+                .extracting(AgendaMotoIndex.Janela::id).isEqualTo(20L);
+        assertThat(index.quantidadeNoDia(DEZ_HORAS.toLocalDate())).isEqualTo(2);
+
+        // Na próxima recarga o banco já não tem o 20 (excluído em outro nó)
+        doReturn(List.of(janela(10L, 1L, DEZ_HORAS, 60))).when(repository).findAllJanelas();
+        index.recarregar();
+
+        assertThat(index.conflito(2L, null, DEZ_HORAS, 60)).isEmpty();
+        assertThat(index.quantidadeNoDia(DEZ_HORAS.toLocalDate())).isEqualTo(1);
+    }
+
+    @Test
+    void falhaNoSaveLiberaAJanelaDaMoto() {
+        ReferenciaIndex referencias = mock(ReferenciaIndex.class);
+        when(referencias.moto(1L)).thenReturn(Moto.builder().id(1L).build());
+        when(referencias.motoInexistente(eq(1L), any())).thenAnswer(inv -> inv.getArgument(1));
+        when(repository.saveAndFlush(any(Agendamento.class)))
+                .thenThrow(new DataIntegrityViolationException("ck_agendamento_duracao"));
+        SaidaCache saidaCache = new SaidaCache(true, true, Duration.ofMinutes(10), Duration.ofSeconds(30), 1);
+        AgendamentoService service = new AgendamentoService(repository, referencias,
+                new ModelMapperConfig().modelMapper(), index, saidaCache);
+
+        AgendamentoRequest dto = new AgendamentoRequest();
+        dto.setMotoId(1L);
+        dto.setDataAgendada(DEZ_HORAS);
+        dto.setDuracaoMinutos(60);
+
+        assertThatThrownBy(() -> TransacaoSimulada.executar(() -> service.cadastrar(dto)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(index.conflito(1L, null, DEZ_HORAS, 60)).isEmpty();
+    }
+
+    private static AgendamentoRepository.JanelaAgendamento janela(Long id, Long motoId, LocalDateTime inicio, int duracao) {
+        return new AgendamentoRepository.JanelaAgendamento() {
+            @Override public Long getId() { return id; }
+            @Override public Long getMotoId() { return motoId; }
+            @Override public LocalDateTime getDataAgendada() { return inicio; }
+            @Override public Integer getDuracaoMinutos() { return duracao; }
+        };
+    }
+}
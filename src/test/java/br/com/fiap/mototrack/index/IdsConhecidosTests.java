@@ -0,0 +1,96 @@
+package br.com.fiap.mototrack.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdsConhecidosTests {
+
+    @Test
+    void adicionaERemoveEmChavesAltasDiferentes() {
+        IdsConhecidos ids = new IdsConhecidos();
+
+        assertThat(ids.adicionar(1)).isTrue();
+        assertThat(ids.adicionar(1)).isFalse();
+        assertThat(ids.adicionar(65_536)).isTrue();
+        assertThat(ids.adicionar(5_000_000_000L)).isTrue();
+
+        assertThat(ids.contem(1)).isTrue();
+        assertThat(ids.contem(65_537)).isFalse();
+        assertThat(ids.contem(5_000_000_000L)).isTrue();
+        assertThat(ids.contem(5_000_000_000L - 65_536)).isFalse();
+        assertThat(ids.tamanho()).isEqualTo(3);
+
+        assertThat(ids.remover(65_536)).isTrue();
+        assertThat(ids.remover(65_536)).isFalse();
+        assertThat(ids.contem(65_536)).isFalse();
+        assertThat(ids.tamanho()).isEqualTo(2);
+    }
+
+    @Test
+    void idNegativoNuncaEntra() {
+        IdsConhecidos ids = new IdsConhecidos();
+
+        assertThat(ids.adicionar(-1)).isFalse();
+        assertThat(ids.contem(-1)).isFalse();
+        assertThat(ids.tamanho()).isZero();
+    }
+
+    @Test
+    void conteinerViraBitmapAcimaDoLimiteEVoltaAoEncolher() {
+        IdsConhecidos ids = new IdsConhecidos();
+        for (long id = 0; id < 4096; id++) ids.adicionar(id * 2);
+        assertThat(ids.bytes()).isEqualTo(2 * 4096);
+
+        ids.adicionar(8193);
+
+        assertThat(ids.bytes()).isEqualTo(8 * 1024);
+        assertThat(ids.contem(8193)).isTrue();
+        assertThat(ids.contem(8190)).isTrue();
+        assertThat(ids.contem(8191)).isFalse();
+
+        // De volta a 4.096 valores: esparso de novo, com os mesmos IDs
+        ids.remover(0);
+        ids.remover(2);
+
+        assertThat(ids.tamanho()).isEqualTo(4095);
+        assertThat(ids.contem(0)).isFalse();
+        assertThat(ids.contem(4)).isTrue();
+        assertThat(ids.contem(8193)).isTrue();
+    }
+
+    @Test
+    void concordaComUmBitSetEmOperacoesAleatorias() {
+        IdsConhecidos ids = new IdsConhecidos();
+        BitSet esperado = new BitSet();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 200_000; i++) {
+            int id = random.nextInt(200_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(ids.remover(id)).isEqualTo(esperado.get(id));
+                esperado.clear(id);
+            } else {
+                assertThat(ids.adicionar(id)).isEqualTo(!esperado.get(id));
+                esperado.set(id);
+            }
+        }
+
+        assertThat(ids.tamanho()).isEqualTo(esperado.cardinality());
+        for (int id = 0; id < 200_000; id++) {
+            assertThat(ids.contem(id)).isEqualTo(esperado.get(id));
+        }
+    }
+
+    @Test
+    void idsSequenciaisOcupamCercaDeUmBitCada() {
+        IdsConhecidos ids = new IdsConhecidos();
+        for (long id = 1; id <= 1_000_000; id++) ids.adicionar(id);
+
+        assertThat(ids.tamanho()).isEqualTo(1_000_000);
+        assertThat(ids.bytes()).isLessThanOrEqualTo(16 * 8192);
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.fiap.mototrack.index;
+
+import br.com.fiap.mototrack.repository.MotoRepository;
+import br.com.fiap.mototrack.support.TransacaoSimulada;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PlacaIndexTests {
+
+    private final MotoRepository repository = mock(MotoRepository.class);
+    private PlacaIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findAllPlacas()).thenReturn(List.of(
+                placa(1L, "ABC1D23", "Disponível"),
+                placa(2L, "abc-1e45", "Locada"),
+                placa(3L, "XYZ9A00", "Disponível")));
+        index = new PlacaIndex(repository);
+        index.recarregar();
+    }
+
+    @Test
+    void buscaPorPrefixoIgnoraHifenECaixaEmOrdemAlfabetica() {
+        assertThat(index.buscarPorPrefixo("abc-1", 10))
+                .extracting(PlacaIndex.Entrada::id).containsExactly(1L, 2L);
+        assertThat(index.buscarPorPrefixo("ABC1E", 10))
+                .extracting(PlacaIndex.Entrada::placa).containsExactly("abc-1e45");
+        assertThat(index.buscarPorPrefixo("abc", 1)).hasSize(1);
+        assertThat(index.buscarPorPrefixo("ZZZ", 10)).isEmpty();
+        assertThat(index.buscarPorPrefixo(" - ", 10)).isEmpty();
+    }
+
+    @Test
+    void escritasSoValemDepoisDoCommit() {
+        TransacaoSimulada.executar(() -> {
+            index.salvar(4L, "ABC0A11", "Disponível");
+            assertThat(index.buscarPorPrefixo("ABC0", 10)).isEmpty();
+        });
+
+        assertThat(index.buscarPorPrefixo("ABC", 10))
+                .extracting(PlacaIndex.Entrada::id).containsExactly(4L, 1L, 2L);
+        assertThat(index.tamanho()).isEqualTo(4);
+    }
+
+    @Test
+    void trocaDePlacaEStatusSubstituiAEntradaAnterior() {
+        TransacaoSimulada.executar(() -> index.salvar(1L, "ABC1D23", "Manutenção"));
+        assertThat(index.buscarPorPrefixo("ABC1D", 10))
+                .extracting(PlacaIndex.Entrada::status).containsExactly("Manutenção");
+
+        TransacaoSimulada.executar(() -> index.salvar(1L, "QWE5R67", "Manutenção"));
+        TransacaoSimulada.executar(() -> index.remover(3L));
+
+        assertThat(index.buscarPorPrefixo("ABC1D", 10)).isEmpty();
+        assertThat(index.buscarPorPrefixo("QWE", 10)).extracting(PlacaIndex.Entrada::id).containsExactly(1L);
+        assertThat(index.buscarPorPrefixo("XYZ", 10)).isEmpty();
+        assertThat(index.tamanho()).isEqualTo(2);
+    }
+
+    @Test
+    void recargaTrocaOConteudoPeloDoBanco() {
+        when(repository.findAllPlacas()).thenReturn(List.of(placa(7L, "DEF2G34", "Disponível")));
+
+        index.recarregar();
+
+        assertThat(index.buscarPorPrefixo("ABC", 10)).isEmpty();
+        assertThat(index.buscarPorPrefixo("def2", 10)).extracting(PlacaIndex.Entrada::id).containsExactly(7L);
+        assertThat(index.tamanho()).isEqualTo(1);
+    }
+
+    private static MotoRepository.PlacaMoto placa(Long id, String placa, String status) {
+        return new MotoRepository.PlacaMoto() {
+            @Override public Long getId() { return id; }
+            @Override public String getPlaca() { return placa; }
+            @Override public String getStatus() { return status; }
+        };
+    }
+}
@@ -0,0 +1,207 @@
+package br.com.fiap.mototrack.job;
+
+import br.com.fiap.mototrack.cluster.ClusterLeadership;
+import br.com.fiap.mototrack.repository.EventoRollupRepository;
+import br.com.fiap.mototrack.support.EmbeddedPostgresSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventoRollupJobTests {
+
+    private static final LocalDateTime QUANDO = LocalDateTime.of(2030, 3, 1, 10, 15);
+
+    private DataSource ds;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate tx;
+    private EventoRollupRepository repository;
+    private EventoRollupJob job;
+    private long filialId;
+    private long motoId;
+
+    @BeforeEach
+    void setUp() {
+        ds = EmbeddedPostgresSupport.migrado();
+        jdbc = new JdbcTemplate(ds);
+        DataSourceTransactionManager tm = new DataSourceTransactionManager(ds);
+        tx = new TransactionTemplate(tm);
+        repository = new EventoRollupRepository(jdbc);
+        job = new EventoRollupJob(repository, new ClusterLeadership(ds, false, 1), tm, 1000, 100);
+
+        filialId = jdbc.queryForObject("insert into tb_filial (nm_filial) values ('Rollup') returning id_filial", Long.class);
+        motoId = jdbc.queryForObject("insert into tb_moto (cd_placa, nr_ano, id_filial) values (?, 2022, ?) returning id_moto",
+                Long.class, UUID.randomUUID().toString(), filialId);
+    }
+
+    @Test
+    void transacoesQueFazemCommitForaDaOrdemDosIdsNaoSaoPuladas() throws SQLException {
+        String tipo = tipoUnico();
+        try (Connection t1 = ds.getConnection(); Connection t2 = ds.getConnection()) {
+            t1.setAutoCommit(false);
+            t2.setAutoCommit(false);
+            long menor = inserirEvento(t1, tipo);
+            long maior = inserirEvento(t2, tipo);
+            assertThat(menor).isLessThan(maior);
+
+            t2.commit();
+            job.executar();
+            assertThat(totalDia(tipo)).isEqualTo(1);
+
+            // O id menor confirma depois que o maior já foi agregado
+            t1.commit();
+            job.executar();
+        }
+
+        assertThat(totalDia(tipo)).isEqualTo(2);
+        assertThat(totalHora(tipo)).isEqualTo(2);
+        assertThat(pendentes(tipo)).isZero();
+    }
+
+    @Test
+    void ajusteSoAconteceDepoisQueOEventoFoiAgregado() {
+        String antes = tipoUnico();
+        String depois = tipoUnico();
+        long id = jdbc.queryForObject("""
+                insert into tb_evento (id_moto, tp_evento, ds_motivo, dt_hr_evento)
+                values (?, ?, 'teste', ?) returning id_evento
+                """, Long.class, motoId, antes, Timestamp.valueOf(QUANDO));
+
+        // Ainda na fila: o job agregará os valores atuais, sem ajuste
+        alterarTipo(id, antes, depois);
+        job.executar();
+        assertThat(totalDia(antes)).isZero();
+        assertThat(totalDia(depois)).isEqualTo(1);
+
+        // Já agregado: a alteração move a contagem
+        alterarTipo(id, depois, antes);
+        assertThat(totalDia(antes)).isEqualTo(1);
+        assertThat(totalDia(depois)).isZero();
+        assertThat(totalHora(antes)).isEqualTo(1);
+
+        excluir(id, antes);
+        assertThat(totalDia(antes)).isZero();
+        assertThat(atribuicoes(id)).isZero();
+    }
+
+    @Test
+    void ajusteDescontaDaFilialEmQueOEventoFoiContado() {
+        String tipo = tipoUnico();
+        long id = jdbc.queryForObject("""
+                insert into tb_evento (id_moto, tp_evento, ds_motivo, dt_hr_evento)
+                values (?, ?, 'teste', ?) returning id_evento
+                """, Long.class, motoId, tipo, Timestamp.valueOf(QUANDO));
+        job.executar();
+
+        // A moto muda de filial depois da agregação
+        long outraFilial = jdbc.queryForObject("insert into tb_filial (nm_filial) values ('Rollup 2') returning id_filial", Long.class);
+        jdbc.update("update tb_moto set id_filial = ? where id_moto = ?", outraFilial, motoId);
+
+        String depois = tipoUnico();
+        alterarTipo(id, tipo, depois);
+        assertThat(totalDia(tipo, filialId)).isZero();
+        assertThat(totalDia(depois, outraFilial)).isEqualTo(1);
+        assertThat(totalHora(depois)).isEqualTo(1);
+
+        // Volta para a filial original: a exclusão desconta de onde o evento está contado agora
+        jdbc.update("update tb_moto set id_filial = ? where id_moto = ?", filialId, motoId);
+        excluir(id, depois);
+        assertThat(totalDia(depois, outraFilial)).isZero();
+        assertThat(jdbc.queryForObject("select count(*) from tb_evento_rollup_dia where tp_evento = ? and qt_eventos <> 0",
+                Long.class, depois)).isZero();
+    }
+
+    @Test
+    void eventoExcluidoAntesDeAgregarSaiDaFila() {
+        String tipo = tipoUnico();
+        long id = jdbc.queryForObject("""
+                insert into tb_evento (id_moto, tp_evento, ds_motivo, dt_hr_evento)
+                values (?, ?, 'teste', ?) returning id_evento
+                """, Long.class, motoId, tipo, Timestamp.valueOf(QUANDO));
+
+        excluir(id, tipo);
+        job.executar();
+
+        assertThat(totalDia(tipo)).isZero();
+        assertThat(jdbc.queryForObject("select count(*) from tb_evento_rollup_dia where tp_evento = ?",
+                Long.class, tipo)).isZero();
+    }
+
+    // =============================
+    // 🔧 Auxiliares
+    // =============================
+
+    private void alterarTipo(long id, String antes, String depois) {
+        tx.executeWithoutResult(s -> {
+            jdbc.update("update tb_evento set tp_evento = ? where id_evento = ?", depois, id);
+            repository.descontarSeAgregado(id, QUANDO, antes);
+            repository.contarSeAgregado(id);
+        });
+    }
+
+    private void excluir(long id, String tipo) {
+        tx.executeWithoutResult(s -> {
+            repository.descontarSeAgregado(id, QUANDO, tipo);
+            jdbc.update("delete from tb_evento where id_evento = ?", id);
+        });
+    }
+
+    private long inserirEvento(Connection c, String tipo) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement("""
+                insert into tb_evento (id_moto, tp_evento, ds_motivo, dt_hr_evento)
+                values (?, ?, 'teste', ?) returning id_evento
+                """)) {
+            ps.setLong(1, motoId);
+            ps.setString(2, tipo);
+            ps.setTimestamp(3, Timestamp.valueOf(QUANDO));
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private long totalDia(String tipo) {
+        return jdbc.queryForObject("select coalesce(sum(qt_eventos), 0) from tb_evento_rollup_dia where tp_evento = ?",
+                Long.class, tipo);
+    }
+
+    private long totalDia(String tipo, long filial) {
+        return jdbc.queryForObject("""
+                select coalesce(sum(qt_eventos), 0) from tb_evento_rollup_dia where tp_evento = ? and id_filial = ?
+                """, Long.class, tipo, filial);
+    }
+
+    private long atribuicoes(long id) {
+        return jdbc.queryForObject("select count(*) from tb_evento_rollup_filial where id_evento = ?", Long.class, id);
+    }
+
+    private long totalHora(String tipo) {
+        return jdbc.queryForObject("select coalesce(sum(qt_eventos), 0) from tb_evento_rollup_hora where tp_evento = ?",
+                Long.class, tipo);
+    }
+
+    private long pendentes(String tipo) {
+        return jdbc.queryForObject("""
+                select count(*) from tb_evento_rollup_pendente p
+                  join tb_evento e on e.id_evento = p.id_evento
+                 where e.tp_evento = ?
+                """, Long.class, tipo);
+    }
+
+    private static String tipoUnico() {
+        return "TESTE-" + UUID.randomUUID();
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.fiap.mototrack.limite;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BaldeTokensTests {
+
+    private static final long SEGUNDO = 1_000_000_000L;
+
+    @Test
+    void rajadaAteACapacidadeEDepoisEsperaUmIntervalo() {
+        BaldeTokens balde = new BaldeTokens(0);
+
+        for (int restantes = 4; restantes >= 0; restantes--) {
+            assertThat(balde.consumir(0, SEGUNDO, 5)).isEqualTo(restantes);
+        }
+
+        // Vazio: o próximo token chega em exatamente um intervalo
+        assertThat(balde.consumir(0, SEGUNDO, 5)).isEqualTo(-SEGUNDO);
+        assertThat(balde.consumir(SEGUNDO / 4, SEGUNDO, 5)).isEqualTo(-SEGUNDO * 3 / 4);
+    }
+
+    @Test
+    void repoeUmTokenPorIntervaloSemPassarDaCapacidade() {
+        BaldeTokens balde = new BaldeTokens(0);
+        for (int i = 0; i < 3; i++) balde.consumir(0, SEGUNDO, 3);
+
+        assertThat(balde.consumir(SEGUNDO, SEGUNDO, 3)).isZero();
+        assertThat(balde.consumir(SEGUNDO, SEGUNDO, 3)).isNegative();
+
+        // Muito tempo parado: volta cheio, não acumula além da rajada
+        assertThat(balde.consumir(100 * SEGUNDO, SEGUNDO, 3)).isEqualTo(2);
+    }
+
+    @Test
+    void concorrenciaNaoLiberaMaisQueACapacidade() throws Exception {
+        BaldeTokens balde = new BaldeTokens(0);
+        AtomicInteger permitidas = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                pool.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < 1_000; i++) {
+                        if (balde.consumir(0, SEGUNDO, 100) >= 0) permitidas.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            largada.countDown();
+        }
+
+        assertThat(permitidas).hasValue(100);
+    }
+}
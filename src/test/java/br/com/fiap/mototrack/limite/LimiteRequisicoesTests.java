@@ -0,0 +1,35 @@
+package br.com.fiap.mototrack.limite;
+
+import br.com.fiap.mototrack.support.AplicacaoWebTest;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LimiteRequisicoesTests extends AplicacaoWebTest {
+
+    private static final String CREDENCIAIS = "{\"email\":\"ninguem@teste.com\",\"senha\":\"errada\"}";
+
+    @Test
+    void clientesAtrasDoMesmoProxyTemBaldesSeparados() {
+        // Conexão vem de 127.0.0.1 (proxy confiável): o cliente é o do X-Forwarded-For
+        HttpClient proxy = novoCliente();
+
+        int status = 0;
+        for (int i = 0; i < 40 && status != 429; i++) {
+            status = pedirToken(proxy, "203.0.113.10").statusCode();
+        }
+        assertThat(status).as("cliente A esgota o próprio balde").isEqualTo(429);
+
+        assertThat(pedirToken(proxy, "203.0.113.20").statusCode()).as("cliente B segue com o balde cheio").isEqualTo(401);
+    }
+
+    private HttpResponse<String> pedirToken(HttpClient cliente, String ipCliente) {
+        return enviar(cliente, requisicao("/auth/token",
+                "Content-Type", "application/json", "X-Forwarded-For", ipCliente)
+                .POST(HttpRequest.BodyPublishers.ofString(CREDENCIAIS)).build());
+    }
+}
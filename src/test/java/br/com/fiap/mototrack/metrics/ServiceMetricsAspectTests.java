@@ -0,0 +1,88 @@
+package br.com.fiap.mototrack.metrics;
+
+import br.com.fiap.mototrack.filter.MotoFilter;
+import br.com.fiap.mototrack.service.MotoService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ServiceMetricsAspectTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ServiceMetricsAspect aspect = new ServiceMetricsAspect(registry, List.of("status+filialId"));
+
+    @Test
+    void filtroSozinhoEComCombinacaoConhecidaViramTag() throws Throwable {
+        executar(filtro(null, "ATIVA", null, null));
+        executar(filtro(null, "ATIVA", 7L, null));
+
+        assertThat(filtrosRegistrados()).containsExactlyInAnyOrder("status", "filialId+status");
+    }
+
+    @Test
+    void combinacoesForaDaListaFicamEmOutros() throws Throwable {
+        executar(filtro("ABC", "ATIVA", null, null));
+        executar(filtro("ABC", null, 7L, LocalDate.now()));
+        executar(filtro(null, "ATIVA", 7L, LocalDate.now()));
+        executar(filtro(null, null, null, null));
+
+        assertThat(filtrosRegistrados()).containsExactlyInAnyOrder("outros", "nenhum");
+        assertThat(registry.get("mototrack.service").tag("filtros", "outros").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void outcomeEhSucessoOuErroQualquerQueSejaAExcecao() throws Throwable {
+        executar(filtro(null, null, null, null));
+        ProceedingJoinPoint pjp = joinPoint(filtro(null, null, null, null));
+        when(pjp.proceed()).thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND), new IllegalStateException());
+        assertThatThrownBy(() -> aspect.medirServico(pjp)).isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> aspect.medirServico(pjp)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(registry.get("mototrack.service").timers())
+                .extracting(t -> t.getId().getTag("outcome"))
+                .containsExactlyInAnyOrder("sucesso", "erro");
+        assertThat(registry.get("mototrack.service").tag("outcome", "erro").timer().count()).isEqualTo(2);
+    }
+
+    // =============================
+    // 🔧 Auxiliares
+    // =============================
+
+    private void executar(MotoFilter filtro) throws Throwable {
+        ProceedingJoinPoint pjp = joinPoint(filtro);
+        when(pjp.proceed()).thenReturn(List.of());
+        aspect.medirServico(pjp);
+    }
+
+    private static ProceedingJoinPoint joinPoint(Object... args) {
+        Signature assinatura = mock(Signature.class);
+        when(assinatura.getDeclaringType()).thenReturn(MotoService.class);
+        when(assinatura.getName()).thenReturn("consultarComFiltro");
+        ProceedingJoinPoint pjp = mock(ProceedingJoinPoint.class);
+        when(pjp.getSignature()).thenReturn(assinatura);
+        when(pjp.getArgs()).thenReturn(args);
+        return pjp;
+    }
+
+    private static MotoFilter filtro(String placa, String status, Long filialId, LocalDate criacaoInicio) {
+        return new MotoFilter(null, placa, null, null, status, null, null, filialId, criacaoInicio, null);
+    }
+
+    private List<String> filtrosRegistrados() {
+        return registry.get("mototrack.service").timers().stream()
+                .map((Timer t) -> t.getId().getTag("filtros"))
+                .toList();
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.fiap.mototrack.replica;
+
+import br.com.fiap.mototrack.support.EmbeddedPostgresSupport;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * O banco de teste não é uma réplica: `pg_last_wal_replay_lsn()` e
+ * `pg_last_xact_replay_timestamp()` são sobrepostas por funções de um schema que vem
+ * antes do `pg_catalog` no `search_path` das conexões da "réplica".
+ */
+class ReplicaLagMonitorTests {
+
+    private static final long MAX_LAG_MS = 5_000;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private JdbcTemplate jdbc;
+    private String schema;
+    private ReplicaPools pools;
+
+    @BeforeEach
+    void setUp() {
+        var c = EmbeddedPostgresSupport.iniciar();
+        HikariDataSource primario = pool("primario", c.url());
+        jdbc = new JdbcTemplate(primario);
+
+        schema = "replica_" + UUID.randomUUID().toString().replace("-", "");
+        jdbc.execute("create schema " + schema);
+        jdbc.execute("create table " + schema + ".estado (lsn pg_lsn not null, replay timestamptz)");
+        jdbc.execute("insert into " + schema + ".estado values ('0/0', now())");
+        jdbc.execute("create function " + schema + ".pg_last_wal_replay_lsn() returns pg_lsn language sql"
+                + " as 'select lsn from " + schema + ".estado'");
+        jdbc.execute("create function " + schema + ".pg_last_xact_replay_timestamp() returns timestamptz language sql"
+                + " as 'select replay from " + schema + ".estado'");
+
+        HikariDataSource replica = pool("replica-1", c.url());
+        replica.addDataSourceProperty("currentSchema", schema + ",pg_catalog");
+        HikariDataSource foraDoAr = pool("replica-2", "jdbc:postgresql://127.0.0.1:1/postgres");
+        foraDoAr.setConnectionTimeout(250);
+
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica);
+        replicas.put("replica-2", foraDoAr);
+        pools = new ReplicaPools(primario, replicas);
+    }
+
+    @AfterEach
+    void limpar() {
+        jdbc.execute("drop schema " + schema + " cascade");
+        pools.close();
+    }
+
+    @Test
+    void replicaQueJaAplicouTodoOWalTemAtrasoZeroMesmoComReplayAntigo() {
+        // Primário ocioso: o último replay foi há uma hora, mas não há nada para aplicar
+        jdbc.update("update " + schema + ".estado set lsn = pg_current_wal_lsn(), replay = now() - interval '1 hour'");
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(pools, MAX_LAG_MS, registry);
+
+        monitor.medir();
+
+        assertThat(atraso("replica-1")).isZero();
+        assertThat(monitor.proximaSaudavel()).isEqualTo("replica-1");
+        assertThat(monitor.proximaSaudavel()).isEqualTo("replica-1");
+    }
+
+    @Test
+    void replicaAtrasadaOuForaDoArSaiDoRodizio() {
+        jdbc.update("update " + schema + ".estado set lsn = '0/0', replay = now() - interval '1 minute'");
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(pools, MAX_LAG_MS, registry);
+
+        monitor.medir();
+
+        assertThat(atraso("replica-1")).isBetween(59_000d, 120_000d);
+        assertThat(atraso("replica-2")).isInfinite();
+        assertThat(monitor.proximaSaudavel()).isNull();
+
+        // Alcançou o primário: volta na próxima medição
+        jdbc.update("update " + schema + ".estado set lsn = pg_current_wal_lsn()");
+        monitor.medir();
+        assertThat(monitor.proximaSaudavel()).isEqualTo("replica-1");
+    }
+
+    // =============================
+    // 🔧 Auxiliares
+    // =============================
+
+    private double atraso(String replica) {
+        return registry.get("mototrack.replica.lag").tag("replica", replica).gauge().value();
+    }
+
+    private static HikariDataSource pool(String nome, String url) {
+        var c = EmbeddedPostgresSupport.iniciar();
+        HikariDataSource ds = new HikariDataSource();
+        ds.setPoolName(nome);
+        ds.setJdbcUrl(url);
+        ds.setUsername(c.username());
+        ds.setPassword(c.password());
+        ds.setMaximumPoolSize(2);
+        ds.setInitializationFailTimeout(-1);
+        return ds;
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.fiap.mototrack.replica;
+
+import br.com.fiap.mototrack.support.TransacaoSimulada;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTests {
+
+    private final DataSource primario = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection conexaoPrimario = mock(Connection.class);
+    private final Connection conexaoReplica = mock(Connection.class);
+    private final ReplicaLagMonitor monitor = mock(ReplicaLagMonitor.class);
+    private final EscritaRecente escritaRecente = new EscritaRecente(Duration.ofMinutes(1));
+
+    private ReplicaRoutingDataSource roteador;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primario.getConnection()).thenReturn(conexaoPrimario);
+        when(replica.getConnection()).thenReturn(conexaoReplica);
+        when(monitor.proximaSaudavel()).thenReturn("replica-1");
+
+        roteador = new ReplicaRoutingDataSource(monitor, escritaRecente);
+        roteador.setTargetDataSources(Map.of(ReplicaRoutingDataSource.PRIMARIO, primario, "replica-1", replica));
+        roteador.setDefaultTargetDataSource(primario);
+        roteador.afterPropertiesSet();
+
+        autenticar("ana");
+    }
+
+    @AfterEach
+    void limpar() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void transacaoSomenteLeituraVaiParaReplicaSaudavel() {
+        assertThat(conexaoEm(true)).isSameAs(conexaoReplica);
+    }
+
+    @Test
+    void semReplicaSaudavelLeituraCaiNoPrimario() {
+        when(monitor.proximaSaudavel()).thenReturn(null);
+
+        assertThat(conexaoEm(true)).isSameAs(conexaoPrimario);
+    }
+
+    @Test
+    void escritaVaiParaPrimarioEGrudaOChamadorSoDepoisDoCommit() {
+        TransacaoSimulada.executar(() -> {
+            assertThat(conexaoEm(false)).isSameAs(conexaoPrimario);
+            // Ainda não confirmada: as leituras do chamador seguem nas réplicas
+            assertThat(escritaRecente.houve()).isFalse();
+        });
+
+        assertThat(escritaRecente.houve()).isTrue();
+        assertThat(conexaoEm(true)).isSameAs(conexaoPrimario);
+
+        // Outro usuário não é afetado
+        autenticar("bruno");
+        assertThat(conexaoEm(true)).isSameAs(conexaoReplica);
+    }
+
+    @Test
+    void escritaDesfeitaNaoGrudaNoPrimario() {
+        assertThatThrownBy(() -> TransacaoSimulada.executar(() -> {
+            conexaoEm(false);
+            throw new IllegalStateException("rollback");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(escritaRecente.houve()).isFalse();
+        assertThat(conexaoEm(true)).isSameAs(conexaoReplica);
+    }
+
+    @Test
+    void chamadorAnonimoNaoGruda() {
+        SecurityContextHolder.clearContext();
+        TransacaoSimulada.executar(() -> conexaoEm(false));
+
+        assertThat(conexaoEm(true)).isSameAs(conexaoReplica);
+    }
+
+    // =============================
+    // 🔧 Auxiliares
+    // =============================
+
+    /** Conexão obtida dentro de uma transação ativa, somente leitura ou não. */
+    private Connection conexaoEm(boolean somenteLeitura) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(somenteLeitura);
+        try {
+            return roteador.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    private static void autenticar(String usuario) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(usuario, null, "ROLE_USER"));
+    }
+}
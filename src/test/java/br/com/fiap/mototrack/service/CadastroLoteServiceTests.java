@@ -0,0 +1,173 @@
+package br.com.fiap.mototrack.service;
+
+import br.com.fiap.mototrack.support.AplicacaoWebTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CadastroLoteServiceTests extends AplicacaoWebTest {
+
+    private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+    private static final long MOTO_INEXISTENTE = Long.MAX_VALUE;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private String auth;
+    private String marcador;
+    private long motoA;
+    private long motoB;
+    private LocalDateTime inicio;
+
+    @BeforeEach
+    void setUp() {
+        auth = bearer("lote-" + UUID.randomUUID() + "@teste.com", "ROLE_ADMIN");
+        marcador = "lote-" + UUID.randomUUID().toString().substring(0, 8);
+        long filialId = jdbc.queryForObject("insert into tb_filial (nm_filial) values ('Lote') returning id_filial", Long.class);
+        motoA = novaMoto(filialId);
+        motoB = novaMoto(filialId);
+        inicio = LocalDateTime.now().plusDays(30).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    // =============================
+    // 📅 Agendamentos
+    // =============================
+
+    @Test
+    void agendamentosRecebemStatusItemAItem() throws Exception {
+        // Agenda existente da moto B
+        mockMvc.perform(post("/agendamentos").header("Authorization", auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(agendamento(motoB, inicio, marcador)))
+                .andExpect(status().is2xxSuccessful());
+
+        lote("/agendamentos/lote",
+                agendamento(motoA, inicio, marcador),                    // 0: criado
+                agendamento(motoA, inicio.plusDays(1), ""),              // 1: sem descrição
+                """
+                {"motoId": %d, "descricao": "%s"}""".formatted(motoA, marcador), // 2: sem data
+                agendamento(MOTO_INEXISTENTE, inicio, marcador),         // 3: moto inexistente
+                agendamento(motoB, inicio.plusMinutes(30), marcador),    // 4: conflita com a agenda
+                agendamento(motoA, inicio.plusMinutes(30), marcador),    // 5: conflita com o item 0
+                agendamento(motoA, inicio.plusMinutes(60), marcador))    // 6: logo após o item 0
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(7))
+                .andExpect(jsonPath("$.criados").value(2))
+                .andExpect(jsonPath("$.itens[0].status").value(201))
+                .andExpect(jsonPath("$.itens[0].resultado.id").isNumber())
+                .andExpect(jsonPath("$.itens[1].status").value(400))
+                .andExpect(jsonPath("$.itens[1].erros[0]").value("A descrição é obrigatória."))
+                .andExpect(jsonPath("$.itens[2].status").value(400))
+                .andExpect(jsonPath("$.itens[3].status").value(404))
+                .andExpect(jsonPath("$.itens[4].status").value(409))
+                .andExpect(jsonPath("$.itens[5].status").value(409))
+                .andExpect(jsonPath("$.itens[6].status").value(201));
+
+        assertThat(agendamentos(motoA)).isEqualTo(2);
+        assertThat(agendamentos(motoB)).isEqualTo(1);
+    }
+
+    @Test
+    void trechoDesfeitoViraErroNosItensELiberaAsJanelas() throws Exception {
+        String falha = marcador + "-falha";
+        jdbc.execute("""
+                create or replace function fn_teste_lote_falha() returns trigger language plpgsql as $$
+                begin
+                    raise exception 'falha simulada';
+                end $$""");
+        jdbc.execute("create trigger tg_teste_lote_falha before insert on tb_agendamento for each row"
+                + " when (new.ds_descricao = '" + falha + "') execute function fn_teste_lote_falha()");
+        try {
+            lote("/agendamentos/lote",
+                    agendamento(motoA, inicio, marcador),
+                    agendamento(motoA, inicio.plusHours(2), falha),
+                    agendamento(motoA, inicio.plusMinutes(30), marcador)) // conflita com a reserva provisória do item 0
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.criados").value(0))
+                    .andExpect(jsonPath("$.itens[0].status").value(500))
+                    .andExpect(jsonPath("$.itens[1].status").value(500))
+                    .andExpect(jsonPath("$.itens[2].status").value(409));
+        } finally {
+            jdbc.execute("drop trigger tg_teste_lote_falha on tb_agendamento");
+            jdbc.execute("drop function fn_teste_lote_falha()");
+        }
+        assertThat(agendamentos(motoA)).isZero();
+
+        // As reservas do trecho desfeito não ficaram presas no índice
+        lote("/agendamentos/lote",
+                agendamento(motoA, inicio, marcador),
+                agendamento(motoA, inicio.plusHours(2), marcador))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.criados").value(2));
+        assertThat(agendamentos(motoA)).isEqualTo(2);
+    }
+
+    // =============================
+    // 📑 Eventos
+    // =============================
+
+    @Test
+    void eventosRecebemStatusItemAItem() throws Exception {
+        lote("/eventos/lote",
+                evento(motoA, "chegada"),
+                evento(motoA, ""),
+                evento(MOTO_INEXISTENTE, "chegada"),
+                "null",
+                evento(motoB, "saída"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.criados").value(2))
+                .andExpect(jsonPath("$.itens[0].status").value(201))
+                .andExpect(jsonPath("$.itens[0].resultado.motoPlaca").isNotEmpty())
+                .andExpect(jsonPath("$.itens[1].status").value(400))
+                .andExpect(jsonPath("$.itens[1].erros[0]").value("O motivo do evento é obrigatório."))
+                .andExpect(jsonPath("$.itens[2].status").value(404))
+                .andExpect(jsonPath("$.itens[3].status").value(400))
+                .andExpect(jsonPath("$.itens[4].status").value(201));
+
+        assertThat(jdbc.queryForObject("select count(*) from tb_evento where tp_evento = ?", Long.class, marcador))
+                .isEqualTo(2);
+    }
+
+    // =============================
+    // 🔧 Auxiliares
+    // =============================
+
+    private ResultActions lote(String rota, String... itens) throws Exception {
+        return mockMvc.perform(post(rota).header("Authorization", auth)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + String.join(",", itens) + "]"));
+    }
+
+    private static String agendamento(long motoId, LocalDateTime quando, String descricao) {
+        return """
+                {"motoId": %d, "dataAgendada": "%s", "duracaoMinutos": 60, "descricao": "%s"}""".formatted(
+                motoId, quando.format(FMT), descricao);
+    }
+
+    private String evento(long motoId, String motivo) {
+        return """
+                {"motoId": %d, "tipo": "%s", "motivo": "%s"}""".formatted(motoId, marcador, motivo);
+    }
+
+    private long novaMoto(long filialId) {
+        return jdbc.queryForObject("insert into tb_moto (cd_placa, nr_ano, id_filial) values (?, 2022, ?) returning id_moto",
+                Long.class, "LOT" + UUID.randomUUID().toString().substring(0, 6), filialId);
+    }
+
+    private long agendamentos(long motoId) {
+        return jdbc.queryForObject("select count(*) from tb_agendamento where id_moto = ?", Long.class, motoId);
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.fiap.mototrack.sessao;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.serializer.support.SerializationFailedException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SessaoSerializadorTests {
+
+    private final SessaoSerializador serializador = new SessaoSerializador(getClass().getClassLoader(), 512);
+
+    @Test
+    void atributoPequenoFicaCru() {
+        byte[] bytes = serializador.serializar("token-csrf");
+
+        assertThat(bytes[0]).isEqualTo((byte) 1);
+        assertThat(serializador.desserializar(bytes)).isEqualTo("token-csrf");
+    }
+
+    @Test
+    void atributoGrandeEhCompactadoEVoltaIgual() throws Exception {
+        List<String> perfis = new ArrayList<>();
+        for (int i = 0; i < 200; i++) perfis.add("ROLE_PERFIL_" + (i % 10));
+
+        byte[] bytes = serializador.serializar(perfis);
+
+        assertThat(bytes[0]).isEqualTo((byte) 2);
+        assertThat(bytes.length).isLessThan(javaPadrao(perfis).length / 2);
+        assertThat(serializador.desserializar(bytes)).isEqualTo(perfis);
+    }
+
+    @Test
+    void grandeQueNaoComprimeFicaCru() {
+        byte[] aleatorio = new byte[4096];
+        new Random(42).nextBytes(aleatorio);
+
+        byte[] bytes = serializador.serializar(aleatorio);
+
+        assertThat(bytes[0]).isEqualTo((byte) 1);
+        assertThat((byte[]) serializador.desserializar(bytes)).isEqualTo(aleatorio);
+    }
+
+    @Test
+    void leSessoesGravadasNoFormatoPadraoDoSpringSession() throws Exception {
+        Object lido = serializador.conversionService().convert(javaPadrao("gravado-antes-do-marcador"), Object.class);
+
+        assertThat(lido).isEqualTo("gravado-antes-do-marcador");
+    }
+
+    @Test
+    void bytesCorrompidosViramSerializationFailedException() {
+        assertThatThrownBy(() -> serializador.desserializar(new byte[]{2, 1, 2, 3}))
+                .isInstanceOf(SerializationFailedException.class);
+    }
+
+    private static byte[] javaPadrao(Object valor) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(valor);
+        }
+        return out.toByteArray();
+    }
+}
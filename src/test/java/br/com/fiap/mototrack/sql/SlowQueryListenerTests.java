@@ -0,0 +1,100 @@
+package br.com.fiap.mototrack.sql;
+
+import br.com.fiap.mototrack.support.EmbeddedPostgresSupport;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlowQueryListenerTests {
+
+    private final SlowQueryRegistry registry = new SlowQueryRegistry(10);
+
+    @Test
+    void parametrosFicamMascaradosPorPadrao() throws Exception {
+        SlowQueryListener listener = listener(null, false, false);
+
+        listener.afterQuery(lenta(), List.of(query("update tb_usuario set ds_senha = ? where ds_email = ?",
+                "$2a$10$hashDaSenha", "alguem@teste.com")));
+
+        assertThat(registry.listar()).singleElement()
+                .extracting(SlowQueryRegistry.SlowQuery::getParametros)
+                .isEqualTo(List.of("String", "String"));
+    }
+
+    @Test
+    void valoresSoAparecemComLogParamsLigado() throws Exception {
+        SlowQueryListener listener = listener(null, true, false);
+
+        listener.afterQuery(lenta(), List.of(query("select * from tb_usuario where ds_email = ?", "alguem@teste.com")));
+
+        assertThat(registry.listar().get(0).getParametros()).containsExactly("alguem@teste.com");
+    }
+
+    @Test
+    void explainNaoReexecutaFuncoesDoSelect() throws Exception {
+        DataSource ds = EmbeddedPostgresSupport.migrado();
+        JdbcTemplate jdbc = new JdbcTemplate(ds);
+        String sequencia = "sq_explain_" + UUID.randomUUID().toString().replace("-", "");
+        jdbc.execute("create sequence " + sequencia);
+        SlowQueryListener listener = listener(ds, false, true);
+
+        listener.afterQuery(lenta(), List.of(query("select nextval('" + sequencia + "'), ?::bigint", 1L)));
+
+        String plano = aguardarPlano();
+        assertThat(plano).contains("Result").doesNotContain("actual time");
+        // Com ANALYZE o nextval rodaria de novo (e sequência não volta no rollback)
+        assertThat(jdbc.queryForObject("select is_called from " + sequencia, Boolean.class)).isFalse();
+        listener.destroy();
+    }
+
+    // =============================
+    // 🔧 Auxiliares
+    // =============================
+
+    @SuppressWarnings("unchecked")
+    private SlowQueryListener listener(DataSource ds, boolean logParams, boolean explain) {
+        ObjectProvider<DataSource> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(ds);
+        return new SlowQueryListener(registry, provider, 200, logParams, explain, Duration.ofMinutes(10));
+    }
+
+    private static ExecutionInfo lenta() {
+        ExecutionInfo info = new ExecutionInfo();
+        info.setElapsedTime(500);
+        return info;
+    }
+
+    private static QueryInfo query(String sql, Object... valores) throws NoSuchMethodException {
+        QueryInfo qi = new QueryInfo(sql);
+        List<ParameterSetOperation> ops = new ArrayList<>();
+        for (int i = 0; i < valores.length; i++) {
+            ops.add(new ParameterSetOperation(PreparedStatement.class.getMethod("setObject", int.class, Object.class),
+                    new Object[]{i + 1, valores[i]}));
+        }
+        qi.getParametersList().add(ops);
+        return qi;
+    }
+
+    private String aguardarPlano() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            String plano = registry.listar().get(0).getPlano();
+            if (plano != null) return plano;
+            Thread.sleep(50);
+        }
+        throw new AssertionError("EXPLAIN não terminou");
+    }
+}
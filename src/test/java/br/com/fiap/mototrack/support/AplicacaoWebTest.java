@@ -0,0 +1,155 @@
+package br.com.fiap.mototrack.support;
+
+import br.com.fiap.mototrack.auth.JwtService;
+import br.com.fiap.mototrack.model.Usuario;
+import br.com.fiap.mototrack.repository.UsuarioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * # 🌐 AplicacaoWebTest
+ *
+ * Base dos testes que sobem a aplicação inteira com servidor real (porta aleatória)
+ * sobre o Postgres de teste. Todas as subclasses compartilham o **mesmo contexto**
+ * (mesma configuração), então o custo de subida é pago uma vez por suíte.
+ *
+ * ---
+ * ## 🧩 Auxiliares
+ * - {@link #bearer}: token da API emitido direto pelo `JwtService` (sem BCrypt).
+ * - {@link #sessaoLogada}: cliente HTTP com cookie de sessão, após o login por formulário.
+ * - {@link #obter} / {@link #postarForm}: requisições com headers opcionais (`nome, valor, ...`).
+ * - {@link #mockMvc}: mesma aplicação sem passar pela rede (ex.: com `SqlCountAssertions.sqlCount`).
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+@AutoConfigureObservability(tracing = false) // sem isso o registry do Prometheus não sobe em teste
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "mototrack.sql.guard.fail=true",
+        "mototrack.jfr.enabled=false",
+        "mototrack.metricas.token=" + AplicacaoWebTest.TOKEN_METRICAS
+})
+public abstract class AplicacaoWebTest {
+
+    protected static final String TOKEN_METRICAS = "token-de-scrape-dos-testes";
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    @LocalServerPort
+    protected int porta;
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected JwtService jwtService;
+
+    @Autowired
+    protected UsuarioRepository usuarioRepository;
+
+    @Autowired
+    protected PasswordEncoder passwordEncoder;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        var pg = EmbeddedPostgresSupport.iniciar();
+        registry.add("spring.datasource.url", pg::url);
+        registry.add("spring.datasource.username", pg::username);
+        registry.add("spring.datasource.password", pg::password);
+    }
+
+    // =============================
+    // 🔑 Autenticação
+    // =============================
+
+    /** Header `Authorization` com um token válido para os perfis informados. */
+    protected String bearer(String usuario, String... perfis) {
+        return "Bearer " + jwtService.emitir(usuario, List.of(perfis)).token();
+    }
+
+    /** Cria um usuário com o perfil informado e devolve um cliente já logado na UI. */
+    protected HttpClient sessaoLogada(String perfil) {
+        String email = "web-" + UUID.randomUUID() + "@teste.com";
+        usuarioRepository.save(Usuario.builder()
+                .nome("Teste Web").email(email).senha(passwordEncoder.encode("senha123")).perfil(perfil)
+                .build());
+
+        HttpClient cliente = novoCliente();
+        String csrf = csrf(obter(cliente, "/login").body());
+        HttpResponse<String> login = postarForm(cliente, "/login",
+                "username=" + codificar(email) + "&password=senha123&_csrf=" + codificar(csrf));
+        if (login.statusCode() != 302 || login.headers().firstValue("Location").orElse("").contains("error")) {
+            throw new IllegalStateException("Login falhou: " + login.statusCode() + " " + login.headers().map());
+        }
+        return cliente;
+    }
+
+    /** Token CSRF do primeiro formulário da página. */
+    protected static String csrf(String html) {
+        Matcher m = CSRF.matcher(html);
+        if (!m.find()) throw new IllegalStateException("Página sem token CSRF");
+        return m.group(1);
+    }
+
+    // =============================
+    // 📡 HTTP
+    // =============================
+
+    protected HttpClient novoCliente() {
+        return HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+    }
+
+    protected HttpResponse<String> obter(HttpClient cliente, String caminho, String... headers) {
+        return enviar(cliente, requisicao(caminho, headers).GET().build());
+    }
+
+    protected HttpResponse<String> postarForm(HttpClient cliente, String caminho, String corpo, String... headers) {
+        return enviar(cliente, requisicao(caminho, headers)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo)).build());
+    }
+
+    protected HttpRequest.Builder requisicao(String caminho, String... headers) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho));
+        if (headers.length > 0) b.headers(headers);
+        return b;
+    }
+
+    protected HttpResponse<String> enviar(HttpClient cliente, HttpRequest requisicao) {
+        try {
+            return cliente.send(requisicao, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String codificar(String valor) {
+        return URLEncoder.encode(valor, StandardCharsets.UTF_8);
+    }
+}
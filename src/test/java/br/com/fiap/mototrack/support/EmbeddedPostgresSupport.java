@@ -0,0 +1,91 @@
+package br.com.fiap.mototrack.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * # 🐘 EmbeddedPostgresSupport
+ *
+ * Postgres **local e descartável** para testes e para a suíte de carga, sem Docker
+ * e sem rede (os binários vêm como dependência Maven do `embedded-postgres`).
+ *
+ * ---
+ * ## 📋 Comportamento
+ * - Sobe uma única instância por JVM, na primeira chamada.
+ * - Aplica `db/base-schema.sql` (tabelas anteriores ao Flyway); o Flyway da
+ *   aplicação cuida de V2+ na subida do contexto — ou {@link #migrado()}, em testes
+ *   sem contexto Spring.
+ * - Com `-Dmototrack.test.jdbc-url=...` (e `.username`/`.password`) usa um banco
+ *   existente em vez do embutido — útil no CI ou quando o processo roda como root,
+ *   que o Postgres não aceita.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public final class EmbeddedPostgresSupport {
+
+    private static Conexao conexao;
+
+    private EmbeddedPostgresSupport() {
+        // Não instanciar
+    }
+
+    /** Dados de conexão do banco de teste. */
+    public record Conexao(String url, String username, String password) {}
+
+    public static synchronized Conexao iniciar() {
+        if (conexao != null) return conexao;
+
+        String url = System.getProperty("mototrack.test.jdbc-url");
+        if (url != null && !url.isBlank()) {
+            conexao = new Conexao(url,
+                    System.getProperty("mototrack.test.username", "mototrack"),
+                    System.getProperty("mototrack.test.password", "mototrack"));
+        } else {
+            try {
+                EmbeddedPostgres pg = EmbeddedPostgres.builder().start();
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        pg.close();
+                    } catch (IOException ignored) {
+                        // processo já encerrando
+                    }
+                }, "embedded-postgres-stop"));
+                conexao = new Conexao(pg.getJdbcUrl("postgres", "postgres"), "postgres", "postgres");
+            } catch (IOException e) {
+                throw new UncheckedIOException("Não foi possível iniciar o Postgres embutido", e);
+            }
+        }
+
+        new ResourceDatabasePopulator(new ClassPathResource("db/base-schema.sql"))
+                .execute(new DriverManagerDataSource(conexao.url(), conexao.username(), conexao.password()));
+        return conexao;
+    }
+
+    /**
+     * Banco de teste com as migrações aplicadas (mesma configuração do Flyway da aplicação).
+     * Cada `getConnection()` abre uma conexão nova: útil para simular transações concorrentes.
+     */
+    public static synchronized DataSource migrado() {
+        Conexao c = iniciar();
+        DataSource ds = new DriverManagerDataSource(c.url(), c.username(), c.password());
+        Flyway.configure()
+                .dataSource(ds)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+        return ds;
+    }
+}
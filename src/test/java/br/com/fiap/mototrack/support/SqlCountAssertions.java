@@ -0,0 +1,67 @@
+package br.com.fiap.mototrack.support;
+
+import br.com.fiap.mototrack.sql.SqlCountFilter;
+import br.com.fiap.mototrack.sql.SqlStatementCounter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+
+/**
+ * # 🔢 SqlCountAssertions
+ *
+ * Asserções de quantidade de statements SQL, para travar regressões de N+1 no CI.
+ *
+ * ---
+ * ## 🧩 Uso
+ * ```java
+ * // endpoint (MockMvc): confere o header X-SQL-Count
+ * mockMvc.perform(get("/motos/filtro").param("placa", "ABC"))
+ *        .andExpect(sqlCount(2));
+ *
+ * // código de serviço/repositório
+ * var page = assertSqlCount(2, () -> motoService.consultarComFiltro(filtro, pageable));
+ * ```
+ *
+ * Para que qualquer requisição acima do limite global falhe, suba o contexto com
+ * `@SpringBootTest(properties = "mototrack.sql.guard.fail=true")`.
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public final class SqlCountAssertions {
+
+    private SqlCountAssertions() {
+        // Não instanciar
+    }
+
+    /** Confere o total de statements informado pelo {@link SqlCountFilter}. */
+    public static ResultMatcher sqlCount(long esperado) {
+        return header().string(SqlCountFilter.HEADER, Long.toString(esperado));
+    }
+
+    /** Executa a ação e confere exatamente quantos statements ela disparou. */
+    public static <T> T assertSqlCount(long esperado, Supplier<T> acao) {
+        SqlStatementCounter.iniciar();
+        try {
+            T resultado = acao.get();
+            assertThat(SqlStatementCounter.atual())
+                    .as("statements SQL executados")
+                    .isEqualTo(esperado);
+            return resultado;
+        } finally {
+            SqlStatementCounter.encerrar();
+        }
+    }
+
+    /** Variante para ações sem retorno. */
+    public static void assertSqlCount(long esperado, Runnable acao) {
+        assertSqlCount(esperado, () -> {
+            acao.run();
+            return null;
+        });
+    }
+}
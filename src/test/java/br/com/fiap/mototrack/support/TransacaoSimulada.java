@@ -0,0 +1,59 @@
+package br.com.fiap.mototrack.support;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * # 🧪 TransacaoSimulada
+ *
+ * Executa um bloco com a sincronização de transação do Spring ativa, sem banco:
+ * os callbacks registrados (`aposCommit`, reservas do `AgendaMotoIndex`, ...) rodam
+ * como num commit — ou como num rollback, se o bloco lançar exceção.
+ *
+ * ---
+ * ## 🧩 Uso
+ * ```java
+ * TransacaoSimulada.executar(() -> service.cadastrar(dto));          // commit
+ * assertThatThrownBy(() -> TransacaoSimulada.executar(() -> falha())) // rollback
+ *         .isInstanceOf(DataIntegrityViolationException.class);
+ * ```
+ *
+ * ---
+ * @author Rafael
+ * @since 1.0
+ */
+public final class TransacaoSimulada {
+
+    private TransacaoSimulada() {
+        // Não instanciar
+    }
+
+    public static void executar(Runnable bloco) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            try {
+                bloco.run();
+            } catch (RuntimeException e) {
+                completar(TransactionSynchronizationManager.getSynchronizations(),
+                        TransactionSynchronization.STATUS_ROLLED_BACK);
+                throw e;
+            }
+            List<TransactionSynchronization> registradas = TransactionSynchronizationManager.getSynchronizations();
+            registradas.forEach(s -> s.beforeCommit(false));
+            registradas.forEach(TransactionSynchronization::afterCommit);
+            completar(registradas, TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+    }
+
+    private static void completar(List<TransactionSynchronization> registradas, int status) {
+        // Como no Spring: callbacks pós-transação já fora da sincronização
+        TransactionSynchronizationManager.clearSynchronization();
+        registradas.forEach(s -> s.afterCompletion(status));
+    }
+}
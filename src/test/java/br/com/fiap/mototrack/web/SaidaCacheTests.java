@@ -0,0 +1,107 @@
+package br.com.fiap.mototrack.web;
+
+import br.com.fiap.mototrack.support.TransacaoSimulada;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.ui.Model;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SaidaCacheTests {
+
+    private final SaidaCache cache = new SaidaCache(true, true, Duration.ofMinutes(10), Duration.ofMinutes(10), 1);
+
+    @AfterEach
+    void limparAutenticacao() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void escritaDescartaSoAsListasDaRegiao() {
+        renderizar("motos", requisicao());
+        renderizar("eventos", requisicao());
+
+        cache.invalidarListas("motos");
+
+        assertThat(emCache("motos", requisicao())).isFalse();
+        assertThat(emCache("eventos", requisicao())).isTrue();
+    }
+
+    @Test
+    void invalidacaoValeSoDepoisDoCommit() {
+        renderizar("motos", requisicao());
+
+        TransacaoSimulada.executar(() -> {
+            cache.invalidarListas("motos");
+            assertThat(emCache("motos", requisicao())).isTrue();
+        });
+        assertThat(emCache("motos", requisicao())).isFalse();
+
+        renderizar("motos", requisicao());
+        assertThatThrownBy(() -> TransacaoSimulada.executar(() -> {
+            cache.invalidarListas("motos");
+            throw new IllegalStateException("rollback");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(emCache("motos", requisicao())).isTrue();
+    }
+
+    @Test
+    void renderizacaoIniciadaAntesDaEscritaNaoVoltaParaOCache() {
+        Model model = new ExtendedModelMap();
+        cache.lista("motos", requisicao(), model);
+
+        // A escrita faz commit enquanto a lista antiga ainda está sendo renderizada
+        cache.invalidarListas("motos");
+        cache.gravar(new SaidaCache.Entrada(model.getAttribute(SaidaCache.ATRIBUTO_CHAVE), List.of("<ul/>"), List.of()));
+
+        assertThat(emCache("motos", requisicao())).isFalse();
+    }
+
+    @Test
+    void chaveIgnoraOrdemDosParametrosMasSeparaPapeis() {
+        renderizar("motos", requisicao("placa", "ABC", "page", "1"));
+
+        assertThat(emCache("motos", requisicao("page", "1", "placa", "ABC", "denied", ""))).isTrue();
+        assertThat(emCache("motos", requisicao("page", "2", "placa", "ABC"))).isFalse();
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("ana", null, "ROLE_ADMIN"));
+        assertThat(emCache("motos", requisicao("placa", "ABC", "page", "1"))).isFalse();
+    }
+
+    @Test
+    void listasDesligadasNuncaUsamOCache() {
+        SaidaCache desligado = new SaidaCache(true, false, Duration.ofMinutes(10), Duration.ofMinutes(10), 1);
+        Model model = new ExtendedModelMap();
+
+        assertThat(desligado.lista("motos", requisicao(), model)).isFalse();
+        assertThat(model.containsAttribute(SaidaCache.ATRIBUTO_CHAVE)).isFalse();
+    }
+
+    /** Simula a tela: consulta a lista e grava o trecho renderizado com a chave do model. */
+    private void renderizar(String regiao, MockHttpServletRequest request) {
+        Model model = new ExtendedModelMap();
+        assertThat(cache.lista(regiao, request, model)).isFalse();
+        cache.gravar(new SaidaCache.Entrada(model.getAttribute(SaidaCache.ATRIBUTO_CHAVE), List.of("<ul/>"), List.of()));
+    }
+
+    private boolean emCache(String regiao, MockHttpServletRequest request) {
+        Model model = new ExtendedModelMap();
+        boolean encontrada = cache.lista(regiao, request, model);
+        assertThat(model.containsAttribute(SaidaCache.ATRIBUTO_FIXADA)).isEqualTo(encontrada);
+        return encontrada;
+    }
+
+    private static MockHttpServletRequest requisicao(String... parametros) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/motos/ui");
+        for (int i = 0; i < parametros.length; i += 2) request.addParameter(parametros[i], parametros[i + 1]);
+        return request;
+    }
+}
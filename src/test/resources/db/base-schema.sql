@@ -0,0 +1,59 @@
+-- =============================================================
+-- Schema base (equivalente ao "V1" que já existe nos bancos da aplicação)
+--
+-- Usado apenas pelos testes e pela suíte de carga para preparar um Postgres
+-- vazio. Depois dele o Flyway faz baseline na versão 1 e aplica V2+.
+-- Mantido em sincronia com as entidades de br.com.fiap.mototrack.model.
+-- =============================================================
+
+CREATE TABLE IF NOT EXISTS tb_filial (
+    id_filial        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nm_filial        VARCHAR(255) NOT NULL,
+    ds_endereco      VARCHAR(255),
+    ds_bairro        VARCHAR(255),
+    ds_cidade        VARCHAR(255),
+    ds_estado        VARCHAR(255),
+    nr_cep           VARCHAR(255),
+    vl_latitude      DOUBLE PRECISION,
+    vl_longitude     DOUBLE PRECISION,
+    raio_geofence_m  DOUBLE PRECISION
+);
+
+CREATE TABLE IF NOT EXISTS tb_moto (
+    id_moto       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    cd_placa      VARCHAR(255) NOT NULL UNIQUE,
+    ds_modelo     VARCHAR(255),
+    ds_marca      VARCHAR(255),
+    nr_ano        INTEGER NOT NULL DEFAULT 0,
+    ds_status     VARCHAR(255),
+    id_filial     BIGINT REFERENCES tb_filial (id_filial),
+    vl_latitude   DOUBLE PRECISION,
+    vl_longitude  DOUBLE PRECISION,
+    dt_criacao    TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS tb_evento (
+    id_evento       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id_moto         BIGINT NOT NULL REFERENCES tb_moto (id_moto),
+    tp_evento       VARCHAR(255) NOT NULL,
+    ds_motivo       VARCHAR(255) NOT NULL,
+    dt_hr_evento    TIMESTAMP NOT NULL,
+    ds_localizacao  VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS tb_agendamento (
+    id_agendamento  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id_moto         BIGINT NOT NULL REFERENCES tb_moto (id_moto),
+    dt_agendada     TIMESTAMP NOT NULL,
+    ds_descricao    VARCHAR(255) NOT NULL,
+    dt_criacao      TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS tb_usuario (
+    id_usuario  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nm_usuario  VARCHAR(255) NOT NULL,
+    ds_email    VARCHAR(255) NOT NULL UNIQUE,
+    ds_senha    VARCHAR(255) NOT NULL,
+    tp_perfil   VARCHAR(255) NOT NULL,
+    id_filial   BIGINT REFERENCES tb_filial (id_filial)
+);